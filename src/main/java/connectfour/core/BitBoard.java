@@ -21,10 +21,9 @@
  ******************************************************************************/
 package connectfour.core;
 
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import net.jcip.annotations.Immutable;
 
@@ -43,6 +42,17 @@ public class BitBoard implements Board {
 	 * http://blog.gamesolver.org/solving-connect-four/06-bitboard/.
 	 */
 
+	/**
+	 * One bit at the bottom of each column.
+	 */
+	public static final long BOTTOM_ROW_MASK = bottomRowMask();
+
+	/**
+	 * Every bit which represents a location on the board, leaving out the
+	 * sentinel bit above each column.
+	 */
+	public static final long BOARD_MASK = BOTTOM_ROW_MASK * ((1L << HEIGHT) - 1);
+
 	private final long currentPosition;
 	private final long mask;
 
@@ -106,46 +116,91 @@ public class BitBoard implements Board {
 
 	@Override
 	public Set<Integer> getValidPlays() {
-		return IntStream.range(0, WIDTH).filter(this::canPlay).boxed().collect(Collectors.toSet());
+		Set<Integer> result = new HashSet<>();
+		for (int columns = getValidPlayColumns(); columns != 0; columns &= columns - 1) {
+			result.add(Integer.numberOfTrailingZeros(columns));
+		}
+		return result;
 	}
 
-	@Override
-	public Board createNextBoard(int column) {
-		return new BitBoard(currentPosition ^ mask, mask | (mask + bottomMask(column)));
+	/**
+	 * Gets the valid plays without allocating.
+	 * 
+	 * @return a bitmask with bit c set if column c can be played
+	 */
+	public int getValidPlayColumns() {
+		return validPlayColumns(mask);
 	}
 
-	@Override
-	public boolean isDone() {
-		return getWinner() != null || isFull();
+	/**
+	 * @param mask
+	 *            the occupied locations of a board
+	 * @return a bitmask with bit c set if column c can be played
+	 */
+	public static int validPlayColumns(long mask) {
+		long openTops = ~mask & (BOTTOM_ROW_MASK << (HEIGHT - 1));
+		int result = 0;
+		for (int column = 0; column < WIDTH; column++) {
+			result |= (int) ((openTops >>> (column * (HEIGHT + 1) + HEIGHT - 1)) & 1) << column;
+		}
+		return result;
 	}
 
-	@Override
-	public Player getWinner() {
-
-		long opponentPosition = currentPosition ^ mask;
+	/**
+	 * @param mask
+	 *            the occupied locations of a board
+	 * @return the lowest empty location of every column which is not full
+	 */
+	public static long playableCells(long mask) {
+		return (mask + BOTTOM_ROW_MASK) & BOARD_MASK;
+	}
 
+	/**
+	 * Determines whether the given pieces contain four in a row in any
+	 * direction.
+	 * 
+	 * @param position
+	 *            the pieces of one player
+	 * @return true if the pieces include a winning line
+	 */
+	public static boolean hasAlignment(long position) {
 		// horizontal
-		long m = opponentPosition & (opponentPosition >> (HEIGHT + 1));
+		long m = position & (position >> (HEIGHT + 1));
 		if ((m & (m >> (2 * (HEIGHT + 1)))) != 0)
-			return getCurrentPlayer().getOpponent();
+			return true;
 
 		// diagonal 1
-		m = opponentPosition & (opponentPosition >> (HEIGHT));
+		m = position & (position >> (HEIGHT));
 		if ((m & (m >> (2 * HEIGHT))) != 0)
-			return getCurrentPlayer().getOpponent();
+			return true;
 
 		// diagonal 2
-		m = opponentPosition & (opponentPosition >> (HEIGHT + 2));
+		m = position & (position >> (HEIGHT + 2));
 		if ((m & (m >> (2 * (HEIGHT + 2)))) != 0)
-			return getCurrentPlayer().getOpponent();
+			return true;
 
 		// vertical
-		m = opponentPosition & (opponentPosition >> 1);
+		m = position & (position >> 1);
 		if ((m & (m >> 2)) != 0)
-			return getCurrentPlayer().getOpponent();
+			return true;
 
-		return null;
+		return false;
+	}
 
+	@Override
+	public Board createNextBoard(int column) {
+		return new BitBoard(currentPosition ^ mask, mask | (mask + bottomMask(column)));
+	}
+
+	@Override
+	public boolean isDone() {
+		return getWinner() != null || isFull();
+	}
+
+	@Override
+	public Player getWinner() {
+		// only the player who just moved can have won
+		return hasAlignment(currentPosition ^ mask) ? getCurrentPlayer().getOpponent() : null;
 	}
 
 	@Override
@@ -158,6 +213,70 @@ public class BitBoard implements Board {
 		return getTurnsPlayed() >= HEIGHT * WIDTH;
 	}
 
+	/**
+	 * Creates a BitBoard with the same pieces as the given board.
+	 * 
+	 * @param board
+	 *            any board
+	 * @return the board itself if it is already a BitBoard, otherwise an
+	 *         equivalent BitBoard
+	 */
+	public static BitBoard valueOf(Board board) {
+		if (board instanceof BitBoard)
+			return (BitBoard) board;
+		Player currentPlayer = board.getCurrentPlayer();
+		long tempPosition = 0;
+		long tempMask = 0;
+		for (BoardLocation location : BoardLocation.values()) {
+			Player player = board.get(location);
+			if (player != null) {
+				long locationMask = 1L << (location.getColumn() * (HEIGHT + 1) + location.getRow());
+				tempMask |= locationMask;
+				if (player == currentPlayer)
+					tempPosition |= locationMask;
+			}
+		}
+		return new BitBoard(tempPosition, tempMask);
+	}
+
+	/**
+	 * Creates a BitBoard from the two longs returned by
+	 * {@link #getCurrentPosition()} and {@link #getMask()}.
+	 * 
+	 * @param currentPosition
+	 *            the pieces of the player to move
+	 * @param mask
+	 *            the pieces of both players
+	 * @return the board
+	 */
+	public static BitBoard valueOf(long currentPosition, long mask) {
+		if ((currentPosition & ~mask) != 0 || (mask & ~BOARD_MASK) != 0
+				|| ((mask + BOTTOM_ROW_MASK) & mask) != 0) {
+			throw new IllegalArgumentException(
+					"not a valid position: " + Long.toHexString(currentPosition) + ", " + Long.toHexString(mask));
+		}
+		return new BitBoard(currentPosition, mask);
+	}
+
+	/**
+	 * Gets the pieces of the current player, one bit per location. Bit
+	 * column*(HEIGHT+1)+row represents location (row, column).
+	 * 
+	 * @return the current player's pieces
+	 */
+	public long getCurrentPosition() {
+		return currentPosition;
+	}
+
+	/**
+	 * Gets the occupied locations, laid out as in {@link #getCurrentPosition()}.
+	 * 
+	 * @return the pieces of both players
+	 */
+	public long getMask() {
+		return mask;
+	}
+
 	/**
 	 * Gets a key that uniquely identifies this board.
 	 * 
@@ -203,6 +322,14 @@ public class BitBoard implements Board {
 		return Long.hashCode(getKey());
 	}
 
+	private static long bottomRowMask() {
+		long result = 0;
+		for (int column = 0; column < WIDTH; column++) {
+			result |= 1L << column * (HEIGHT + 1);
+		}
+		return result;
+	}
+
 	private long topMask(int column) {
 		return bottomMask(column) << (HEIGHT - 1);
 	}
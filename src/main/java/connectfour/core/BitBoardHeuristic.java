@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core;
+
+/**
+ * A {@link Heuristic} which evaluates the raw longs of a {@link BitBoard}, so
+ * that searches over a {@link MutableBitBoard} can evaluate leaves without
+ * creating a Board.
+ *
+ * @author Yiheng Huang
+ */
+@FunctionalInterface
+public interface BitBoardHeuristic extends Heuristic {
+
+	/**
+	 * Evaluates the position with the same sign convention as
+	 * {@link Heuristic#evaluate(Board)}.
+	 * 
+	 * @param currentPosition
+	 *            the pieces of the player to move
+	 * @param mask
+	 *            the pieces of both players
+	 * @return an evaluation of the position
+	 */
+	public double evaluate(long currentPosition, long mask);
+
+	@Override
+	public default double evaluate(Board board) {
+		BitBoard bitBoard = BitBoard.valueOf(board);
+		return evaluate(bitBoard.getCurrentPosition(), bitBoard.getMask());
+	}
+}
@@ -32,6 +32,24 @@ public class Config {
 		private Heuristic heuristic;
 		private int maxDepth;
 		private int maxParallelDepth;
+		private boolean isAlphaBetaPruningDesired = true;
+		private boolean isCenterFirstOrderingDesired = true;
+		private TranspositionTable transpositionTable;
+
+		public Builder() {
+		}
+
+		/**
+		 * Creates a builder initialized with all of the given config's settings.
+		 */
+		public Builder(Config config) {
+			this.heuristic = config.heuristic;
+			this.maxDepth = config.maxDepth;
+			this.maxParallelDepth = config.maxParallelDepth;
+			this.isAlphaBetaPruningDesired = config.isAlphaBetaPruningDesired;
+			this.isCenterFirstOrderingDesired = config.isCenterFirstOrderingDesired;
+			this.transpositionTable = config.transpositionTable;
+		}
 
 		public Builder heuristic(Heuristic heuristic) {
 			this.heuristic = heuristic;
@@ -48,6 +66,25 @@ public class Config {
 			return this;
 		}
 
+		public Builder alphaBetaPruning(boolean isAlphaBetaPruningDesired) {
+			this.isAlphaBetaPruningDesired = isAlphaBetaPruningDesired;
+			return this;
+		}
+
+		public Builder centerFirstOrdering(boolean isCenterFirstOrderingDesired) {
+			this.isCenterFirstOrderingDesired = isCenterFirstOrderingDesired;
+			return this;
+		}
+
+		/**
+		 * @param transpositionTable
+		 *            the table to share across searches, or null for none
+		 */
+		public Builder transpositionTable(TranspositionTable transpositionTable) {
+			this.transpositionTable = transpositionTable;
+			return this;
+		}
+
 		public Config build() {
 			Objects.requireNonNull(heuristic);
 			if (maxParallelDepth > maxDepth) {
@@ -61,11 +98,17 @@ public class Config {
 	private final Heuristic heuristic;
 	private final int maxDepth;
 	private final int maxParallelDepth;
+	private final boolean isAlphaBetaPruningDesired;
+	private final boolean isCenterFirstOrderingDesired;
+	private final TranspositionTable transpositionTable;
 
 	private Config(Builder builder) {
 		this.heuristic = builder.heuristic;
 		this.maxDepth = builder.maxDepth;
 		this.maxParallelDepth = builder.maxParallelDepth;
+		this.isAlphaBetaPruningDesired = builder.isAlphaBetaPruningDesired;
+		this.isCenterFirstOrderingDesired = builder.isCenterFirstOrderingDesired;
+		this.transpositionTable = builder.transpositionTable;
 	}
 
 	public Heuristic getHeuristic() {
@@ -79,4 +122,19 @@ public class Config {
 	public int getMaxParallelDepth() {
 		return maxParallelDepth;
 	}
+
+	public boolean isAlphaBetaPruningDesired() {
+		return isAlphaBetaPruningDesired;
+	}
+
+	public boolean isCenterFirstOrderingDesired() {
+		return isCenterFirstOrderingDesired;
+	}
+
+	/**
+	 * @return the shared transposition table, or null if none was configured
+	 */
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core;
+
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * A mutable counterpart of {@link BitBoard} for searches. Moves are played and
+ * undone in place, and nothing is allocated after construction, so one
+ * instance can be walked down and back up a whole search tree.
+ * 
+ * The two longs have the same layout as in BitBoard: the pieces of the player
+ * to move and the pieces of both players.
+ *
+ * @author Yiheng Huang
+ */
+@NotThreadSafe
+public final class MutableBitBoard {
+	private static final int CELL_COUNT = Board.WIDTH * Board.HEIGHT;
+
+	private long currentPosition;
+	private long mask;
+	private int turnsPlayed;
+	private final long[] playedCells = new long[CELL_COUNT];
+	private int playedCellCount;
+
+	/**
+	 * @param board
+	 *            the board to start from
+	 */
+	public MutableBitBoard(BitBoard board) {
+		this.currentPosition = board.getCurrentPosition();
+		this.mask = board.getMask();
+		this.turnsPlayed = board.getTurnsPlayed();
+	}
+
+	/**
+	 * Constructs an empty board.
+	 */
+	public MutableBitBoard() {
+		this(new BitBoard());
+	}
+
+	public long getCurrentPosition() {
+		return currentPosition;
+	}
+
+	public long getMask() {
+		return mask;
+	}
+
+	/**
+	 * @return the same key as {@link BitBoard#getKey()} for this position
+	 */
+	public long getKey() {
+		return currentPosition + mask;
+	}
+
+	public int getTurnsPlayed() {
+		return turnsPlayed;
+	}
+
+	public boolean isFull() {
+		return turnsPlayed == CELL_COUNT;
+	}
+
+	public boolean canPlay(int column) {
+		return (mask & (1L << (column * (Board.HEIGHT + 1) + Board.HEIGHT - 1))) == 0;
+	}
+
+	/**
+	 * @return a bitmask with bit c set if column c can be played
+	 */
+	public int getValidPlayColumns() {
+		return BitBoard.validPlayColumns(mask);
+	}
+
+	/**
+	 * @return true if the player who just moved has four in a row
+	 */
+	public boolean hasOpponentWon() {
+		return BitBoard.hasAlignment(currentPosition ^ mask);
+	}
+
+	/**
+	 * Determines whether playing the column would win for the player to move.
+	 * 
+	 * @param column
+	 *            a column which can be played
+	 * @return true if the play completes four in a row
+	 */
+	public boolean isWinningPlay(int column) {
+		long cell = (mask + BitBoard.BOTTOM_ROW_MASK) & columnMask(column);
+		return BitBoard.hasAlignment(currentPosition | cell);
+	}
+
+	/**
+	 * Plays a piece for the current player, who then becomes the opponent.
+	 * 
+	 * @param column
+	 *            a column which can be played
+	 */
+	public void play(int column) {
+		long cell = (mask + BitBoard.BOTTOM_ROW_MASK) & columnMask(column);
+		playedCells[playedCellCount++] = cell;
+		currentPosition ^= mask;
+		mask |= cell;
+		turnsPlayed++;
+	}
+
+	/**
+	 * Takes back the most recent {@link #play(int)}.
+	 * 
+	 * @throws IllegalStateException
+	 *             if there is no play to take back
+	 */
+	public void undo() {
+		if (playedCellCount == 0) {
+			throw new IllegalStateException("nothing to undo");
+		}
+		mask ^= playedCells[--playedCellCount];
+		currentPosition ^= mask;
+		turnsPlayed--;
+	}
+
+	/**
+	 * @return an immutable copy of the current position
+	 */
+	public BitBoard toBitBoard() {
+		return BitBoard.valueOf(currentPosition, mask);
+	}
+
+	private static long columnMask(int column) {
+		return ((1L << Board.HEIGHT) - 1) << (column * (Board.HEIGHT + 1));
+	}
+
+	@Override
+	public String toString() {
+		return toBitBoard().toString();
+	}
+}
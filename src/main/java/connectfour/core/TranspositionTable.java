@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A fixed size, always-replace transposition table keyed on
+ * {@link BitBoard#getKey()} which may be shared by any number of searching
+ * threads without locking.
+ *
+ * Each entry is a single packed long holding the score (as float bits), the
+ * remaining search depth, the bound type and the best column. It is stored
+ * in two slots as (key ^ entry, entry), the scheme described by Hyatt and Mann
+ * for lockless hashing. A reader that observes one slot from one writer and
+ * the other slot from another sees a key mismatch and treats the probe as a
+ * miss, so torn entries are never returned.
+ *
+ * @author Yiheng Huang
+ */
+@ThreadSafe
+public final class TranspositionTable {
+	/**
+	 * The value returned by {@link #get(long)} when the table holds no entry for
+	 * the key.
+	 */
+	public static final long MISS = 0L;
+
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	/**
+	 * The column stored in entries which have no best column.
+	 */
+	public static final int NO_COLUMN = 7;
+
+	private static final int COLUMN_BITS = 3;
+	private static final int BOUND_SHIFT = COLUMN_BITS;
+	private static final int BOUND_BITS = 2;
+	private static final int DEPTH_SHIFT = BOUND_SHIFT + BOUND_BITS;
+	private static final int DEPTH_BITS = 6;
+	private static final int SCORE_SHIFT = 32;
+
+	private final AtomicLongArray slots;
+	private final int indexMask;
+
+	/**
+	 * @param log2EntryCount
+	 *            the base 2 log of the number of entries. each entry takes 16
+	 *            bytes.
+	 */
+	public TranspositionTable(int log2EntryCount) {
+		if (log2EntryCount < 0 || log2EntryCount > 28) {
+			throw new IllegalArgumentException("log2EntryCount must be in [0, 28]: " + log2EntryCount);
+		}
+		int entryCount = 1 << log2EntryCount;
+		this.slots = new AtomicLongArray(entryCount * 2);
+		this.indexMask = entryCount - 1;
+	}
+
+	/**
+	 * Creates a table with 2^20 entries (16 MB).
+	 */
+	public TranspositionTable() {
+		this(20);
+	}
+
+	private int slotIndex(long key) {
+		// keys are sparse in their low bits (a column per 7 bits), so mix before
+		// masking.
+		long h = key * 0x9E3779B97F4A7C15L;
+		return ((int) (h >>> 32) & indexMask) << 1;
+	}
+
+	/**
+	 * Packs an entry.
+	 *
+	 * @param score
+	 *            the score from the perspective of the player to move
+	 * @param depth
+	 *            the remaining depth the score was searched to, in [0, 63]
+	 * @param bound
+	 *            one of {@link #EXACT}, {@link #LOWER_BOUND} or
+	 *            {@link #UPPER_BOUND}
+	 * @param column
+	 *            the best column, or {@link #NO_COLUMN}
+	 * @return the packed entry
+	 */
+	public static long pack(float score, int depth, int bound, int column) {
+		if (depth < 0 || depth >= (1 << DEPTH_BITS)) {
+			throw new IllegalArgumentException("depth out of range: " + depth);
+		}
+		if (bound < EXACT || bound > UPPER_BOUND) {
+			throw new IllegalArgumentException("invalid bound: " + bound);
+		}
+		if (column < 0 || column > NO_COLUMN) {
+			throw new IllegalArgumentException("invalid column: " + column);
+		}
+		return ((long) Float.floatToIntBits(score) << SCORE_SHIFT) | ((long) depth << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT) | column;
+	}
+
+	public static float getScore(long entry) {
+		return Float.intBitsToFloat((int) (entry >>> SCORE_SHIFT));
+	}
+
+	public static int getDepth(long entry) {
+		return (int) (entry >>> DEPTH_SHIFT) & ((1 << DEPTH_BITS) - 1);
+	}
+
+	public static int getBound(long entry) {
+		return (int) (entry >>> BOUND_SHIFT) & ((1 << BOUND_BITS) - 1);
+	}
+
+	public static int getColumn(long entry) {
+		return (int) entry & ((1 << COLUMN_BITS) - 1);
+	}
+
+	/**
+	 * @param key
+	 *            a board key
+	 * @return the packed entry last stored for the key, or {@link #MISS}
+	 */
+	public long get(long key) {
+		int index = slotIndex(key);
+		long check = slots.get(index);
+		long entry = slots.get(index + 1);
+		// an empty slot pair decodes to key 0 (the empty board) with bound 0, so
+		// the bound doubles as the occupied flag.
+		if ((check ^ entry) != key || getBound(entry) == 0) {
+			return MISS;
+		}
+		return entry;
+	}
+
+	/**
+	 * Stores a packed entry for the key, replacing whatever occupied its slot.
+	 *
+	 * @param key
+	 *            a board key
+	 * @param entry
+	 *            an entry created with {@link #pack(float, int, int, int)}
+	 */
+	public void put(long key, long entry) {
+		int index = slotIndex(key);
+		slots.set(index, key ^ entry);
+		slots.set(index + 1, entry);
+	}
+
+	/**
+	 * Removes all entries. Not atomic with respect to concurrent puts.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, 0L);
+		}
+	}
+}
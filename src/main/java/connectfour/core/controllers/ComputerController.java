@@ -23,6 +23,7 @@
 package connectfour.core.controllers;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import connectfour.core.Board;
@@ -31,6 +32,8 @@ import connectfour.core.Config;
 import connectfour.core.Controller;
 import connectfour.core.Heuristic;
 import connectfour.core.Player;
+import connectfour.core.TranspositionTable;
+import connectfour.fun.IterativeDeepening;
 import connectfour.studio.chooseyourownadventure.Adventure;
 
 /**
@@ -44,15 +47,35 @@ public final class ComputerController implements Controller {
 	private final Supplier<Integer> maximumParallelDepthSupplier;
 	private final Supplier<Integer> maximumDepthSupplier;
 	private final Supplier<Adventure> adventureSupplier;
+	private final Supplier<Long> timeBudgetInMillisecondsSupplier;
+	private TranspositionTable transpositionTable;
+	// the heuristic which scored the entries in transpositionTable
+	private Heuristic transpositionTableHeuristic;
 
+	/**
+	 * @param timeBudgetInMillisecondsSupplier
+	 *            the time allowed per move. if positive, moves are selected by
+	 *            {@link IterativeDeepening} up to the maximum depth, with a
+	 *            transposition table kept for the whole game (and cleared
+	 *            whenever the heuristic changes), rather than by the adventure
+	 *            at exactly the maximum depth.
+	 */
 	public ComputerController(Player player, Supplier<Heuristic> heuristicSupplier,
 			Supplier<Integer> maximumParallelDepthSupplier, Supplier<Integer> maximumDepthSupplier,
-			Supplier<Adventure> adventureSupplier) {
+			Supplier<Adventure> adventureSupplier, Supplier<Long> timeBudgetInMillisecondsSupplier) {
 		this.player = player;
 		this.heuristicSupplier = heuristicSupplier;
 		this.maximumParallelDepthSupplier = maximumParallelDepthSupplier;
 		this.maximumDepthSupplier = maximumDepthSupplier;
 		this.adventureSupplier = adventureSupplier;
+		this.timeBudgetInMillisecondsSupplier = timeBudgetInMillisecondsSupplier;
+	}
+
+	public ComputerController(Player player, Supplier<Heuristic> heuristicSupplier,
+			Supplier<Integer> maximumParallelDepthSupplier, Supplier<Integer> maximumDepthSupplier,
+			Supplier<Adventure> adventureSupplier) {
+		this(player, heuristicSupplier, maximumParallelDepthSupplier, maximumDepthSupplier, adventureSupplier,
+				() -> 0L);
 	}
 
 	@Override
@@ -62,9 +85,26 @@ public final class ComputerController implements Controller {
 
 	@Override
 	public int selectColumn(Board board) throws InterruptedException, ExecutionException {
+		Adventure adventure = this.adventureSupplier.get();
+		long timeBudgetInMilliseconds = timeBudgetInMillisecondsSupplier.get();
+		if (timeBudgetInMilliseconds > 0) {
+			Heuristic heuristic = heuristicSupplier.get();
+			if (transpositionTable == null) {
+				transpositionTable = new TranspositionTable();
+			} else if (heuristic != transpositionTableHeuristic) {
+				// entries scored by the previous heuristic would otherwise be
+				// returned as exact hits
+				transpositionTable.clear();
+			}
+			transpositionTableHeuristic = heuristic;
+			Config config = new Config.Builder().heuristic(heuristic)
+					.maxParallelDepth(maximumParallelDepthSupplier.get()).maxDepth(maximumDepthSupplier.get())
+					.transpositionTable(transpositionTable).build();
+			return IterativeDeepening.search(board, config, TimeUnit.MILLISECONDS.toNanos(timeBudgetInMilliseconds),
+					adventure.isParallel()).getColumn();
+		}
 		Config config = new Config.Builder().heuristic(heuristicSupplier.get())
 				.maxParallelDepth(maximumParallelDepthSupplier.get()).maxDepth(maximumDepthSupplier.get()).build();
-		Adventure adventure = this.adventureSupplier.get();
 		ColumnEvaluationPair columnEvaluationPair = adventure.chooseAdventure(board, config);
 		return columnEvaluationPair.getColumn();
 	}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core.controllers;
+
+import java.util.concurrent.ExecutionException;
+
+import connectfour.core.Board;
+import connectfour.core.Controller;
+import connectfour.core.Player;
+import connectfour.fun.book.OpeningBook;
+
+/**
+ * Plays from an {@link OpeningBook} while every play from the current board is
+ * covered by it, and defers to another controller from then on.
+ *
+ * @author Yiheng Huang
+ */
+public final class OpeningBookController implements Controller {
+	private final OpeningBook openingBook;
+	private final Controller fallbackController;
+
+	public OpeningBookController(OpeningBook openingBook, Controller fallbackController) {
+		this.openingBook = openingBook;
+		this.fallbackController = fallbackController;
+	}
+
+	@Override
+	public Player getPlayer() {
+		return fallbackController.getPlayer();
+	}
+
+	@Override
+	public int selectColumn(Board board) throws InterruptedException, ExecutionException {
+		if (board.getTurnsPlayed() < openingBook.getMaxPly()) {
+			int column = openingBook.selectColumn(board);
+			if (column >= 0) {
+				return column;
+			}
+		}
+		return fallbackController.selectColumn(board);
+	}
+
+	@Override
+	public String toString() {
+		return "OpeningBook-" + fallbackController;
+	}
+}
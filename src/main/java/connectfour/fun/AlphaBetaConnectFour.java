@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import connectfour.core.BitBoard;
+import connectfour.core.BitBoardHeuristic;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.Heuristic;
+import connectfour.core.MutableBitBoard;
+import connectfour.core.TranspositionTable;
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * A sequential negamax search over a {@link MutableBitBoard} with the
+ * enhancements selected by the {@link Config}: alpha-beta pruning,
+ * center-first move ordering, and a shared {@link TranspositionTable}. With
+ * all three disabled it visits exactly the tree
+ * {@link connectfour.studio.SequentialConnectFour} does.
+ *
+ * Finished games are scored by the search itself rather than by the
+ * heuristic: a loss for the player to move is worth -({@link #WIN_SCORE} +
+ * empty cells), so faster wins score higher, and a full board is worth 0.
+ * Heuristic values are rounded to float so that they survive the round trip
+ * through the table unchanged.
+ *
+ * @author Yiheng Huang
+ */
+public final class AlphaBetaConnectFour {
+	/**
+	 * The magnitude, less the number of empty cells, of the score of a decided
+	 * game. Heuristics are expected to stay well below it.
+	 */
+	public static final float WIN_SCORE = 1_000_000.0f;
+
+	private static final int[] CENTER_FIRST_ORDER = { 3, 2, 4, 1, 5, 0, 6 };
+	private static final int[] LEFT_TO_RIGHT_ORDER = { 0, 1, 2, 3, 4, 5, 6 };
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private AlphaBetaConnectFour() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	static int[] columnOrder(Config config) {
+		return config.isCenterFirstOrderingDesired() ? CENTER_FIRST_ORDER : LEFT_TO_RIGHT_ORDER;
+	}
+
+	private static float decidedScore(boolean hasOpponentWon, int turnsPlayed) {
+		if (hasOpponentWon) {
+			return -(WIN_SCORE + (Board.WIDTH * Board.HEIGHT - turnsPlayed));
+		}
+		return turnsPlayed == Board.WIDTH * Board.HEIGHT ? 0.0f : Float.NaN;
+	}
+
+	/**
+	 * @return the score of a finished game for the player to move, or NaN if
+	 *         the game is not finished
+	 */
+	static float decidedScore(BitBoard board) {
+		return decidedScore(board.getWinner() != null, board.getTurnsPlayed());
+	}
+
+	private static float decidedScore(MutableBitBoard board) {
+		return decidedScore(board.hasOpponentWon(), board.getTurnsPlayed());
+	}
+
+	private static float evaluate(Heuristic heuristic, MutableBitBoard board) {
+		if (heuristic instanceof BitBoardHeuristic) {
+			return (float) ((BitBoardHeuristic) heuristic).evaluate(board.getCurrentPosition(), board.getMask());
+		} else {
+			return (float) heuristic.evaluate(board.toBitBoard());
+		}
+	}
+
+	static int toBound(float score, float originalAlpha, float beta) {
+		if (score <= originalAlpha) {
+			return TranspositionTable.UPPER_BOUND;
+		} else if (score >= beta) {
+			return TranspositionTable.LOWER_BOUND;
+		} else {
+			return TranspositionTable.EXACT;
+		}
+	}
+
+	/**
+	 * No game lasts longer than the board has cells, so searching past the
+	 * empty cell count adds nothing. Clamping to it also keeps the depth within
+	 * what {@link TranspositionTable#pack(float, int, int, int)} can store,
+	 * whatever the configured max depth.
+	 */
+	static int clampDepth(int remainingDepth, int turnsPlayed) {
+		return Math.min(remainingDepth, Board.WIDTH * Board.HEIGHT - turnsPlayed);
+	}
+
+	static float search(BitBoard board, Config config, int remainingDepth, float alpha, float beta,
+			CancellationToken cancellationToken) {
+		return search(new MutableBitBoard(board), config, remainingDepth, alpha, beta, cancellationToken);
+	}
+
+	/**
+	 * Searches by playing and undoing moves on the given board, allocating
+	 * nothing per node as long as the heuristic is a {@link BitBoardHeuristic}.
+	 * 
+	 * @param cancellationToken
+	 *            polled at every node, or null if the search cannot be cancelled
+	 * @return the score of the board for the player to move, searched to the
+	 *         remaining depth
+	 * @throws SearchCancelledException
+	 *             if the token is cancelled before the search completes. nothing
+	 *             is stored in the table for the unfinished nodes, and the board
+	 *             is left part way down the tree.
+	 */
+	static float search(MutableBitBoard board, Config config, int remainingDepth, float alpha, float beta,
+			CancellationToken cancellationToken) {
+		if (cancellationToken != null && cancellationToken.isCancelled()) {
+			throw new SearchCancelledException();
+		}
+		float decided = decidedScore(board);
+		if (!Float.isNaN(decided)) {
+			return decided;
+		}
+		remainingDepth = clampDepth(remainingDepth, board.getTurnsPlayed());
+		if (remainingDepth == 0) {
+			return evaluate(config.getHeuristic(), board);
+		}
+
+		TranspositionTable transpositionTable = config.getTranspositionTable();
+		boolean isPruning = config.isAlphaBetaPruningDesired();
+		long key = board.getKey();
+		float originalAlpha = alpha;
+		int hintColumn = TranspositionTable.NO_COLUMN;
+		if (transpositionTable != null) {
+			long entry = transpositionTable.get(key);
+			if (entry != TranspositionTable.MISS) {
+				hintColumn = TranspositionTable.getColumn(entry);
+				if (TranspositionTable.getDepth(entry) >= remainingDepth) {
+					float score = TranspositionTable.getScore(entry);
+					switch (TranspositionTable.getBound(entry)) {
+					case TranspositionTable.EXACT:
+						return score;
+					case TranspositionTable.LOWER_BOUND:
+						if (isPruning) {
+							alpha = Math.max(alpha, score);
+						}
+						break;
+					case TranspositionTable.UPPER_BOUND:
+						if (isPruning) {
+							beta = Math.min(beta, score);
+						}
+						break;
+					default:
+						throw new AssertionError();
+					}
+					if (alpha >= beta) {
+						return score;
+					}
+				}
+			}
+		}
+
+		float best = Float.NEGATIVE_INFINITY;
+		int bestColumn = TranspositionTable.NO_COLUMN;
+		int[] order = columnOrder(config);
+		for (int i = -1; i < order.length; i++) {
+			int column = i < 0 ? hintColumn : order[i];
+			if (column == TranspositionTable.NO_COLUMN || (i >= 0 && column == hintColumn)
+					|| !board.canPlay(column)) {
+				continue;
+			}
+			board.play(column);
+			float score = -search(board, config, remainingDepth - 1, -beta, -alpha, cancellationToken);
+			board.undo();
+			if (score > best) {
+				best = score;
+				bestColumn = column;
+			}
+			if (isPruning) {
+				alpha = Math.max(alpha, score);
+				if (alpha >= beta) {
+					break;
+				}
+			}
+		}
+
+		if (transpositionTable != null) {
+			int bound = isPruning ? toBound(best, originalAlpha, beta) : TranspositionTable.EXACT;
+			transpositionTable.put(key, TranspositionTable.pack(best, remainingDepth, bound, bestColumn));
+		}
+		return best;
+	}
+
+	/**
+	 * Searches the board to {@link Config#getMaxDepth()} plies.
+	 * 
+	 * @param board
+	 *            the board to search, which must not be done
+	 * @param config
+	 *            the heuristic, depth and enhancements to search with
+	 * @return the best column for the current player with its score
+	 */
+	public static ColumnEvaluationPair negamax(Board board, Config config) {
+		checkRoot(board, config);
+		return searchRoot(BitBoard.valueOf(board), config, TranspositionTable.NO_COLUMN, null);
+	}
+
+	static void checkRoot(Board board, Config config) {
+		if (board.isDone()) {
+			throw new IllegalArgumentException("board is done:\n" + board);
+		}
+		if (config.getMaxDepth() < 1) {
+			throw new IllegalArgumentException("maxDepth must be positive: " + config.getMaxDepth());
+		}
+	}
+
+	/**
+	 * @param firstColumn
+	 *            the column to search first, typically the best column of a
+	 *            shallower search, or {@link TranspositionTable#NO_COLUMN}
+	 */
+	static ColumnEvaluationPair searchRoot(BitBoard board, Config config, int firstColumn,
+			CancellationToken cancellationToken) {
+		float alpha = Float.NEGATIVE_INFINITY;
+		float best = Float.NEGATIVE_INFINITY;
+		int bestColumn = -1;
+		MutableBitBoard mutableBoard = new MutableBitBoard(board);
+		int[] order = columnOrder(config);
+		for (int i = -1; i < order.length; i++) {
+			int column = i < 0 ? firstColumn : order[i];
+			if (column == TranspositionTable.NO_COLUMN || (i >= 0 && column == firstColumn)
+					|| !mutableBoard.canPlay(column)) {
+				continue;
+			}
+			mutableBoard.play(column);
+			float score = -search(mutableBoard, config, config.getMaxDepth() - 1, Float.NEGATIVE_INFINITY, -alpha,
+					cancellationToken);
+			mutableBoard.undo();
+			if (score > best) {
+				best = score;
+				bestColumn = column;
+			}
+			if (config.isAlphaBetaPruningDesired()) {
+				alpha = Math.max(alpha, score);
+			}
+		}
+		return new ColumnEvaluationPair(bestColumn, best);
+	}
+}
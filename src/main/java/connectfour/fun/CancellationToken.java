@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A cooperative cancellation flag for searches. Tokens form a tree: a token
+ * reports itself cancelled when it or any of its ancestors has been
+ * cancelled, so cancelling a node's group of sibling searches also cancels
+ * everything they have spawned. A token may also carry a deadline, after which
+ * it reports itself cancelled.
+ *
+ * @author Yiheng Huang
+ */
+@ThreadSafe
+final class CancellationToken {
+	private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+	private final CancellationToken parent;
+	private final long deadlineNanoTime;
+	private volatile boolean isCancelled;
+
+	private CancellationToken(CancellationToken parent, long deadlineNanoTime) {
+		this.parent = parent;
+		this.deadlineNanoTime = deadlineNanoTime;
+	}
+
+	/**
+	 * @param parent
+	 *            the enclosing token, or null for a root token
+	 */
+	CancellationToken(CancellationToken parent) {
+		this(parent, NO_DEADLINE);
+	}
+
+	/**
+	 * @param deadlineNanoTime
+	 *            the {@link System#nanoTime()} at which the token cancels itself
+	 * @return a root token with the given deadline
+	 */
+	static CancellationToken withDeadline(long deadlineNanoTime) {
+		return new CancellationToken(null, deadlineNanoTime);
+	}
+
+	void cancel() {
+		this.isCancelled = true;
+	}
+
+	private boolean isCancelledLocally() {
+		if (isCancelled) {
+			return true;
+		}
+		if (deadlineNanoTime != NO_DEADLINE && System.nanoTime() - deadlineNanoTime >= 0) {
+			isCancelled = true;
+			return true;
+		}
+		return false;
+	}
+
+	boolean isCancelled() {
+		for (CancellationToken token = this; token != null; token = token.parent) {
+			if (token.isCancelledLocally()) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.concurrent.ForkJoinPool;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.TranspositionTable;
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * Searches to depth 1, 2, 3, ... until a wall-clock deadline expires, and
+ * returns the result of the deepest search which completed. Each iteration
+ * searches the previous iteration's best column first and shares the
+ * config's {@link TranspositionTable}, so the shallower searches mostly pay
+ * for themselves through better move ordering.
+ *
+ * The search in progress when the deadline expires is cancelled within one
+ * node, so the time taken overshoots the budget only by the time to unwind.
+ * Depth 1 is always searched to completion, so a legal column is returned
+ * however small the budget.
+ *
+ * @author Yiheng Huang
+ */
+public final class IterativeDeepening {
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private IterativeDeepening() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static ColumnEvaluationPair searchToDepth(BitBoard board, Config config, int firstColumn,
+			CancellationToken cancellationToken, boolean isParallel) {
+		if (isParallel && config.getMaxParallelDepth() > 0) {
+			return ForkJoinPool.commonPool()
+					.invoke(new YoungBrothersWaitTask(board, config, firstColumn, cancellationToken));
+		} else {
+			return AlphaBetaConnectFour.searchRoot(board, config, firstColumn, cancellationToken);
+		}
+	}
+
+	/**
+	 * @param board
+	 *            the board to search, which must not be done
+	 * @param config
+	 *            the heuristic and enhancements to search with.
+	 *            {@link Config#getMaxDepth()} caps the deepening.
+	 * @param timeBudgetInNanoseconds
+	 *            the wall-clock time after which to stop searching
+	 * @param isParallel
+	 *            whether to search each depth with a
+	 *            {@link YoungBrothersWaitTask} rather than sequentially
+	 * @return the best column and its score from the deepest completed search
+	 */
+	public static ColumnEvaluationPair search(Board board, Config config, long timeBudgetInNanoseconds,
+			boolean isParallel) {
+		AlphaBetaConnectFour.checkRoot(board, config);
+		long deadlineNanoTime = System.nanoTime() + timeBudgetInNanoseconds;
+		BitBoard bitBoard = BitBoard.valueOf(board);
+		int depthLimit = Math.min(config.getMaxDepth(), Board.WIDTH * Board.HEIGHT - bitBoard.getTurnsPlayed());
+
+		CancellationToken cancellationToken = CancellationToken.withDeadline(deadlineNanoTime);
+		ColumnEvaluationPair result = null;
+		for (int depth = 1; depth <= depthLimit; depth++) {
+			Config depthConfig = new Config.Builder(config).maxDepth(depth)
+					.maxParallelDepth(Math.min(config.getMaxParallelDepth(), depth)).build();
+			int firstColumn = result != null ? result.getColumn() : TranspositionTable.NO_COLUMN;
+			try {
+				result = searchToDepth(bitBoard, depthConfig, firstColumn, depth > 1 ? cancellationToken : null,
+						isParallel);
+			} catch (SearchCancelledException sce) {
+				break;
+			}
+			if (Math.abs(result.getEvaluation()) >= AlphaBetaConnectFour.WIN_SCORE) {
+				// the game is decided within the horizon. deeper searches cannot
+				// change the outcome.
+				break;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import connectfour.core.BitBoard;
+import connectfour.core.BitBoardHeuristic;
+import connectfour.core.Board;
+
+/**
+ * Scores a position by counting, for each player, the four-in-a-row windows
+ * which hold two or three of the player's pieces and none of the opponent's,
+ * the empty cells which would complete four in a row (threats), and the
+ * threats which can be played immediately. The score is the current
+ * player's weighted total less the opponent's.
+ *
+ * Everything is computed with shifts and masks on the two longs of a
+ * {@link BitBoard}. For each of the four directions, the four pieces of
+ * every window are shifted onto the window's first cell and summed with a
+ * bit-sliced adder, so all windows in a direction are counted with a handful
+ * of operations and {@link Long#bitCount(long)}. The score is symmetric under
+ * mirroring the board.
+ *
+ * {@link WinLineThreatCountHeuristic} computes the same score by scanning
+ * {@link connectfour.core.WinLine}s.
+ *
+ * @author Yiheng Huang
+ */
+public enum ThreatCountHeuristic implements BitBoardHeuristic {
+	INSTANCE;
+
+	static final double TWO_WEIGHT = 1.0;
+	static final double THREE_WEIGHT = 4.0;
+	static final double THREAT_WEIGHT = 8.0;
+	static final double PLAYABLE_THREAT_WEIGHT = 64.0;
+
+	// vertical, horizontal and the two diagonals
+	private static final int[] SHIFTS = { 1, Board.HEIGHT + 1, Board.HEIGHT, Board.HEIGHT + 2 };
+	private static final long[] WINDOW_STARTS = createWindowStarts();
+
+	private static long[] createWindowStarts() {
+		long[] result = new long[SHIFTS.length];
+		for (int i = 0; i < SHIFTS.length; i++) {
+			int s = SHIFTS[i];
+			// a window which would wrap or run off the board covers a sentinel
+			// bit or a bit above the board
+			long board = BitBoard.BOARD_MASK;
+			result[i] = board & (board >>> s) & (board >>> (2 * s)) & (board >>> (3 * s));
+		}
+		return result;
+	}
+
+	/**
+	 * @return the empty cells which would give the player four in a row
+	 */
+	static long threatCells(long position, long mask) {
+		// vertical
+		long r = (position << 1) & (position << 2) & (position << 3);
+		for (int i = 1; i < SHIFTS.length; i++) {
+			int s = SHIFTS[i];
+			long p = (position << s) & (position << (2 * s));
+			r |= p & (position << (3 * s));
+			r |= p & (position >>> s);
+			p = (position >>> s) & (position >>> (2 * s));
+			r |= p & (position >>> (3 * s));
+			r |= p & (position << s);
+		}
+		return r & (BitBoard.BOARD_MASK ^ mask);
+	}
+
+	private static double scoreWindows(long position, long opponentPosition) {
+		int twoCount = 0;
+		int threeCount = 0;
+		for (int i = 0; i < SHIFTS.length; i++) {
+			int s = SHIFTS[i];
+			long a0 = position;
+			long a1 = position >>> s;
+			long a2 = position >>> (2 * s);
+			long a3 = position >>> (3 * s);
+			long open = WINDOW_STARTS[i] & ~(opponentPosition | (opponentPosition >>> s)
+					| (opponentPosition >>> (2 * s)) | (opponentPosition >>> (3 * s)));
+			// bit-sliced sum a0 + a1 + a2 + a3 = 4*b2 + 2*b1 + b0, per window
+			long s1 = a0 ^ a1;
+			long c1 = a0 & a1;
+			long s2 = a2 ^ a3;
+			long c2 = a2 & a3;
+			long b0 = s1 ^ s2;
+			long b1 = c1 ^ c2 ^ (s1 & s2);
+			// a sum of 4 or more has b0 = b1 = 0, so b2 need not be checked
+			twoCount += Long.bitCount(open & ~b0 & b1);
+			threeCount += Long.bitCount(open & b0 & b1);
+		}
+		return TWO_WEIGHT * twoCount + THREE_WEIGHT * threeCount;
+	}
+
+	private static double scoreThreats(long threats, long playable) {
+		return THREAT_WEIGHT * Long.bitCount(threats) + PLAYABLE_THREAT_WEIGHT * Long.bitCount(threats & playable);
+	}
+
+	@Override
+	public double evaluate(long currentPosition, long mask) {
+		long opponentPosition = currentPosition ^ mask;
+		long playable = BitBoard.playableCells(mask);
+		return scoreWindows(currentPosition, opponentPosition) - scoreWindows(opponentPosition, currentPosition)
+				+ scoreThreats(threatCells(currentPosition, mask), playable)
+				- scoreThreats(threatCells(opponentPosition, mask), playable);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+}
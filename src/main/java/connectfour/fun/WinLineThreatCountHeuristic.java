@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import connectfour.core.Board;
+import connectfour.core.BoardLocation;
+import connectfour.core.Heuristic;
+import connectfour.core.Player;
+import connectfour.core.WinLine;
+
+/**
+ * The {@link ThreatCountHeuristic} score computed the straightforward way, by
+ * scanning every {@link WinLine} through {@link Board#get(BoardLocation)}. It
+ * serves as the reference for the bitboard version and as the baseline it is
+ * timed against.
+ *
+ * @author Yiheng Huang
+ */
+public enum WinLineThreatCountHeuristic implements Heuristic {
+	INSTANCE;
+
+	private static boolean isPlayable(Board board, BoardLocation location) {
+		return location.getRow() == 0
+				|| board.get(BoardLocation.valueOf(location.getRow() - 1, location.getColumn())) != null;
+	}
+
+	private static double score(Board board, Player player) {
+		int twoCount = 0;
+		int threeCount = 0;
+		Set<BoardLocation> threats = new HashSet<>();
+		for (WinLine winLine : WinLine.values()) {
+			int playerCount = 0;
+			int opponentCount = 0;
+			BoardLocation emptyLocation = null;
+			for (BoardLocation location : winLine) {
+				Player occupant = board.get(location);
+				if (occupant == player) {
+					playerCount++;
+				} else if (occupant != null) {
+					opponentCount++;
+				} else {
+					emptyLocation = location;
+				}
+			}
+			if (opponentCount == 0) {
+				if (playerCount == 2) {
+					twoCount++;
+				} else if (playerCount == 3) {
+					threeCount++;
+					threats.add(emptyLocation);
+				}
+			}
+		}
+		int playableThreatCount = 0;
+		for (BoardLocation location : threats) {
+			if (isPlayable(board, location)) {
+				playableThreatCount++;
+			}
+		}
+		return ThreatCountHeuristic.TWO_WEIGHT * twoCount + ThreatCountHeuristic.THREE_WEIGHT * threeCount
+				+ ThreatCountHeuristic.THREAT_WEIGHT * threats.size()
+				+ ThreatCountHeuristic.PLAYABLE_THREAT_WEIGHT * playableThreatCount;
+	}
+
+	@Override
+	public double evaluate(Board board) {
+		Player currentPlayer = board.getCurrentPlayer();
+		return score(board, currentPlayer) - score(board, currentPlayer.getOpponent());
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.TranspositionTable;
+
+/**
+ * A parallel alpha-beta search using the Young Brothers Wait Concept. At each
+ * node shallower than {@link Config#getMaxParallelDepth()} the eldest child
+ * (the transposition table's best column, or else the first column in order)
+ * is searched first, recursively in the same way, to establish a bound. Only
+ * then are its younger siblings forked, all with the improved window. When a
+ * sibling's score causes a cutoff the remaining siblings are cancelled
+ * through a shared {@link CancellationToken}. Deeper nodes are searched
+ * sequentially with {@link AlphaBetaConnectFour}.
+ *
+ * Forking every child, as {@link connectfour.studio.chooseyourownadventure}
+ * does, searches each child with the full window and prunes nothing near the
+ * root. Here only the siblings of a node that failed to cut off run in
+ * parallel, so almost no work is wasted in well ordered trees.
+ *
+ * Parallel nodes store their results in the transposition table and use it
+ * for move ordering but, being few, do not probe it for cutoffs.
+ *
+ * @author Yiheng Huang
+ */
+public final class YoungBrothersWaitTask extends RecursiveTask<ColumnEvaluationPair> {
+	private final BitBoard board;
+	private final Config config;
+	private final int currentDepth;
+	private final float alpha;
+	private final float beta;
+	private final int firstColumn;
+	private final CancellationToken cancellationToken;
+
+	private YoungBrothersWaitTask(BitBoard board, Config config, int currentDepth, float alpha, float beta,
+			int firstColumn, CancellationToken cancellationToken) {
+		this.board = board;
+		this.config = config;
+		this.currentDepth = currentDepth;
+		this.alpha = alpha;
+		this.beta = beta;
+		this.firstColumn = firstColumn;
+		this.cancellationToken = cancellationToken;
+	}
+
+	/**
+	 * Creates a root task which searches the given column first and can be
+	 * cancelled.
+	 */
+	YoungBrothersWaitTask(BitBoard board, Config config, int firstColumn, CancellationToken cancellationToken) {
+		this(board, config, 0, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, firstColumn, cancellationToken);
+		AlphaBetaConnectFour.checkRoot(board, config);
+	}
+
+	/**
+	 * Creates the task for the root of a search to {@link Config#getMaxDepth()}
+	 * plies.
+	 * 
+	 * @param board
+	 *            the board to search, which must not be done
+	 * @param config
+	 *            the heuristic, depths and enhancements to search with
+	 */
+	public YoungBrothersWaitTask(Board board, Config config) {
+		this(BitBoard.valueOf(board), config, TranspositionTable.NO_COLUMN, null);
+	}
+
+	private int[] orderColumns(int hintColumn) {
+		int[] order = AlphaBetaConnectFour.columnOrder(config);
+		int[] result = new int[order.length];
+		int count = 0;
+		if (hintColumn != TranspositionTable.NO_COLUMN && board.canPlay(hintColumn)) {
+			result[count++] = hintColumn;
+		}
+		for (int column : order) {
+			if (column != hintColumn && board.canPlay(column)) {
+				result[count++] = column;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	private YoungBrothersWaitTask createChild(int column, float childAlpha, CancellationToken childToken) {
+		return new YoungBrothersWaitTask((BitBoard) board.createNextBoard(column), config, currentDepth + 1,
+				-beta, -childAlpha, TranspositionTable.NO_COLUMN, childToken);
+	}
+
+	@Override
+	protected ColumnEvaluationPair compute() {
+		if (cancellationToken != null && cancellationToken.isCancelled()) {
+			throw new SearchCancelledException();
+		}
+		float decided = AlphaBetaConnectFour.decidedScore(board);
+		if (!Float.isNaN(decided)) {
+			return new ColumnEvaluationPair(-1, decided);
+		}
+		int remainingDepth = config.getMaxDepth() - currentDepth;
+		if (currentDepth > 0 && (currentDepth >= config.getMaxParallelDepth() || remainingDepth < 2)) {
+			float score = AlphaBetaConnectFour.search(board, config, remainingDepth, alpha, beta, cancellationToken);
+			return new ColumnEvaluationPair(-1, score);
+		}
+		if (currentDepth == 0 && config.getMaxParallelDepth() == 0) {
+			return AlphaBetaConnectFour.searchRoot(board, config, firstColumn, cancellationToken);
+		}
+
+		TranspositionTable transpositionTable = config.getTranspositionTable();
+		boolean isPruning = config.isAlphaBetaPruningDesired();
+		int hintColumn = firstColumn;
+		if (hintColumn == TranspositionTable.NO_COLUMN && transpositionTable != null) {
+			long entry = transpositionTable.get(board.getKey());
+			if (entry != TranspositionTable.MISS) {
+				hintColumn = TranspositionTable.getColumn(entry);
+			}
+		}
+		int[] columns = orderColumns(hintColumn);
+
+		// the eldest brother is searched first, on this thread
+		float best = (float) -createChild(columns[0], alpha, cancellationToken).compute().getEvaluation();
+		int bestColumn = columns[0];
+		float currentAlpha = isPruning ? Math.max(alpha, best) : alpha;
+
+		if (currentAlpha < beta && columns.length > 1) {
+			// the young brothers wait for the bound, then run in parallel
+			CancellationToken siblingToken = new CancellationToken(cancellationToken);
+			YoungBrothersWaitTask[] siblings = new YoungBrothersWaitTask[columns.length - 1];
+			for (int i = 0; i < siblings.length; i++) {
+				siblings[i] = createChild(columns[i + 1], currentAlpha, siblingToken);
+			}
+			for (int i = siblings.length - 1; i > 0; i--) {
+				siblings[i].fork();
+			}
+			for (int i = 0; i < siblings.length; i++) {
+				float score;
+				try {
+					score = (float) -(i == 0 ? siblings[i].compute() : siblings[i].join()).getEvaluation();
+				} catch (SearchCancelledException sce) {
+					if (cancellationToken != null && cancellationToken.isCancelled()) {
+						throw sce;
+					}
+					// cancelled by the cutoff below
+					continue;
+				}
+				if (siblingToken.isCancelled()) {
+					continue;
+				}
+				if (score > best) {
+					best = score;
+					bestColumn = columns[i + 1];
+				}
+				if (isPruning) {
+					currentAlpha = Math.max(currentAlpha, score);
+					if (currentAlpha >= beta) {
+						siblingToken.cancel();
+					}
+				}
+			}
+		}
+
+		if (cancellationToken != null && cancellationToken.isCancelled()) {
+			throw new SearchCancelledException();
+		}
+		if (transpositionTable != null) {
+			int bound = isPruning ? AlphaBetaConnectFour.toBound(best, alpha, beta) : TranspositionTable.EXACT;
+			int depth = AlphaBetaConnectFour.clampDepth(remainingDepth, board.getTurnsPlayed());
+			transpositionTable.put(board.getKey(), TranspositionTable.pack(best, depth, bound, bestColumn));
+		}
+		return new ColumnEvaluationPair(bestColumn, best);
+	}
+
+	@Override
+	public String toString() {
+		return "YoungBrothersWaitTask[currentDepth=" + currentDepth + "]";
+	}
+
+	private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun.book;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.MutableBitBoard;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A read-only table of precomputed scores for early positions, memory mapped
+ * from a file written by {@link #write(Path, int, int, long[], float[])}.
+ *
+ * A position and its mirror image always have the same score, so each pair
+ * is stored once under its canonical key, the smaller of the two
+ * {@link BitBoard#getKey()}s. The file is a 16 byte header (magic, version,
+ * max ply, horizon ply) followed by 12 byte (key, score) records in
+ * increasing key order, which lookups binary search in place. Scores are
+ * from the perspective of the player to move, as in
+ * {@link connectfour.core.Heuristic}.
+ *
+ * @author Yiheng Huang
+ */
+@ThreadSafe
+public final class OpeningBook {
+	private static final int MAGIC = 0x43344243; // "C4BC"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTE_COUNT = 4 * Integer.BYTES;
+	private static final int RECORD_BYTE_COUNT = Long.BYTES + Float.BYTES;
+
+	private static final int[] CENTER_FIRST_ORDER = { 3, 2, 4, 1, 5, 0, 6 };
+
+	private final MappedByteBuffer buffer;
+	private final int maxPly;
+	private final int horizonPly;
+	private final int recordCount;
+
+	private OpeningBook(MappedByteBuffer buffer, int maxPly, int horizonPly, int recordCount) {
+		this.buffer = buffer;
+		this.maxPly = maxPly;
+		this.horizonPly = horizonPly;
+		this.recordCount = recordCount;
+	}
+
+	/**
+	 * Memory maps a book file.
+	 * 
+	 * @param path
+	 *            a file written by {@link #write(Path, int, int, long[], float[])}
+	 * @return the book
+	 * @throws IOException
+	 */
+	public static OpeningBook load(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTE_COUNT || (size - HEADER_BYTE_COUNT) % RECORD_BYTE_COUNT != 0
+					|| size > Integer.MAX_VALUE) {
+				throw new IOException("not an opening book: " + path);
+			}
+			// the mapping remains valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+				throw new IOException("not an opening book: " + path);
+			}
+			int maxPly = buffer.getInt(2 * Integer.BYTES);
+			int horizonPly = buffer.getInt(3 * Integer.BYTES);
+			int recordCount = (int) ((size - HEADER_BYTE_COUNT) / RECORD_BYTE_COUNT);
+			return new OpeningBook(buffer, maxPly, horizonPly, recordCount);
+		}
+	}
+
+	/**
+	 * Writes a book file.
+	 * 
+	 * @param path
+	 *            the file to create or overwrite
+	 * @param maxPly
+	 *            the number of pieces on the board of the latest positions
+	 * @param horizonPly
+	 *            the number of pieces on the board of the positions at which the
+	 *            scores were evaluated
+	 * @param canonicalKeys
+	 *            the {@link #canonicalKey(long)}s of the positions, in strictly
+	 *            increasing order
+	 * @param scores
+	 *            the score of each position
+	 * @throws IOException
+	 */
+	public static void write(Path path, int maxPly, int horizonPly, long[] canonicalKeys, float[] scores)
+			throws IOException {
+		if (canonicalKeys.length != scores.length) {
+			throw new IllegalArgumentException(canonicalKeys.length + " keys but " + scores.length + " scores");
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(maxPly);
+			out.writeInt(horizonPly);
+			for (int i = 0; i < canonicalKeys.length; i++) {
+				if (i > 0 && canonicalKeys[i] <= canonicalKeys[i - 1]) {
+					throw new IllegalArgumentException("keys not in strictly increasing order at index " + i);
+				}
+				out.writeLong(canonicalKeys[i]);
+				out.writeFloat(scores[i]);
+			}
+		}
+	}
+
+	/**
+	 * @param key
+	 *            a key from {@link BitBoard#getKey()}
+	 * @return the key of the mirror image of the position
+	 */
+	public static long mirrorKey(long key) {
+		// no column's bits carry into the next in a key, so columns can be
+		// moved independently.
+		long result = 0;
+		int columnBitCount = Board.HEIGHT + 1;
+		long columnMask = (1L << columnBitCount) - 1;
+		for (int column = 0; column < Board.WIDTH; column++) {
+			long bits = (key >>> (column * columnBitCount)) & columnMask;
+			result |= bits << ((Board.WIDTH - 1 - column) * columnBitCount);
+		}
+		return result;
+	}
+
+	/**
+	 * @param key
+	 *            a key from {@link BitBoard#getKey()}
+	 * @return the key under which the position and its mirror image are stored
+	 */
+	public static long canonicalKey(long key) {
+		return Math.min(key, mirrorKey(key));
+	}
+
+	public int getMaxPly() {
+		return maxPly;
+	}
+
+	public int getHorizonPly() {
+		return horizonPly;
+	}
+
+	public int size() {
+		return recordCount;
+	}
+
+	private float getScore(long key) {
+		long target = canonicalKey(key);
+		int low = 0;
+		int high = recordCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int offset = HEADER_BYTE_COUNT + mid * RECORD_BYTE_COUNT;
+			long midKey = buffer.getLong(offset);
+			if (midKey < target) {
+				low = mid + 1;
+			} else if (midKey > target) {
+				high = mid - 1;
+			} else {
+				return buffer.getFloat(offset + Long.BYTES);
+			}
+		}
+		return Float.NaN;
+	}
+
+	/**
+	 * @param board
+	 *            any board
+	 * @return the score of the board for the player to move, or NaN if the
+	 *         board is not in the book
+	 */
+	public float getScore(Board board) {
+		return getScore(BitBoard.valueOf(board).getKey());
+	}
+
+	/**
+	 * Selects the column whose resulting position has the best score for the
+	 * player to move. A winning play is selected without consulting the book.
+	 * 
+	 * @param board
+	 *            a board which is not done
+	 * @return the best column, or -1 if the book does not cover every play
+	 */
+	public int selectColumn(Board board) {
+		MutableBitBoard mutableBoard = new MutableBitBoard(BitBoard.valueOf(board));
+		int bestColumn = -1;
+		float best = Float.NEGATIVE_INFINITY;
+		for (int column : CENTER_FIRST_ORDER) {
+			if (!mutableBoard.canPlay(column)) {
+				continue;
+			}
+			if (mutableBoard.isWinningPlay(column)) {
+				return column;
+			}
+			mutableBoard.play(column);
+			float childScore = getScore(mutableBoard.getKey());
+			mutableBoard.undo();
+			if (Float.isNaN(childScore)) {
+				return -1;
+			}
+			if (-childScore > best) {
+				best = -childScore;
+				bestColumn = column;
+			}
+		}
+		return bestColumn;
+	}
+}
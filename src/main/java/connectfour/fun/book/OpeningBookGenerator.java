@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun.book;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.Config;
+import connectfour.core.Heuristic;
+import connectfour.core.TranspositionTable;
+import connectfour.fun.AlphaBetaConnectFour;
+import connectfour.fun.ThreatCountHeuristic;
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * Precomputes an {@link OpeningBook}. Every unfinished position with at most
+ * maxPly pieces is enumerated, keeping one of each mirror-image pair, and each
+ * is searched with {@link AlphaBetaConnectFour} down to the positions with
+ * horizonPly pieces. The positions are independent, so they are searched in
+ * parallel with a chunked forall, all sharing one {@link TranspositionTable}.
+ * Because every search ends at the same absolute ply, a position reached
+ * from different roots always has the same remaining depth and table hits
+ * never change a score.
+ *
+ * The heuristic must score mirror images alike, as the book stores only one
+ * of each pair.
+ *
+ * @author Yiheng Huang
+ */
+public final class OpeningBookGenerator {
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private OpeningBookGenerator() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	/**
+	 * @return one board per mirror-image pair of unfinished positions with at
+	 *         most maxPly pieces
+	 */
+	static List<BitBoard> enumeratePositions(int maxPly) {
+		List<BitBoard> result = new ArrayList<>();
+		Map<Long, BitBoard> ply = new HashMap<>();
+		BitBoard empty = new BitBoard();
+		ply.put(OpeningBook.canonicalKey(empty.getKey()), empty);
+		for (int turn = 0; turn <= maxPly; turn++) {
+			result.addAll(ply.values());
+			if (turn == maxPly) {
+				break;
+			}
+			Map<Long, BitBoard> nextPly = new HashMap<>();
+			for (BitBoard board : ply.values()) {
+				for (int column = 0; column < Board.WIDTH; column++) {
+					if (board.canPlay(column)) {
+						BitBoard next = (BitBoard) board.createNextBoard(column);
+						if (!next.isDone()) {
+							nextPly.putIfAbsent(OpeningBook.canonicalKey(next.getKey()), next);
+						}
+					}
+				}
+			}
+			ply = nextPly;
+		}
+		return result;
+	}
+
+	/**
+	 * Generates and writes a book. Must be called from within launchApp.
+	 * 
+	 * @param path
+	 *            the file to create or overwrite
+	 * @param maxPly
+	 *            the number of pieces on the board of the latest positions to
+	 *            include
+	 * @param horizonPly
+	 *            the number of pieces on the board at which to stop searching
+	 *            and apply the heuristic. must be greater than maxPly.
+	 * @param heuristic
+	 *            a mirror-symmetric heuristic
+	 * @param transpositionTable
+	 *            the table to share between the searches
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void generate(Path path, int maxPly, int horizonPly, Heuristic heuristic,
+			TranspositionTable transpositionTable) throws IOException, InterruptedException, ExecutionException {
+		if (maxPly < 0 || horizonPly <= maxPly || horizonPly > Board.WIDTH * Board.HEIGHT) {
+			throw new IllegalArgumentException("need 0 <= maxPly < horizonPly <= " + Board.WIDTH * Board.HEIGHT
+					+ ": maxPly=" + maxPly + " horizonPly=" + horizonPly);
+		}
+		List<BitBoard> boards = enumeratePositions(maxPly);
+		boards.sort(Comparator.comparingLong(board -> OpeningBook.canonicalKey(board.getKey())));
+
+		long[] canonicalKeys = new long[boards.size()];
+		float[] scores = new float[boards.size()];
+		forall(chunked(), 0, boards.size(), (i) -> {
+			BitBoard board = boards.get(i);
+			Config config = new Config.Builder().heuristic(heuristic)
+					.maxDepth(horizonPly - board.getTurnsPlayed()).transpositionTable(transpositionTable).build();
+			canonicalKeys[i] = OpeningBook.canonicalKey(board.getKey());
+			scores[i] = (float) AlphaBetaConnectFour.negamax(board, config).getEvaluation();
+		});
+		OpeningBook.write(path, maxPly, horizonPly, canonicalKeys, scores);
+	}
+
+	/**
+	 * Usage: OpeningBookGenerator path [maxPly [horizonPly]]
+	 * 
+	 * Scores with {@link ThreatCountHeuristic}.
+	 */
+	public static void main(String[] args) {
+		Path path = Paths.get(args.length > 0 ? args[0] : "connectfour.book");
+		int maxPly = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+		int horizonPly = args.length > 2 ? Integer.parseInt(args[2]) : 14;
+		launchApp(() -> {
+			try {
+				generate(path, maxPly, horizonPly, ThreatCountHeuristic.INSTANCE, new TranspositionTable(24));
+			} catch (IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		});
+		System.out.println("wrote " + path.toAbsolutePath() + " (maxPly=" + maxPly + ", horizonPly=" + horizonPly
+				+ ")");
+	}
+}
@@ -23,9 +23,13 @@ package connectfour.studio.chooseyourownadventure;
 
 import static edu.wustl.cse231s.v5.V5.launchAppWithReturn;
 
+import java.util.concurrent.ForkJoinPool;
+
 import connectfour.core.Board;
 import connectfour.core.ColumnEvaluationPair;
 import connectfour.core.Config;
+import connectfour.fun.AlphaBetaConnectFour;
+import connectfour.fun.YoungBrothersWaitTask;
 import connectfour.studio.SequentialConnectFour;
 import connectfour.studio.chooseyourownadventure.forall.ParallelForallConnectFour;
 import connectfour.studio.chooseyourownadventure.futures.ParallelFuturesConnectFour;
@@ -73,6 +77,28 @@ public enum Adventure {
 			return true;
 		}
 	},
+	ALPHA_BETA() {
+		@Override
+		public ColumnEvaluationPair chooseAdventure(Board board, Config config) {
+			return AlphaBetaConnectFour.negamax(board, config);
+		}
+
+		@Override
+		public boolean isParallel() {
+			return false;
+		}
+	},
+	YOUNG_BROTHERS_WAIT() {
+		@Override
+		public ColumnEvaluationPair chooseAdventure(Board board, Config config) {
+			return ForkJoinPool.commonPool().invoke(new YoungBrothersWaitTask(board, config));
+		}
+
+		@Override
+		public boolean isParallel() {
+			return true;
+		}
+	},
 	RECURSIVE_TASKS() {
 		@Override
 		public ColumnEvaluationPair chooseAdventure(Board board, Config config) {
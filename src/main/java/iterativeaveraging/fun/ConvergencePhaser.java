@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package iterativeaveraging.fun;
+
+import java.util.Arrays;
+import java.util.concurrent.Phaser;
+
+/**
+ * A phaser which decides convergence as the last party arrives. Each party
+ * records the largest change it made before arriving at the end of an
+ * iteration, and {@link #onAdvance(int, int)} takes the max over the parties.
+ * Once that max falls below epsilon, or the iteration limit is reached, the
+ * phaser terminates. Parties should check {@link #isTerminated()} after each
+ * iteration's arrival, since the last party to arrive is not returned a
+ * negative phase.
+ *
+ * An iteration may span several phases, for example one per color of a
+ * red-black sweep, in which case only the last phase of each iteration checks
+ * for convergence.
+ *
+ * @author Yiheng Huang
+ */
+/* package-private */ final class ConvergencePhaser extends Phaser {
+	private final double[] maxDeltas;
+	private final double epsilon;
+	private final int maxIterationCount;
+	private final int phasesPerIteration;
+	private volatile int iterationCount;
+
+	ConvergencePhaser(int partyCount, double epsilon, int maxIterationCount, int phasesPerIteration) {
+		super(partyCount);
+		this.maxDeltas = new double[partyCount];
+		this.epsilon = epsilon;
+		this.maxIterationCount = maxIterationCount;
+		this.phasesPerIteration = phasesPerIteration;
+	}
+
+	/**
+	 * Must be called by the given party before it arrives at the end of each
+	 * iteration. The arrival publishes the value to {@link #onAdvance(int, int)}.
+	 */
+	void setMaxDelta(int party, double maxDelta) {
+		this.maxDeltas[party] = maxDelta;
+	}
+
+	/**
+	 * @return the number of iterations completed when the phaser terminated
+	 */
+	int getIterationCount() {
+		return this.iterationCount;
+	}
+
+	@Override
+	protected boolean onAdvance(int phase, int registeredParties) {
+		if (registeredParties == 0) {
+			return true;
+		}
+		if ((phase + 1) % this.phasesPerIteration != 0) {
+			return false;
+		}
+		int completedIterationCount = (phase + 1) / this.phasesPerIteration;
+		double maxDelta = 0.0;
+		for (double delta : this.maxDeltas) {
+			maxDelta = Math.max(maxDelta, delta);
+		}
+		Arrays.fill(this.maxDeltas, 0.0);
+		if (maxDelta < this.epsilon || completedIterationCount >= this.maxIterationCount) {
+			this.iterationCount = completedIterationCount;
+			return true;
+		} else {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package iterativeaveraging.fun;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import iterativeaveraging.core.IterativeAverager;
+import slice.core.Slice;
+
+/**
+ * An iterative averager which runs until no element changes by epsilon or more
+ * in an iteration, rather than for a fixed number of iterations.
+ *
+ * Like {@link iterativeaveraging.studio.ForallForPhasedIterativeAverager},
+ * there is one task per slice for the whole run. Each task records the largest
+ * change it made in a {@link ConvergencePhaser}, which reduces them as the last
+ * task arrives at the end of the iteration and terminates itself once
+ * converged, stopping every task at the same iteration.
+ *
+ * With {@link UpdateScheme#JACOBI} the arrays are double buffered exactly as
+ * in the other averagers. With {@link UpdateScheme#RED_BLACK} a is updated in
+ * place, even indices first and then odd indices, with a barrier between the
+ * two. Each half reads only values of the other color, and the in-place
+ * updates typically converge in about half as many iterations. On completion b
+ * holds a copy of a. Those values differ from the double buffered ones every
+ * {@link IterativeAverager} produces, so the scheme is chosen per call of
+ * {@link #iterativelyAverageUntilConverged(List, double[], double[], double, int, UpdateScheme)}
+ * and {@link #iterativelyAverage(List, double[], double[], int)} is always
+ * Jacobi.
+ *
+ * @author Yiheng Huang
+ */
+public class ConvergingIterativeAverager implements IterativeAverager {
+	public static enum UpdateScheme {
+		JACOBI, RED_BLACK
+	}
+
+	private static double sweep(double[] arrayPrev, double[] arrayNext, int min, int maxExclusive) {
+		double maxDelta = 0.0;
+		for (int index = min; index < maxExclusive; index++) {
+			double value = (arrayPrev[index - 1] + arrayPrev[index + 1]) * 0.5;
+			maxDelta = Math.max(maxDelta, Math.abs(value - arrayPrev[index]));
+			arrayNext[index] = value;
+		}
+		return maxDelta;
+	}
+
+	/**
+	 * Updates, in place, the indices in [min, maxExclusive) with the given parity.
+	 */
+	private static double halfSweep(double[] array, int min, int maxExclusive, int parity) {
+		double maxDelta = 0.0;
+		int first = ((min & 1) == parity) ? min : min + 1;
+		for (int index = first; index < maxExclusive; index += 2) {
+			double value = (array[index - 1] + array[index + 1]) * 0.5;
+			maxDelta = Math.max(maxDelta, Math.abs(value - array[index]));
+			array[index] = value;
+		}
+		return maxDelta;
+	}
+
+	/**
+	 * @param slices
+	 *            the slices of the averaged range, one task each
+	 * @param a
+	 *            the initial values
+	 * @param b
+	 *            the second buffer
+	 * @param epsilon
+	 *            the change below which an iteration is considered converged
+	 * @param maxIterationCount
+	 *            the most iterations to run
+	 * @param updateScheme
+	 *            how each iteration updates the arrays
+	 * @return the number of iterations run. For {@link UpdateScheme#JACOBI} the
+	 *         latest values are in b if it is odd and in a if it is even. For
+	 *         {@link UpdateScheme#RED_BLACK} they are in both.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int iterativelyAverageUntilConverged(List<Slice<double[]>> slices, double[] a, double[] b,
+			double epsilon, int maxIterationCount, UpdateScheme updateScheme)
+			throws InterruptedException, ExecutionException {
+		Objects.requireNonNull(updateScheme);
+		if (slices.isEmpty() || maxIterationCount <= 0) {
+			return 0;
+		}
+		boolean isRedBlack = updateScheme == UpdateScheme.RED_BLACK;
+		ConvergencePhaser phaser = new ConvergencePhaser(slices.size(), epsilon, maxIterationCount,
+				isRedBlack ? 2 : 1);
+		forall(0, slices.size(), (sliceIndex) -> {
+			Slice<double[]> slice = slices.get(sliceIndex);
+			int min = slice.getMinInclusive();
+			int max = slice.getMaxExclusive();
+			if (isRedBlack) {
+				while (true) {
+					double maxDelta = halfSweep(a, min, max, 0);
+					phaser.arriveAndAwaitAdvance();
+					maxDelta = Math.max(maxDelta, halfSweep(a, min, max, 1));
+					phaser.setMaxDelta(sliceIndex, maxDelta);
+					phaser.arriveAndAwaitAdvance();
+					if (phaser.isTerminated()) {
+						break;
+					}
+				}
+				if (min < max) {
+					System.arraycopy(a, min, b, min, max - min);
+				}
+			} else {
+				for (int iteration = 0;; iteration++) {
+					double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+					double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+					phaser.setMaxDelta(sliceIndex, sweep(arrayPrev, arrayNext, min, max));
+					phaser.arriveAndAwaitAdvance();
+					if (phaser.isTerminated()) {
+						break;
+					}
+				}
+			}
+		});
+		return phaser.getIterationCount();
+	}
+
+	/**
+	 * Runs exactly iterationCount double buffered ({@link UpdateScheme#JACOBI})
+	 * iterations.
+	 */
+	@Override
+	public void iterativelyAverage(List<Slice<double[]>> slices, double[] a, double[] b, int iterationCount)
+			throws InterruptedException, ExecutionException {
+		// no change is below an epsilon of 0.0
+		iterativelyAverageUntilConverged(slices, a, b, 0.0, iterationCount, UpdateScheme.JACOBI);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package iterativeaveraging.fun;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import iterativeaveraging.core.IterativeAverager;
+import iterativeaveraging.studio.ForallForPhasedIterativeAverager;
+import slice.core.GhostZonePhasers;
+import slice.core.Slice;
+
+/**
+ * An iterative averager which synchronizes once every ghostWidth iterations
+ * rather than once per iteration, and only with neighboring slices rather than
+ * with every slice as {@link ForallForPhasedIterativeAverager} does.
+ *
+ * At the start of each block of iterations each slice copies its range, plus
+ * ghostWidth ghost cells on either side, of both a and b into private buffers.
+ * It then runs up to ghostWidth iterations on the private buffers, redundantly
+ * recomputing the ghost cells its neighbors own. The valid region shrinks by
+ * one cell per iteration on each side, so after ghostWidth iterations exactly
+ * the slice's own range is valid and is copied back.
+ *
+ * Slices synchronize only with the neighbors within ghostWidth of their own
+ * range, twice per block, as described in {@link GhostZonePhasers}.
+ *
+ * The results in both a and b are identical to those of the sequential
+ * averager.
+ *
+ * @author Yiheng Huang
+ */
+public class GhostZoneIterativeAverager implements IterativeAverager {
+	private final int ghostWidth;
+
+	public GhostZoneIterativeAverager(int ghostWidth) {
+		if (ghostWidth < 1) {
+			throw new IllegalArgumentException("ghostWidth must be positive: " + ghostWidth);
+		}
+		this.ghostWidth = ghostWidth;
+	}
+
+	public GhostZoneIterativeAverager() {
+		this(32);
+	}
+
+	public int getGhostWidth() {
+		return this.ghostWidth;
+	}
+
+	private static boolean isEmpty(Slice<double[]> slice) {
+		return slice.getMinInclusive() >= slice.getMaxExclusive();
+	}
+
+	@Override
+	public void iterativelyAverage(List<Slice<double[]>> slices, double[] a, double[] b, int iterationCount)
+			throws InterruptedException, ExecutionException {
+		if (slices.isEmpty() || iterationCount <= 0) {
+			return;
+		}
+		int[] mins = new int[slices.size()];
+		int[] maxs = new int[slices.size()];
+		for (int i = 0; i < slices.size(); i++) {
+			mins[i] = slices.get(i).getMinInclusive();
+			maxs[i] = slices.get(i).getMaxExclusive();
+		}
+		GhostZonePhasers phasers = new GhostZonePhasers(mins, maxs, this.ghostWidth);
+
+		int length = a.length;
+		forall(0, slices.size(), (sliceIndex) -> {
+			Slice<double[]> slice = slices.get(sliceIndex);
+			if (isEmpty(slice)) {
+				return;
+			}
+			int min = slice.getMinInclusive();
+			int max = slice.getMaxExclusive();
+			// the private buffers cover [haloMin, haloMax) of the shared arrays
+			int haloMin = Math.max(min - this.ghostWidth, 0);
+			int haloMax = Math.min(max + this.ghostWidth, length);
+			int haloLength = haloMax - haloMin;
+			double[] localA = new double[haloLength];
+			double[] localB = new double[haloLength];
+
+			int phase = 0;
+			for (int blockStart = 0; blockStart < iterationCount; blockStart += this.ghostWidth) {
+				int stepCount = Math.min(this.ghostWidth, iterationCount - blockStart);
+
+				// neighbors have copied back the previous block
+				phasers.awaitNeighbors(sliceIndex, phase);
+				System.arraycopy(a, haloMin, localA, 0, haloLength);
+				System.arraycopy(b, haloMin, localB, 0, haloLength);
+				phasers.arrive(sliceIndex);
+				phase++;
+
+				for (int step = 1; step <= stepCount; step++) {
+					int iteration = blockStart + step - 1;
+					double[] localPrev = ((iteration & 1) == 0) ? localA : localB;
+					double[] localNext = ((iteration & 1) == 0) ? localB : localA;
+					// the cells still valid after this step, clipped to the averaged range
+					int stepMin = Math.max(min - this.ghostWidth + step, 1);
+					int stepMax = Math.min(max + this.ghostWidth - step, length - 1);
+					for (int index = stepMin; index < stepMax; index++) {
+						int local = index - haloMin;
+						localNext[local] = (localPrev[local - 1] + localPrev[local + 1]) * 0.5;
+					}
+				}
+
+				// neighbors have copied in this block's ghost cells
+				phasers.awaitNeighbors(sliceIndex, phase);
+				int lastIteration = blockStart + stepCount - 1;
+				boolean isAWritten = stepCount >= 2 || (lastIteration & 1) == 1;
+				boolean isBWritten = stepCount >= 2 || (lastIteration & 1) == 0;
+				if (isAWritten) {
+					System.arraycopy(localA, min - haloMin, a, min, max - min);
+				}
+				if (isBWritten) {
+					System.arraycopy(localB, min - haloMin, b, min, max - min);
+				}
+				phasers.arrive(sliceIndex);
+				phase++;
+			}
+		});
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "(ghostWidth=" + this.ghostWidth + ")";
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce.apps.matrix.core;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * The (row, col) position of a block within a matrix partitioned into square
+ * blocks. Used both as the input items of a block matrix multiply (a block of
+ * the left operand) and as the keys of its output (a block of the product).
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public final class BlockIndex {
+	private final int row;
+	private final int col;
+
+	public BlockIndex(int row, int col) {
+		this.row = row;
+		this.col = col;
+	}
+
+	public int getRow() {
+		return this.row;
+	}
+
+	public int getCol() {
+		return this.col;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.row + this.col;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof BlockIndex) {
+			BlockIndex other = (BlockIndex) obj;
+			return this.row == other.row && this.col == other.col;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "(" + this.row + ", " + this.col + ")";
+	}
+}
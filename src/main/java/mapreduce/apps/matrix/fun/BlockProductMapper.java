@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce.apps.matrix.fun;
+
+import java.util.function.BiConsumer;
+
+import mapreduce.apps.matrix.core.BlockIndex;
+import mapreduce.framework.core.Mapper;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Maps block (i, k) of the left operand to the partial products
+ * A<sub>ik</sub> * B<sub>kj</sub> for every block column j of the right
+ * operand, each keyed by the output block (i, j) it contributes to.
+ *
+ * Each partial product is emitted as a freshly allocated row-major array of
+ * the output block's dimensions, which are smaller than blockSize at the
+ * bottom and right edges.
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public class BlockProductMapper implements Mapper<BlockIndex, BlockIndex, double[]> {
+	private final double[][] a;
+	private final double[][] b;
+	private final int blockSize;
+
+	public BlockProductMapper(double[][] a, double[][] b, int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+		}
+		this.a = a;
+		this.b = b;
+		this.blockSize = blockSize;
+	}
+
+	public int getBlockSize() {
+		return this.blockSize;
+	}
+
+	@Override
+	public void map(BlockIndex aBlock, BiConsumer<BlockIndex, double[]> keyValuePairConsumer) {
+		int rowMin = aBlock.getRow() * this.blockSize;
+		int rowMax = Math.min(rowMin + this.blockSize, this.a.length);
+		int kMin = aBlock.getCol() * this.blockSize;
+		int kMax = Math.min(kMin + this.blockSize, this.b.length);
+		int colCount = this.b[0].length;
+		for (int colMin = 0, j = 0; colMin < colCount; colMin += this.blockSize, j++) {
+			int colMax = Math.min(colMin + this.blockSize, colCount);
+			int width = colMax - colMin;
+			double[] product = new double[(rowMax - rowMin) * width];
+			for (int row = rowMin; row < rowMax; row++) {
+				double[] aRow = this.a[row];
+				int offset = (row - rowMin) * width;
+				for (int k = kMin; k < kMax; k++) {
+					double aValue = aRow[k];
+					double[] bRow = this.b[k];
+					for (int col = colMin; col < colMax; col++) {
+						product[offset + col - colMin] += aValue * bRow[col];
+					}
+				}
+			}
+			keyValuePairConsumer.accept(new BlockIndex(aBlock.getRow(), j), product);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce.apps.matrix.fun;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+
+/**
+ * Sums equally sized arrays element-wise.
+ *
+ * The first array accumulated into an empty container is adopted rather than
+ * copied, so the values passed in must not be modified afterwards. Those
+ * produced by {@link BlockProductMapper} are never reused.
+ *
+ * @author Yiheng Huang
+ */
+public class BlockSumCollector implements Collector<double[], MutableObject<double[]>, double[]> {
+	private static void addInto(double[] sum, double[] addend) {
+		if (sum.length != addend.length) {
+			throw new IllegalArgumentException("length " + addend.length + " != " + sum.length);
+		}
+		for (int i = 0; i < sum.length; i++) {
+			sum[i] += addend[i];
+		}
+	}
+
+	private static void accumulate(MutableObject<double[]> container, double[] value) {
+		if (container.getValue() != null) {
+			addInto(container.getValue(), value);
+		} else {
+			container.setValue(value);
+		}
+	}
+
+	@Override
+	public Supplier<MutableObject<double[]>> supplier() {
+		return MutableObject::new;
+	}
+
+	@Override
+	public BiConsumer<MutableObject<double[]>, double[]> accumulator() {
+		return BlockSumCollector::accumulate;
+	}
+
+	@Override
+	public BinaryOperator<MutableObject<double[]>> combiner() {
+		return (a, b) -> {
+			if (b.getValue() != null) {
+				accumulate(a, b.getValue());
+			}
+			return a;
+		};
+	}
+
+	@Override
+	public Function<MutableObject<double[]>, double[]> finisher() {
+		return MutableObject::getValue;
+	}
+
+	@Override
+	public Set<Characteristics> characteristics() {
+		return EnumSet.of(Characteristics.UNORDERED);
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce.apps.matrix.fun;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall2d;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+
+import mapreduce.apps.matrix.core.BlockIndex;
+import mapreduce.framework.core.MapReduceFramework;
+import mapreduce.framework.lab.matrix.MatrixMapReduceFramework;
+import matrixmultiply.core.MatrixMultiplier;
+
+/**
+ * Multiplies matrices as a MapReduce job on {@link MatrixMapReduceFramework}.
+ * Each block of the left operand is an input item, {@link BlockProductMapper}
+ * emits its partial products keyed by output block, and
+ * {@link BlockSumCollector} sums the partial products of each output block.
+ *
+ * The input blocks are ordered row-major, so each map task's slice covers
+ * whole block rows where it can, and most partial products are summed within
+ * the map task before they are shuffled to the reduce tasks.
+ *
+ * The partial products are summed block by block, so results can differ from
+ * the triple loop in the last few bits.
+ *
+ * @author Yiheng Huang
+ */
+public class MapReduceMatrixMultiplier implements MatrixMultiplier {
+	private final int blockSize;
+	private final int mapTaskCount;
+	private final int reduceTaskCount;
+
+	public MapReduceMatrixMultiplier(int blockSize, int mapTaskCount, int reduceTaskCount) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+		}
+		this.blockSize = blockSize;
+		this.mapTaskCount = mapTaskCount;
+		this.reduceTaskCount = reduceTaskCount;
+	}
+
+	public MapReduceMatrixMultiplier(int blockSize) {
+		this(blockSize, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors());
+	}
+
+	public MapReduceMatrixMultiplier() {
+		this(128);
+	}
+
+	private static int blockCount(int length, int blockSize) {
+		return (length + blockSize - 1) / blockSize;
+	}
+
+	@Override
+	public double[][] multiply(double[][] a, double[][] b) throws InterruptedException, ExecutionException {
+		int rowCount = a.length;
+		int kCount = b.length;
+		int colCount = kCount > 0 ? b[0].length : 0;
+		if (rowCount > 0 && a[0].length != kCount) {
+			throw new IllegalArgumentException("a is " + rowCount + "x" + a[0].length + "; b is " + kCount + "x"
+					+ colCount);
+		}
+		double[][] result = new double[rowCount][colCount];
+		if (rowCount == 0 || kCount == 0 || colCount == 0) {
+			return result;
+		}
+
+		int blockRowCount = blockCount(rowCount, this.blockSize);
+		int blockKCount = blockCount(kCount, this.blockSize);
+		int blockColCount = blockCount(colCount, this.blockSize);
+		BlockIndex[] input = new BlockIndex[blockRowCount * blockKCount];
+		for (int i = 0; i < blockRowCount; i++) {
+			for (int k = 0; k < blockKCount; k++) {
+				input[i * blockKCount + k] = new BlockIndex(i, k);
+			}
+		}
+
+		MapReduceFramework<BlockIndex, BlockIndex, double[], MutableObject<double[]>, double[]> framework = new MatrixMapReduceFramework<>(
+				new BlockProductMapper(a, b, this.blockSize), new BlockSumCollector(), this.mapTaskCount,
+				this.reduceTaskCount);
+		Map<BlockIndex, double[]> blocks = framework.mapReduceAll(input);
+
+		forall2d(chunked(), 0, blockRowCount, 0, blockColCount, (i, j) -> {
+			double[] block = blocks.get(new BlockIndex(i, j));
+			int rowMin = i * this.blockSize;
+			int rowMax = Math.min(rowMin + this.blockSize, rowCount);
+			int colMin = j * this.blockSize;
+			int width = Math.min(colMin + this.blockSize, colCount) - colMin;
+			for (int row = rowMin; row < rowMax; row++) {
+				System.arraycopy(block, (row - rowMin) * width, result[row], colMin, width);
+			}
+		});
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(blockSize=" + this.blockSize + ", mapTasks=" + this.mapTaskCount
+				+ ", reduceTasks=" + this.reduceTaskCount + ")";
+	}
+}
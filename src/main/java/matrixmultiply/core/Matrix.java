@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
+/**
+ * A dense matrix stored contiguously in row major order, rather than as an
+ * array of row arrays. The storage is a {@link DoubleBuffer} which is either a
+ * wrapped double[] on the heap or direct (off-heap) memory.
+ *
+ * A matrix may be a view of a rectangular block of a larger matrix, in which
+ * case it shares the larger matrix's storage and its rows are separated by the
+ * larger matrix's stride. Creating a view copies no values.
+ *
+ * @author Yiheng Huang
+ */
+public final class Matrix {
+	private final DoubleBuffer data;
+	private final int offset;
+	private final int rowCount;
+	private final int colCount;
+	private final int stride;
+
+	private Matrix(DoubleBuffer data, int offset, int rowCount, int colCount, int stride) {
+		this.data = data;
+		this.offset = offset;
+		this.rowCount = rowCount;
+		this.colCount = colCount;
+		this.stride = stride;
+	}
+
+	private static void checkDimensions(int rowCount, int colCount) {
+		if (rowCount < 0 || colCount < 0) {
+			throw new IllegalArgumentException("rowCount=" + rowCount + "; colCount=" + colCount);
+		}
+		if ((long) rowCount * colCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("too large: " + rowCount + "x" + colCount);
+		}
+	}
+
+	/**
+	 * @return a new heap matrix initialized to zeros
+	 */
+	public static Matrix create(int rowCount, int colCount) {
+		checkDimensions(rowCount, colCount);
+		return wrap(new double[rowCount * colCount], rowCount, colCount);
+	}
+
+	/**
+	 * @return a new off-heap matrix initialized to zeros
+	 */
+	public static Matrix createDirect(int rowCount, int colCount) {
+		checkDimensions(rowCount, colCount);
+		long byteCount = (long) rowCount * colCount * Double.BYTES;
+		if (byteCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("too large for a direct buffer: " + rowCount + "x" + colCount);
+		}
+		DoubleBuffer data = ByteBuffer.allocateDirect((int) byteCount)
+				.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+		return new Matrix(data, 0, rowCount, colCount, colCount);
+	}
+
+	/**
+	 * @param values
+	 *            the row major values of the matrix. they are shared, not
+	 *            copied.
+	 * @return a heap matrix backed by values
+	 */
+	public static Matrix wrap(double[] values, int rowCount, int colCount) {
+		checkDimensions(rowCount, colCount);
+		if (values.length != rowCount * colCount) {
+			throw new IllegalArgumentException(
+					"values.length=" + values.length + " != " + rowCount + "x" + colCount);
+		}
+		return new Matrix(DoubleBuffer.wrap(values), 0, rowCount, colCount, colCount);
+	}
+
+	/**
+	 * @param values
+	 *            a rectangular array of rows, which is copied
+	 * @return a new heap matrix with the same values
+	 */
+	public static Matrix fromArray(double[][] values) {
+		Objects.requireNonNull(values);
+		int rowCount = values.length;
+		int colCount = rowCount > 0 ? values[0].length : 0;
+		Matrix result = create(rowCount, colCount);
+		for (int row = 0; row < rowCount; row++) {
+			if (values[row].length != colCount) {
+				throw new IllegalArgumentException("row " + row + " is not of length " + colCount);
+			}
+			System.arraycopy(values[row], 0, result.array(), row * colCount, colCount);
+		}
+		return result;
+	}
+
+	/**
+	 * @return a new array of rows with a copy of this matrix's values
+	 */
+	public double[][] toArray() {
+		double[][] result = new double[this.rowCount][this.colCount];
+		for (int row = 0; row < this.rowCount; row++) {
+			if (hasArray()) {
+				System.arraycopy(array(), this.data.arrayOffset() + this.offset + row * this.stride, result[row], 0,
+						this.colCount);
+			} else {
+				for (int col = 0; col < this.colCount; col++) {
+					result[row][col] = get(row, col);
+				}
+			}
+		}
+		return result;
+	}
+
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	public int getColCount() {
+		return this.colCount;
+	}
+
+	private int index(int row, int col) {
+		if (row < 0 || row >= this.rowCount || col < 0 || col >= this.colCount) {
+			throw new IndexOutOfBoundsException(
+					"(" + row + ", " + col + ") not in " + this.rowCount + "x" + this.colCount);
+		}
+		return this.offset + row * this.stride + col;
+	}
+
+	public double get(int row, int col) {
+		return this.data.get(index(row, col));
+	}
+
+	public void set(int row, int col, double value) {
+		this.data.put(index(row, col), value);
+	}
+
+	public void add(int row, int col, double value) {
+		int index = index(row, col);
+		this.data.put(index, this.data.get(index) + value);
+	}
+
+	/**
+	 * @return a view of the rowCount x colCount block whose top left corner is
+	 *         at (row, col). writes to either matrix are visible in both.
+	 */
+	public Matrix subMatrix(int row, int col, int rowCount, int colCount) {
+		if (row < 0 || col < 0 || rowCount < 0 || colCount < 0 || row + rowCount > this.rowCount
+				|| col + colCount > this.colCount) {
+			throw new IndexOutOfBoundsException("block (" + row + ", " + col + ") " + rowCount + "x" + colCount
+					+ " not in " + this.rowCount + "x" + this.colCount);
+		}
+		return new Matrix(this.data, this.offset + row * this.stride + col, rowCount, colCount, this.stride);
+	}
+
+	/**
+	 * @return true if this matrix is stored off-heap
+	 */
+	public boolean isDirect() {
+		return this.data.isDirect();
+	}
+
+	/**
+	 * @return true if this matrix is stored in an accessible double[], in which
+	 *         case {@link #array()} and {@link #arrayIndex(int, int)} may be used
+	 *         to access it without going through the buffer
+	 */
+	public boolean hasArray() {
+		return this.data.hasArray();
+	}
+
+	/**
+	 * @return the backing array, which is shared with any views
+	 * @throws UnsupportedOperationException
+	 *             if this matrix is not backed by an array
+	 */
+	public double[] array() {
+		return this.data.array();
+	}
+
+	/**
+	 * @return the index of (row, col) within {@link #array()}
+	 */
+	public int arrayIndex(int row, int col) {
+		return this.data.arrayOffset() + index(row, col);
+	}
+
+	/**
+	 * @return the distance within the backing storage between vertically
+	 *         adjacent elements
+	 */
+	public int getStride() {
+		return this.stride;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int row = 0; row < this.rowCount; row++) {
+			sb.append('[');
+			for (int col = 0; col < this.colCount; col++) {
+				if (col > 0) {
+					sb.append(", ");
+				}
+				sb.append(get(row, col));
+			}
+			sb.append("]\n");
+		}
+		return sb.toString();
+	}
+}
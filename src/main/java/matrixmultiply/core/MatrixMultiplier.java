@@ -28,4 +28,13 @@ import java.util.concurrent.ExecutionException;
  */
 public interface MatrixMultiplier {
 	double[][] multiply(double[][] a, double[][] b) throws InterruptedException, ExecutionException;
+
+	/**
+	 * Multiplies matrices in contiguous storage. The default implementation
+	 * copies to and from double[][]. Implementations which can work on the
+	 * contiguous storage directly should override it.
+	 */
+	default Matrix multiply(Matrix a, Matrix b) throws InterruptedException, ExecutionException {
+		return Matrix.fromArray(multiply(a.toArray(), b.toArray()));
+	}
 }
@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+import static edu.wustl.cse231s.v5.V5.forall2d;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplier;
+import matrixmultiply.core.MatrixUtils;
+
+/**
+ * A cache-blocked matrix multiplier. Rather than walking b column-wise through
+ * a double[][], both operands are first packed into contiguous panels: a into
+ * panels of {@value #MR} rows and b into panels of {@value #NR} columns, each
+ * stored k-major so that the micro-kernel streams through both with unit
+ * stride. The {@value #MR}x{@value #NR} micro-kernel keeps its block of the
+ * result in local variables (registers) across a run of k.
+ *
+ * The result is divided into rowTile x colTile output tiles which are computed
+ * in parallel. Each tile walks k in runs of depthTile so that the panels of a
+ * and b it touches stay resident in cache.
+ *
+ * Every element of the result accumulates its products in increasing order of
+ * k, starting from 0.0, so the results are bitwise identical to those of the
+ * straightforward triple loop.
+ *
+ * @author Yiheng Huang
+ */
+public class BlockedMatrixMultiplier implements MatrixMultiplier {
+	/* package-private */ static final int MR = 4;
+	/* package-private */ static final int NR = 4;
+
+	private static final int DEFAULT_ROW_TILE = 64;
+	private static final int DEFAULT_COL_TILE = 256;
+	private static final int DEFAULT_DEPTH_TILE = 256;
+
+	private final int rowTile;
+	private final int colTile;
+	private final int depthTile;
+
+	public BlockedMatrixMultiplier() {
+		this(DEFAULT_ROW_TILE, DEFAULT_COL_TILE, DEFAULT_DEPTH_TILE);
+	}
+
+	/**
+	 * @param rowTile,
+	 *            the number of result rows per parallel task. it must be a
+	 *            positive multiple of {@value #MR}.
+	 * @param colTile,
+	 *            the number of result columns per parallel task. it must be a
+	 *            positive multiple of {@value #NR}.
+	 * @param depthTile,
+	 *            the length of each run of k.
+	 */
+	public BlockedMatrixMultiplier(int rowTile, int colTile, int depthTile) {
+		if (rowTile < MR || rowTile % MR != 0) {
+			throw new IllegalArgumentException("rowTile must be a positive multiple of " + MR + ": " + rowTile);
+		}
+		if (colTile < NR || colTile % NR != 0) {
+			throw new IllegalArgumentException("colTile must be a positive multiple of " + NR + ": " + colTile);
+		}
+		if (depthTile < 1) {
+			throw new IllegalArgumentException("depthTile must be positive: " + depthTile);
+		}
+		this.rowTile = rowTile;
+		this.colTile = colTile;
+		this.depthTile = depthTile;
+	}
+
+	private static int panelCount(int length, int panelWidth) {
+		return (length + panelWidth - 1) / panelWidth;
+	}
+
+	/**
+	 * @return the length of the array required to pack a rowCount x kCount a
+	 */
+	/* package-private */ static int packedALength(int rowCount, int kCount) {
+		return panelCount(rowCount, MR) * MR * kCount;
+	}
+
+	/**
+	 * @return the length of the array required to pack a kCount x colCount b
+	 */
+	/* package-private */ static int packedBLength(int kCount, int colCount) {
+		return panelCount(colCount, NR) * NR * kCount;
+	}
+
+	/**
+	 * Packs the rows of a into panels of {@value #MR} rows. Within a panel,
+	 * element (ii, k) is at (panel * kCount + k) * MR + ii. The slots for rows
+	 * past the end of a are never read.
+	 */
+	private static double[] packA(double[][] a, int rowCount, int kCount)
+			throws InterruptedException, ExecutionException {
+		int panelCount = panelCount(rowCount, MR);
+		double[] packed = new double[panelCount * MR * kCount];
+		forall(chunked(), 0, panelCount, (panel) -> {
+			int iMin = panel * MR;
+			int iMaxExclusive = Math.min(iMin + MR, rowCount);
+			for (int i = iMin; i < iMaxExclusive; i++) {
+				double[] row = a[i];
+				int offset = panel * MR * kCount + (i - iMin);
+				for (int k = 0; k < kCount; k++) {
+					packed[offset + k * MR] = row[k];
+				}
+			}
+		});
+		return packed;
+	}
+
+	/**
+	 * Packs the columns of b into panels of {@value #NR} columns. Within a
+	 * panel, element (k, jj) is at (panel * kCount + k) * NR + jj. The slots
+	 * for columns past the end of b are never read.
+	 */
+	private static double[] packB(double[][] b, int kCount, int colCount)
+			throws InterruptedException, ExecutionException {
+		int panelCount = panelCount(colCount, NR);
+		double[] packed = new double[panelCount * NR * kCount];
+		forall(chunked(), 0, panelCount, (panel) -> {
+			int jMin = panel * NR;
+			int width = Math.min(NR, colCount - jMin);
+			int offset = panel * NR * kCount;
+			for (int k = 0; k < kCount; k++) {
+				System.arraycopy(b[k], jMin, packed, offset + k * NR, width);
+			}
+		});
+		return packed;
+	}
+
+	private static void packAPanel(Matrix a, int panel, double[] packed) {
+		int rowCount = a.getRowCount();
+		int kCount = a.getColCount();
+		int iMin = panel * MR;
+		int iMaxExclusive = Math.min(iMin + MR, rowCount);
+		for (int i = iMin; i < iMaxExclusive; i++) {
+			int offset = panel * MR * kCount + (i - iMin);
+			if (a.hasArray()) {
+				double[] array = a.array();
+				int rowIndex = a.arrayIndex(i, 0);
+				for (int k = 0; k < kCount; k++) {
+					packed[offset + k * MR] = array[rowIndex + k];
+				}
+			} else {
+				for (int k = 0; k < kCount; k++) {
+					packed[offset + k * MR] = a.get(i, k);
+				}
+			}
+		}
+	}
+
+	private static void packBPanel(Matrix b, int panel, double[] packed) {
+		int kCount = b.getRowCount();
+		int colCount = b.getColCount();
+		int jMin = panel * NR;
+		int width = Math.min(NR, colCount - jMin);
+		int offset = panel * NR * kCount;
+		for (int k = 0; k < kCount; k++) {
+			if (b.hasArray()) {
+				System.arraycopy(b.array(), b.arrayIndex(k, jMin), packed, offset + k * NR, width);
+			} else {
+				for (int jj = 0; jj < width; jj++) {
+					packed[offset + k * NR + jj] = b.get(k, jMin + jj);
+				}
+			}
+		}
+	}
+
+	private static double[] packA(Matrix a) throws InterruptedException, ExecutionException {
+		int panelCount = panelCount(a.getRowCount(), MR);
+		double[] packed = new double[packedALength(a.getRowCount(), a.getColCount())];
+		forall(chunked(), 0, panelCount, (panel) -> {
+			packAPanel(a, panel, packed);
+		});
+		return packed;
+	}
+
+	private static double[] packB(Matrix b) throws InterruptedException, ExecutionException {
+		int panelCount = panelCount(b.getColCount(), NR);
+		double[] packed = new double[packedBLength(b.getRowCount(), b.getColCount())];
+		forall(chunked(), 0, panelCount, (panel) -> {
+			packBPanel(b, panel, packed);
+		});
+		return packed;
+	}
+
+	/**
+	 * Accumulates the products for k in [kMin, kMaxExclusive) into the
+	 * MR x NR block of c whose top left corner is (i, j).
+	 */
+	private static void microKernel(double[] packedA, int aPanelOffset, double[] packedB, int bPanelOffset,
+			int kMin, int kMaxExclusive, double[] c, int cOffset, int cStride, int i, int j) {
+		int c0 = cOffset + i * cStride + j;
+		int c1 = c0 + cStride;
+		int c2 = c1 + cStride;
+		int c3 = c2 + cStride;
+		double c00 = c[c0], c01 = c[c0 + 1], c02 = c[c0 + 2], c03 = c[c0 + 3];
+		double c10 = c[c1], c11 = c[c1 + 1], c12 = c[c1 + 2], c13 = c[c1 + 3];
+		double c20 = c[c2], c21 = c[c2 + 1], c22 = c[c2 + 2], c23 = c[c2 + 3];
+		double c30 = c[c3], c31 = c[c3 + 1], c32 = c[c3 + 2], c33 = c[c3 + 3];
+		int aIndex = aPanelOffset + kMin * MR;
+		int bIndex = bPanelOffset + kMin * NR;
+		for (int k = kMin; k < kMaxExclusive; k++) {
+			double a0 = packedA[aIndex];
+			double a1 = packedA[aIndex + 1];
+			double a2 = packedA[aIndex + 2];
+			double a3 = packedA[aIndex + 3];
+			double b0 = packedB[bIndex];
+			double b1 = packedB[bIndex + 1];
+			double b2 = packedB[bIndex + 2];
+			double b3 = packedB[bIndex + 3];
+			c00 += a0 * b0;
+			c01 += a0 * b1;
+			c02 += a0 * b2;
+			c03 += a0 * b3;
+			c10 += a1 * b0;
+			c11 += a1 * b1;
+			c12 += a1 * b2;
+			c13 += a1 * b3;
+			c20 += a2 * b0;
+			c21 += a2 * b1;
+			c22 += a2 * b2;
+			c23 += a2 * b3;
+			c30 += a3 * b0;
+			c31 += a3 * b1;
+			c32 += a3 * b2;
+			c33 += a3 * b3;
+			aIndex += MR;
+			bIndex += NR;
+		}
+		c[c0] = c00;
+		c[c0 + 1] = c01;
+		c[c0 + 2] = c02;
+		c[c0 + 3] = c03;
+		c[c1] = c10;
+		c[c1 + 1] = c11;
+		c[c1 + 2] = c12;
+		c[c1 + 3] = c13;
+		c[c2] = c20;
+		c[c2 + 1] = c21;
+		c[c2 + 2] = c22;
+		c[c2 + 3] = c23;
+		c[c3] = c30;
+		c[c3 + 1] = c31;
+		c[c3 + 2] = c32;
+		c[c3 + 3] = c33;
+	}
+
+	/**
+	 * Handles the partial blocks along the bottom and right edges of the
+	 * result, one element at a time.
+	 */
+	private static void edgeKernel(double[] packedA, int aPanelOffset, double[] packedB, int bPanelOffset, int kMin,
+			int kMaxExclusive, double[] c, int cOffset, int cStride, int i, int j, int rowCount, int colCount) {
+		for (int ii = 0; ii < rowCount; ii++) {
+			for (int jj = 0; jj < colCount; jj++) {
+				int cIndex = cOffset + (i + ii) * cStride + j + jj;
+				double sum = c[cIndex];
+				for (int k = kMin; k < kMaxExclusive; k++) {
+					sum += packedA[aPanelOffset + k * MR + ii] * packedB[bPanelOffset + k * NR + jj];
+				}
+				c[cIndex] = sum;
+			}
+		}
+	}
+
+	/**
+	 * Computes the rows [iMin, iMaxExclusive) and columns [jMin, jMaxExclusive)
+	 * of c += a * b from the packed operands, where element (i, j) of c is at
+	 * cOffset + i * cStride + j. iMin must be a multiple of {@value #MR} and
+	 * jMin a multiple of {@value #NR}.
+	 */
+	private static void tileKernel(double[] packedA, double[] packedB, int kCount, double[] c, int cOffset,
+			int cStride, int iMin, int iMaxExclusive, int jMin, int jMaxExclusive, int depthTile) {
+		for (int kMin = 0; kMin < kCount; kMin += depthTile) {
+			int kMaxExclusive = Math.min(kMin + depthTile, kCount);
+			for (int i = iMin; i < iMaxExclusive; i += MR) {
+				int aPanelOffset = (i / MR) * MR * kCount;
+				int rowCount = Math.min(MR, iMaxExclusive - i);
+				for (int j = jMin; j < jMaxExclusive; j += NR) {
+					int bPanelOffset = (j / NR) * NR * kCount;
+					int colCount = Math.min(NR, jMaxExclusive - j);
+					if (rowCount == MR && colCount == NR) {
+						microKernel(packedA, aPanelOffset, packedB, bPanelOffset, kMin, kMaxExclusive, c, cOffset,
+								cStride, i, j);
+					} else {
+						edgeKernel(packedA, aPanelOffset, packedB, bPanelOffset, kMin, kMaxExclusive, c, cOffset,
+								cStride, i, j, rowCount, colCount);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sequentially computes result = a * b with the blocked kernel, packing
+	 * into the provided scratch arrays rather than allocating. This is the leaf
+	 * kernel of divide and conquer multipliers which already have all of the
+	 * parallelism they need.
+	 *
+	 * @param result
+	 *            the matrix to overwrite. it must be backed by an array and
+	 *            must not overlap a or b.
+	 * @param packedAScratch
+	 *            an array of at least {@link #packedALength(int, int)}
+	 * @param packedBScratch
+	 *            an array of at least {@link #packedBLength(int, int)}
+	 */
+	/* package-private */ static void sequentialMultiplyInto(Matrix a, Matrix b, Matrix result,
+			double[] packedAScratch, double[] packedBScratch) {
+		int rowCount = a.getRowCount();
+		int kCount = a.getColCount();
+		int colCount = b.getColCount();
+		for (int panel = 0; panel < panelCount(rowCount, MR); panel++) {
+			packAPanel(a, panel, packedAScratch);
+		}
+		for (int panel = 0; panel < panelCount(colCount, NR); panel++) {
+			packBPanel(b, panel, packedBScratch);
+		}
+		double[] c = result.array();
+		int cStride = result.getStride();
+		int cOffset = result.arrayIndex(0, 0);
+		for (int i = 0; i < rowCount; i++) {
+			Arrays.fill(c, cOffset + i * cStride, cOffset + i * cStride + colCount, 0.0);
+		}
+		tileKernel(packedAScratch, packedBScratch, kCount, c, cOffset, cStride, 0, rowCount, 0, colCount,
+				DEFAULT_DEPTH_TILE);
+	}
+
+	/**
+	 * Computes c += a * b where a and b have been packed by packA and packB and
+	 * c is a row major rowCount x colCount array, in parallel over output tiles.
+	 */
+	/* package-private */ void multiplyPacked(double[] packedA, double[] packedB, int rowCount, int kCount,
+			int colCount, double[] c) throws InterruptedException, ExecutionException {
+		int rowTileCount = panelCount(rowCount, this.rowTile);
+		int colTileCount = panelCount(colCount, this.colTile);
+		forall2d(chunked(), 0, rowTileCount, 0, colTileCount, (rowTileIndex, colTileIndex) -> {
+			int iMin = rowTileIndex * this.rowTile;
+			int jMin = colTileIndex * this.colTile;
+			tileKernel(packedA, packedB, kCount, c, 0, colCount, iMin, Math.min(iMin + this.rowTile, rowCount),
+					jMin, Math.min(jMin + this.colTile, colCount), this.depthTile);
+		});
+	}
+
+	@Override
+	public double[][] multiply(double[][] a, double[][] b) throws InterruptedException, ExecutionException {
+		Objects.requireNonNull(a);
+		Objects.requireNonNull(b);
+		int rowCount = a.length;
+		int kCount = rowCount > 0 ? a[0].length : b.length;
+		int colCount = b.length > 0 ? b[0].length : 0;
+		if (kCount != b.length) {
+			throw new IllegalArgumentException(
+					"a's column count (" + kCount + ") != b's row count (" + b.length + ")");
+		}
+		if (rowCount == 0 || kCount == 0 || colCount == 0) {
+			// the chunked foralls below do not accept empty ranges
+			return new double[rowCount][colCount];
+		}
+		double[][] result = MatrixUtils.createMultiplyResultBufferInitializedToZeros(a, b);
+		double[] packedA = packA(a, rowCount, kCount);
+		double[] packedB = packB(b, kCount, colCount);
+		double[] c = new double[rowCount * colCount];
+		multiplyPacked(packedA, packedB, rowCount, kCount, colCount, c);
+		forall(chunked(), 0, rowCount, (i) -> {
+			System.arraycopy(c, i * colCount, result[i], 0, colCount);
+		});
+		return result;
+	}
+
+	/**
+	 * Multiplies without converting to double[][]. The operands may be views
+	 * and may be off-heap, and the result is packed directly into the heap
+	 * array which backs the returned matrix.
+	 */
+	@Override
+	public Matrix multiply(Matrix a, Matrix b) throws InterruptedException, ExecutionException {
+		int rowCount = a.getRowCount();
+		int kCount = a.getColCount();
+		int colCount = b.getColCount();
+		if (kCount != b.getRowCount()) {
+			throw new IllegalArgumentException(
+					"a's column count (" + kCount + ") != b's row count (" + b.getRowCount() + ")");
+		}
+		if (rowCount == 0 || kCount == 0 || colCount == 0) {
+			// the chunked foralls below do not accept empty ranges
+			return Matrix.create(rowCount, colCount);
+		}
+		double[] packedA = packA(a);
+		double[] packedB = packB(b);
+		double[] c = new double[rowCount * colCount];
+		multiplyPacked(packedA, packedB, rowCount, kCount, colCount, c);
+		return Matrix.wrap(c, rowCount, colCount);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+}
@@ -23,6 +23,7 @@ package matrixmultiply.fun;
 
 import java.util.concurrent.ExecutionException;
 
+import matrixmultiply.core.Matrix;
 import matrixmultiply.core.MatrixMultiplier;
 
 /**
@@ -38,6 +39,11 @@ public class ParallelDivideAndConquerMatrixMultiplier implements MatrixMultiplie
 		return SubMatrix.parallelDivideAndConquerMultiply(a, b);
 	}
 
+	@Override
+	public Matrix multiply(Matrix a, Matrix b) throws InterruptedException, ExecutionException {
+		return SubMatrix.parallelDivideAndConquerMultiply(a, b);
+	}
+
 	@Override
 	public String toString() {
 		return this.getClass().getSimpleName();
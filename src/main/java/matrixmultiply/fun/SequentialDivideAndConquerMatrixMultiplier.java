@@ -21,6 +21,7 @@
  ******************************************************************************/
 package matrixmultiply.fun;
 
+import matrixmultiply.core.Matrix;
 import matrixmultiply.core.MatrixMultiplier;
 
 /**
@@ -36,6 +37,11 @@ public class SequentialDivideAndConquerMatrixMultiplier implements MatrixMultipl
 		return SubMatrix.sequentialDivideAndConquerMultiply(a, b);
 	}
 
+	@Override
+	public Matrix multiply(Matrix a, Matrix b) {
+		return SubMatrix.sequentialDivideAndConquerMultiply(a, b);
+	}
+
 	@Override
 	public String toString() {
 		return this.getClass().getSimpleName();
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.async;
+import static edu.wustl.cse231s.v5.V5.finish;
+
+import java.util.concurrent.ExecutionException;
+
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplier;
+
+/**
+ * Strassen's algorithm, which multiplies two n x n matrices with seven
+ * multiplies of n/2 x n/2 matrices (and eighteen additions) rather than eight.
+ *
+ * Matrices larger than the parallel threshold perform their seven products in
+ * parallel. Since those products are live at the same time, each parallel node
+ * gets its own product and operand matrices. Below the threshold, each subtree
+ * recurses sequentially, reusing one set of scratch matrices per level of
+ * recursion. All of the scratch is allocated up front, before the recursion
+ * starts.
+ * Matrices at or below the cutoff are handed to the sequential
+ * {@link BlockedMatrixMultiplier} kernel.
+ *
+ * Operands of any shape are padded with zeros to a square whose size halves
+ * evenly down to at most the cutoff, so the padding is less than one part in
+ * the cutoff.
+ *
+ * Unlike the other multipliers, the results are not bitwise identical to those
+ * of the triple loop, since the products are formed from sums and differences
+ * of the operands.
+ *
+ * @author Yiheng Huang
+ */
+public class StrassenMatrixMultiplier implements MatrixMultiplier {
+	private static final int DEFAULT_CUTOFF = 128;
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+	private final int cutoff;
+	private final int parallelThreshold;
+
+	public StrassenMatrixMultiplier() {
+		this(DEFAULT_CUTOFF, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * @param cutoff,
+	 *            the size at or below which to use the blocked kernel
+	 * @param parallelThreshold,
+	 *            the size at or below which to recurse sequentially
+	 */
+	public StrassenMatrixMultiplier(int cutoff, int parallelThreshold) {
+		if (cutoff < 1) {
+			throw new IllegalArgumentException("cutoff must be positive: " + cutoff);
+		}
+		if (parallelThreshold < 1) {
+			throw new IllegalArgumentException("parallelThreshold must be positive: " + parallelThreshold);
+		}
+		this.cutoff = cutoff;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * @return the smallest size at least n which halves evenly down to at most
+	 *         cutoff
+	 */
+	/* package-private */ static int paddedSize(int n, int cutoff) {
+		int levelCount = 0;
+		int leafSize = n;
+		while (leafSize > cutoff) {
+			leafSize = (leafSize + 1) / 2;
+			levelCount++;
+		}
+		return leafSize << levelCount;
+	}
+
+	/**
+	 * The scratch matrices for a sequential subtree: an s, t and p for each
+	 * level, plus the packing arrays for the blocked kernel at the leaves.
+	 */
+	private static final class Scratch {
+		private final Matrix[] s;
+		private final Matrix[] t;
+		private final Matrix[] p;
+		private final double[] packedA;
+		private final double[] packedB;
+
+		private Scratch(int size, int cutoff) {
+			int levelCount = 0;
+			for (int levelSize = size; levelSize > cutoff; levelSize /= 2) {
+				levelCount++;
+			}
+			this.s = new Matrix[levelCount];
+			this.t = new Matrix[levelCount];
+			this.p = new Matrix[levelCount];
+			int levelSize = size;
+			for (int level = 0; level < levelCount; level++) {
+				levelSize /= 2;
+				this.s[level] = Matrix.create(levelSize, levelSize);
+				this.t[level] = Matrix.create(levelSize, levelSize);
+				this.p[level] = Matrix.create(levelSize, levelSize);
+			}
+			this.packedA = new double[BlockedMatrixMultiplier.packedALength(levelSize, levelSize)];
+			this.packedB = new double[BlockedMatrixMultiplier.packedBLength(levelSize, levelSize)];
+		}
+	}
+
+	/**
+	 * The scratch matrices for a parallel node: the seven products and the sums
+	 * and differences they are formed from, plus the scratch of its seven
+	 * children. A node at or below the parallel threshold holds only the
+	 * scratch for its sequential subtree.
+	 */
+	private static final class ParallelScratch {
+		private static final int PRODUCT_COUNT = 7;
+		private static final int OPERAND_COUNT = 10;
+
+		private final Matrix[] products;
+		private final Matrix[] operands;
+		private final ParallelScratch[] children;
+		private final Scratch sequentialScratch;
+
+		private ParallelScratch(int size, int cutoff, int parallelThreshold) {
+			if (size <= parallelThreshold || size <= cutoff) {
+				this.products = null;
+				this.operands = null;
+				this.children = null;
+				this.sequentialScratch = new Scratch(size, cutoff);
+			} else {
+				int half = size / 2;
+				this.products = createMatrices(PRODUCT_COUNT, half);
+				this.operands = createMatrices(OPERAND_COUNT, half);
+				this.children = new ParallelScratch[PRODUCT_COUNT];
+				for (int i = 0; i < this.children.length; i++) {
+					this.children[i] = new ParallelScratch(half, cutoff, parallelThreshold);
+				}
+				this.sequentialScratch = null;
+			}
+		}
+
+		private static Matrix[] createMatrices(int count, int size) {
+			Matrix[] result = new Matrix[count];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = Matrix.create(size, size);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * dst = x + sign * y, where sign is 1.0 or -1.0. dst may be x or y. All
+	 * three must be backed by arrays.
+	 */
+	private static void addScaled(Matrix x, Matrix y, double sign, Matrix dst) {
+		double[] xArray = x.array();
+		double[] yArray = y.array();
+		double[] dstArray = dst.array();
+		int colCount = dst.getColCount();
+		for (int row = 0; row < dst.getRowCount(); row++) {
+			int xIndex = x.arrayIndex(row, 0);
+			int yIndex = y.arrayIndex(row, 0);
+			int dstIndex = dst.arrayIndex(row, 0);
+			for (int col = 0; col < colCount; col++) {
+				dstArray[dstIndex + col] = xArray[xIndex + col] + sign * yArray[yIndex + col];
+			}
+		}
+	}
+
+	private static void add(Matrix x, Matrix y, Matrix dst) {
+		addScaled(x, y, 1.0, dst);
+	}
+
+	private static void subtract(Matrix x, Matrix y, Matrix dst) {
+		addScaled(x, y, -1.0, dst);
+	}
+
+	/**
+	 * Copies src into the top left corner of dst. src need not be backed by an
+	 * array.
+	 */
+	private static void copy(Matrix src, Matrix dst) {
+		for (int row = 0; row < src.getRowCount(); row++) {
+			if (src.hasArray()) {
+				System.arraycopy(src.array(), src.arrayIndex(row, 0), dst.array(), dst.arrayIndex(row, 0),
+						src.getColCount());
+			} else {
+				for (int col = 0; col < src.getColCount(); col++) {
+					dst.set(row, col, src.get(row, col));
+				}
+			}
+		}
+	}
+
+	private static Matrix quadrant(Matrix m, int quadrantRow, int quadrantCol) {
+		int half = m.getRowCount() / 2;
+		return m.subMatrix(quadrantRow * half, quadrantCol * half, half, half);
+	}
+
+	/**
+	 * Computes c = a * b, forming each of the seven products in the scratch
+	 * matrices for this level (or directly in a quadrant of c where it is the
+	 * quadrant's first term) and then accumulating it into c.
+	 */
+	private void sequentialKernel(Matrix a, Matrix b, Matrix c, Scratch scratch, int level) {
+		int size = c.getRowCount();
+		if (size <= this.cutoff) {
+			BlockedMatrixMultiplier.sequentialMultiplyInto(a, b, c, scratch.packedA, scratch.packedB);
+			return;
+		}
+		Matrix a11 = quadrant(a, 0, 0);
+		Matrix a12 = quadrant(a, 0, 1);
+		Matrix a21 = quadrant(a, 1, 0);
+		Matrix a22 = quadrant(a, 1, 1);
+		Matrix b11 = quadrant(b, 0, 0);
+		Matrix b12 = quadrant(b, 0, 1);
+		Matrix b21 = quadrant(b, 1, 0);
+		Matrix b22 = quadrant(b, 1, 1);
+		Matrix c11 = quadrant(c, 0, 0);
+		Matrix c12 = quadrant(c, 0, 1);
+		Matrix c21 = quadrant(c, 1, 0);
+		Matrix c22 = quadrant(c, 1, 1);
+		Matrix s = scratch.s[level];
+		Matrix t = scratch.t[level];
+		Matrix p = scratch.p[level];
+		int nextLevel = level + 1;
+
+		// M1 = (A11 + A22)(B11 + B22), into C11 and C22
+		add(a11, a22, s);
+		add(b11, b22, t);
+		sequentialKernel(s, t, c11, scratch, nextLevel);
+		copy(c11, c22);
+
+		// M2 = (A21 + A22) B11, into C21 and out of C22
+		add(a21, a22, s);
+		sequentialKernel(s, b11, c21, scratch, nextLevel);
+		subtract(c22, c21, c22);
+
+		// M3 = A11 (B12 - B22), into C12 and C22
+		subtract(b12, b22, t);
+		sequentialKernel(a11, t, c12, scratch, nextLevel);
+		add(c22, c12, c22);
+
+		// M4 = A22 (B21 - B11), into C11 and C21
+		subtract(b21, b11, t);
+		sequentialKernel(a22, t, p, scratch, nextLevel);
+		add(c11, p, c11);
+		add(c21, p, c21);
+
+		// M5 = (A11 + A12) B22, out of C11 and into C12
+		add(a11, a12, s);
+		sequentialKernel(s, b22, p, scratch, nextLevel);
+		subtract(c11, p, c11);
+		add(c12, p, c12);
+
+		// M6 = (A21 - A11)(B11 + B12), into C22
+		subtract(a21, a11, s);
+		add(b11, b12, t);
+		sequentialKernel(s, t, p, scratch, nextLevel);
+		add(c22, p, c22);
+
+		// M7 = (A12 - A22)(B21 + B22), into C11
+		subtract(a12, a22, s);
+		add(b21, b22, t);
+		sequentialKernel(s, t, p, scratch, nextLevel);
+		add(c11, p, c11);
+	}
+
+	/**
+	 * Computes c = a * b, forming the seven products in parallel into this
+	 * node's scratch matrices and then combining them into the four quadrants
+	 * of c in parallel.
+	 */
+	private void parallelKernel(Matrix a, Matrix b, Matrix c, ParallelScratch scratch)
+			throws InterruptedException, ExecutionException {
+		if (scratch.sequentialScratch != null) {
+			sequentialKernel(a, b, c, scratch.sequentialScratch, 0);
+			return;
+		}
+		Matrix a11 = quadrant(a, 0, 0);
+		Matrix a12 = quadrant(a, 0, 1);
+		Matrix a21 = quadrant(a, 1, 0);
+		Matrix a22 = quadrant(a, 1, 1);
+		Matrix b11 = quadrant(b, 0, 0);
+		Matrix b12 = quadrant(b, 0, 1);
+		Matrix b21 = quadrant(b, 1, 0);
+		Matrix b22 = quadrant(b, 1, 1);
+		Matrix[] m = scratch.products;
+		Matrix[] o = scratch.operands;
+		ParallelScratch[] children = scratch.children;
+		finish(() -> {
+			async(() -> {
+				add(a11, a22, o[0]);
+				add(b11, b22, o[1]);
+				parallelKernel(o[0], o[1], m[0], children[0]);
+			});
+			async(() -> {
+				add(a21, a22, o[2]);
+				parallelKernel(o[2], b11, m[1], children[1]);
+			});
+			async(() -> {
+				subtract(b12, b22, o[3]);
+				parallelKernel(a11, o[3], m[2], children[2]);
+			});
+			async(() -> {
+				subtract(b21, b11, o[4]);
+				parallelKernel(a22, o[4], m[3], children[3]);
+			});
+			async(() -> {
+				add(a11, a12, o[5]);
+				parallelKernel(o[5], b22, m[4], children[4]);
+			});
+			async(() -> {
+				subtract(a21, a11, o[6]);
+				add(b11, b12, o[7]);
+				parallelKernel(o[6], o[7], m[5], children[5]);
+			});
+			subtract(a12, a22, o[8]);
+			add(b21, b22, o[9]);
+			parallelKernel(o[8], o[9], m[6], children[6]);
+		});
+		Matrix c11 = quadrant(c, 0, 0);
+		Matrix c12 = quadrant(c, 0, 1);
+		Matrix c21 = quadrant(c, 1, 0);
+		Matrix c22 = quadrant(c, 1, 1);
+		finish(() -> {
+			async(() -> {
+				// C11 = M1 + M4 - M5 + M7
+				add(m[0], m[3], c11);
+				subtract(c11, m[4], c11);
+				add(c11, m[6], c11);
+			});
+			async(() -> {
+				// C12 = M3 + M5
+				add(m[2], m[4], c12);
+			});
+			async(() -> {
+				// C21 = M2 + M4
+				add(m[1], m[3], c21);
+			});
+			// C22 = M1 - M2 + M3 + M6
+			subtract(m[0], m[1], c22);
+			add(c22, m[2], c22);
+			add(c22, m[5], c22);
+		});
+	}
+
+	/**
+	 * @return a new matrix holding the top left corner of the padded product
+	 */
+	@Override
+	public Matrix multiply(Matrix a, Matrix b) throws InterruptedException, ExecutionException {
+		int rowCount = a.getRowCount();
+		int kCount = a.getColCount();
+		int colCount = b.getColCount();
+		if (kCount != b.getRowCount()) {
+			throw new IllegalArgumentException(
+					"a's column count (" + kCount + ") != b's row count (" + b.getRowCount() + ")");
+		}
+		if (rowCount == 0 || kCount == 0 || colCount == 0) {
+			throw new IllegalArgumentException(
+					"Not Supported: " + rowCount + "x" + kCount + " times " + kCount + "x" + colCount);
+		}
+		int size = paddedSize(Math.max(rowCount, Math.max(kCount, colCount)), this.cutoff);
+		Matrix paddedA = Matrix.create(size, size);
+		Matrix paddedB = Matrix.create(size, size);
+		copy(a, paddedA);
+		copy(b, paddedB);
+		Matrix paddedC = Matrix.create(size, size);
+		parallelKernel(paddedA, paddedB, paddedC, new ParallelScratch(size, this.cutoff, this.parallelThreshold));
+		Matrix result = Matrix.create(rowCount, colCount);
+		copy(paddedC.subMatrix(0, 0, rowCount, colCount), result);
+		return result;
+	}
+
+	@Override
+	public double[][] multiply(double[][] a, double[][] b) throws InterruptedException, ExecutionException {
+		return multiply(Matrix.fromArray(a), Matrix.fromArray(b)).toArray();
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName();
+	}
+}
@@ -26,14 +26,14 @@ import static edu.wustl.cse231s.v5.V5.finish;
 
 import java.util.concurrent.ExecutionException;
 
-import edu.wustl.cse231s.NotYetImplementedException;
-import matrixmultiply.core.MatrixUtils;
+import matrixmultiply.core.Matrix;
 
 /**
  * @author Yiheng Huang
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
 public final class SubMatrix {
+	private static final int LEAF_SIZE = 16;
 
 	/**
 	 * True if the int is a power of 2, false otherwise
@@ -47,15 +47,15 @@ public final class SubMatrix {
 	}
 
 	/**
-	 * Creates a SubMatrix based on a matrix of values, starts at row zero,
-	 * column zero, with a size equal to the matrix's size
+	 * Creates a SubMatrix based on a square matrix of values, starts at row
+	 * zero, column zero, with a size equal to the matrix's size
 	 * 
 	 * @param values,
 	 *            the matrix of values
 	 */
-	public SubMatrix(double[][] values) {
-		this(values, 0, 0, values.length);
-		if (isPowerOfTwo(values.length)) {
+	public SubMatrix(Matrix values) {
+		this(values, values.getRowCount());
+		if (values.getRowCount() == values.getColCount() && isPowerOfTwo(values.getRowCount())) {
 			// pass
 		} else {
 			throw new IllegalArgumentException();
@@ -63,22 +63,27 @@ public final class SubMatrix {
 	}
 
 	/**
-	 * Creates a square SubMatrix based on a matrix of values, a given start
-	 * row, a given start column, and a given size
+	 * Creates a SubMatrix based on a square matrix of values, starts at row
+	 * zero, column zero, with a size equal to the matrix's size. The values are
+	 * copied into a {@link Matrix}.
 	 * 
 	 * @param values,
 	 *            the matrix of values
-	 * @param row,
-	 *            the row to start
-	 * @param col,
-	 *            the column to start
+	 */
+	public SubMatrix(double[][] values) {
+		this(Matrix.fromArray(values));
+	}
+
+	/**
+	 * Creates a square SubMatrix based on a view of a matrix of values
+	 * 
+	 * @param values,
+	 *            the view of the matrix of values
 	 * @param size,
 	 *            the size of the matrix
 	 */
-	private SubMatrix(double[][] values, int row, int col, int size) {
+	private SubMatrix(Matrix values, int size) {
 		this.values = values;
-		this.row = row;
-		this.col = col;
 		this.size = size;
 	}
 
@@ -90,7 +95,7 @@ public final class SubMatrix {
 	 */
 	private SubMatrix newSub11() {
 		int halfSize = size / 2;
-		return new SubMatrix(this.values, row, col, halfSize);
+		return new SubMatrix(this.values.subMatrix(0, 0, halfSize, halfSize), halfSize);
 	}
 
 	/**
@@ -101,7 +106,7 @@ public final class SubMatrix {
 	 */
 	private SubMatrix newSub12() {
 		int halfSize = size / 2;
-		return new SubMatrix(this.values, row, col + halfSize, halfSize);
+		return new SubMatrix(this.values.subMatrix(0, halfSize, halfSize, halfSize), halfSize);
 	}
 
 	/**
@@ -112,7 +117,7 @@ public final class SubMatrix {
 	 */
 	private SubMatrix newSub21() {
 		int halfSize = size / 2;
-		return new SubMatrix(this.values, row + halfSize, col, halfSize);
+		return new SubMatrix(this.values.subMatrix(halfSize, 0, halfSize, halfSize), halfSize);
 	}
 
 	/**
@@ -123,14 +128,54 @@ public final class SubMatrix {
 	 */
 	private SubMatrix newSub22() {
 		int halfSize = size / 2;
-		return new SubMatrix(this.values, row + halfSize, col + halfSize, halfSize);
+		return new SubMatrix(this.values.subMatrix(halfSize, halfSize, halfSize, halfSize), halfSize);
 	}
 
 	/**
-	 * The kernel for the sequential implementation. This should recursively
-	 * call itself a total of eight times, two times each for each quadrant of
-	 * the result SubMatrices. Think of it as matrix multiplication for a 2x2
-	 * matrix to figure out the input parameters.
+	 * Accumulates a * b into result with loops, in increasing order of k for
+	 * each element.
+	 */
+	private static void leafMultiply(SubMatrix a, SubMatrix b, SubMatrix result) {
+		Matrix am = a.values;
+		Matrix bm = b.values;
+		Matrix rm = result.values;
+		int size = result.size;
+		if (am.hasArray() && bm.hasArray() && rm.hasArray()) {
+			double[] aArray = am.array();
+			double[] bArray = bm.array();
+			double[] rArray = rm.array();
+			for (int i = 0; i < size; i++) {
+				int aRow = am.arrayIndex(i, 0);
+				int rRow = rm.arrayIndex(i, 0);
+				for (int j = 0; j < size; j++) {
+					int bIndex = bm.arrayIndex(0, j);
+					double sum = rArray[rRow + j];
+					for (int k = 0; k < size; k++) {
+						sum += aArray[aRow + k] * bArray[bIndex];
+						bIndex += bm.getStride();
+					}
+					rArray[rRow + j] = sum;
+				}
+			}
+		} else {
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < size; j++) {
+					double sum = rm.get(i, j);
+					for (int k = 0; k < size; k++) {
+						sum += am.get(i, k) * bm.get(k, j);
+					}
+					rm.set(i, j, sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The kernel for the sequential implementation. This recursively calls
+	 * itself a total of eight times, two times each for each quadrant of the
+	 * result SubMatrices. All four products over the first half of k complete
+	 * before any over the second half begin, so each element of the result
+	 * accumulates in increasing order of k just as the triple loop does.
 	 * 
 	 * @param a,
 	 *            the SubMatrix of the first matrix
@@ -140,8 +185,8 @@ public final class SubMatrix {
 	 *            the SubMatrix of the result matrix
 	 */
 	private static void sequentialDivideAndConquerMultiplyKernel(SubMatrix a, SubMatrix b, SubMatrix result) {
-		if (result.size == 1) {
-			result.values[result.row][result.col] += a.values[a.row][a.col] * b.values[b.row][b.col];
+		if (result.size <= LEAF_SIZE) {
+			leafMultiply(a, b, result);
 		} else {
 			SubMatrix a11 = a.newSub11();
 			SubMatrix a12 = a.newSub12();
@@ -159,8 +204,24 @@ public final class SubMatrix {
 			SubMatrix result22 = result.newSub22();
 
 			// https://en.wikipedia.org/wiki/Matrix_multiplication_algorithm#Divide_and_conquer_algorithm
-			throw new NotYetImplementedException();
+			sequentialDivideAndConquerMultiplyKernel(a11, b11, result11);
+			sequentialDivideAndConquerMultiplyKernel(a11, b12, result12);
+			sequentialDivideAndConquerMultiplyKernel(a21, b11, result21);
+			sequentialDivideAndConquerMultiplyKernel(a21, b12, result22);
+
+			sequentialDivideAndConquerMultiplyKernel(a12, b21, result11);
+			sequentialDivideAndConquerMultiplyKernel(a12, b22, result12);
+			sequentialDivideAndConquerMultiplyKernel(a22, b21, result21);
+			sequentialDivideAndConquerMultiplyKernel(a22, b22, result22);
+		}
+	}
+
+	private static Matrix createResult(Matrix a, Matrix b) {
+		if (a.getColCount() != b.getRowCount()) {
+			throw new IllegalArgumentException(
+					"a's column (" + a.getColCount() + ") != b's row count (" + b.getRowCount() + ")");
 		}
+		return Matrix.create(a.getRowCount(), b.getColCount());
 	}
 
 	/**
@@ -173,17 +234,22 @@ public final class SubMatrix {
 	 *            the second matrix
 	 * @return result, the result matrix
 	 */
-	/* package-private */ static double[][] sequentialDivideAndConquerMultiply(double[][] a, double[][] b) {
-		double[][] result = MatrixUtils.createMultiplyResultBufferInitializedToZeros(a, b);
+	/* package-private */ static Matrix sequentialDivideAndConquerMultiply(Matrix a, Matrix b) {
+		Matrix result = createResult(a, b);
 		sequentialDivideAndConquerMultiplyKernel(new SubMatrix(a), new SubMatrix(b), new SubMatrix(result));
 		return result;
 	}
 
+	/* package-private */ static double[][] sequentialDivideAndConquerMultiply(double[][] a, double[][] b) {
+		return sequentialDivideAndConquerMultiply(Matrix.fromArray(a), Matrix.fromArray(b)).toArray();
+	}
+
 	/**
-	 * The kernel for the parallel implementation. This should recursively call
-	 * itself a total of eight times, two times each for each quadrant of the
-	 * result SubMatrices. Think of it as matrix multiplication for a 2x2 matrix
-	 * to figure out the input parameters.
+	 * The kernel for the parallel implementation. This recursively calls itself
+	 * a total of eight times, two times each for each quadrant of the result
+	 * SubMatrices. The four products which write distinct quadrants run in
+	 * parallel, in two phases: first those over the first half of k, then those
+	 * over the second half.
 	 * 
 	 * @param a,
 	 *            the SubMatrix of the first matrix
@@ -215,13 +281,36 @@ public final class SubMatrix {
 			SubMatrix result21 = result.newSub21();
 			SubMatrix result22 = result.newSub22();
 
-			throw new NotYetImplementedException();
+			finish(() -> {
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a11, b11, result11);
+				});
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a11, b12, result12);
+				});
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a21, b11, result21);
+				});
+				parallelDivideAndConquerMultiplyKernel(a21, b12, result22);
+			});
+			finish(() -> {
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a12, b21, result11);
+				});
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a12, b22, result12);
+				});
+				async(() -> {
+					parallelDivideAndConquerMultiplyKernel(a22, b21, result21);
+				});
+				parallelDivideAndConquerMultiplyKernel(a22, b22, result22);
+			});
 		}
 	}
 
 	/**
 	 * Calls the kernel to start the process of performing recursive matrix
-	 * multiplication sequentially.
+	 * multiplication in parallel.
 	 * 
 	 * @param a,
 	 *            the first matrix
@@ -231,15 +320,18 @@ public final class SubMatrix {
 	 * @throws InterruptedException,
 	 *             ExecutionException
 	 */
-	/* package-private */ static double[][] parallelDivideAndConquerMultiply(double[][] a, double[][] b)
+	/* package-private */ static Matrix parallelDivideAndConquerMultiply(Matrix a, Matrix b)
 			throws InterruptedException, ExecutionException {
-		double[][] result = MatrixUtils.createMultiplyResultBufferInitializedToZeros(a, b);
+		Matrix result = createResult(a, b);
 		SubMatrix.parallelDivideAndConquerMultiplyKernel(new SubMatrix(a), new SubMatrix(b), new SubMatrix(result));
 		return result;
 	}
 
-	private final double[][] values;
-	private final int row;
-	private final int col;
+	/* package-private */ static double[][] parallelDivideAndConquerMultiply(double[][] a, double[][] b)
+			throws InterruptedException, ExecutionException {
+		return parallelDivideAndConquerMultiply(Matrix.fromArray(a), Matrix.fromArray(b)).toArray();
+	}
+
+	private final Matrix values;
 	private final int size;
 }
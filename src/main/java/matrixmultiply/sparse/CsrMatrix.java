@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.sparse;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import scan.core.BlockScan;
+
+/**
+ * An immutable sparse matrix in compressed sparse row (CSR) form. The column
+ * indices and values of row i's nonzeros occupy [rowPointers[i],
+ * rowPointers[i+1]) of colIndices and values, in increasing column order.
+ *
+ * Both loaders build the row pointers in parallel by counting the nonzeros of
+ * each row and then exclusive scanning the counts with {@link BlockScan}. The
+ * loaders must be called from within launchApp.
+ *
+ * @author Yiheng Huang
+ */
+public final class CsrMatrix {
+	private final int rowCount;
+	private final int colCount;
+	private final int[] rowPointers;
+	private final int[] colIndices;
+	private final double[] values;
+
+	private CsrMatrix(int rowCount, int colCount, int[] rowPointers, int[] colIndices, double[] values) {
+		this.rowCount = rowCount;
+		this.colCount = colCount;
+		this.rowPointers = rowPointers;
+		this.colIndices = colIndices;
+		this.values = values;
+	}
+
+	private static int scanThreshold(int length) {
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		return Math.max(length / (numProcessors * 10), 1);
+	}
+
+	/**
+	 * @param counts
+	 *            the nonzero count of each row, followed by a trailing zero
+	 * @return the row pointers
+	 */
+	private static int[] toRowPointers(int[] counts) throws InterruptedException, ExecutionException {
+		int[] rowPointers = new int[counts.length];
+		BlockScan.exclusiveScan(counts, rowPointers, Integer::sum, 0, scanThreshold(counts.length));
+		return rowPointers;
+	}
+
+	/**
+	 * @param dense
+	 *            a rectangular array of rows
+	 * @return the nonzeros of dense in CSR form
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static CsrMatrix fromDense(double[][] dense) throws InterruptedException, ExecutionException {
+		int rowCount = dense.length;
+		int colCount = rowCount > 0 ? dense[0].length : 0;
+		if (rowCount == 0) {
+			return new CsrMatrix(0, 0, new int[1], new int[0], new double[0]);
+		}
+		for (int row = 0; row < rowCount; row++) {
+			if (dense[row].length != colCount) {
+				throw new IllegalArgumentException("row " + row + " is not of length " + colCount);
+			}
+		}
+		int[] counts = new int[rowCount + 1];
+		forall(chunked(), 0, rowCount, (row) -> {
+			int count = 0;
+			for (double value : dense[row]) {
+				if (value != 0.0) {
+					count++;
+				}
+			}
+			counts[row] = count;
+		});
+		int[] rowPointers = toRowPointers(counts);
+		int nonzeroCount = rowPointers[rowCount];
+		int[] colIndices = new int[nonzeroCount];
+		double[] values = new double[nonzeroCount];
+		forall(chunked(), 0, rowCount, (row) -> {
+			int index = rowPointers[row];
+			for (int col = 0; col < colCount; col++) {
+				double value = dense[row][col];
+				if (value != 0.0) {
+					colIndices[index] = col;
+					values[index] = value;
+					index++;
+				}
+			}
+		});
+		return new CsrMatrix(rowCount, colCount, rowPointers, colIndices, values);
+	}
+
+	/**
+	 * Builds a matrix from nonzeros given in coordinate (COO) form, in any
+	 * order, as is typical of matrix files.
+	 *
+	 * @param rows
+	 *            the row of each nonzero
+	 * @param cols
+	 *            the column of each nonzero
+	 * @param values
+	 *            the value of each nonzero
+	 * @return the matrix in CSR form
+	 * @throws IllegalArgumentException
+	 *             if any coordinate is out of bounds or appears more than once
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static CsrMatrix fromCoordinates(int rowCount, int colCount, int[] rows, int[] cols, double[] values)
+			throws InterruptedException, ExecutionException {
+		if (rowCount < 0 || colCount < 0) {
+			throw new IllegalArgumentException("rowCount=" + rowCount + "; colCount=" + colCount);
+		}
+		if (rows.length != cols.length || rows.length != values.length) {
+			throw new IllegalArgumentException(
+					"lengths differ: " + rows.length + ", " + cols.length + ", " + values.length);
+		}
+		int nonzeroCount = rows.length;
+		for (int index = 0; index < nonzeroCount; index++) {
+			if (rows[index] < 0 || rows[index] >= rowCount || cols[index] < 0 || cols[index] >= colCount) {
+				throw new IllegalArgumentException(
+						"(" + rows[index] + ", " + cols[index] + ") not in " + rowCount + "x" + colCount);
+			}
+		}
+		if (nonzeroCount == 0) {
+			return new CsrMatrix(rowCount, colCount, new int[rowCount + 1], new int[0], new double[0]);
+		}
+
+		AtomicIntegerArray atomicCounts = new AtomicIntegerArray(rowCount + 1);
+		forall(chunked(), 0, nonzeroCount, (index) -> {
+			atomicCounts.incrementAndGet(rows[index]);
+		});
+		int[] counts = new int[rowCount + 1];
+		for (int row = 0; row < rowCount; row++) {
+			counts[row] = atomicCounts.get(row);
+		}
+		int[] rowPointers = toRowPointers(counts);
+
+		// scatter each nonzero into its row, in no particular order within the row
+		AtomicIntegerArray cursors = new AtomicIntegerArray(rowPointers);
+		int[] csrColIndices = new int[nonzeroCount];
+		double[] csrValues = new double[nonzeroCount];
+		forall(chunked(), 0, nonzeroCount, (index) -> {
+			int slot = cursors.getAndIncrement(rows[index]);
+			csrColIndices[slot] = cols[index];
+			csrValues[slot] = values[index];
+		});
+
+		AtomicBoolean isDuplicated = new AtomicBoolean(false);
+		if (rowCount > 0) {
+			forall(chunked(), 0, rowCount, (row) -> {
+				if (sortRow(csrColIndices, csrValues, rowPointers[row], rowPointers[row + 1])) {
+					isDuplicated.set(true);
+				}
+			});
+		}
+		if (isDuplicated.get()) {
+			throw new IllegalArgumentException("duplicate coordinates");
+		}
+		return new CsrMatrix(rowCount, colCount, rowPointers, csrColIndices, csrValues);
+	}
+
+	/**
+	 * Sorts the nonzeros of one row by column.
+	 *
+	 * @return true if any column appears more than once
+	 */
+	private static boolean sortRow(int[] colIndices, double[] values, int min, int maxExclusive) {
+		int length = maxExclusive - min;
+		if (length > 1) {
+			// sort the columns together with their position in the row
+			long[] keys = new long[length];
+			for (int i = 0; i < length; i++) {
+				keys[i] = (((long) colIndices[min + i]) << 32) | i;
+			}
+			Arrays.sort(keys);
+			double[] rowValues = Arrays.copyOfRange(values, min, maxExclusive);
+			for (int i = 0; i < length; i++) {
+				colIndices[min + i] = (int) (keys[i] >>> 32);
+				values[min + i] = rowValues[(int) keys[i]];
+			}
+			for (int i = min + 1; i < maxExclusive; i++) {
+				if (colIndices[i] == colIndices[i - 1]) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return a new dense array of rows with the same values
+	 */
+	public double[][] toDense() {
+		double[][] result = new double[this.rowCount][this.colCount];
+		for (int row = 0; row < this.rowCount; row++) {
+			for (int index = this.rowPointers[row]; index < this.rowPointers[row + 1]; index++) {
+				result[row][this.colIndices[index]] = this.values[index];
+			}
+		}
+		return result;
+	}
+
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	public int getColCount() {
+		return this.colCount;
+	}
+
+	public int getNonzeroCount() {
+		return this.rowPointers[this.rowCount];
+	}
+
+	/**
+	 * @return the index in colIndices and values of row's first nonzero
+	 */
+	public int getRowStart(int row) {
+		return this.rowPointers[row];
+	}
+
+	/**
+	 * @return the index in colIndices and values one past row's last nonzero
+	 */
+	public int getRowEnd(int row) {
+		return this.rowPointers[row + 1];
+	}
+
+	public int getColIndex(int index) {
+		return this.colIndices[index];
+	}
+
+	public double getValue(int index) {
+		return this.values[index];
+	}
+
+	/* package-private */ int[] rowPointers() {
+		return this.rowPointers;
+	}
+
+	/* package-private */ int[] colIndices() {
+		return this.colIndices;
+	}
+
+	/* package-private */ double[] values() {
+		return this.values;
+	}
+}
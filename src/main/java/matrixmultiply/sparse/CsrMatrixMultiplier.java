@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.sparse;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * Sparse matrix-vector (SpMV) and sparse-dense matrix (SpMM) multiplication
+ * for {@link CsrMatrix}.
+ *
+ * The rows are partitioned so that each task receives roughly the same number
+ * of nonzeros rather than the same number of rows, since the nonzeros per row
+ * of real sparse matrices are often heavily skewed. Each row is weighted by
+ * its nonzero count plus one, so that runs of empty rows are spread out as
+ * well.
+ *
+ * Each element of a result accumulates its products in increasing column
+ * order, so for finite inputs the results match the dense triple loop exactly.
+ * They can differ when the dense operand holds an infinity or NaN: the triple
+ * loop multiplies it by the zeros that CSR does not store, which yields NaN,
+ * while CSR skips those products. All methods must be called from within
+ * launchApp.
+ *
+ * @author Yiheng Huang
+ */
+public final class CsrMatrixMultiplier {
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private CsrMatrixMultiplier() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static int defaultPartitionCount(CsrMatrix a) {
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		return Math.max(Math.min(numProcessors * 10, a.getRowCount()), 1);
+	}
+
+	private static long weight(int[] rowPointers, int row) {
+		return (long) rowPointers[row] + row;
+	}
+
+	/**
+	 * @return partitionCount + 1 row boundaries. partition p covers rows
+	 *         [boundaries[p], boundaries[p+1]).
+	 */
+	/* package-private */ static int[] partitionRows(CsrMatrix a, int partitionCount) {
+		if (partitionCount < 1) {
+			throw new IllegalArgumentException("partitionCount must be positive: " + partitionCount);
+		}
+		int[] rowPointers = a.rowPointers();
+		int rowCount = a.getRowCount();
+		long totalWeight = weight(rowPointers, rowCount);
+		int[] boundaries = new int[partitionCount + 1];
+		for (int partition = 1; partition < partitionCount; partition++) {
+			long target = totalWeight * partition / partitionCount;
+			// the first row whose starting weight reaches the target
+			int low = boundaries[partition - 1];
+			int high = rowCount;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (weight(rowPointers, mid) < target) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			boundaries[partition] = low;
+		}
+		boundaries[partitionCount] = rowCount;
+		return boundaries;
+	}
+
+	/**
+	 * @param a
+	 *            the sparse matrix
+	 * @param x
+	 *            a dense vector of length a.getColCount()
+	 * @param partitionCount
+	 *            the number of parallel tasks
+	 * @return a * x
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static double[] multiply(CsrMatrix a, double[] x, int partitionCount)
+			throws InterruptedException, ExecutionException {
+		if (x.length != a.getColCount()) {
+			throw new IllegalArgumentException("x.length=" + x.length + " != colCount=" + a.getColCount());
+		}
+		int[] rowPointers = a.rowPointers();
+		int[] colIndices = a.colIndices();
+		double[] values = a.values();
+		double[] result = new double[a.getRowCount()];
+		int[] boundaries = partitionRows(a, partitionCount);
+		forall(0, partitionCount, (partition) -> {
+			for (int row = boundaries[partition]; row < boundaries[partition + 1]; row++) {
+				double sum = 0.0;
+				for (int index = rowPointers[row]; index < rowPointers[row + 1]; index++) {
+					sum += values[index] * x[colIndices[index]];
+				}
+				result[row] = sum;
+			}
+		});
+		return result;
+	}
+
+	public static double[] multiply(CsrMatrix a, double[] x) throws InterruptedException, ExecutionException {
+		return multiply(a, x, defaultPartitionCount(a));
+	}
+
+	/**
+	 * Each row of the result is accumulated as a sum of rows of b scaled by the
+	 * row's nonzeros, so b is read row-wise with unit stride.
+	 *
+	 * @param a
+	 *            the sparse matrix
+	 * @param b
+	 *            a dense a.getColCount() x n array of rows
+	 * @param partitionCount
+	 *            the number of parallel tasks
+	 * @return a * b
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static double[][] multiply(CsrMatrix a, double[][] b, int partitionCount)
+			throws InterruptedException, ExecutionException {
+		if (b.length != a.getColCount()) {
+			throw new IllegalArgumentException("b.length=" + b.length + " != colCount=" + a.getColCount());
+		}
+		int bColCount = b.length > 0 ? b[0].length : 0;
+		int[] rowPointers = a.rowPointers();
+		int[] colIndices = a.colIndices();
+		double[] values = a.values();
+		double[][] result = new double[a.getRowCount()][bColCount];
+		int[] boundaries = partitionRows(a, partitionCount);
+		forall(0, partitionCount, (partition) -> {
+			for (int row = boundaries[partition]; row < boundaries[partition + 1]; row++) {
+				double[] resultRow = result[row];
+				for (int index = rowPointers[row]; index < rowPointers[row + 1]; index++) {
+					double value = values[index];
+					double[] bRow = b[colIndices[index]];
+					for (int col = 0; col < bColCount; col++) {
+						resultRow[col] += value * bRow[col];
+					}
+				}
+			}
+		});
+		return result;
+	}
+
+	public static double[][] multiply(CsrMatrix a, double[][] b) throws InterruptedException, ExecutionException {
+		return multiply(a, b, defaultPartitionCount(a));
+	}
+}
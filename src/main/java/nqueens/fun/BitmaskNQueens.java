@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package nqueens.fun;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * Counts N-Queens solutions with the attacked columns and diagonals of the
+ * rows placed so far held in three int bitmasks. The free columns of the
+ * next row are the complement of their union, and each is taken in turn as
+ * the lowest set bit, so no candidate is ever tested and nothing is
+ * allocated per placement.
+ *
+ * Reflecting a solution left to right gives another solution with the first
+ * row's queen in the mirrored column, so only the left half of the first row
+ * is searched and those counts are doubled. On odd boards the middle column
+ * of the first row is its own mirror image and is searched in full.
+ *
+ * The parallel version splits the search over every valid placement of the
+ * first two rows (within the half of the first row above), which gives
+ * roughly n^2/2 independent tasks.
+ *
+ * @author Yiheng Huang
+ */
+public final class BitmaskNQueens {
+	/**
+	 * The largest supported board size, limited by the int masks.
+	 */
+	public static final int MAX_BOARD_SIZE = 31;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private BitmaskNQueens() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static void checkBoardSize(int boardSize) {
+		if (boardSize < 1 || boardSize > MAX_BOARD_SIZE) {
+			throw new IllegalArgumentException("boardSize must be in [1, " + MAX_BOARD_SIZE + "]: " + boardSize);
+		}
+	}
+
+	/**
+	 * @param all
+	 *            a mask with the low boardSize bits set
+	 * @param columns
+	 *            the columns holding a queen
+	 * @param leftDiagonals
+	 *            the columns attacked in the next row along down-left diagonals
+	 * @param rightDiagonals
+	 *            the columns attacked in the next row along down-right diagonals
+	 * @return the number of ways to complete the board
+	 */
+	static long countCompletions(int all, int columns, int leftDiagonals, int rightDiagonals) {
+		if (columns == all) {
+			return 1;
+		}
+		long count = 0;
+		int available = all & ~(columns | leftDiagonals | rightDiagonals);
+		while (available != 0) {
+			int bit = available & -available;
+			available ^= bit;
+			count += countCompletions(all, columns | bit, ((leftDiagonals | bit) << 1) & all,
+					(rightDiagonals | bit) >>> 1);
+		}
+		return count;
+	}
+
+	private static int allMask(int boardSize) {
+		return (int) ((1L << boardSize) - 1);
+	}
+
+	/**
+	 * @param boardSize
+	 *            the n in n-queens
+	 * @return the number of solutions
+	 */
+	public static long countSolutions(int boardSize) {
+		checkBoardSize(boardSize);
+		int all = allMask(boardSize);
+		long count = 0;
+		for (int column = 0; column < (boardSize + 1) / 2; column++) {
+			int bit = 1 << column;
+			long completions = countCompletions(all, bit, (bit << 1) & all, bit >>> 1);
+			boolean isMiddle = (boardSize & 1) == 1 && column == boardSize / 2;
+			count += isMiddle ? completions : 2 * completions;
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the solutions in parallel, one task per valid placement of the
+	 * first two rows. Must be called from within launchApp.
+	 * 
+	 * @param boardSize
+	 *            the n in n-queens
+	 * @return the number of solutions
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static long parallelCountSolutions(int boardSize) throws InterruptedException, ExecutionException {
+		checkBoardSize(boardSize);
+		if (boardSize == 1) {
+			return 1;
+		}
+		int all = allMask(boardSize);
+		// each prefix is {firstColumn, secondColumn}
+		List<int[]> prefixes = new ArrayList<>();
+		for (int first = 0; first < (boardSize + 1) / 2; first++) {
+			for (int second = 0; second < boardSize; second++) {
+				if (Math.abs(first - second) > 1) {
+					prefixes.add(new int[] { first, second });
+				}
+			}
+		}
+		if (prefixes.isEmpty()) {
+			// only n = 2 has no two row prefix
+			return 0;
+		}
+		long[] counts = new long[prefixes.size()];
+		forall(0, prefixes.size(), (i) -> {
+			int first = 1 << prefixes.get(i)[0];
+			int second = 1 << prefixes.get(i)[1];
+			int leftDiagonals = (((first << 1) | second) << 1) & all;
+			int rightDiagonals = ((first >>> 1) | second) >>> 1;
+			long completions = countCompletions(all, first | second, leftDiagonals, rightDiagonals);
+			boolean isMiddle = (boardSize & 1) == 1 && prefixes.get(i)[0] == boardSize / 2;
+			counts[i] = isMiddle ? completions : 2 * completions;
+		});
+		long count = 0;
+		for (long c : counts) {
+			count += c;
+		}
+		return count;
+	}
+}
@@ -27,12 +27,23 @@ import static edu.wustl.cse231s.v5.V5.forasync;
 import static edu.wustl.cse231s.v5.V5.newIntegerFinishAccumulator;
 import static edu.wustl.cse231s.v5.V5.register;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.lang3.mutable.MutableLong;
 
 import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
 import edu.wustl.cse231s.v5.api.FinishAccumulator;
 import edu.wustl.cse231s.v5.api.NumberReductionOperator;
+import nqueens.core.DefaultMutableQueenLocations;
 import nqueens.core.ImmutableQueenLocations;
+import nqueens.core.MutableQueenLocations;
 
 /**
  * @author Yiheng Huang
@@ -97,4 +108,123 @@ public class ParallelNQueens {
 		});
 		return acc.get();
 	}
+
+	private static final int PREFIXES_PER_WORKER = 32;
+
+	/**
+	 * Fills in rows one at a time, in every threat free way, until there are at
+	 * least PREFIXES_PER_WORKER prefixes per worker or half of the remaining
+	 * rows are filled in. The split depth therefore grows with the worker count
+	 * and shrinks as larger boards branch more per row, while each prefix is
+	 * left at least half the board to search.
+	 * 
+	 * @return every threat free placement of the rows up to the split depth
+	 */
+	static List<ImmutableQueenLocations> createPrefixes(ImmutableQueenLocations queenLocations, int parallelism) {
+		List<ImmutableQueenLocations> prefixes = Collections.singletonList(queenLocations);
+		int maxRowCount = queenLocations.getRowCount()
+				+ (queenLocations.getBoardSize() - queenLocations.getRowCount()) / 2;
+		int rowCount = queenLocations.getRowCount();
+		while (prefixes.size() < PREFIXES_PER_WORKER * parallelism && rowCount < maxRowCount) {
+			List<ImmutableQueenLocations> nextPrefixes = new ArrayList<>();
+			for (ImmutableQueenLocations prefix : prefixes) {
+				for (int column = 0; column < prefix.getBoardSize(); column++) {
+					if (prefix.isNextRowThreatFree(column)) {
+						nextPrefixes.add(prefix.createNext(column));
+					}
+				}
+			}
+			prefixes = nextPrefixes;
+			rowCount++;
+		}
+		return prefixes;
+	}
+
+	private static int countCompletions(ImmutableQueenLocations prefix) {
+		MutableQueenLocations queenLocations = new DefaultMutableQueenLocations(prefix.getBoardSize());
+		for (int row = 0; row < prefix.getRowCount(); row++) {
+			queenLocations.setColumnOfQueenInRow(row, prefix.getColumnOfQueenInRow(row));
+		}
+		return SequentialNQueens.countCompletions(queenLocations, prefix.getRowCount());
+	}
+
+	/**
+	 * Splits a range of prefixes in half until one is left, so that idle
+	 * workers steal large halves rather than single prefixes.
+	 */
+	private static final class PrefixRangeTask extends RecursiveAction {
+		private final List<ImmutableQueenLocations> prefixes;
+		private final int min;
+		private final int maxExclusive;
+		private final ThreadLocal<MutableLong> workerCounter;
+
+		private PrefixRangeTask(List<ImmutableQueenLocations> prefixes, int min, int maxExclusive,
+				ThreadLocal<MutableLong> workerCounter) {
+			this.prefixes = prefixes;
+			this.min = min;
+			this.maxExclusive = maxExclusive;
+			this.workerCounter = workerCounter;
+		}
+
+		@Override
+		protected void compute() {
+			if (maxExclusive - min == 1) {
+				workerCounter.get().add(countCompletions(prefixes.get(min)));
+			} else {
+				int mid = (min + maxExclusive) >>> 1;
+				invokeAll(new PrefixRangeTask(prefixes, min, mid, workerCounter),
+						new PrefixRangeTask(prefixes, mid, maxExclusive, workerCounter));
+			}
+		}
+
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * Counts the solutions in two passes. The first enumerates every threat free
+	 * prefix down to a split depth chosen from the board size and the worker
+	 * count (see {@link #createPrefixes(ImmutableQueenLocations, int)}). The
+	 * second searches the prefixes sequentially as independent tasks on a work
+	 * stealing ForkJoinPool, each worker adding to its own counter, and sums the
+	 * counters once the pool is done. Unlike
+	 * {@link #countSolutions(ImmutableQueenLocations)} this creates a bounded
+	 * number of tasks of similar size, and does not need launchApp.
+	 * 
+	 * @param queenLocations
+	 *            the board to complete, typically empty
+	 * @param parallelism
+	 *            the number of workers
+	 * @return the number of solutions
+	 */
+	public static long countSolutionsBalanced(ImmutableQueenLocations queenLocations, int parallelism)
+			throws InterruptedException, ExecutionException {
+		List<ImmutableQueenLocations> prefixes = createPrefixes(queenLocations, parallelism);
+		if (prefixes.isEmpty()) {
+			return 0;
+		}
+		Queue<MutableLong> workerCounters = new ConcurrentLinkedQueue<>();
+		ThreadLocal<MutableLong> workerCounter = ThreadLocal.withInitial(() -> {
+			MutableLong counter = new MutableLong();
+			workerCounters.add(counter);
+			return counter;
+		});
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new PrefixRangeTask(prefixes, 0, prefixes.size(), workerCounter));
+		} finally {
+			pool.shutdown();
+		}
+		// invoke's completion happens-before its return, so every worker's
+		// additions are visible here.
+		long count = 0;
+		for (MutableLong counter : workerCounters) {
+			count += counter.longValue();
+		}
+		return count;
+	}
+
+	public static long countSolutionsBalanced(ImmutableQueenLocations queenLocations)
+			throws InterruptedException, ExecutionException {
+		return countSolutionsBalanced(queenLocations, Runtime.getRuntime().availableProcessors());
+	}
 }
@@ -75,8 +75,25 @@ public class SequentialNQueens {
 	}
 
 	public static int countSolutions(MutableQueenLocations queenLocations) {
+		return countCompletions(queenLocations, 0);
+	}
+
+	/**
+	 * Counts the solutions which keep the queens already placed in rows [0,
+	 * row).
+	 * 
+	 * @param queenLocations
+	 *            a board with threat free queens in the first row rows
+	 * @param row
+	 *            the first row without a queen
+	 * @return the number of ways to fill in the remaining rows
+	 */
+	public static int countCompletions(MutableQueenLocations queenLocations, int row) {
+		if (row == queenLocations.getBoardSize()) {
+			return 1;
+		}
 		MutableInt count = new MutableInt(0);
-		placeQueenInRow(count, queenLocations, 0);
+		placeQueenInRow(count, queenLocations, row);
 		return count.intValue();
 	}
 }
@@ -24,17 +24,24 @@ package scan.challenge;
 
 import java.util.concurrent.ExecutionException;
 
-import edu.wustl.cse231s.NotYetImplementedException;
+import scan.core.BlockScan;
 import scan.core.Scan;
 
 /**
+ * An exclusive sum scan which delegates to the work-efficient
+ * {@link BlockScan}, with roughly ten blocks per processor.
+ *
  * @author Yiheng Huang
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
 public class WorkEfficientScan implements Scan {
 	@Override
 	public int[] sumScan(int[] data) throws InterruptedException, ExecutionException {
-		throw new NotYetImplementedException();
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		int threshold = Math.max(data.length / (numProcessors * 10), 1);
+		int[] result = new int[data.length];
+		BlockScan.exclusiveScan(data, result, Integer::sum, 0, threshold);
+		return result;
 	}
 
 	@Override
@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package scan.core;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * A work-efficient scan over blocks of threshold elements. Each block is
+ * scanned sequentially and in parallel with the others, the block totals are
+ * then scanned (recursively, should there be more than threshold blocks), and
+ * finally each block after the first combines its predecessor's running total
+ * into its elements. The total work is O(n), as opposed to the O(n log n) of
+ * the Hillis-Steele scan in {@link scan.studio.ParallelScan}.
+ *
+ * The operator must be associative but need not be commutative, since totals
+ * are only ever combined on the left. Note that double addition is not
+ * strictly associative, so double results may differ from a sequential scan in
+ * the last bits.
+ *
+ * src and dst may be the same array. All methods must be called from within
+ * launchApp.
+ *
+ * @author Yiheng Huang
+ */
+public final class BlockScan {
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private BlockScan() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static void checkArguments(int srcLength, int dstLength, int threshold) {
+		if (srcLength != dstLength) {
+			throw new IllegalArgumentException("src length " + srcLength + " != dst length " + dstLength);
+		}
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive: " + threshold);
+		}
+	}
+
+	private static int blockCount(int length, int threshold) {
+		return (int) ((length + (long) threshold - 1) / threshold);
+	}
+
+	private static int blockMin(int block, int threshold, int length) {
+		return (int) Math.min((long) block * threshold, length);
+	}
+
+	private static void sequentialInclusiveScan(int[] src, int[] dst, int min, int maxExclusive,
+			IntBinaryOperator operator) {
+		int accumulator = src[min];
+		dst[min] = accumulator;
+		for (int i = min + 1; i < maxExclusive; i++) {
+			accumulator = operator.applyAsInt(accumulator, src[i]);
+			dst[i] = accumulator;
+		}
+	}
+
+	private static int sequentialExclusiveScan(int[] src, int[] dst, int min, int maxExclusive,
+			IntBinaryOperator operator, int identity) {
+		int accumulator = identity;
+		for (int i = min; i < maxExclusive; i++) {
+			int value = src[i];
+			dst[i] = accumulator;
+			accumulator = operator.applyAsInt(accumulator, value);
+		}
+		return accumulator;
+	}
+
+	private static void scan(int[] src, int[] dst, IntBinaryOperator operator, boolean isInclusive,
+			int identity, int threshold) throws InterruptedException, ExecutionException {
+		checkArguments(src.length, dst.length, threshold);
+		int length = src.length;
+		if (length <= threshold) {
+			if (isInclusive) {
+				if (length > 0) {
+					sequentialInclusiveScan(src, dst, 0, length, operator);
+				}
+			} else {
+				sequentialExclusiveScan(src, dst, 0, length, operator, identity);
+			}
+			return;
+		}
+		int blockCount = blockCount(length, threshold);
+		int[] blockTotals = new int[blockCount];
+		forall(0, blockCount, (block) -> {
+			int min = blockMin(block, threshold, length);
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			if (isInclusive) {
+				sequentialInclusiveScan(src, dst, min, maxExclusive, operator);
+				blockTotals[block] = dst[maxExclusive - 1];
+			} else {
+				blockTotals[block] = sequentialExclusiveScan(src, dst, min, maxExclusive, operator, identity);
+			}
+		});
+		// blocks of at least two guarantee that the recursion on the totals shrinks
+		scan(blockTotals, blockTotals, operator, true, identity, Math.max(threshold, 2));
+		forall(1, blockCount, (block) -> {
+			int offset = blockTotals[block - 1];
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			for (int i = blockMin(block, threshold, length); i < maxExclusive; i++) {
+				dst[i] = operator.applyAsInt(offset, dst[i]);
+			}
+		});
+	}
+
+	private static void sequentialInclusiveScan(long[] src, long[] dst, int min, int maxExclusive,
+			LongBinaryOperator operator) {
+		long accumulator = src[min];
+		dst[min] = accumulator;
+		for (int i = min + 1; i < maxExclusive; i++) {
+			accumulator = operator.applyAsLong(accumulator, src[i]);
+			dst[i] = accumulator;
+		}
+	}
+
+	private static long sequentialExclusiveScan(long[] src, long[] dst, int min, int maxExclusive,
+			LongBinaryOperator operator, long identity) {
+		long accumulator = identity;
+		for (int i = min; i < maxExclusive; i++) {
+			long value = src[i];
+			dst[i] = accumulator;
+			accumulator = operator.applyAsLong(accumulator, value);
+		}
+		return accumulator;
+	}
+
+	private static void scan(long[] src, long[] dst, LongBinaryOperator operator, boolean isInclusive,
+			long identity, int threshold) throws InterruptedException, ExecutionException {
+		checkArguments(src.length, dst.length, threshold);
+		int length = src.length;
+		if (length <= threshold) {
+			if (isInclusive) {
+				if (length > 0) {
+					sequentialInclusiveScan(src, dst, 0, length, operator);
+				}
+			} else {
+				sequentialExclusiveScan(src, dst, 0, length, operator, identity);
+			}
+			return;
+		}
+		int blockCount = blockCount(length, threshold);
+		long[] blockTotals = new long[blockCount];
+		forall(0, blockCount, (block) -> {
+			int min = blockMin(block, threshold, length);
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			if (isInclusive) {
+				sequentialInclusiveScan(src, dst, min, maxExclusive, operator);
+				blockTotals[block] = dst[maxExclusive - 1];
+			} else {
+				blockTotals[block] = sequentialExclusiveScan(src, dst, min, maxExclusive, operator, identity);
+			}
+		});
+		// blocks of at least two guarantee that the recursion on the totals shrinks
+		scan(blockTotals, blockTotals, operator, true, identity, Math.max(threshold, 2));
+		forall(1, blockCount, (block) -> {
+			long offset = blockTotals[block - 1];
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			for (int i = blockMin(block, threshold, length); i < maxExclusive; i++) {
+				dst[i] = operator.applyAsLong(offset, dst[i]);
+			}
+		});
+	}
+
+	private static void sequentialInclusiveScan(double[] src, double[] dst, int min, int maxExclusive,
+			DoubleBinaryOperator operator) {
+		double accumulator = src[min];
+		dst[min] = accumulator;
+		for (int i = min + 1; i < maxExclusive; i++) {
+			accumulator = operator.applyAsDouble(accumulator, src[i]);
+			dst[i] = accumulator;
+		}
+	}
+
+	private static double sequentialExclusiveScan(double[] src, double[] dst, int min, int maxExclusive,
+			DoubleBinaryOperator operator, double identity) {
+		double accumulator = identity;
+		for (int i = min; i < maxExclusive; i++) {
+			double value = src[i];
+			dst[i] = accumulator;
+			accumulator = operator.applyAsDouble(accumulator, value);
+		}
+		return accumulator;
+	}
+
+	private static void scan(double[] src, double[] dst, DoubleBinaryOperator operator, boolean isInclusive,
+			double identity, int threshold) throws InterruptedException, ExecutionException {
+		checkArguments(src.length, dst.length, threshold);
+		int length = src.length;
+		if (length <= threshold) {
+			if (isInclusive) {
+				if (length > 0) {
+					sequentialInclusiveScan(src, dst, 0, length, operator);
+				}
+			} else {
+				sequentialExclusiveScan(src, dst, 0, length, operator, identity);
+			}
+			return;
+		}
+		int blockCount = blockCount(length, threshold);
+		double[] blockTotals = new double[blockCount];
+		forall(0, blockCount, (block) -> {
+			int min = blockMin(block, threshold, length);
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			if (isInclusive) {
+				sequentialInclusiveScan(src, dst, min, maxExclusive, operator);
+				blockTotals[block] = dst[maxExclusive - 1];
+			} else {
+				blockTotals[block] = sequentialExclusiveScan(src, dst, min, maxExclusive, operator, identity);
+			}
+		});
+		// blocks of at least two guarantee that the recursion on the totals shrinks
+		scan(blockTotals, blockTotals, operator, true, identity, Math.max(threshold, 2));
+		forall(1, blockCount, (block) -> {
+			double offset = blockTotals[block - 1];
+			int maxExclusive = blockMin(block + 1, threshold, length);
+			for (int i = blockMin(block, threshold, length); i < maxExclusive; i++) {
+				dst[i] = operator.applyAsDouble(offset, dst[i]);
+			}
+		});
+	}
+
+	/**
+	 * Writes the inclusive scan of src into dst: dst[i] = src[0] op ... op src[i].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void inclusiveScan(int[] src, int[] dst, IntBinaryOperator operator, int threshold)
+			throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, true, 0, threshold);
+	}
+
+	/**
+	 * Writes the exclusive scan of src into dst: dst[0] = identity and dst[i] =
+	 * src[0] op ... op src[i-1].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param identity
+	 *            the identity of operator
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void exclusiveScan(int[] src, int[] dst, IntBinaryOperator operator, int identity, int threshold)
+			throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, false, identity, threshold);
+	}
+
+	/**
+	 * Writes the inclusive scan of src into dst: dst[i] = src[0] op ... op src[i].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void inclusiveScan(long[] src, long[] dst, LongBinaryOperator operator, int threshold)
+			throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, true, 0, threshold);
+	}
+
+	/**
+	 * Writes the exclusive scan of src into dst: dst[0] = identity and dst[i] =
+	 * src[0] op ... op src[i-1].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param identity
+	 *            the identity of operator
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void exclusiveScan(long[] src, long[] dst, LongBinaryOperator operator, long identity, int threshold)
+			throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, false, identity, threshold);
+	}
+
+	/**
+	 * Writes the inclusive scan of src into dst: dst[i] = src[0] op ... op src[i].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void inclusiveScan(double[] src, double[] dst, DoubleBinaryOperator operator, int threshold)
+			throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, true, 0, threshold);
+	}
+
+	/**
+	 * Writes the exclusive scan of src into dst: dst[0] = identity and dst[i] =
+	 * src[0] op ... op src[i-1].
+	 *
+	 * @param src
+	 *            the values to scan
+	 * @param dst
+	 *            the array to receive the scan. it may be src to scan in place.
+	 * @param operator
+	 *            an associative operator. it need not be commutative.
+	 * @param identity
+	 *            the identity of operator
+	 * @param threshold
+	 *            the block length. arrays at or below it are scanned sequentially.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void exclusiveScan(double[] src, double[] dst, DoubleBinaryOperator operator, double identity,
+			int threshold) throws InterruptedException, ExecutionException {
+		scan(src, dst, operator, false, identity, threshold);
+	}
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package scan.core;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import edu.wustl.cse231s.v5.api.CheckedIntConsumer;
+
+/**
+ * Stream compaction, split and segmented scan, all derived from the sum scan
+ * of the provided {@link Scan}. Each primitive evaluates its predicate once
+ * per element into an array of 0/1 flags, sum scans the flags into output
+ * positions, and then scatters in parallel. Supplying a faster {@link Scan}
+ * (for example {@link scan.challenge.WorkEfficientScan}) speeds up every
+ * primitive.
+ *
+ * Inclusive and exclusive scans are both supported. All methods must be called
+ * from within launchApp.
+ *
+ * @author Yiheng Huang
+ */
+public class ScanPrimitives {
+	private final Scan scan;
+
+	public ScanPrimitives(Scan scan) {
+		this.scan = scan;
+	}
+
+	private static void forallChunked(int length, CheckedIntConsumer body)
+			throws InterruptedException, ExecutionException {
+		// chunked forall does not accept an empty range
+		if (length > 0) {
+			forall(chunked(), 0, length, body);
+		}
+	}
+
+	/**
+	 * @return the inclusive sum scan of values, regardless of whether the scan
+	 *         is inclusive or exclusive.
+	 */
+	private int[] inclusiveSumScan(int[] values) throws InterruptedException, ExecutionException {
+		int[] result = this.scan.sumScan(values);
+		if (!this.scan.isInclusive()) {
+			forallChunked(values.length, (i) -> {
+				result[i] += values[i];
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of true flags at or before each index.
+	 */
+	private int[] scanFlags(int length, IntPredicate isFlagged) throws InterruptedException, ExecutionException {
+		int[] flags = new int[length];
+		forallChunked(length, (i) -> {
+			flags[i] = isFlagged.test(i) ? 1 : 0;
+		});
+		return inclusiveSumScan(flags);
+	}
+
+	private static int last(int[] counts) {
+		return counts.length > 0 ? counts[counts.length - 1] : 0;
+	}
+
+	private static boolean isFlagged(int[] counts, int i) {
+		return counts[i] != (i > 0 ? counts[i - 1] : 0);
+	}
+
+	/**
+	 * @param data
+	 *            the values to filter
+	 * @param predicate
+	 *            selects which values to keep. it may be invoked concurrently.
+	 * @return a dense array of the values which satisfy the predicate, in their
+	 *         original order
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int[] filter(int[] data, IntPredicate predicate) throws InterruptedException, ExecutionException {
+		int[] counts = scanFlags(data.length, (i) -> predicate.test(data[i]));
+		int[] result = new int[last(counts)];
+		forallChunked(data.length, (i) -> {
+			if (isFlagged(counts, i)) {
+				result[counts[i] - 1] = data[i];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @param data
+	 *            the values to filter
+	 * @param predicate
+	 *            selects which values to keep. it may be invoked concurrently.
+	 * @param generator
+	 *            creates the result array of the given length, e.g. T[]::new
+	 * @return a dense array of the values which satisfy the predicate, in their
+	 *         original order
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public <T> T[] filter(T[] data, Predicate<? super T> predicate, IntFunction<T[]> generator)
+			throws InterruptedException, ExecutionException {
+		int[] counts = scanFlags(data.length, (i) -> predicate.test(data[i]));
+		T[] result = generator.apply(last(counts));
+		forallChunked(data.length, (i) -> {
+			if (isFlagged(counts, i)) {
+				result[counts[i] - 1] = data[i];
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Stably partitions src into dst with the values which satisfy the predicate
+	 * first.
+	 *
+	 * @param src
+	 *            the values to split
+	 * @param dst
+	 *            the array to receive the split values. it must be the same
+	 *            length as src and must not be src.
+	 * @param predicate
+	 *            selects which values go first. it may be invoked concurrently.
+	 * @return the number of values which satisfy the predicate, that is, the
+	 *         index in dst of the first value which does not
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int split(int[] src, int[] dst, IntPredicate predicate) throws InterruptedException, ExecutionException {
+		if (src == dst) {
+			throw new IllegalArgumentException("split cannot be performed in place");
+		}
+		if (src.length != dst.length) {
+			throw new IllegalArgumentException("src length " + src.length + " != dst length " + dst.length);
+		}
+		int[] counts = scanFlags(src.length, (i) -> predicate.test(src[i]));
+		int trueCount = last(counts);
+		forallChunked(src.length, (i) -> {
+			if (isFlagged(counts, i)) {
+				dst[counts[i] - 1] = src[i];
+			} else {
+				dst[trueCount + i - counts[i]] = src[i];
+			}
+		});
+		return trueCount;
+	}
+
+	/**
+	 * Computes the inclusive sum scan of each segment independently. A segment
+	 * starts at index 0 and at every index whose segment start flag is set.
+	 *
+	 * The global sum scan is computed once, and each element then subtracts the
+	 * global sum just before the start of its segment, which is located with a
+	 * second scan over the start flags. Overflow wraps consistently, so the
+	 * results are exact.
+	 *
+	 * @param data
+	 *            the values to scan
+	 * @param segmentStarts
+	 *            true at the first index of each segment
+	 * @return the segmented inclusive sum scan of data
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public int[] segmentedSumScan(int[] data, boolean[] segmentStarts) throws InterruptedException, ExecutionException {
+		if (data.length != segmentStarts.length) {
+			throw new IllegalArgumentException(
+					"data length " + data.length + " != segmentStarts length " + segmentStarts.length);
+		}
+		int[] sums = inclusiveSumScan(data);
+		int[] segmentIds = scanFlags(data.length, (i) -> segmentStarts[i]);
+		// bases[k] is the global sum before the start of the k-th flagged
+		// segment. bases[0] covers any elements before the first flag.
+		int[] bases = new int[last(segmentIds) + 1];
+		forallChunked(data.length, (i) -> {
+			if (isFlagged(segmentIds, i)) {
+				bases[segmentIds[i]] = i > 0 ? sums[i - 1] : 0;
+			}
+		});
+		int[] result = new int[data.length];
+		forallChunked(data.length, (i) -> {
+			result[i] = sums[i] - bases[segmentIds[i]];
+		});
+		return result;
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package slice.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+
+/**
+ * The point-to-point synchronization shared by the ghost zone iterations.
+ *
+ * Each slice has its own single-party {@link Phaser} on which it arrives twice
+ * per block of iterations: once when it has copied its ghost cells in, and once
+ * when it has copied its own range back. A slice waits on its neighbors'
+ * phasers for the former before it may overwrite the cells they read, and for
+ * the latter before it reads the cells they write. Neighbors are the nonempty
+ * slices whose ranges lie within the halo width of the slice's own range,
+ * which may be more than the two adjacent slices when slices are narrower than
+ * the halo.
+ *
+ * @author Yiheng Huang
+ */
+public final class GhostZonePhasers {
+	private final List<Phaser> phasers;
+	private final List<List<Phaser>> neighborPhasers;
+
+	/**
+	 * @param minInclusives
+	 *            the start of the range each slice owns, indexed by slice
+	 * @param maxExclusives
+	 *            the end of the range each slice owns, indexed by slice. a slice
+	 *            whose range is empty has no neighbors and is no one's neighbor.
+	 * @param haloWidth
+	 *            how far beyond its own range each slice reads
+	 */
+	public GhostZonePhasers(int[] minInclusives, int[] maxExclusives, int haloWidth) {
+		if (minInclusives.length != maxExclusives.length) {
+			throw new IllegalArgumentException(minInclusives.length + " != " + maxExclusives.length);
+		}
+		int sliceCount = minInclusives.length;
+		this.phasers = new ArrayList<>(sliceCount);
+		for (int i = 0; i < sliceCount; i++) {
+			this.phasers.add(new Phaser(1));
+		}
+		this.neighborPhasers = new ArrayList<>(sliceCount);
+		for (int i = 0; i < sliceCount; i++) {
+			List<Phaser> neighbors = new ArrayList<>();
+			if (minInclusives[i] < maxExclusives[i]) {
+				int haloMin = minInclusives[i] - haloWidth;
+				int haloMax = maxExclusives[i] + haloWidth;
+				for (int other = 0; other < sliceCount; other++) {
+					if (other != i && minInclusives[other] < maxExclusives[other] && minInclusives[other] < haloMax
+							&& maxExclusives[other] > haloMin) {
+						neighbors.add(this.phasers.get(other));
+					}
+				}
+			}
+			this.neighborPhasers.add(neighbors);
+		}
+	}
+
+	/**
+	 * Waits until each of the slice's neighbors has arrived at least phase times.
+	 */
+	public void awaitNeighbors(int sliceIndex, int phase) {
+		for (Phaser phaser : this.neighborPhasers.get(sliceIndex)) {
+			int current = phaser.getPhase();
+			while (current >= 0 && current < phase) {
+				current = phaser.awaitAdvance(current);
+			}
+		}
+	}
+
+	/**
+	 * Advances the slice's own phaser without waiting.
+	 */
+	public void arrive(int sliceIndex) {
+		this.phasers.get(sliceIndex).arrive();
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary encodings of the element types which {@link ExternalMergeSort}
+ * supports. Values are carried as longs while merging so that the run cursors
+ * and the loser tree are shared by both widths.
+ *
+ * @author Yiheng Huang
+ */
+enum ElementWidth {
+	INT(Integer.BYTES) {
+		@Override
+		long get(ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+
+		@Override
+		void put(ByteBuffer buffer, long value) {
+			buffer.putInt((int) value);
+		}
+	},
+	LONG(Long.BYTES) {
+		@Override
+		long get(ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+
+		@Override
+		void put(ByteBuffer buffer, long value) {
+			buffer.putLong(value);
+		}
+	};
+
+	private final int byteCount;
+
+	private ElementWidth(int byteCount) {
+		this.byteCount = byteCount;
+	}
+
+	int getByteCount() {
+		return this.byteCount;
+	}
+
+	abstract long get(ByteBuffer buffer);
+
+	abstract void put(ByteBuffer buffer, long value);
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.external;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+import sort.core.radix.RadixSort;
+import sort.fun.merge.ParallelLongCombiner;
+import sort.studio.merge.MergeSort;
+
+/**
+ * Sorts binary files of big-endian ints or longs which may be larger than the
+ * heap.
+ *
+ * The input is memory mapped one run at a time. Each run is sorted in memory
+ * with the parallel in-memory sorters ({@link RadixSort} for ints,
+ * {@link MergeSort} for longs) and written to a temporary file. The runs are
+ * then merged in a single pass through a {@link LoserTree}, with both the run
+ * reads and the output writes going through large direct buffers.
+ *
+ * The heap used is bounded by roughly two copies of a run plus one buffer per
+ * run, regardless of the file size. Both sort methods must be called from
+ * within launchApp.
+ *
+ * @author Yiheng Huang
+ */
+public final class ExternalMergeSort {
+	private static final int INPUT_BUFFER_BYTE_COUNT = 1 << 16;
+	private static final int OUTPUT_BUFFER_BYTE_COUNT = 1 << 20;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private ExternalMergeSort() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static int parallelThreshold(int length) {
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		return Math.max(length / (numProcessors * 10), 1);
+	}
+
+	private static long elementCount(FileChannel channel, ElementWidth width) throws IOException {
+		long size = channel.size();
+		if (size % width.getByteCount() != 0) {
+			throw new IllegalArgumentException(
+					"file size " + size + " is not a multiple of " + width.getByteCount() + " bytes");
+		}
+		return size / width.getByteCount();
+	}
+
+	private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static void writeRun(int[] values, Path tempDirectory, ByteBuffer buffer, List<Path> runs)
+			throws IOException {
+		Path path = Files.createTempFile(tempDirectory, "run", ".bin");
+		// record the run before writing so that a failed write is still cleaned up
+		runs.add(path);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			int offset = 0;
+			while (offset < values.length) {
+				int count = Math.min(buffer.capacity() / Integer.BYTES, values.length - offset);
+				buffer.clear();
+				buffer.asIntBuffer().put(values, offset, count);
+				buffer.limit(count * Integer.BYTES);
+				drain(channel, buffer);
+				offset += count;
+			}
+		}
+	}
+
+	private static void writeRun(long[] values, Path tempDirectory, ByteBuffer buffer, List<Path> runs)
+			throws IOException {
+		Path path = Files.createTempFile(tempDirectory, "run", ".bin");
+		// record the run before writing so that a failed write is still cleaned up
+		runs.add(path);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			int offset = 0;
+			while (offset < values.length) {
+				int count = Math.min(buffer.capacity() / Long.BYTES, values.length - offset);
+				buffer.clear();
+				buffer.asLongBuffer().put(values, offset, count);
+				buffer.limit(count * Long.BYTES);
+				drain(channel, buffer);
+				offset += count;
+			}
+		}
+	}
+
+	private static void createIntRuns(Path input, Path tempDirectory, int runLength, ByteBuffer buffer,
+			List<Path> runs) throws IOException, InterruptedException, ExecutionException {
+		try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+			long count = elementCount(channel, ElementWidth.INT);
+			int[] run = new int[(int) Math.min(runLength, count)];
+			for (long start = 0; start < count; start += runLength) {
+				int length = (int) Math.min(runLength, count - start);
+				if (length != run.length) {
+					run = new int[length];
+				}
+				MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start * Integer.BYTES,
+						(long) length * Integer.BYTES);
+				mapped.asIntBuffer().get(run);
+				RadixSort.parallelRadixSort(run, parallelThreshold(length));
+				writeRun(run, tempDirectory, buffer, runs);
+			}
+		}
+	}
+
+	private static void createLongRuns(Path input, Path tempDirectory, int runLength, ByteBuffer buffer,
+			List<Path> runs) throws IOException, InterruptedException, ExecutionException {
+		try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+			long count = elementCount(channel, ElementWidth.LONG);
+			long[] run = new long[(int) Math.min(runLength, count)];
+			ParallelLongCombiner combiner = new ParallelLongCombiner(run.length, Math.max(run.length / 10, 4));
+			for (long start = 0; start < count; start += runLength) {
+				int length = (int) Math.min(runLength, count - start);
+				if (length != run.length) {
+					run = new long[length];
+				}
+				MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start * Long.BYTES,
+						(long) length * Long.BYTES);
+				mapped.asLongBuffer().get(run);
+				MergeSort.parallelMergeSort(run, parallelThreshold(length), combiner);
+				writeRun(run, tempDirectory, buffer, runs);
+			}
+		}
+	}
+
+	private static void mergeRuns(List<Path> runs, Path output, ElementWidth width, ByteBuffer buffer)
+			throws IOException {
+		RunCursor[] cursors = new RunCursor[runs.size()];
+		try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (int i = 0; i < cursors.length; i++) {
+				cursors[i] = new RunCursor(runs.get(i), width, INPUT_BUFFER_BYTE_COUNT);
+			}
+			LoserTree loserTree = new LoserTree(cursors);
+			buffer.clear();
+			while (!loserTree.isEmpty()) {
+				if (buffer.remaining() < width.getByteCount()) {
+					buffer.flip();
+					drain(channel, buffer);
+					buffer.clear();
+				}
+				width.put(buffer, loserTree.peek());
+				loserTree.advance();
+			}
+			buffer.flip();
+			drain(channel, buffer);
+		} finally {
+			for (RunCursor cursor : cursors) {
+				if (cursor != null) {
+					cursor.close();
+				}
+			}
+		}
+	}
+
+	private static void deleteRuns(List<Path> runs) throws IOException {
+		for (Path run : runs) {
+			Files.deleteIfExists(run);
+		}
+	}
+
+	/**
+	 * Sorts a file of big-endian ints into the output file.
+	 *
+	 * @param input
+	 *            the file to sort. its size must be a multiple of 4 bytes.
+	 * @param output
+	 *            the file to create or overwrite with the sorted ints
+	 * @param tempDirectory
+	 *            the directory in which to write the temporary runs
+	 * @param runLength
+	 *            the number of ints to sort in memory at a time
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void sortIntFile(Path input, Path output, Path tempDirectory, int runLength)
+			throws IOException, InterruptedException, ExecutionException {
+		if (runLength < 1) {
+			throw new IllegalArgumentException("runLength must be positive: " + runLength);
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_BYTE_COUNT);
+		List<Path> runs = new ArrayList<>();
+		try {
+			createIntRuns(input, tempDirectory, runLength, buffer, runs);
+			mergeRuns(runs, output, ElementWidth.INT, buffer);
+		} finally {
+			deleteRuns(runs);
+		}
+	}
+
+	/**
+	 * Sorts a file of big-endian longs into the output file.
+	 *
+	 * @param input
+	 *            the file to sort. its size must be a multiple of 8 bytes.
+	 * @param output
+	 *            the file to create or overwrite with the sorted longs
+	 * @param tempDirectory
+	 *            the directory in which to write the temporary runs
+	 * @param runLength
+	 *            the number of longs to sort in memory at a time
+	 * @throws IOException
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void sortLongFile(Path input, Path output, Path tempDirectory, int runLength)
+			throws IOException, InterruptedException, ExecutionException {
+		if (runLength < 1) {
+			throw new IllegalArgumentException("runLength must be positive: " + runLength);
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_BYTE_COUNT);
+		List<Path> runs = new ArrayList<>();
+		try {
+			createLongRuns(input, tempDirectory, runLength, buffer, runs);
+			mergeRuns(runs, output, ElementWidth.LONG, buffer);
+		} finally {
+			deleteRuns(runs);
+		}
+	}
+}
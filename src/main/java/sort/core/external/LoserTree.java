@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.external;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A tournament tree of losers over k run cursors. Each internal node holds the
+ * index of the cursor which lost the match played there, and node 0 holds the
+ * overall winner. Replacing the winner only replays the matches along its
+ * path to the root, so each value output costs log2(k) comparisons, half of
+ * what a binary heap needs.
+ *
+ * @author Yiheng Huang
+ */
+final class LoserTree {
+	private static final int EMPTY = -1;
+
+	private final RunCursor[] cursors;
+	private final int[] tree;
+
+	LoserTree(RunCursor[] cursors) {
+		this.cursors = cursors;
+		this.tree = new int[Math.max(cursors.length, 1)];
+		Arrays.fill(this.tree, EMPTY);
+		for (int i = cursors.length - 1; i >= 0; i--) {
+			this.replay(i);
+		}
+	}
+
+	/**
+	 * An exhausted cursor loses to everything.
+	 */
+	private boolean beats(int a, int b) {
+		RunCursor cursorA = this.cursors[a];
+		RunCursor cursorB = this.cursors[b];
+		if (cursorA.isExhausted()) {
+			return false;
+		}
+		if (cursorB.isExhausted()) {
+			return true;
+		}
+		return cursorA.getHead() <= cursorB.getHead();
+	}
+
+	private void replay(int leaf) {
+		int k = this.cursors.length;
+		int winner = leaf;
+		for (int node = (leaf + k) >>> 1; node > 0; node >>>= 1) {
+			int loser = this.tree[node];
+			if (loser == EMPTY) {
+				// only during construction: wait for the other subtree's winner
+				this.tree[node] = winner;
+				return;
+			}
+			if (this.beats(loser, winner)) {
+				this.tree[node] = winner;
+				winner = loser;
+			}
+		}
+		this.tree[0] = winner;
+	}
+
+	boolean isEmpty() {
+		return this.cursors.length == 0 || this.cursors[this.tree[0]].isExhausted();
+	}
+
+	long peek() {
+		return this.cursors[this.tree[0]].getHead();
+	}
+
+	void advance() throws IOException {
+		int winner = this.tree[0];
+		this.cursors[winner].advance();
+		this.replay(winner);
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a sorted run one value at a time through a direct buffer.
+ *
+ * @author Yiheng Huang
+ */
+final class RunCursor implements Closeable {
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final ElementWidth width;
+	private long head;
+	private boolean isExhausted;
+
+	RunCursor(Path path, ElementWidth width, int bufferByteCount) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.buffer = ByteBuffer.allocateDirect(bufferByteCount);
+		this.buffer.flip();
+		this.width = width;
+		this.advance();
+	}
+
+	long getHead() {
+		return this.head;
+	}
+
+	boolean isExhausted() {
+		return this.isExhausted;
+	}
+
+	void advance() throws IOException {
+		if (this.buffer.remaining() < this.width.getByteCount()) {
+			this.buffer.compact();
+			while (this.buffer.position() < this.width.getByteCount()) {
+				if (this.channel.read(this.buffer) < 0) {
+					break;
+				}
+			}
+			this.buffer.flip();
+			if (this.buffer.remaining() < this.width.getByteCount()) {
+				this.isExhausted = true;
+				return;
+			}
+		}
+		this.head = this.width.get(this.buffer);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.merge;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A combiner for any primitive array type A. The merge sort kernels never
+ * touch individual elements, only the combiner does, so specializing the
+ * combiner per element type is enough to sort long[] and double[] with the
+ * same kernels as int[] without boxing.
+ * 
+ * @author Yiheng Huang
+ */
+public interface ArrayCombiner<A> {
+	/**
+	 * merges the sorted results from [min, mid) and the sorted results from
+	 * [mid,maxExclusive).
+	 * 
+	 * @param data
+	 * @param min
+	 * @param mid
+	 * @param maxExclusive
+	 */
+	void combineRange(A data, int min, int mid, int maxExclusive) throws InterruptedException, ExecutionException;
+}
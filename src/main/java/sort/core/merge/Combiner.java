@@ -27,7 +27,7 @@ import java.util.concurrent.ExecutionException;
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
-public interface Combiner {
+public interface Combiner extends ArrayCombiner<int[]> {
 	/**
 	 * merges the sorted results from [min, mid) and the sorted results from
 	 * [mid,maxExclusive).
@@ -37,5 +37,6 @@ public interface Combiner {
 	 * @param mid
 	 * @param maxExclusive
 	 */
+	@Override
 	void combineRange(int[] data, int min, int mid, int maxExclusive) throws InterruptedException, ExecutionException;
 }
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.merge;
+
+/**
+ * {@link SequentialCombiner} specialized for long[].
+ * 
+ * @author Yiheng Huang
+ */
+public class SequentialLongCombiner implements ArrayCombiner<long[]> {
+	private final long[] buffer;
+
+	public SequentialLongCombiner(int bufferLength) {
+		this.buffer = new long[bufferLength];
+	}
+
+	@Override
+	public void combineRange(long[] data, int min, int mid, int maxExclusive) {
+		int indexA = min;
+		int indexB = mid;
+		for (int i = min; i < maxExclusive; i++) {
+			if (indexA >= mid) {
+				// lower end complete so take from upper end
+				this.buffer[i] = data[indexB++];
+				continue;
+			}
+			if (indexB >= maxExclusive) {
+				// upper end complete so take from lower end
+				this.buffer[i] = data[indexA++];
+				continue;
+			}
+			if (data[indexA] <= data[indexB]) {
+				this.buffer[i] = data[indexA++];
+			} else {
+				this.buffer[i] = data[indexB++];
+			}
+		}
+
+		// copy back from temporary buffer
+		System.arraycopy(buffer, min, data, min, maxExclusive - min);
+	}
+}
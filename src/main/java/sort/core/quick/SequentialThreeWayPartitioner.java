@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.quick;
+
+/**
+ * A single-threaded three-way (Dutch national flag) partitioner. Values less
+ * than the pivot value end up on the left, values equal to it in the middle,
+ * and greater values on the right. The returned {@link PivotLocation} spans the
+ * entire middle band, so quicksort never recurses into runs of values equal to
+ * the pivot.
+ * 
+ * @author Yiheng Huang
+ */
+public class SequentialThreeWayPartitioner implements Partitioner {
+	private final PivotInitialIndexSelector pivotValueSelector;
+
+	public SequentialThreeWayPartitioner(PivotInitialIndexSelector pivotValueSelector) {
+		this.pivotValueSelector = pivotValueSelector;
+	}
+
+	public SequentialThreeWayPartitioner() {
+		this(PivotInitialIndexSelector.RANDOM);
+	}
+
+	/**
+	 * Partitions [min, maxExclusive) around the given pivot value.
+	 * 
+	 * @return the location of the band of values equal to the pivot value. it is
+	 *         empty if the pivot value does not occur in the range.
+	 */
+	public static PivotLocation partitionRange(int[] data, int min, int maxExclusive, int pivotValue) {
+		int lessUpperExclusive = min;
+		int i = min;
+		int greaterLowerInclusive = maxExclusive;
+		while (i < greaterLowerInclusive) {
+			int value = data[i];
+			if (value < pivotValue) {
+				swap(data, lessUpperExclusive, i);
+				lessUpperExclusive++;
+				i++;
+			} else if (value > pivotValue) {
+				greaterLowerInclusive--;
+				swap(data, i, greaterLowerInclusive);
+			} else {
+				i++;
+			}
+		}
+		return new PivotLocation(lessUpperExclusive, greaterLowerInclusive);
+	}
+
+	@Override
+	public PivotLocation partitionRange(int[] data, int min, int maxExclusive) {
+		int initialIndexOfPivotValue = this.pivotValueSelector.selectInitialIndex(data, min, maxExclusive);
+		return partitionRange(data, min, maxExclusive, data[initialIndexOfPivotValue]);
+	}
+
+	private static void swap(int[] array, int a, int b) {
+		int temp = array[a];
+		array[a] = array[b];
+		array[b] = temp;
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.radix;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * An in-place most significant digit (MSD) radix sort for int arrays. Keys are
+ * processed one byte at a time starting with the most significant byte. Large
+ * ranges build their histograms and scatter their values in parallel, while
+ * buckets which fall below the least significant digit (LSD) threshold finish
+ * their remaining digits with a sequential LSD pass.
+ *
+ * @author Yiheng Huang
+ */
+public final class RadixSort {
+	private static final int BITS_PER_DIGIT = 8;
+	private static final int RADIX = 1 << BITS_PER_DIGIT;
+	private static final int DIGIT_MASK = RADIX - 1;
+	private static final int MOST_SIGNIFICANT_SHIFT = Integer.SIZE - BITS_PER_DIGIT;
+
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+	private static final int LSD_THRESHOLD = 1 << 12;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private RadixSort() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	/**
+	 * Maps an int key to its digit at the given shift. The sign bit is flipped so
+	 * that negative values order before non-negative values.
+	 */
+	private static int digit(int value, int shift) {
+		return ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+	}
+
+	private static void insertionSort(int[] data, int min, int maxExclusive) {
+		for (int i = min + 1; i < maxExclusive; i++) {
+			int value = data[i];
+			int j = i - 1;
+			while (j >= min && data[j] > value) {
+				data[j + 1] = data[j];
+				j--;
+			}
+			data[j + 1] = value;
+		}
+	}
+
+	/**
+	 * Sorts the range on the digits from shift down to the least significant
+	 * digit, one stable counting pass per digit, ping-ponging between data and
+	 * buffer.
+	 */
+	private static void lsdSortRange(int[] data, int[] buffer, int min, int maxExclusive, int highestShift) {
+		int[] src = data;
+		int[] dst = buffer;
+		int[] counts = new int[RADIX];
+		for (int shift = 0; shift <= highestShift; shift += BITS_PER_DIGIT) {
+			Arrays.fill(counts, 0);
+			for (int i = min; i < maxExclusive; i++) {
+				counts[digit(src[i], shift)]++;
+			}
+			int offset = min;
+			for (int d = 0; d < RADIX; d++) {
+				int count = counts[d];
+				counts[d] = offset;
+				offset += count;
+			}
+			for (int i = min; i < maxExclusive; i++) {
+				int value = src[i];
+				dst[counts[digit(value, shift)]++] = value;
+			}
+			int[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+		if (src != data) {
+			System.arraycopy(src, min, data, min, maxExclusive - min);
+		}
+	}
+
+	/**
+	 * Sequentially sorts the range [min, maxExclusive) which is already sorted on
+	 * all digits more significant than the digit at shift.
+	 */
+	private static void sequentialRadixSortKernel(int[] data, int[] buffer, int min, int maxExclusive, int shift) {
+		int length = maxExclusive - min;
+		if (length <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(data, min, maxExclusive);
+			return;
+		}
+		if (length <= LSD_THRESHOLD) {
+			lsdSortRange(data, buffer, min, maxExclusive, shift);
+			return;
+		}
+
+		int[] bucketStarts = new int[RADIX + 1];
+		for (int i = min; i < maxExclusive; i++) {
+			bucketStarts[digit(data[i], shift) + 1]++;
+		}
+		bucketStarts[0] = min;
+		for (int d = 0; d < RADIX; d++) {
+			bucketStarts[d + 1] += bucketStarts[d];
+		}
+
+		int[] next = new int[RADIX];
+		System.arraycopy(bucketStarts, 0, next, 0, RADIX);
+		for (int i = min; i < maxExclusive; i++) {
+			int value = data[i];
+			buffer[next[digit(value, shift)]++] = value;
+		}
+		System.arraycopy(buffer, min, data, min, length);
+
+		if (shift > 0) {
+			for (int d = 0; d < RADIX; d++) {
+				sequentialRadixSortKernel(data, buffer, bucketStarts[d], bucketStarts[d + 1], shift - BITS_PER_DIGIT);
+			}
+		}
+	}
+
+	private static int sliceBoundary(int min, int length, int numSlices, int sliceIndex) {
+		return min + (int) ((long) length * sliceIndex / numSlices);
+	}
+
+	/**
+	 * Sorts the range [min, maxExclusive) on the digit at shift by building one
+	 * histogram per slice in parallel, prefix summing the histograms so that
+	 * each slice knows where its values land within each bucket, and scattering
+	 * all slices in parallel. Buckets are then processed in parallel, those at
+	 * or above the threshold recursively in parallel.
+	 */
+	private static void parallelRadixSortKernel(int[] data, int[] buffer, int min, int maxExclusive, int shift,
+			int threshold) throws InterruptedException, ExecutionException {
+		int length = maxExclusive - min;
+		if (length < threshold) {
+			sequentialRadixSortKernel(data, buffer, min, maxExclusive, shift);
+			return;
+		}
+
+		int numSlices = Math.max(1, Math.min(length / threshold, Runtime.getRuntime().availableProcessors()));
+		int[][] histograms = new int[numSlices][RADIX];
+		forall(0, numSlices, (sliceIndex) -> {
+			int[] histogram = histograms[sliceIndex];
+			int sliceMaxExclusive = sliceBoundary(min, length, numSlices, sliceIndex + 1);
+			for (int i = sliceBoundary(min, length, numSlices, sliceIndex); i < sliceMaxExclusive; i++) {
+				histogram[digit(data[i], shift)]++;
+			}
+		});
+
+		// exclusive prefix sum in (digit, slice) order
+		int[] bucketStarts = new int[RADIX + 1];
+		int offset = min;
+		for (int d = 0; d < RADIX; d++) {
+			bucketStarts[d] = offset;
+			for (int s = 0; s < numSlices; s++) {
+				int count = histograms[s][d];
+				histograms[s][d] = offset;
+				offset += count;
+			}
+		}
+		bucketStarts[RADIX] = offset;
+
+		forall(0, numSlices, (sliceIndex) -> {
+			int[] next = histograms[sliceIndex];
+			int sliceMin = sliceBoundary(min, length, numSlices, sliceIndex);
+			int sliceMaxExclusive = sliceBoundary(min, length, numSlices, sliceIndex + 1);
+			for (int i = sliceMin; i < sliceMaxExclusive; i++) {
+				int value = data[i];
+				buffer[next[digit(value, shift)]++] = value;
+			}
+		});
+		forall(0, numSlices, (sliceIndex) -> {
+			int sliceMin = sliceBoundary(min, length, numSlices, sliceIndex);
+			int sliceMaxExclusive = sliceBoundary(min, length, numSlices, sliceIndex + 1);
+			System.arraycopy(buffer, sliceMin, data, sliceMin, sliceMaxExclusive - sliceMin);
+		});
+
+		if (shift > 0) {
+			forall(0, RADIX, (d) -> {
+				parallelRadixSortKernel(data, buffer, bucketStarts[d], bucketStarts[d + 1], shift - BITS_PER_DIGIT,
+						threshold);
+			});
+		}
+	}
+
+	/**
+	 * Sequentially sorts the given array using MSD radix sort.
+	 *
+	 * @param data
+	 *            the array to sort
+	 */
+	public static void sequentialRadixSort(int[] data) {
+		int[] buffer = new int[data.length];
+		sequentialRadixSortKernel(data, buffer, 0, data.length, MOST_SIGNIFICANT_SHIFT);
+	}
+
+	/**
+	 * Sorts the given array in parallel using MSD radix sort. A single auxiliary
+	 * buffer the length of data is allocated for the entire sort.
+	 *
+	 * @param data
+	 *            the array to sort
+	 * @param threshold
+	 *            the range length below which processing should be sequential to
+	 *            reduce overhead
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void parallelRadixSort(int[] data, int threshold) throws InterruptedException, ExecutionException {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive: " + threshold);
+		}
+		int[] buffer = new int[data.length];
+		parallelRadixSortKernel(data, buffer, 0, data.length, MOST_SIGNIFICANT_SHIFT, threshold);
+	}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.sample;
+
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * A parallel sample sort for int arrays. A random oversample of the data is
+ * sorted to select splitters, every value is classified into the bucket
+ * between its neighboring splitters, the buckets are scattered into place, and
+ * then all of the buckets are sorted concurrently.
+ *
+ * Unlike quicksort, the quality of the partitioning does not depend on a
+ * single pivot per level, so performance remains predictable on sorted,
+ * adversarial, and skewed inputs. Each distinct splitter additionally gets an
+ * equality bucket of its own. Values equal to a splitter land there and never
+ * need to be sorted, which keeps heavy-duplicate inputs from collapsing into
+ * one large bucket.
+ *
+ * @author Yiheng Huang
+ */
+public final class SampleSort {
+	private static final int OVERSAMPLING_FACTOR = 32;
+
+	/**
+	 * Bucket indices are recorded in one byte per value, so the 2k+1 buckets for
+	 * k splitters must fit in an unsigned byte.
+	 */
+	private static final int MAX_SPLITTER_COUNT = 127;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private SampleSort() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	/**
+	 * Selects up to splitterCount distinct splitters from a sorted random sample
+	 * of the data.
+	 */
+	private static int[] selectSplitters(int[] data, int splitterCount) {
+		int sampleCount = (splitterCount + 1) * OVERSAMPLING_FACTOR;
+		int[] sample = new int[sampleCount];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < sampleCount; i++) {
+			sample[i] = data[random.nextInt(data.length)];
+		}
+		Arrays.sort(sample);
+
+		int[] splitters = new int[splitterCount];
+		int distinctCount = 0;
+		for (int i = 0; i < splitterCount; i++) {
+			int splitter = sample[(i + 1) * OVERSAMPLING_FACTOR];
+			if (distinctCount == 0 || splitters[distinctCount - 1] != splitter) {
+				splitters[distinctCount] = splitter;
+				distinctCount++;
+			}
+		}
+		return Arrays.copyOf(splitters, distinctCount);
+	}
+
+	/**
+	 * Classifies a value against k distinct sorted splitters. Even bucket 2i
+	 * holds values strictly between splitters i-1 and i, odd bucket 2i+1 holds
+	 * values equal to splitter i.
+	 */
+	private static int classify(int[] splitters, int value) {
+		int low = 0;
+		int high = splitters.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (splitters[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (low < splitters.length && splitters[low] == value) {
+			return 2 * low + 1;
+		} else {
+			return 2 * low;
+		}
+	}
+
+	private static boolean isEqualityBucket(int bucketIndex) {
+		return (bucketIndex & 1) == 1;
+	}
+
+	private static int sliceBoundary(int length, int numSlices, int sliceIndex) {
+		return (int) ((long) length * sliceIndex / numSlices);
+	}
+
+	/**
+	 * Sorts the given array in parallel using sample sort.
+	 *
+	 * @param data
+	 *            the array to sort
+	 * @param threshold
+	 *            the length below which the array is sorted sequentially. larger
+	 *            arrays are split into roughly data.length/threshold buckets.
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public static void parallelSampleSort(int[] data, int threshold) throws InterruptedException, ExecutionException {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold must be positive: " + threshold);
+		}
+		int length = data.length;
+		if (length < threshold || length < 2) {
+			Arrays.sort(data);
+			return;
+		}
+
+		int splitterCount = Math.min(Math.max(length / threshold, 2) - 1, MAX_SPLITTER_COUNT);
+		int[] splitters = selectSplitters(data, splitterCount);
+		int bucketCount = 2 * splitters.length + 1;
+
+		int numSlices = Math.max(1, Math.min(length / threshold, Runtime.getRuntime().availableProcessors()));
+		byte[] bucketIndices = new byte[length];
+		int[][] histograms = new int[numSlices][bucketCount];
+		forall(0, numSlices, (sliceIndex) -> {
+			int[] histogram = histograms[sliceIndex];
+			int sliceMaxExclusive = sliceBoundary(length, numSlices, sliceIndex + 1);
+			for (int i = sliceBoundary(length, numSlices, sliceIndex); i < sliceMaxExclusive; i++) {
+				int bucketIndex = classify(splitters, data[i]);
+				bucketIndices[i] = (byte) bucketIndex;
+				histogram[bucketIndex]++;
+			}
+		});
+
+		// exclusive prefix sum in (bucket, slice) order
+		int[] bucketStarts = new int[bucketCount + 1];
+		int offset = 0;
+		for (int b = 0; b < bucketCount; b++) {
+			bucketStarts[b] = offset;
+			for (int s = 0; s < numSlices; s++) {
+				int count = histograms[s][b];
+				histograms[s][b] = offset;
+				offset += count;
+			}
+		}
+		bucketStarts[bucketCount] = offset;
+
+		int[] buffer = new int[length];
+		forall(0, numSlices, (sliceIndex) -> {
+			int[] next = histograms[sliceIndex];
+			int sliceMaxExclusive = sliceBoundary(length, numSlices, sliceIndex + 1);
+			for (int i = sliceBoundary(length, numSlices, sliceIndex); i < sliceMaxExclusive; i++) {
+				buffer[next[bucketIndices[i] & 0xFF]++] = data[i];
+			}
+		});
+
+		forall(0, bucketCount, (bucketIndex) -> {
+			int bucketMin = bucketStarts[bucketIndex];
+			int bucketMaxExclusive = bucketStarts[bucketIndex + 1];
+			if (!isEqualityBucket(bucketIndex)) {
+				Arrays.sort(buffer, bucketMin, bucketMaxExclusive);
+			}
+			System.arraycopy(buffer, bucketMin, data, bucketMin, bucketMaxExclusive - bucketMin);
+		});
+	}
+}
@@ -43,56 +43,50 @@ public class ParallelCombiner implements Combiner {
 		this.threshold = threshold;
 	}
 
-	private void sequentialCombine(int bufferIndex, int[] data, int aMin, int aMaxExclusive, int bMin,
+	private static void sequentialCombine(int[] dst, int dstIndex, int[] src, int aMin, int aMaxExclusive, int bMin,
 			int bMaxExclusive) {
 		int indexA = aMin;
 		int indexB = bMin;
 		while (indexA < aMaxExclusive && indexB < bMaxExclusive) {
-			this.buffer[bufferIndex++] = (data[indexA] < data[indexB]) ? data[indexA++] : data[indexB++];
+			dst[dstIndex++] = (src[indexA] < src[indexB]) ? src[indexA++] : src[indexB++];
 		}
 		while (indexA < aMaxExclusive) {
-			this.buffer[bufferIndex++] = data[indexA++];
+			dst[dstIndex++] = src[indexA++];
 		}
 		while (indexB < bMaxExclusive) {
-			this.buffer[bufferIndex++] = data[indexB++];
+			dst[dstIndex++] = src[indexB++];
 		}
 	}
 
-	private void parallelCombine(int bufferIndex, int[] data, int aMin, int aMaxExclusive, int bMin, int bMaxExclusive)
-			throws InterruptedException, ExecutionException {
+	/**
+	 * Merges the sorted ranges [aMin, aMaxExclusive) and [bMin, bMaxExclusive) of
+	 * src into dst starting at dstIndex. The larger range is split at its middle
+	 * value, the other range is split by binary searching for that value, and the
+	 * two resulting merges proceed in parallel until the larger range falls below
+	 * the threshold.
+	 */
+	static void parallelCombine(int[] dst, int dstIndex, int[] src, int aMin, int aMaxExclusive, int bMin,
+			int bMaxExclusive, int threshold) throws InterruptedException, ExecutionException {
 		int m = aMaxExclusive - aMin;
 		int n = bMaxExclusive - bMin;
-		if (m < threshold) {
-			sequentialCombine(bufferIndex, data, aMin, aMaxExclusive, bMin, bMaxExclusive);
+		if (m < n) {
+			parallelCombine(dst, dstIndex, src, bMin, bMaxExclusive, aMin, aMaxExclusive, threshold);
+		} else if (m < threshold) {
+			sequentialCombine(dst, dstIndex, src, aMin, aMaxExclusive, bMin, bMaxExclusive);
 		} else {
-			if (m < n) {
-				int temp = aMin;
-				aMin = bMin;
-				bMin = temp;
-				temp = aMaxExclusive;
-				aMaxExclusive = bMaxExclusive;
-				bMaxExclusive = temp;
-				temp = m;
-				m = n;
-				n = temp;
-			}
 			int r = (aMin + aMaxExclusive) / 2;
 
-			int s = Arrays.binarySearch(data, bMin, bMaxExclusive, data[r]);
+			int s = Arrays.binarySearch(src, bMin, bMaxExclusive, src[r]);
 			if (s < 0) {
 				s = -(s + 1);
 			}
-			int t = bufferIndex + (r - aMin) + (s - bMin);
-			final int maxA = aMaxExclusive;
-			final int maxB = bMaxExclusive;
-			final int minA = aMin;
-			final int minB = bMin;
+			int t = dstIndex + (r - aMin) + (s - bMin);
 			final int ss = s;
 			finish(() -> {
 				async(() -> {
-					parallelCombine(bufferIndex, data, minA, r, minB, ss);
+					parallelCombine(dst, dstIndex, src, aMin, r, bMin, ss, threshold);
 				});
-				parallelCombine(t, data, r, maxA, ss, maxB);
+				parallelCombine(dst, t, src, r, aMaxExclusive, ss, bMaxExclusive, threshold);
 			});
 		}
 	}
@@ -100,7 +94,7 @@ public class ParallelCombiner implements Combiner {
 	@Override
 	public void combineRange(int[] data, int min, int mid, int maxExclusive)
 			throws InterruptedException, ExecutionException {
-		parallelCombine(min, data, min, mid, mid, maxExclusive);
+		parallelCombine(this.buffer, min, data, min, mid, mid, maxExclusive, this.threshold);
 		System.arraycopy(buffer, min, data, min, maxExclusive - min);
 	}
 }
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.fun.merge;
+
+import static edu.wustl.cse231s.v5.V5.async;
+import static edu.wustl.cse231s.v5.V5.finish;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import sort.core.merge.ArrayCombiner;
+
+/**
+ * {@link ParallelCombiner} specialized for double[]. Values are ordered as by
+ * {@link Double#compare(double, double)}, the order {@link Arrays#sort(double[])}
+ * produces, so -0.0 precedes 0.0 and NaN sorts last.
+ * 
+ * @author Yiheng Huang
+ */
+public class ParallelDoubleCombiner implements ArrayCombiner<double[]> {
+	private final double[] buffer;
+	private final int threshold;
+
+	public ParallelDoubleCombiner(int bufferLength, int threshold) {
+		this.buffer = new double[bufferLength];
+		this.threshold = threshold;
+	}
+
+	private static void sequentialCombine(double[] dst, int dstIndex, double[] src, int aMin, int aMaxExclusive,
+			int bMin, int bMaxExclusive) {
+		int indexA = aMin;
+		int indexB = bMin;
+		while (indexA < aMaxExclusive && indexB < bMaxExclusive) {
+			dst[dstIndex++] = (Double.compare(src[indexA], src[indexB]) < 0) ? src[indexA++] : src[indexB++];
+		}
+		while (indexA < aMaxExclusive) {
+			dst[dstIndex++] = src[indexA++];
+		}
+		while (indexB < bMaxExclusive) {
+			dst[dstIndex++] = src[indexB++];
+		}
+	}
+
+	/**
+	 * @see ParallelCombiner#parallelCombine(int[], int, int[], int, int, int, int, int)
+	 */
+	static void parallelCombine(double[] dst, int dstIndex, double[] src, int aMin, int aMaxExclusive, int bMin,
+			int bMaxExclusive, int threshold) throws InterruptedException, ExecutionException {
+		int m = aMaxExclusive - aMin;
+		int n = bMaxExclusive - bMin;
+		if (m < n) {
+			parallelCombine(dst, dstIndex, src, bMin, bMaxExclusive, aMin, aMaxExclusive, threshold);
+		} else if (m < threshold) {
+			sequentialCombine(dst, dstIndex, src, aMin, aMaxExclusive, bMin, bMaxExclusive);
+		} else {
+			int r = (aMin + aMaxExclusive) / 2;
+
+			int s = Arrays.binarySearch(src, bMin, bMaxExclusive, src[r]);
+			if (s < 0) {
+				s = -(s + 1);
+			}
+			int t = dstIndex + (r - aMin) + (s - bMin);
+			final int ss = s;
+			finish(() -> {
+				async(() -> {
+					parallelCombine(dst, dstIndex, src, aMin, r, bMin, ss, threshold);
+				});
+				parallelCombine(dst, t, src, r, aMaxExclusive, ss, bMaxExclusive, threshold);
+			});
+		}
+	}
+
+	@Override
+	public void combineRange(double[] data, int min, int mid, int maxExclusive)
+			throws InterruptedException, ExecutionException {
+		parallelCombine(this.buffer, min, data, min, mid, mid, maxExclusive, this.threshold);
+		System.arraycopy(buffer, min, data, min, maxExclusive - min);
+	}
+}
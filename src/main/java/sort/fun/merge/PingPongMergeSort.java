@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.fun.merge;
+
+import static edu.wustl.cse231s.v5.V5.async;
+import static edu.wustl.cse231s.v5.V5.finish;
+
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+
+/**
+ * A merge sort which allocates a single auxiliary array for the entire sort and
+ * never copies merged results back. The data and the auxiliary array start out
+ * with identical contents. Each level of the recursion sorts its two halves
+ * into one array and then merges them into the other, swapping the roles of
+ * source and destination at every level so that the final merge lands in the
+ * original array.
+ *
+ * Ranges at or below the insertion sort cutoff are sorted in place, and only
+ * merges of ranges at or above the combine threshold (the top levels of the
+ * recursion) are split with {@link ParallelCombiner}'s binary search merge.
+ *
+ * @author Yiheng Huang
+ */
+public final class PingPongMergeSort {
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private PingPongMergeSort() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static void insertionSort(int[] data, int min, int maxExclusive) {
+		for (int i = min + 1; i < maxExclusive; i++) {
+			int value = data[i];
+			int j = i - 1;
+			while (j >= min && data[j] > value) {
+				data[j + 1] = data[j];
+				j--;
+			}
+			data[j + 1] = value;
+		}
+	}
+
+	private static void sequentialMerge(int[] dst, int[] src, int min, int mid, int maxExclusive) {
+		int indexA = min;
+		int indexB = mid;
+		int i = min;
+		while (indexA < mid && indexB < maxExclusive) {
+			dst[i++] = (src[indexB] < src[indexA]) ? src[indexB++] : src[indexA++];
+		}
+		if (indexA < mid) {
+			System.arraycopy(src, indexA, dst, i, mid - indexA);
+		} else {
+			System.arraycopy(src, indexB, dst, i, maxExclusive - indexB);
+		}
+	}
+
+	/**
+	 * Sorts [min, maxExclusive) into dst. On entry src and dst hold the same
+	 * values in the range. On exit src's contents in the range are unspecified.
+	 */
+	private static void sequentialKernel(int[] dst, int[] src, int min, int maxExclusive) {
+		if (maxExclusive - min <= INSERTION_SORT_THRESHOLD) {
+			insertionSort(dst, min, maxExclusive);
+			return;
+		}
+		int mid = (min + maxExclusive) >>> 1;
+		sequentialKernel(src, dst, min, mid);
+		sequentialKernel(src, dst, mid, maxExclusive);
+		sequentialMerge(dst, src, min, mid, maxExclusive);
+	}
+
+	private static void parallelKernel(int[] dst, int[] src, int min, int maxExclusive, int threshold,
+			int combineThreshold) throws InterruptedException, ExecutionException {
+		int range = maxExclusive - min;
+		if (range <= threshold) {
+			sequentialKernel(dst, src, min, maxExclusive);
+			return;
+		}
+		int mid = (min + maxExclusive) >>> 1;
+		finish(() -> {
+			async(() -> {
+				parallelKernel(src, dst, min, mid, threshold, combineThreshold);
+			});
+			parallelKernel(src, dst, mid, maxExclusive, threshold, combineThreshold);
+		});
+		if (range >= combineThreshold) {
+			ParallelCombiner.parallelCombine(dst, min, src, min, mid, mid, maxExclusive, combineThreshold);
+		} else {
+			sequentialMerge(dst, src, min, mid, maxExclusive);
+		}
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 */
+	public static void sequentialMergeSort(int[] data) {
+		int[] auxiliary = data.clone();
+		sequentialKernel(data, auxiliary, 0, data.length);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @param combineThreshold,
+	 *            the range length at or above which merges are themselves
+	 *            performed in parallel.
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static void parallelMergeSort(int[] data, int threshold, int combineThreshold)
+			throws InterruptedException, ExecutionException {
+		int[] auxiliary = data.clone();
+		parallelKernel(data, auxiliary, 0, data.length, threshold, combineThreshold);
+	}
+}
@@ -21,17 +21,40 @@
  ******************************************************************************/
 package sort.fun.quick;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
 
-import edu.wustl.cse231s.NotYetImplementedException;
 import sort.core.quick.Partitioner;
 import sort.core.quick.PivotInitialIndexSelector;
 import sort.core.quick.PivotLocation;
-import sort.core.quick.SequentialPartitioner;
+import sort.core.quick.SequentialThreeWayPartitioner;
 
 /**
+ * A three-way partitioner which partitions large ranges in parallel. The range
+ * is split into blocks, and each block is partitioned concurrently into less
+ * than, equal to, and greater than the pivot value. Prefix sums of the
+ * per-block counts give every block the destinations of its three regions,
+ * which are then scattered concurrently through a scratch buffer and copied
+ * back. Values equal to the pivot collapse into the middle band, so quicksort
+ * never recurses into them.
+ * 
+ * The calling thread never waits on a block task that has not started: it
+ * runs any block still queued itself before waiting on the rest. So the
+ * partitioner cannot deadlock when the recursion which calls it occupies
+ * every thread of a fixed size executor, as {@link tnx.lab.executor.XQuicksort}
+ * can.
+ * 
+ * The scratch buffer is supplied at construction and addressed by the same
+ * indices as the data, so concurrent partitions of disjoint ranges share it
+ * safely and nothing is allocated per call. Without one, each call allocates
+ * a buffer the length of its range.
+ * 
+ * Ranges shorter than the threshold are partitioned by a
+ * {@link SequentialThreeWayPartitioner}.
+ * 
  * @author Yiheng Huang
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
@@ -39,22 +62,153 @@ public class ParallelPartitioner implements Partitioner {
 	private final ExecutorService executor;
 	private final int threshold;
 	private final PivotInitialIndexSelector pivotValueSelector;
-	private final SequentialPartitioner sequentialPartitioner;
+	private final SequentialThreeWayPartitioner sequentialPartitioner;
+	private final int[] buffer;
 
-	public ParallelPartitioner(ExecutorService executor, int threshold, PivotInitialIndexSelector pivotValueSelector) {
+	/**
+	 * @param buffer
+	 *            scratch space at least as long as every array to be
+	 *            partitioned, or null to allocate per call
+	 */
+	public ParallelPartitioner(ExecutorService executor, int threshold, PivotInitialIndexSelector pivotValueSelector,
+			int[] buffer) {
 		this.executor = executor;
 		this.threshold = threshold;
 		this.pivotValueSelector = pivotValueSelector;
-		this.sequentialPartitioner = new SequentialPartitioner(pivotValueSelector);
+		this.sequentialPartitioner = new SequentialThreeWayPartitioner(pivotValueSelector);
+		this.buffer = buffer;
+	}
+
+	public ParallelPartitioner(ExecutorService executor, int threshold, PivotInitialIndexSelector pivotValueSelector) {
+		this(executor, threshold, pivotValueSelector, null);
+	}
+
+	public ParallelPartitioner(ExecutorService executor, int threshold, int[] buffer) {
+		this(executor, threshold, PivotInitialIndexSelector.RANDOM, buffer);
 	}
 
 	public ParallelPartitioner(ExecutorService executor, int threshold) {
-		this(executor, threshold, PivotInitialIndexSelector.RANDOM);
+		this(executor, threshold, PivotInitialIndexSelector.RANDOM, null);
+	}
+
+	private static int blockBoundary(int min, int length, int numBlocks, int blockIndex) {
+		return min + (int) ((long) length * blockIndex / numBlocks);
+	}
+
+	private FutureTask<Void> submit(Runnable body) {
+		FutureTask<Void> task = new FutureTask<>(body, null);
+		this.executor.execute(task);
+		return task;
+	}
+
+	/**
+	 * Runs every task which has not yet been started by the executor on the
+	 * calling thread, then waits for the ones already running elsewhere.
+	 * FutureTask.run does nothing for a task which has already started.
+	 */
+	private static void runAndJoinAll(List<FutureTask<Void>> tasks) throws InterruptedException, ExecutionException {
+		for (FutureTask<Void> task : tasks) {
+			task.run();
+		}
+		for (FutureTask<Void> task : tasks) {
+			task.get();
+		}
 	}
 
 	@Override
 	public PivotLocation partitionRange(int[] data, int min, int maxExclusive)
 			throws InterruptedException, ExecutionException {
-		throw new NotYetImplementedException();
+		int length = maxExclusive - min;
+		if (length < this.threshold) {
+			return this.sequentialPartitioner.partitionRange(data, min, maxExclusive);
+		}
+
+		int pivotValue = data[this.pivotValueSelector.selectInitialIndex(data, min, maxExclusive)];
+		int numBlocks = Math.max(2, Math.min(length / Math.max(this.threshold / 2, 1),
+				Runtime.getRuntime().availableProcessors() * 2));
+
+		// partition each block locally into [less | equal | greater]
+		PivotLocation[] blockLocations = new PivotLocation[numBlocks];
+		List<FutureTask<Void>> tasks = new ArrayList<>(numBlocks);
+		for (int b = 0; b < numBlocks; b++) {
+			final int blockIndex = b;
+			tasks.add(submit(() -> {
+				int blockMin = blockBoundary(min, length, numBlocks, blockIndex);
+				int blockMaxExclusive = blockBoundary(min, length, numBlocks, blockIndex + 1);
+				blockLocations[blockIndex] = SequentialThreeWayPartitioner.partitionRange(data, blockMin,
+						blockMaxExclusive, pivotValue);
+			}));
+		}
+		runAndJoinAll(tasks);
+
+		// prefix sums of each block's region sizes give its destinations
+		int lessTotal = 0;
+		int equalTotal = 0;
+		for (int b = 0; b < numBlocks; b++) {
+			int blockMin = blockBoundary(min, length, numBlocks, b);
+			lessTotal += blockLocations[b].getLeftSidesUpperExclusive() - blockMin;
+			equalTotal += blockLocations[b].getRightSidesLowerInclusive()
+					- blockLocations[b].getLeftSidesUpperExclusive();
+		}
+		int[] lessDestinations = new int[numBlocks];
+		int[] equalDestinations = new int[numBlocks];
+		int[] greaterDestinations = new int[numBlocks];
+		int lessDestination = min;
+		int equalDestination = min + lessTotal;
+		int greaterDestination = min + lessTotal + equalTotal;
+		for (int b = 0; b < numBlocks; b++) {
+			int blockMin = blockBoundary(min, length, numBlocks, b);
+			int blockMaxExclusive = blockBoundary(min, length, numBlocks, b + 1);
+			int blockLessUpperExclusive = blockLocations[b].getLeftSidesUpperExclusive();
+			int blockGreaterLowerInclusive = blockLocations[b].getRightSidesLowerInclusive();
+			lessDestinations[b] = lessDestination;
+			equalDestinations[b] = equalDestination;
+			greaterDestinations[b] = greaterDestination;
+			lessDestination += blockLessUpperExclusive - blockMin;
+			equalDestination += blockGreaterLowerInclusive - blockLessUpperExclusive;
+			greaterDestination += blockMaxExclusive - blockGreaterLowerInclusive;
+		}
+
+		// scatter every block's regions to their destinations, then copy back
+		int[] buffer;
+		int bufferOffset;
+		if (this.buffer != null) {
+			buffer = this.buffer;
+			bufferOffset = min;
+		} else {
+			buffer = new int[length];
+			bufferOffset = 0;
+		}
+		tasks.clear();
+		for (int b = 0; b < numBlocks; b++) {
+			final int blockIndex = b;
+			tasks.add(submit(() -> {
+				int blockMin = blockBoundary(min, length, numBlocks, blockIndex);
+				int blockMaxExclusive = blockBoundary(min, length, numBlocks, blockIndex + 1);
+				int blockLessUpperExclusive = blockLocations[blockIndex].getLeftSidesUpperExclusive();
+				int blockGreaterLowerInclusive = blockLocations[blockIndex].getRightSidesLowerInclusive();
+				System.arraycopy(data, blockMin, buffer, lessDestinations[blockIndex] - min + bufferOffset,
+						blockLessUpperExclusive - blockMin);
+				System.arraycopy(data, blockLessUpperExclusive, buffer,
+						equalDestinations[blockIndex] - min + bufferOffset,
+						blockGreaterLowerInclusive - blockLessUpperExclusive);
+				System.arraycopy(data, blockGreaterLowerInclusive, buffer,
+						greaterDestinations[blockIndex] - min + bufferOffset,
+						blockMaxExclusive - blockGreaterLowerInclusive);
+			}));
+		}
+		runAndJoinAll(tasks);
+		tasks.clear();
+		for (int b = 0; b < numBlocks; b++) {
+			final int blockIndex = b;
+			tasks.add(submit(() -> {
+				int blockMin = blockBoundary(min, length, numBlocks, blockIndex);
+				int blockMaxExclusive = blockBoundary(min, length, numBlocks, blockIndex + 1);
+				System.arraycopy(buffer, blockMin - min + bufferOffset, data, blockMin, blockMaxExclusive - blockMin);
+			}));
+		}
+		runAndJoinAll(tasks);
+
+		return new PivotLocation(min + lessTotal, min + lessTotal + equalTotal);
 	}
 }
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.studio.merge;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+import sort.core.merge.SequentialLongCombiner;
+import sort.fun.merge.ParallelLongCombiner;
+
+/**
+ * Sorts objects by a primitive int key without boxing or comparators. Each
+ * element's key is packed into the upper 32 bits of a long with the element's
+ * index in the lower 32 bits. The long[] is sorted with the primitive merge
+ * sort engine, and then the elements are permuted into the order of the
+ * indices. Ties on the key are broken by the original index, so the sort is
+ * stable.
+ *
+ * A long key leaves no room for the index, so long keys are first replaced by
+ * their rank: a copy of the keys is sorted with the same engine, and each
+ * element's rank is the index of the first occurrence of its key in that copy.
+ * The ranks fit in 32 bits and are packed with the indices as above. Double
+ * keys are mapped to longs which order as {@link Double#compare(double, double)}
+ * does and then ranked the same way.
+ *
+ * @author Yiheng Huang
+ */
+public final class KeyedMergeSort {
+	private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private KeyedMergeSort() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	private static long pack(int key, int index) {
+		return (((long) key) << 32) | index;
+	}
+
+	private static int unpackIndex(long packed) {
+		return (int) (packed & INDEX_MASK);
+	}
+
+	private static long toSortableLong(double key) {
+		long bits = Double.doubleToLongBits(key);
+		// flip the magnitude bits of negatives so that they order in reverse
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return the index of the first element of sortedKeys which is not less
+	 *         than key
+	 */
+	private static int lowerBound(long[] sortedKeys, long key) {
+		int low = 0;
+		int high = sortedKeys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedKeys[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static <T> void sequentialMergeSortByKeys(T[] data, long[] keys)
+			throws InterruptedException, ExecutionException {
+		SequentialLongCombiner combiner = new SequentialLongCombiner(keys.length);
+		long[] sortedKeys = keys.clone();
+		MergeSort.sequentialMergeSort(sortedKeys, combiner);
+		long[] packed = new long[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			packed[i] = pack(lowerBound(sortedKeys, keys[i]), i);
+		}
+		MergeSort.sequentialMergeSort(packed, combiner);
+		T[] original = data.clone();
+		for (int i = 0; i < data.length; i++) {
+			data[i] = original[unpackIndex(packed[i])];
+		}
+	}
+
+	private static <T> void parallelMergeSortByKeys(T[] data, long[] keys, int threshold)
+			throws InterruptedException, ExecutionException {
+		ParallelLongCombiner combiner = new ParallelLongCombiner(keys.length, threshold);
+		long[] sortedKeys = keys.clone();
+		MergeSort.parallelMergeSort(sortedKeys, threshold, combiner);
+		long[] packed = new long[keys.length];
+		forall(chunked(), 0, keys.length, (i) -> {
+			packed[i] = pack(lowerBound(sortedKeys, keys[i]), i);
+		});
+		MergeSort.parallelMergeSort(packed, threshold, combiner);
+		T[] original = data.clone();
+		forall(chunked(), 0, data.length, (i) -> {
+			data[i] = original[unpackIndex(packed[i])];
+		});
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element
+	 * @throws ExecutionException
+	 * @throws InterruptedException
+	 */
+	public static <T> void sequentialMergeSortByKey(T[] data, ToIntFunction<? super T> keyExtractor)
+			throws InterruptedException, ExecutionException {
+		long[] packed = new long[data.length];
+		for (int i = 0; i < data.length; i++) {
+			packed[i] = pack(keyExtractor.applyAsInt(data[i]), i);
+		}
+		MergeSort.sequentialMergeSort(packed, new SequentialLongCombiner(packed.length));
+		T[] original = data.clone();
+		for (int i = 0; i < data.length; i++) {
+			data[i] = original[unpackIndex(packed[i])];
+		}
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element. it may be
+	 *            invoked concurrently.
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static <T> void parallelMergeSortByKey(T[] data, ToIntFunction<? super T> keyExtractor, int threshold)
+			throws InterruptedException, ExecutionException {
+		if (data.length == 0) {
+			return;
+		}
+		long[] packed = new long[data.length];
+		forall(chunked(), 0, data.length, (i) -> {
+			packed[i] = pack(keyExtractor.applyAsInt(data[i]), i);
+		});
+		MergeSort.parallelMergeSort(packed, threshold, new ParallelLongCombiner(packed.length, threshold));
+		T[] original = data.clone();
+		forall(chunked(), 0, data.length, (i) -> {
+			data[i] = original[unpackIndex(packed[i])];
+		});
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element
+	 * @throws ExecutionException
+	 * @throws InterruptedException
+	 */
+	public static <T> void sequentialMergeSortByLongKey(T[] data, ToLongFunction<? super T> keyExtractor)
+			throws InterruptedException, ExecutionException {
+		long[] keys = new long[data.length];
+		for (int i = 0; i < data.length; i++) {
+			keys[i] = keyExtractor.applyAsLong(data[i]);
+		}
+		sequentialMergeSortByKeys(data, keys);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element. it may be
+	 *            invoked concurrently.
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static <T> void parallelMergeSortByLongKey(T[] data, ToLongFunction<? super T> keyExtractor,
+			int threshold) throws InterruptedException, ExecutionException {
+		if (data.length == 0) {
+			return;
+		}
+		long[] keys = new long[data.length];
+		forall(chunked(), 0, data.length, (i) -> {
+			keys[i] = keyExtractor.applyAsLong(data[i]);
+		});
+		parallelMergeSortByKeys(data, keys, threshold);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element, ordered as by
+	 *            {@link Double#compare(double, double)}
+	 * @throws ExecutionException
+	 * @throws InterruptedException
+	 */
+	public static <T> void sequentialMergeSortByDoubleKey(T[] data, ToDoubleFunction<? super T> keyExtractor)
+			throws InterruptedException, ExecutionException {
+		long[] keys = new long[data.length];
+		for (int i = 0; i < data.length; i++) {
+			keys[i] = toSortableLong(keyExtractor.applyAsDouble(data[i]));
+		}
+		sequentialMergeSortByKeys(data, keys);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param keyExtractor
+	 *            extracts the key by which to sort each element, ordered as by
+	 *            {@link Double#compare(double, double)}. it may be invoked
+	 *            concurrently.
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static <T> void parallelMergeSortByDoubleKey(T[] data, ToDoubleFunction<? super T> keyExtractor,
+			int threshold) throws InterruptedException, ExecutionException {
+		if (data.length == 0) {
+			return;
+		}
+		long[] keys = new long[data.length];
+		forall(chunked(), 0, data.length, (i) -> {
+			keys[i] = toSortableLong(keyExtractor.applyAsDouble(data[i]));
+		});
+		parallelMergeSortByKeys(data, keys, threshold);
+	}
+}
@@ -27,6 +27,7 @@ import static edu.wustl.cse231s.v5.V5.finish;
 import java.util.concurrent.ExecutionException;
 
 import edu.wustl.cse231s.NotYetImplementedException;
+import sort.core.merge.ArrayCombiner;
 import sort.core.merge.Combiner;
 
 /**
@@ -47,8 +48,8 @@ public class MergeSort {
 	 * @throws ExecutionException
 	 * @throws InterruptedException
 	 */
-	private static void sequentialMergeSortKernel(int[] data, int lowInclusive, int highExclusive, Combiner combiner)
-			throws InterruptedException, ExecutionException {
+	private static <A> void sequentialMergeSortKernel(A data, int lowInclusive, int highExclusive,
+			ArrayCombiner<A> combiner) throws InterruptedException, ExecutionException {
 		if (highExclusive<=lowInclusive+1) {
 			return;
 		}
@@ -90,8 +91,8 @@ public class MergeSort {
 	 * @throws InterruptedException,
 	 *             ExecutionException
 	 */
-	private static void parallelMergeSortKernel(int[] data, int lowInclusive, int highExclusive, int threshold,
-			Combiner combiner) throws InterruptedException, ExecutionException {
+	private static <A> void parallelMergeSortKernel(A data, int lowInclusive, int highExclusive, int threshold,
+			ArrayCombiner<A> combiner) throws InterruptedException, ExecutionException {
 		int mid= (highExclusive+lowInclusive)/2;
 		int range=highExclusive-lowInclusive;
 		
@@ -123,4 +124,62 @@ public class MergeSort {
 			throws InterruptedException, ExecutionException {
 		parallelMergeSortKernel(data,0,data.length,threshold,combiner);
 	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param combiner
+	 *            used to merge the two sub-problem solutions into one
+	 * @throws ExecutionException
+	 * @throws InterruptedException
+	 */
+	public static void sequentialMergeSort(long[] data, ArrayCombiner<long[]> combiner)
+			throws InterruptedException, ExecutionException {
+		sequentialMergeSortKernel(data, 0, data.length, combiner);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @param combiner
+	 *            used to merge the two sub-problem solutions into one
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static void parallelMergeSort(long[] data, int threshold, ArrayCombiner<long[]> combiner)
+			throws InterruptedException, ExecutionException {
+		parallelMergeSortKernel(data, 0, data.length, threshold, combiner);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort. NaN values are not supported.
+	 * @param combiner
+	 *            used to merge the two sub-problem solutions into one
+	 * @throws ExecutionException
+	 * @throws InterruptedException
+	 */
+	public static void sequentialMergeSort(double[] data, ArrayCombiner<double[]> combiner)
+			throws InterruptedException, ExecutionException {
+		sequentialMergeSortKernel(data, 0, data.length, combiner);
+	}
+
+	/**
+	 * @param data,
+	 *            the array to sort. NaN values are not supported.
+	 * @param threshold,
+	 *            the range length below which to transition from parallel divide
+	 *            and conquer to sequential divide and conquer.
+	 * @param combiner
+	 *            used to merge the two sub-problem solutions into one
+	 * @throws InterruptedException,
+	 *             ExecutionException
+	 */
+	public static void parallelMergeSort(double[] data, int threshold, ArrayCombiner<double[]> combiner)
+			throws InterruptedException, ExecutionException {
+		parallelMergeSortKernel(data, 0, data.length, threshold, combiner);
+	}
 }
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package stencil.core;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * The shape of a 2D or 3D grid stored in a flat row-major array, with x
+ * varying fastest. The cell at (x, y, z) is at index (z * yCount + y) * xCount
+ * + x. A 2D grid has a zCount of 1.
+ *
+ * Work is divided along the outermost dimension (y for 2D, z for 3D) in whole
+ * planes, each of which is contiguous in the array.
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public final class Grid {
+	private final int dimensionCount;
+	private final int xCount;
+	private final int yCount;
+	private final int zCount;
+
+	private Grid(int dimensionCount, int xCount, int yCount, int zCount) {
+		if (xCount < 1 || yCount < 1 || zCount < 1) {
+			throw new IllegalArgumentException(xCount + "x" + yCount + "x" + zCount);
+		}
+		if ((long) xCount * yCount * zCount > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("too many cells: " + xCount + "x" + yCount + "x" + zCount);
+		}
+		this.dimensionCount = dimensionCount;
+		this.xCount = xCount;
+		this.yCount = yCount;
+		this.zCount = zCount;
+	}
+
+	public static Grid create2d(int xCount, int yCount) {
+		return new Grid(2, xCount, yCount, 1);
+	}
+
+	public static Grid create3d(int xCount, int yCount, int zCount) {
+		return new Grid(3, xCount, yCount, zCount);
+	}
+
+	public int getDimensionCount() {
+		return this.dimensionCount;
+	}
+
+	public int getXCount() {
+		return this.xCount;
+	}
+
+	public int getYCount() {
+		return this.yCount;
+	}
+
+	public int getZCount() {
+		return this.zCount;
+	}
+
+	public int getCellCount() {
+		return this.xCount * this.yCount * this.zCount;
+	}
+
+	public int index(int x, int y, int z) {
+		return (z * this.yCount + y) * this.xCount + x;
+	}
+
+	/**
+	 * @return the number of planes along the outermost dimension
+	 */
+	public int getPlaneCount() {
+		return this.dimensionCount == 3 ? this.zCount : this.yCount;
+	}
+
+	/**
+	 * @return the number of cells in each plane of the outermost dimension
+	 */
+	public int getPlaneSize() {
+		return this.dimensionCount == 3 ? this.xCount * this.yCount : this.xCount;
+	}
+
+	@Override
+	public String toString() {
+		return this.dimensionCount == 3 ? this.xCount + "x" + this.yCount + "x" + this.zCount
+				: this.xCount + "x" + this.yCount;
+	}
+}
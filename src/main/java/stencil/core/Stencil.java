@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package stencil.core;
+
+import java.util.Arrays;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * A linear stencil: each updated cell becomes the weighted sum of the cells at
+ * fixed offsets from it. Cells closer to the edge of the grid than the
+ * stencil's radius in any dimension are boundary cells and are never updated.
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public final class Stencil {
+	private final String name;
+	private final int dimensionCount;
+	private final int[] xOffsets;
+	private final int[] yOffsets;
+	private final int[] zOffsets;
+	private final double[] weights;
+
+	private Stencil(String name, int dimensionCount, int[][] offsets, double[] weights) {
+		if (dimensionCount != 2 && dimensionCount != 3) {
+			throw new IllegalArgumentException("dimensionCount must be 2 or 3: " + dimensionCount);
+		}
+		if (offsets.length != weights.length || offsets.length == 0) {
+			throw new IllegalArgumentException(offsets.length + " offsets; " + weights.length + " weights");
+		}
+		this.name = name;
+		this.dimensionCount = dimensionCount;
+		this.xOffsets = new int[offsets.length];
+		this.yOffsets = new int[offsets.length];
+		this.zOffsets = new int[offsets.length];
+		for (int k = 0; k < offsets.length; k++) {
+			if (offsets[k].length != dimensionCount) {
+				throw new IllegalArgumentException("offset " + Arrays.toString(offsets[k]) + " is not "
+						+ dimensionCount + "-dimensional");
+			}
+			this.xOffsets[k] = offsets[k][0];
+			this.yOffsets[k] = offsets[k][1];
+			this.zOffsets[k] = dimensionCount == 3 ? offsets[k][2] : 0;
+		}
+		this.weights = weights.clone();
+	}
+
+	/**
+	 * @param dimensionCount
+	 *            2 or 3
+	 * @param offsets
+	 *            the (x, y) or (x, y, z) offset of each term
+	 * @param weights
+	 *            the weight of each term
+	 * @return a stencil which sums its terms in the given order
+	 */
+	public static Stencil create(int dimensionCount, int[][] offsets, double[] weights) {
+		return new Stencil("stencil", dimensionCount, offsets, weights);
+	}
+
+	/**
+	 * @return the 2D average of the four edge neighbors
+	 */
+	public static Stencil fivePoint() {
+		return new Stencil("5-point", 2, new int[][] { { 0, -1 }, { -1, 0 }, { 1, 0 }, { 0, 1 } },
+				new double[] { 0.25, 0.25, 0.25, 0.25 });
+	}
+
+	/**
+	 * @return the 2D weighted average of the eight neighbors, with edge neighbors
+	 *         weighted four times as heavily as corner neighbors
+	 */
+	public static Stencil ninePoint() {
+		return new Stencil("9-point",
+				2, new int[][] { { -1, -1 }, { 0, -1 }, { 1, -1 }, { -1, 0 }, { 1, 0 }, { -1, 1 }, { 0, 1 },
+						{ 1, 1 } },
+				new double[] { 0.05, 0.2, 0.05, 0.2, 0.2, 0.05, 0.2, 0.05 });
+	}
+
+	/**
+	 * @return the 3D average of the six face neighbors
+	 */
+	public static Stencil sevenPoint() {
+		double sixth = 1.0 / 6.0;
+		return new Stencil("7-point", 3,
+				new int[][] { { 0, 0, -1 }, { 0, -1, 0 }, { -1, 0, 0 }, { 1, 0, 0 }, { 0, 1, 0 }, { 0, 0, 1 } },
+				new double[] { sixth, sixth, sixth, sixth, sixth, sixth });
+	}
+
+	public int getDimensionCount() {
+		return this.dimensionCount;
+	}
+
+	public int getTermCount() {
+		return this.weights.length;
+	}
+
+	public double getWeight(int term) {
+		return this.weights[term];
+	}
+
+	private static int radius(int[] offsets) {
+		int result = 0;
+		for (int offset : offsets) {
+			result = Math.max(result, Math.abs(offset));
+		}
+		return result;
+	}
+
+	public int getXRadius() {
+		return radius(this.xOffsets);
+	}
+
+	public int getYRadius() {
+		return radius(this.yOffsets);
+	}
+
+	public int getZRadius() {
+		return radius(this.zOffsets);
+	}
+
+	/**
+	 * @return the radius along the grid's outermost dimension
+	 */
+	public int getPlaneRadius() {
+		return this.dimensionCount == 3 ? getZRadius() : getYRadius();
+	}
+
+	/**
+	 * @return the offset of each term in the grid's flat array
+	 */
+	public int[] toIndexOffsets(Grid grid) {
+		if (grid.getDimensionCount() != this.dimensionCount) {
+			throw new IllegalArgumentException(this + " does not apply to " + grid);
+		}
+		int[] result = new int[this.weights.length];
+		for (int k = 0; k < result.length; k++) {
+			result[k] = (this.zOffsets[k] * grid.getYCount() + this.yOffsets[k]) * grid.getXCount()
+					+ this.xOffsets[k];
+		}
+		return result;
+	}
+
+	/**
+	 * @return a copy of the weights, in term order
+	 */
+	public double[] getWeights() {
+		return this.weights.clone();
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+}
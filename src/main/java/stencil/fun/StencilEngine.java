@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package stencil.fun;
+
+import static edu.wustl.cse231s.v5.V5.finish;
+import static edu.wustl.cse231s.v5.V5.forall;
+import static edu.wustl.cse231s.v5.V5.newDoubleFinishAccumulator;
+import static edu.wustl.cse231s.v5.V5.register;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Phaser;
+
+import edu.wustl.cse231s.v5.api.FinishAccumulator;
+import edu.wustl.cse231s.v5.api.NumberReductionOperator;
+import slice.core.GhostZonePhasers;
+import slice.core.Slice;
+import slice.studio.Slices;
+import stencil.core.Grid;
+import stencil.core.Stencil;
+
+/**
+ * Repeatedly applies a {@link Stencil} to a {@link Grid}, double buffering
+ * between two arrays in the manner of the iterative averagers: iteration i
+ * reads from a and writes to b when i is even, and the reverse when i is odd.
+ * Boundary cells are never written, so each array keeps its own boundary
+ * values.
+ *
+ * The interior planes of the outermost dimension are divided into slices with
+ * {@link Slices}, and each iteration of each slice sweeps whole planes. Every
+ * strategy produces results identical to those of a sequential sweep.
+ *
+ * @author Yiheng Huang
+ */
+public class StencilEngine {
+	private final Grid grid;
+	private final Stencil stencil;
+	private final int[] indexOffsets;
+	private final double[] weights;
+	private final int planeRadius;
+	private final int[] interiorPlanes;
+	private final List<Slice<int[]>> slices;
+
+	/**
+	 * @param grid
+	 *            the shape of the arrays to be passed in
+	 * @param stencil
+	 *            a stencil of the same dimensionality as the grid
+	 * @param sliceCount
+	 *            the number of slices into which to divide the interior planes
+	 */
+	public StencilEngine(Grid grid, Stencil stencil, int sliceCount) {
+		if (sliceCount < 1) {
+			throw new IllegalArgumentException("sliceCount must be positive: " + sliceCount);
+		}
+		this.grid = grid;
+		this.stencil = stencil;
+		this.indexOffsets = stencil.toIndexOffsets(grid);
+		this.weights = stencil.getWeights();
+		this.planeRadius = stencil.getPlaneRadius();
+		int interiorPlaneCount = Math.max(grid.getPlaneCount() - 2 * this.planeRadius, 0);
+		this.interiorPlanes = new int[interiorPlaneCount];
+		for (int i = 0; i < interiorPlaneCount; i++) {
+			this.interiorPlanes[i] = this.planeRadius + i;
+		}
+		this.slices = Slices.createNSlices(this.interiorPlanes, sliceCount);
+	}
+
+	public StencilEngine(Grid grid, Stencil stencil) {
+		this(grid, stencil, Runtime.getRuntime().availableProcessors());
+	}
+
+	public Grid getGrid() {
+		return this.grid;
+	}
+
+	public Stencil getStencil() {
+		return this.stencil;
+	}
+
+	private static boolean isEmpty(Slice<int[]> slice) {
+		return slice.getMinInclusive() >= slice.getMaxExclusive();
+	}
+
+	private int planeMin(Slice<int[]> slice) {
+		return this.interiorPlanes[slice.getMinInclusive()];
+	}
+
+	private int planeMax(Slice<int[]> slice) {
+		return this.interiorPlanes[slice.getMaxExclusive() - 1] + 1;
+	}
+
+	private void checkArrays(double[] a, double[] b) {
+		if (a.length != this.grid.getCellCount() || b.length != this.grid.getCellCount()) {
+			throw new IllegalArgumentException(
+					"lengths " + a.length + ", " + b.length + " do not match grid " + this.grid);
+		}
+	}
+
+	/**
+	 * Applies the stencil to the interior cells of planes [planeMin, planeMax).
+	 * src and dst may hold a window of the grid starting at basePlane rather than
+	 * the whole grid.
+	 *
+	 * @return the largest absolute change of any cell written
+	 */
+	private double sweep(double[] src, double[] dst, int planeMin, int planeMax, int basePlane) {
+		int xCount = this.grid.getXCount();
+		int planeSize = this.grid.getPlaneSize();
+		int xMin = this.stencil.getXRadius();
+		int xMax = xCount - xMin;
+		boolean isThreeDimensional = this.grid.getDimensionCount() == 3;
+		int rowMin = isThreeDimensional ? this.stencil.getYRadius() : 0;
+		int rowMax = isThreeDimensional ? this.grid.getYCount() - rowMin : 1;
+		int[] indexOffsets = this.indexOffsets;
+		double[] weights = this.weights;
+		int termCount = weights.length;
+
+		double maxDelta = 0.0;
+		for (int plane = planeMin; plane < planeMax; plane++) {
+			for (int row = rowMin; row < rowMax; row++) {
+				int rowStart = (plane - basePlane) * planeSize + row * xCount;
+				for (int x = xMin; x < xMax; x++) {
+					int index = rowStart + x;
+					double value = 0.0;
+					for (int k = 0; k < termCount; k++) {
+						value += weights[k] * src[index + indexOffsets[k]];
+					}
+					dst[index] = value;
+					double delta = Math.abs(value - src[index]);
+					if (delta > maxDelta) {
+						maxDelta = delta;
+					}
+				}
+			}
+		}
+		return maxDelta;
+	}
+
+	/**
+	 * Sweeps every slice in parallel, once per iteration.
+	 */
+	public void iterate(double[] a, double[] b, int iterationCount)
+			throws InterruptedException, ExecutionException {
+		checkArrays(a, b);
+		for (int iteration = 0; iteration < iterationCount; iteration++) {
+			double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+			double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+			forall(this.slices, (slice) -> {
+				if (!isEmpty(slice)) {
+					sweep(arrayPrev, arrayNext, planeMin(slice), planeMax(slice), 0);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Sweeps every slice in parallel until no cell changes by epsilon or more in
+	 * an iteration, or maxIterationCount iterations have run. The largest change
+	 * of each iteration is found with a max reduction over the slices.
+	 *
+	 * @return the number of iterations run. the latest values are in b if it is
+	 *         odd and in a if it is even.
+	 */
+	public int iterateUntilConverged(double[] a, double[] b, double epsilon, int maxIterationCount)
+			throws InterruptedException, ExecutionException {
+		checkArrays(a, b);
+		for (int iteration = 0; iteration < maxIterationCount; iteration++) {
+			double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+			double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+			FinishAccumulator<Double> maxDelta = newDoubleFinishAccumulator(NumberReductionOperator.MAX);
+			finish(register(maxDelta), () -> {
+				forall(this.slices, (slice) -> {
+					if (!isEmpty(slice)) {
+						maxDelta.put(sweep(arrayPrev, arrayNext, planeMin(slice), planeMax(slice), 0));
+					}
+				});
+			});
+			if (maxDelta.get() < epsilon) {
+				return iteration + 1;
+			}
+		}
+		return maxIterationCount;
+	}
+
+	/**
+	 * Runs one task per slice for all iterations, separated by a barrier.
+	 */
+	public void iteratePhased(double[] a, double[] b, int iterationCount)
+			throws InterruptedException, ExecutionException {
+		checkArrays(a, b);
+		Phaser phaser = new Phaser();
+		phaser.bulkRegister(this.slices.size());
+		forall(this.slices, (slice) -> {
+			for (int iteration = 0; iteration < iterationCount; iteration++) {
+				double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+				double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+				if (!isEmpty(slice)) {
+					sweep(arrayPrev, arrayNext, planeMin(slice), planeMax(slice), 0);
+				}
+				phaser.arriveAndAwaitAdvance();
+			}
+			phaser.arriveAndDeregister();
+		});
+	}
+
+	/**
+	 * Runs one task per slice, each of which synchronizes with its neighboring
+	 * slices only once every ghostWidth iterations, in the manner of
+	 * {@link iterativeaveraging.fun.GhostZoneIterativeAverager}. Each slice
+	 * redundantly computes ghostWidth times the stencil's plane radius ghost
+	 * planes on either side in private buffers.
+	 */
+	public void iterateGhostZone(double[] a, double[] b, int iterationCount, int ghostWidth)
+			throws InterruptedException, ExecutionException {
+		checkArrays(a, b);
+		if (ghostWidth < 1) {
+			throw new IllegalArgumentException("ghostWidth must be positive: " + ghostWidth);
+		}
+		if (iterationCount <= 0) {
+			return;
+		}
+		int ghostPlaneCount = ghostWidth * this.planeRadius;
+		int[] planeMins = new int[this.slices.size()];
+		int[] planeMaxs = new int[this.slices.size()];
+		for (Slice<int[]> slice : this.slices) {
+			// empty slices keep the empty range [0, 0)
+			if (!isEmpty(slice)) {
+				planeMins[slice.getSliceIndexId()] = planeMin(slice);
+				planeMaxs[slice.getSliceIndexId()] = planeMax(slice);
+			}
+		}
+		GhostZonePhasers phasers = new GhostZonePhasers(planeMins, planeMaxs, ghostPlaneCount);
+
+		int planeCount = this.grid.getPlaneCount();
+		int planeSize = this.grid.getPlaneSize();
+		forall(this.slices, (slice) -> {
+			if (isEmpty(slice)) {
+				return;
+			}
+			int sliceIndex = slice.getSliceIndexId();
+			int planeMin = planeMin(slice);
+			int planeMax = planeMax(slice);
+			int haloMin = Math.max(planeMin - ghostPlaneCount, 0);
+			int haloMax = Math.min(planeMax + ghostPlaneCount, planeCount);
+			int haloLength = (haloMax - haloMin) * planeSize;
+			double[] localA = new double[haloLength];
+			double[] localB = new double[haloLength];
+
+			int phase = 0;
+			for (int blockStart = 0; blockStart < iterationCount; blockStart += ghostWidth) {
+				int stepCount = Math.min(ghostWidth, iterationCount - blockStart);
+
+				phasers.awaitNeighbors(sliceIndex, phase);
+				System.arraycopy(a, haloMin * planeSize, localA, 0, haloLength);
+				System.arraycopy(b, haloMin * planeSize, localB, 0, haloLength);
+				phasers.arrive(sliceIndex);
+				phase++;
+
+				for (int step = 1; step <= stepCount; step++) {
+					int iteration = blockStart + step - 1;
+					double[] localPrev = ((iteration & 1) == 0) ? localA : localB;
+					double[] localNext = ((iteration & 1) == 0) ? localB : localA;
+					int remainingGhostPlaneCount = (ghostWidth - step) * this.planeRadius;
+					int stepMin = Math.max(planeMin - remainingGhostPlaneCount, this.planeRadius);
+					int stepMax = Math.min(planeMax + remainingGhostPlaneCount, planeCount - this.planeRadius);
+					sweep(localPrev, localNext, stepMin, stepMax, haloMin);
+				}
+
+				phasers.awaitNeighbors(sliceIndex, phase);
+				int lastIteration = blockStart + stepCount - 1;
+				int ownOffset = (planeMin - haloMin) * planeSize;
+				int ownLength = (planeMax - planeMin) * planeSize;
+				if (stepCount >= 2 || (lastIteration & 1) == 1) {
+					System.arraycopy(localA, ownOffset, a, planeMin * planeSize, ownLength);
+				}
+				if (stepCount >= 2 || (lastIteration & 1) == 0) {
+					System.arraycopy(localB, ownOffset, b, planeMin * planeSize, ownLength);
+				}
+				phasers.arrive(sliceIndex);
+				phase++;
+			}
+		});
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + this.stencil + ", " + this.grid + ", slices=" + this.slices.size()
+				+ ")";
+	}
+}
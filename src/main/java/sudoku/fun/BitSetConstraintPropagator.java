@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku.fun;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedSet;
+
+import net.jcip.annotations.Immutable;
+import sudoku.core.ConstraintPropagator;
+import sudoku.core.Square;
+
+/**
+ * The same peer removing propagation as
+ * {@link sudoku.lab.PeerRemovingConstraintPropagator}, performed on a short[]
+ * of option masks rather than on a map of TreeSets. The returned maps hold
+ * shared unmodifiable option sets, so no per square sets are copied or
+ * allocated.
+ *
+ * {@link BitSetImmutableSudokuPuzzle} skips the maps altogether and should be
+ * preferred where the {@link ConstraintPropagator} interface is not required.
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public final class BitSetConstraintPropagator implements ConstraintPropagator {
+	private static Map<Square, SortedSet<Integer>> toOptionSets(short[] candidates) {
+		Map<Square, SortedSet<Integer>> result = new EnumMap<>(Square.class);
+		for (Square square : Square.values()) {
+			result.put(square, CandidateMasks.toOptionSet(candidates[square.ordinal()]));
+		}
+		return result;
+	}
+
+	private static short[] toCandidates(Map<Square, SortedSet<Integer>> optionSets) {
+		short[] candidates = new short[CandidateMasks.SQUARE_COUNT];
+		for (Square square : Square.values()) {
+			candidates[square.ordinal()] = (short) CandidateMasks.toMask(optionSets.get(square));
+		}
+		return candidates;
+	}
+
+	@Override
+	public Map<Square, SortedSet<Integer>> createOptionSetsFromGivens(String givens) {
+		return toOptionSets(CandidateMasks.createFromGivens(givens));
+	}
+
+	@Override
+	public Map<Square, SortedSet<Integer>> createNextOptionSets(Map<Square, SortedSet<Integer>> otherOptionSets,
+			Square square, int value) {
+		short[] candidates = toCandidates(otherOptionSets);
+		CandidateMasks.assign(candidates, square.ordinal(), value);
+		return toOptionSets(candidates);
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku.fun;
+
+import java.util.SortedSet;
+
+import net.jcip.annotations.Immutable;
+import sudoku.core.ImmutableSudokuPuzzle;
+import sudoku.core.Square;
+
+/**
+ * An immutable sudoku puzzle which keeps each square's options as a 9 bit
+ * mask in a short[81] and propagates constraints by peer removal, like
+ * {@link sudoku.lab.PeerRemovingConstraintPropagator}. Creating the next
+ * puzzle clones the 162 byte array rather than deep copying 81 TreeSets, and
+ * {@link #getOptions(Square)} returns shared unmodifiable sets.
+ *
+ * @author Yiheng Huang
+ */
+@Immutable
+public final class BitSetImmutableSudokuPuzzle implements ImmutableSudokuPuzzle {
+	private final short[] candidates;
+
+	/**
+	 * Constructs a new puzzle from the provided givens (and any propagated
+	 * constraints).
+	 * 
+	 * @param givens
+	 *            81 characters in row-major order, '.' for an empty square
+	 */
+	public BitSetImmutableSudokuPuzzle(String givens) {
+		this.candidates = CandidateMasks.createFromGivens(givens);
+	}
+
+	private BitSetImmutableSudokuPuzzle(short[] candidates) {
+		this.candidates = candidates;
+	}
+
+	@Override
+	public ImmutableSudokuPuzzle createNext(Square square, int value) {
+		short[] nextCandidates = this.candidates.clone();
+		CandidateMasks.assign(nextCandidates, square.ordinal(), value);
+		return new BitSetImmutableSudokuPuzzle(nextCandidates);
+	}
+
+	@Override
+	public int getValue(Square square) {
+		return CandidateMasks.getValue(candidates[square.ordinal()]);
+	}
+
+	@Override
+	public SortedSet<Integer> getOptions(Square square) {
+		return CandidateMasks.toOptionSet(candidates[square.ordinal()]);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (short mask : this.candidates) {
+			int size = Integer.bitCount(mask);
+			if (size == 1) {
+				sb.append(CandidateMasks.getValue(mask));
+			} else if (size == 0) {
+				sb.append('X');
+			} else {
+				sb.append('.');
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku.fun;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import edu.wustl.cse231s.IntendedForStaticAccessOnlyError;
+import sudoku.core.Square;
+import sudoku.core.io.PuzzlesResourceUtils;
+
+/**
+ * Option sets held as 9 bit masks, one short per square indexed by
+ * {@link Square#ordinal()}, with bit value-1 set when value is an option.
+ * Copying a whole board is a single 162 byte array clone, and every option set
+ * handed out as a {@link SortedSet} is one of 512 shared unmodifiable
+ * instances.
+ *
+ * @author Yiheng Huang
+ */
+final class CandidateMasks {
+	static final int SQUARE_COUNT = 81;
+	static final short ALL_OPTIONS = 0x1FF;
+
+	private static final int[][] PEER_INDICES = new int[SQUARE_COUNT][];
+	static {
+		for (Square square : Square.values()) {
+			// same order as getPeers() so propagation matches
+			// PeerRemovingConstraintPropagator step for step
+			PEER_INDICES[square.ordinal()] = square.getPeers().stream().mapToInt(Square::ordinal).toArray();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final SortedSet<Integer>[] OPTION_SETS = new SortedSet[ALL_OPTIONS + 1];
+	static {
+		for (int mask = 0; mask < OPTION_SETS.length; mask++) {
+			SortedSet<Integer> set = new TreeSet<>();
+			for (int value = 1; value <= 9; value++) {
+				if (contains(mask, value)) {
+					set.add(value);
+				}
+			}
+			OPTION_SETS[mask] = Collections.unmodifiableSortedSet(set);
+		}
+	}
+
+	/**
+	 * This class is noninstantiable. Do not modify or call this constructor.
+	 */
+	private CandidateMasks() {
+		throw new IntendedForStaticAccessOnlyError();
+	}
+
+	static boolean contains(int mask, int value) {
+		return (mask & (1 << (value - 1))) != 0;
+	}
+
+	/**
+	 * @return the single option of the mask, otherwise 0
+	 */
+	static int getValue(int mask) {
+		return Integer.bitCount(mask) == 1 ? Integer.numberOfTrailingZeros(mask) + 1 : 0;
+	}
+
+	static SortedSet<Integer> toOptionSet(int mask) {
+		return OPTION_SETS[mask];
+	}
+
+	static int toMask(Iterable<Integer> options) {
+		int mask = 0;
+		for (int value : options) {
+			mask |= 1 << (value - 1);
+		}
+		return mask;
+	}
+
+	static short[] createFromGivens(String givens) {
+		int[][] values = PuzzlesResourceUtils.parseGivens(givens);
+		short[] candidates = new short[SQUARE_COUNT];
+		Arrays.fill(candidates, ALL_OPTIONS);
+		for (int row = 0; row < 9; row++) {
+			for (int column = 0; column < 9; column++) {
+				if (values[row][column] != 0) {
+					assign(candidates, row * 9 + column, values[row][column]);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Makes value the only option of the square and removes it from the
+	 * square's peers, assigning any peer left with a single option in turn.
+	 * Peers left with no options are left empty for the search to discover.
+	 */
+	static void assign(short[] candidates, int squareIndex, int value) {
+		candidates[squareIndex] = (short) (1 << (value - 1));
+		int bit = 1 << (value - 1);
+		for (int peerIndex : PEER_INDICES[squareIndex]) {
+			int mask = candidates[peerIndex];
+			if ((mask & bit) != 0) {
+				mask &= ~bit;
+				candidates[peerIndex] = (short) mask;
+				if (Integer.bitCount(mask) == 1) {
+					assign(candidates, peerIndex, Integer.numberOfTrailingZeros(mask) + 1);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku.fun;
+
+import sudoku.core.ImmutableSudokuPuzzle;
+import sudoku.core.Square;
+import sudoku.core.SudokuPuzzle;
+
+/**
+ * Solves sudoku as an exact cover problem with Knuth's Algorithm X on dancing
+ * links.
+ *
+ * Each (square, value) pair still among a square's options is a row which
+ * covers four of the 324 constraint columns: the square is filled, the value
+ * appears in the square's row, in its column, and in its box. A solution is a
+ * set of rows covering every column exactly once. The search always branches
+ * on the column with the fewest remaining rows, and covering a column unlinks
+ * every conflicting row in place, so backtracking only relinks nodes and
+ * nothing is allocated once the matrix is built.
+ *
+ * The nodes are held in parallel int arrays rather than as objects.
+ *
+ * @author Yiheng Huang
+ * @see <a href="https://arxiv.org/abs/cs/0011047">Knuth, Dancing Links</a>
+ */
+public final class DancingLinksSudoku {
+	private static final int ROOT = 0;
+	private static final int CONSTRAINT_COUNT = 4 * 81;
+	private static final int NODES_PER_ROW = 4;
+	private static final int MAX_NODE_COUNT = 1 + CONSTRAINT_COUNT + NODES_PER_ROW * 9 * 81;
+
+	private final int[] left = new int[MAX_NODE_COUNT];
+	private final int[] right = new int[MAX_NODE_COUNT];
+	private final int[] up = new int[MAX_NODE_COUNT];
+	private final int[] down = new int[MAX_NODE_COUNT];
+	private final int[] columnOf = new int[MAX_NODE_COUNT];
+	// squareIndex * 9 + value - 1 for each non header node
+	private final int[] candidateOf = new int[MAX_NODE_COUNT];
+	private final int[] columnSize = new int[1 + CONSTRAINT_COUNT];
+	private final int[] solution = new int[81];
+	private int nodeCount;
+
+	private DancingLinksSudoku(SudokuPuzzle puzzle) {
+		for (int header = 0; header <= CONSTRAINT_COUNT; header++) {
+			left[header] = header == ROOT ? CONSTRAINT_COUNT : header - 1;
+			right[header] = header == CONSTRAINT_COUNT ? ROOT : header + 1;
+			up[header] = header;
+			down[header] = header;
+			columnOf[header] = header;
+		}
+		nodeCount = 1 + CONSTRAINT_COUNT;
+		for (Square square : Square.values()) {
+			for (int value : puzzle.getOptions(square)) {
+				addRow(square, value);
+			}
+		}
+	}
+
+	private void addRow(Square square, int value) {
+		int row = square.getRow();
+		int column = square.getColumn();
+		int box = (row / 3) * 3 + column / 3;
+		int digit = value - 1;
+		int first = nodeCount;
+		int[] headers = { 1 + square.ordinal(), 1 + 81 + row * 9 + digit, 1 + 2 * 81 + column * 9 + digit,
+				1 + 3 * 81 + box * 9 + digit };
+		for (int i = 0; i < NODES_PER_ROW; i++) {
+			int node = nodeCount++;
+			int header = headers[i];
+			columnOf[node] = header;
+			candidateOf[node] = square.ordinal() * 9 + digit;
+			up[node] = up[header];
+			down[node] = header;
+			down[up[header]] = node;
+			up[header] = node;
+			columnSize[header]++;
+			left[node] = first + (i + NODES_PER_ROW - 1) % NODES_PER_ROW;
+			right[node] = first + (i + 1) % NODES_PER_ROW;
+		}
+	}
+
+	private void cover(int header) {
+		right[left[header]] = right[header];
+		left[right[header]] = left[header];
+		for (int i = down[header]; i != header; i = down[i]) {
+			for (int j = right[i]; j != i; j = right[j]) {
+				down[up[j]] = down[j];
+				up[down[j]] = up[j];
+				columnSize[columnOf[j]]--;
+			}
+		}
+	}
+
+	private void uncover(int header) {
+		for (int i = up[header]; i != header; i = up[i]) {
+			for (int j = left[i]; j != i; j = left[j]) {
+				columnSize[columnOf[j]]++;
+				down[up[j]] = j;
+				up[down[j]] = j;
+			}
+		}
+		right[left[header]] = header;
+		left[right[header]] = header;
+	}
+
+	private boolean search(int depth) {
+		if (right[ROOT] == ROOT) {
+			return true;
+		}
+		int header = right[ROOT];
+		for (int h = right[header]; h != ROOT; h = right[h]) {
+			if (columnSize[h] < columnSize[header]) {
+				header = h;
+			}
+		}
+		if (columnSize[header] == 0) {
+			return false;
+		}
+		cover(header);
+		for (int r = down[header]; r != header; r = down[r]) {
+			solution[depth] = candidateOf[r];
+			for (int j = right[r]; j != r; j = right[j]) {
+				cover(columnOf[j]);
+			}
+			if (search(depth + 1)) {
+				return true;
+			}
+			for (int j = left[r]; j != r; j = left[j]) {
+				uncover(columnOf[j]);
+			}
+		}
+		uncover(header);
+		return false;
+	}
+
+	/**
+	 * Finds a solution consistent with the options of every square of the given
+	 * puzzle, which may be any {@link SudokuPuzzle} implementation.
+	 * 
+	 * @param puzzle
+	 *            the puzzle to solve
+	 * @return the solved puzzle, or null if there is no solution
+	 */
+	public static ImmutableSudokuPuzzle solve(SudokuPuzzle puzzle) {
+		DancingLinksSudoku dancingLinks = new DancingLinksSudoku(puzzle);
+		if (!dancingLinks.search(0)) {
+			return null;
+		}
+		char[] givens = new char[81];
+		for (int candidate : dancingLinks.solution) {
+			givens[candidate / 9] = (char) ('1' + candidate % 9);
+		}
+		return new BitSetImmutableSudokuPuzzle(new String(givens));
+	}
+}
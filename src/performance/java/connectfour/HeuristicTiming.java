@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour;
+
+import java.util.Random;
+
+import connectfour.challenge.OpenEndedHeuristic;
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.Heuristic;
+import connectfour.fun.ThreatCountHeuristic;
+import connectfour.fun.WinLineThreatCountHeuristic;
+import connectfour.studio.WinOrLoseHeuristic;
+import edu.wustl.cse231s.NotYetImplementedException;
+import edu.wustl.cse231s.timing.ImmutableTimer;
+
+/**
+ * @author Yiheng Huang
+ */
+public class HeuristicTiming {
+	private static BitBoard[] createRandomBoards(int count, Random random) {
+		BitBoard[] boards = new BitBoard[count];
+		for (int i = 0; i < count; i++) {
+			int moveCount = random.nextInt(Board.WIDTH * Board.HEIGHT);
+			Board board = new BitBoard();
+			while (board.getTurnsPlayed() < moveCount && !board.isDone()) {
+				int column = random.nextInt(Board.WIDTH);
+				if (board.canPlay(column)) {
+					board = board.createNextBoard(column);
+				}
+			}
+			boards[i] = (BitBoard) board;
+		}
+		return boards;
+	}
+
+	private static void printResults(ImmutableTimer timer, long dt, int evaluationCount, double sum) {
+		// printing the sum keeps the evaluations from being optimized away
+		timer.printResults(dt, String.format("%8.2f Mevals/s (sum=%.0f)", evaluationCount * 1000.0 / dt, sum));
+	}
+
+	private static void timeHeuristic(Heuristic heuristic, BitBoard[] boards) {
+		ImmutableTimer timer = new ImmutableTimer(String.format("%48s", heuristic + ".evaluate(Board)"));
+		try {
+			double sum = 0.0;
+			for (BitBoard board : boards) {
+				sum += heuristic.evaluate(board);
+			}
+			long dt = timer.mark();
+			printResults(timer, dt, boards.length, sum);
+		} catch (NotYetImplementedException nyie) {
+			System.out.println(String.format("%48s", heuristic) + ": NOT YET IMPLEMENTED");
+		}
+	}
+
+	private static void timeRawThreatCount(long[] positions, long[] masks) {
+		ImmutableTimer timer = new ImmutableTimer(
+				String.format("%48s", ThreatCountHeuristic.INSTANCE + ".evaluate(long, long)"));
+		double sum = 0.0;
+		for (int i = 0; i < positions.length; i++) {
+			sum += ThreatCountHeuristic.INSTANCE.evaluate(positions[i], masks[i]);
+		}
+		long dt = timer.mark();
+		printResults(timer, dt, positions.length, sum);
+	}
+
+	public static void main(String[] args) {
+		int BOARD_COUNT = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		BitBoard[] boards = createRandomBoards(BOARD_COUNT, new Random(231));
+		long[] positions = new long[boards.length];
+		long[] masks = new long[boards.length];
+		for (int i = 0; i < boards.length; i++) {
+			positions[i] = boards[i].getCurrentPosition();
+			masks[i] = boards[i].getMask();
+		}
+
+		final int ITERATION_COUNT = 10;
+		for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+			timeHeuristic(WinOrLoseHeuristic.INSTANCE, boards);
+			timeHeuristic(OpenEndedHeuristic.INSTANCE, boards);
+			timeHeuristic(WinLineThreatCountHeuristic.INSTANCE, boards);
+			timeHeuristic(ThreatCountHeuristic.INSTANCE, boards);
+			timeRawThreatCount(positions, masks);
+			System.out.println();
+		}
+	}
+}
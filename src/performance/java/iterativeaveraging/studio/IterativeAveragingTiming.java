@@ -35,6 +35,9 @@ import edu.wustl.cse231s.timing.ImmutableTimer;
 import edu.wustl.cse231s.v5.impl.executor.ExecutorV5Impl;
 import iterativeaveraging.core.IterativeAveragingUtils;
 import iterativeaveraging.demo.SequentialIterativeAverager;
+import iterativeaveraging.fun.ConvergingIterativeAverager;
+import iterativeaveraging.fun.ConvergingIterativeAverager.UpdateScheme;
+import iterativeaveraging.fun.GhostZoneIterativeAverager;
 import slice.core.Slice;
 
 /**
@@ -63,6 +66,10 @@ public class IterativeAveragingTiming {
 				timeForFor(original, TASK_COUNT, ITERATION_COUNT);
 				timeForForall(original, TASK_COUNT, ITERATION_COUNT);
 				timeForallForPhased(original, TASK_COUNT, ITERATION_COUNT);
+				timeGhostZone(original, TASK_COUNT, ITERATION_COUNT, 8);
+				timeGhostZone(original, TASK_COUNT, ITERATION_COUNT, 64);
+				timeConverging(original, TASK_COUNT, ITERATION_COUNT * 10, UpdateScheme.JACOBI);
+				timeConverging(original, TASK_COUNT, ITERATION_COUNT * 10, UpdateScheme.RED_BLACK);
 
 				System.out.println();
 			}
@@ -106,4 +113,26 @@ public class IterativeAveragingTiming {
 		new ForallForPhasedIterativeAverager().iterativelyAverage(slices, a, b, iterationCount);
 		timer.markAndPrintResults();
 	}
+
+	private static void timeGhostZone(double[] original, int numSlices, int iterationCount, int ghostWidth)
+			throws InterruptedException, ExecutionException {
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		List<Slice<double[]>> slices = IterativeAveragingUtils.createSlices(a, numSlices);
+		ImmutableTimer timer = new ImmutableTimer(String.format(FORMAT, "ghost" + ghostWidth));
+		new GhostZoneIterativeAverager(ghostWidth).iterativelyAverage(slices, a, b, iterationCount);
+		timer.markAndPrintResults();
+	}
+
+	private static void timeConverging(double[] original, int numSlices, int maxIterationCount,
+			UpdateScheme updateScheme) throws InterruptedException, ExecutionException {
+		final double EPSILON = 1e-7;
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		List<Slice<double[]>> slices = IterativeAveragingUtils.createSlices(a, numSlices);
+		ImmutableTimer timer = new ImmutableTimer(String.format(FORMAT, updateScheme.toString().toLowerCase()));
+		int iterationCount = new ConvergingIterativeAverager().iterativelyAverageUntilConverged(slices, a, b,
+				EPSILON, maxIterationCount, updateScheme);
+		timer.markAndPrintResults(" iterations: " + iterationCount);
+	}
 }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import mapreduce.apps.matrix.fun.MapReduceMatrixMultiplier;
+import matrixmultiply.core.MatrixMultiplier;
+import matrixmultiply.core.MatrixUtils;
+import matrixmultiply.demo.SequentialMatrixMultiplier;
+import matrixmultiply.fun.BlockedMatrixMultiplier;
+import matrixmultiply.studio.Forall2dChunkedMatrixMultiplier;
+
+/**
+ * Reports the throughput of a block matrix multiply run as a MapReduce job
+ * alongside the direct multipliers, in GFLOP/s. The gap between
+ * {@link MapReduceMatrixMultiplier} and the others is the cost of emitting,
+ * shuffling and summing the partial product blocks.
+ *
+ * @author Yiheng Huang
+ */
+public class MatrixMultiplyMapReduceTiming {
+	private static boolean isClose(double[][] expected, double[][] actual) {
+		for (int row = 0; row < expected.length; row++) {
+			for (int col = 0; col < expected[row].length; col++) {
+				double tolerance = 1e-12 * expected.length * Math.max(1.0, Math.abs(expected[row][col]));
+				if (Math.abs(expected[row][col] - actual[row][col]) > tolerance) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+		double[][] a = new double[size][size];
+		double[][] b = new double[size][size];
+		MatrixUtils.setAllRandom(a);
+		MatrixUtils.setAllRandom(b);
+		double flopCount = 2.0 * size * size * size;
+
+		int taskCount = Runtime.getRuntime().availableProcessors();
+		MatrixMultiplier[] matrixMultipliers = { new SequentialMatrixMultiplier(),
+				new Forall2dChunkedMatrixMultiplier(), new BlockedMatrixMultiplier(),
+				new MapReduceMatrixMultiplier(64, taskCount, taskCount),
+				new MapReduceMatrixMultiplier(128, taskCount, taskCount),
+				new MapReduceMatrixMultiplier(256, taskCount, taskCount),
+				new MapReduceMatrixMultiplier(128, taskCount * 4, taskCount * 4) };
+		launchApp(() -> {
+			double[][] expected = new SequentialMatrixMultiplier().multiply(a, b);
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				for (MatrixMultiplier matrixMultiplier : matrixMultipliers) {
+					ImmutableTimer timer = new ImmutableTimer(String.format("%72s", matrixMultiplier));
+					double[][] actual = matrixMultiplier.multiply(a, b);
+					long dt = timer.mark();
+					if (isClose(expected, actual)) {
+						timer.printResults(dt, String.format("%8.3f GFLOP/s", flopCount / dt));
+					} else {
+						throw new RuntimeException(matrixMultiplier + " result does not match");
+					}
+				}
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplier;
+import matrixmultiply.core.MatrixUtils;
+import matrixmultiply.demo.SequentialMatrixMultiplier;
+import matrixmultiply.studio.Forall2dChunkedMatrixMultiplier;
+import matrixmultiply.studio.ForallForallMatrixMultiplier;
+
+/**
+ * Reports the throughput of the multipliers in GFLOP/s, counting 2 * n^3
+ * floating point operations per n x n multiply. For Strassen, which performs
+ * fewer operations, this is the effective rate.
+ * 
+ * @author Yiheng Huang
+ */
+public class MatrixMultiplyThroughputTiming {
+	/**
+	 * Strassen's results are not bitwise identical to the triple loop's, so
+	 * every result is compared to within a relative tolerance.
+	 */
+	private static boolean isClose(double[][] expected, double[][] actual) {
+		for (int row = 0; row < expected.length; row++) {
+			for (int col = 0; col < expected[row].length; col++) {
+				double tolerance = 1e-12 * expected.length * Math.max(1.0, Math.abs(expected[row][col]));
+				if (Math.abs(expected[row][col] - actual[row][col]) > tolerance) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+		double[][] a = new double[size][size];
+		double[][] b = new double[size][size];
+		MatrixUtils.setAllRandom(a);
+		MatrixUtils.setAllRandom(b);
+		double flopCount = 2.0 * size * size * size;
+
+		BlockedMatrixMultiplier blockedMatrixMultiplier = new BlockedMatrixMultiplier();
+		Matrix aMatrix = Matrix.fromArray(a);
+		Matrix bMatrix = Matrix.fromArray(b);
+		MatrixMultiplier[] matrixMultipliers = { new SequentialMatrixMultiplier(), new ForallForallMatrixMultiplier(),
+				new Forall2dChunkedMatrixMultiplier(), blockedMatrixMultiplier, new StrassenMatrixMultiplier() };
+		launchApp(() -> {
+			double[][] expected = new SequentialMatrixMultiplier().multiply(a, b);
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				for (MatrixMultiplier matrixMultiplier : matrixMultipliers) {
+					ImmutableTimer timer = new ImmutableTimer(String.format("%48s", matrixMultiplier));
+					double[][] actual = matrixMultiplier.multiply(a, b);
+					long dt = timer.mark();
+					if (isClose(expected, actual)) {
+						timer.printResults(dt, String.format("%8.3f GFLOP/s", flopCount / dt));
+					} else {
+						throw new RuntimeException("result for " + matrixMultiplier + " is incorrect");
+					}
+				}
+				ImmutableTimer timer = new ImmutableTimer(String.format("%48s", "BlockedMatrixMultiplier (Matrix)"));
+				Matrix actual = blockedMatrixMultiplier.multiply(aMatrix, bMatrix);
+				long dt = timer.mark();
+				if (isClose(expected, actual.toArray())) {
+					timer.printResults(dt, String.format("%8.3f GFLOP/s", flopCount / dt));
+				} else {
+					throw new RuntimeException("result for " + blockedMatrixMultiplier + " on Matrix is incorrect");
+				}
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.sparse;
+
+import static edu.wustl.cse231s.v5.V5.chunked;
+import static edu.wustl.cse231s.v5.V5.forall;
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import matrixmultiply.core.MatrixUtils;
+import matrixmultiply.fun.BlockedMatrixMultiplier;
+
+/**
+ * Compares CSR SpMV and SpMM against their dense counterparts on a matrix with
+ * a power-law distribution of nonzeros per row and well under 1% density.
+ *
+ * @author Yiheng Huang
+ */
+public class SparseMatrixTiming {
+	private static double[][] createPowerLawSparse(int size, Random random, double exponent, int maxRowNonzeros) {
+		double[][] dense = new double[size][size];
+		for (double[] row : dense) {
+			// pareto distributed row length
+			int rowNonzeros = (int) Math.min(maxRowNonzeros, Math.pow(1.0 - random.nextDouble(), -1.0 / exponent));
+			for (int i = 0; i < rowNonzeros; i++) {
+				row[random.nextInt(size)] = random.nextDouble();
+			}
+		}
+		return dense;
+	}
+
+	private static boolean isClose(double[] expected, double[] actual) {
+		for (int i = 0; i < expected.length; i++) {
+			if (Math.abs(expected[i] - actual[i]) > 1e-9 * Math.max(1.0, Math.abs(expected[i]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isClose(double[][] expected, double[][] actual) {
+		for (int row = 0; row < expected.length; row++) {
+			if (!isClose(expected[row], actual[row])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+		int denseColCount = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		Random random = new Random();
+		double[][] a = createPowerLawSparse(size, random, 1.2, size / 4);
+		double[] x = new double[size];
+		for (int i = 0; i < x.length; i++) {
+			x[i] = random.nextDouble();
+		}
+		double[][] b = new double[size][denseColCount];
+		MatrixUtils.setAllRandom(b);
+		BlockedMatrixMultiplier blockedMatrixMultiplier = new BlockedMatrixMultiplier();
+
+		launchApp(() -> {
+			CsrMatrix csr = CsrMatrix.fromDense(a);
+			System.out.println(String.format("size=%d nonzeros=%d density=%.4f%% maxRowNonzeros=%d", size,
+					csr.getNonzeroCount(), 100.0 * csr.getNonzeroCount() / ((double) size * size),
+					Arrays.stream(a).mapToInt(row -> (int) Arrays.stream(row).filter(v -> v != 0.0).count())
+							.max().orElse(0)));
+
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				ImmutableTimer timer = new ImmutableTimer(String.format("%48s", "CsrMatrix.fromDense"));
+				CsrMatrix converted = CsrMatrix.fromDense(a);
+				long dt = timer.mark();
+				timer.printResults(dt, converted.getNonzeroCount());
+
+				double[] expectedVector = new double[size];
+				timer = new ImmutableTimer(String.format("%48s", "dense SpMV"));
+				forall(chunked(), 0, size, (row) -> {
+					double sum = 0.0;
+					for (int col = 0; col < size; col++) {
+						sum += a[row][col] * x[col];
+					}
+					expectedVector[row] = sum;
+				});
+				dt = timer.mark();
+				timer.printResults(dt);
+
+				timer = new ImmutableTimer(String.format("%48s", "CsrMatrixMultiplier SpMV"));
+				double[] actualVector = CsrMatrixMultiplier.multiply(csr, x);
+				dt = timer.mark();
+				if (isClose(expectedVector, actualVector)) {
+					timer.printResults(dt);
+				} else {
+					throw new RuntimeException("SpMV result does not match");
+				}
+
+				timer = new ImmutableTimer(String.format("%48s", blockedMatrixMultiplier));
+				double[][] expectedMatrix = blockedMatrixMultiplier.multiply(a, b);
+				dt = timer.mark();
+				timer.printResults(dt);
+
+				timer = new ImmutableTimer(String.format("%48s", "CsrMatrixMultiplier SpMM"));
+				double[][] actualMatrix = CsrMatrixMultiplier.multiply(csr, b);
+				dt = timer.mark();
+				if (isClose(expectedMatrix, actualMatrix)) {
+					timer.printResults(dt);
+				} else {
+					throw new RuntimeException("SpMM result does not match");
+				}
+				System.out.println();
+			}
+		});
+	}
+}
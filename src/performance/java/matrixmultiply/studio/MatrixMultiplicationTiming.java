@@ -32,6 +32,7 @@ import matrixmultiply.core.MatrixUtils;
 //import matrixmultiply.demo.Forall2dGroupedMatrixMultiplier;
 //import matrixmultiply.demo.ForallGroupedMatrixMultiplier;
 import matrixmultiply.demo.SequentialMatrixMultiplier;
+import matrixmultiply.fun.BlockedMatrixMultiplier;
 import matrixmultiply.fun.ParallelDivideAndConquerMatrixMultiplier;
 import matrixmultiply.fun.SequentialDivideAndConquerMatrixMultiplier;
 import matrixmultiply.studio.Forall2dChunkedMatrixMultiplier;
@@ -54,7 +55,8 @@ public class MatrixMultiplicationTiming {
 				new Forall2dMatrixMultiplier(), new Forall2dChunkedMatrixMultiplier(),
 				// new ForallGroupedMatrixMultiplier(),
 				// new Forall2dGroupedMatrixMultiplier(),
-				new SequentialDivideAndConquerMatrixMultiplier(), new ParallelDivideAndConquerMatrixMultiplier() };
+				new SequentialDivideAndConquerMatrixMultiplier(), new ParallelDivideAndConquerMatrixMultiplier(),
+				new BlockedMatrixMultiplier() };
 		launchApp(() -> {
 			double[][] expected = new SequentialMatrixMultiplier().multiply(a, b);
 			for (int iteration = 0; iteration < 10; iteration++) {
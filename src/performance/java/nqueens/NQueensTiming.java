@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package nqueens;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import nqueens.fun.BitmaskNQueens;
+import nqueens.lab.DefaultImmutableQueenLocations;
+import nqueens.lab.ParallelNQueens;
+
+/**
+ * @author Yiheng Huang
+ */
+public class NQueensTiming {
+	private static void printResults(ImmutableTimer timer, long dt, long count) {
+		timer.printResults(dt, String.format("count=%d", count));
+	}
+
+	public static void main(String[] args) {
+		int SMALL_BOARD_SIZE = args.length > 0 ? Integer.parseInt(args[0]) : 11;
+		int LARGE_BOARD_SIZE = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		launchApp(() -> {
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				ImmutableTimer timer = new ImmutableTimer(
+						String.format("%48s", "ParallelNQueens(n=" + SMALL_BOARD_SIZE + ")"));
+				long count = ParallelNQueens.countSolutions(new DefaultImmutableQueenLocations(SMALL_BOARD_SIZE));
+				printResults(timer, timer.mark(), count);
+
+				timer = new ImmutableTimer(
+						String.format("%48s", "ParallelNQueens.balanced(n=" + SMALL_BOARD_SIZE + ")"));
+				count = ParallelNQueens.countSolutionsBalanced(new DefaultImmutableQueenLocations(SMALL_BOARD_SIZE));
+				printResults(timer, timer.mark(), count);
+
+				for (int boardSize : new int[] { SMALL_BOARD_SIZE, LARGE_BOARD_SIZE }) {
+					timer = new ImmutableTimer(String.format("%48s", "BitmaskNQueens.sequential(n=" + boardSize + ")"));
+					count = BitmaskNQueens.countSolutions(boardSize);
+					printResults(timer, timer.mark(), count);
+
+					timer = new ImmutableTimer(String.format("%48s", "BitmaskNQueens.parallel(n=" + boardSize + ")"));
+					count = BitmaskNQueens.parallelCountSolutions(boardSize);
+					printResults(timer, timer.mark(), count);
+				}
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package scan;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import scan.core.BlockScan;
+import scan.studio.ParallelScan;
+
+/**
+ * @author Yiheng Huang
+ */
+public class ScanTiming {
+	private static final int HILLIS_STEELE_MAX_LENGTH = 1 << 20;
+
+	private static void checkAndPrintResults(ImmutableTimer timer, long dt, int[] expected, int[] actual) {
+		if (Arrays.equals(expected, actual)) {
+			timer.printResults(dt);
+		} else {
+			throw new RuntimeException("result does not match Arrays.parallelPrefix");
+		}
+	}
+
+	public static void main(String[] args) {
+		int ARRAY_LENGTH = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int[] original = new Random().ints(ARRAY_LENGTH, 0, 1000).toArray();
+		int[] expected = Arrays.copyOf(original, original.length);
+		Arrays.parallelPrefix(expected, Integer::sum);
+
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		int threshold = Math.max(ARRAY_LENGTH / (numProcessors * 10), 1);
+		launchApp(() -> {
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				int[] prefix = Arrays.copyOf(original, original.length);
+				ImmutableTimer timer = new ImmutableTimer(String.format("%48s", "Arrays.parallelPrefix"));
+				Arrays.parallelPrefix(prefix, Integer::sum);
+				checkAndPrintResults(timer, timer.mark(), expected, prefix);
+
+				// the Hillis-Steele scan spawns a task per element per round, which is
+				// too slow to be worth waiting for on large arrays
+				if (ARRAY_LENGTH <= HILLIS_STEELE_MAX_LENGTH) {
+					timer = new ImmutableTimer(String.format("%48s", "ParallelScan (Hillis-Steele)"));
+					int[] hillisSteele = new ParallelScan().sumScan(original);
+					checkAndPrintResults(timer, timer.mark(), expected, hillisSteele);
+				}
+
+				int[] outOfPlace = new int[original.length];
+				timer = new ImmutableTimer(String.format("%48s", "BlockScan.inclusiveScan (out of place)"));
+				BlockScan.inclusiveScan(original, outOfPlace, Integer::sum, threshold);
+				checkAndPrintResults(timer, timer.mark(), expected, outOfPlace);
+
+				int[] inPlace = Arrays.copyOf(original, original.length);
+				timer = new ImmutableTimer(String.format("%48s", "BlockScan.inclusiveScan (in place)"));
+				BlockScan.inclusiveScan(inPlace, inPlace, Integer::sum, threshold);
+				checkAndPrintResults(timer, timer.mark(), expected, inPlace);
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import sort.core.external.ExternalMergeSort;
+
+/**
+ * @author Yiheng Huang
+ */
+public class ExternalMergeSortTiming {
+	private static void writeRandomInts(Path path, long count) throws IOException {
+		Random random = new Random();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			for (long i = 0; i < count; i++) {
+				out.writeInt(random.nextInt());
+			}
+		}
+	}
+
+	private static boolean isIntFileInSortedOrder(Path path) throws IOException {
+		long count = Files.size(path) / Integer.BYTES;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 20))) {
+			int prev = Integer.MIN_VALUE;
+			for (long i = 0; i < count; i++) {
+				int value = in.readInt();
+				if (value < prev) {
+					return false;
+				}
+				prev = value;
+			}
+		}
+		return true;
+	}
+
+	public static void main(String[] args) throws IOException {
+		long ELEMENT_COUNT = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+		int RUN_LENGTH = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 24;
+
+		Path tempDirectory = Files.createTempDirectory(ExternalMergeSortTiming.class.getSimpleName());
+		Path input = tempDirectory.resolve("input.bin");
+		Path output = tempDirectory.resolve("output.bin");
+		try {
+			writeRandomInts(input, ELEMENT_COUNT);
+			launchApp(() -> {
+				final int ITERATION_COUNT = 3;
+				for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+					ImmutableTimer timer = new ImmutableTimer(String.format("%48s",
+							"ExternalMergeSort.sortIntFile(runLength=" + RUN_LENGTH + ")"));
+					try {
+						ExternalMergeSort.sortIntFile(input, output, tempDirectory, RUN_LENGTH);
+						long dt = timer.mark();
+						if (isIntFileInSortedOrder(output)) {
+							timer.printResults(dt);
+						} else {
+							throw new RuntimeException("result is not in sorted order");
+						}
+					} catch (IOException ioe) {
+						throw new UncheckedIOException(ioe);
+					}
+				}
+			});
+		} finally {
+			Files.deleteIfExists(input);
+			Files.deleteIfExists(output);
+			Files.deleteIfExists(tempDirectory);
+		}
+	}
+}
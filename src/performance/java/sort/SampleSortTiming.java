@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.wustl.cse231s.NotYetImplementedException;
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import sort.core.SortUtils;
+import sort.core.quick.SequentialPartitioner;
+import sort.core.sample.SampleSort;
+import sort.fun.quick.ParallelPartitioner;
+import tnx.lab.executor.XQuicksort;
+
+/**
+ * @author Yiheng Huang
+ */
+public class SampleSortTiming {
+	private static String rightJustify(String s) {
+		return String.format("%64s", s);
+	}
+
+	private static void checkAndPrintResults(ImmutableTimer timer, long dt, int[] array) {
+		if (SortUtils.isInSortedOrder(array)) {
+			timer.printResults(dt);
+		} else {
+			throw new RuntimeException("result is not in sorted order");
+		}
+	}
+
+	private static void timeArraysParallelSort(String distribution, int[] original) {
+		int[] array = Arrays.copyOf(original, original.length);
+		ImmutableTimer timer = new ImmutableTimer(rightJustify("Arrays.parallelSort(" + distribution + ")"));
+		Arrays.parallelSort(array);
+		long dt = timer.mark();
+		checkAndPrintResults(timer, dt, array);
+	}
+
+	private static void timeParallelQuicksort(String distribution, ExecutorService executor, int[] original,
+			int threshold) throws InterruptedException, ExecutionException {
+		try {
+			int[] array = Arrays.copyOf(original, original.length);
+			ImmutableTimer timer = new ImmutableTimer(
+					rightJustify("XQuicksort.parallelQuicksort(" + distribution + ")"));
+			XQuicksort.parallelQuicksort(executor, array, threshold, new SequentialPartitioner());
+			long dt = timer.mark();
+			checkAndPrintResults(timer, dt, array);
+		} catch (NotYetImplementedException nyie) {
+			System.out.println("XQuicksort.parallelQuicksort: NOT YET IMPLEMENTED");
+		}
+	}
+
+	private static void timeParallelQuicksortThreeWay(String distribution, ExecutorService executor, int[] original,
+			int threshold) throws InterruptedException, ExecutionException {
+		int[] array = Arrays.copyOf(original, original.length);
+		ImmutableTimer timer = new ImmutableTimer(
+				rightJustify("XQuicksort.parallelQuicksort(three-way, " + distribution + ")"));
+		XQuicksort.parallelQuicksort(executor, array, threshold,
+				new ParallelPartitioner(executor, threshold * 2, new int[array.length]));
+		long dt = timer.mark();
+		checkAndPrintResults(timer, dt, array);
+	}
+
+	private static void timeParallelSampleSort(String distribution, int[] original, int threshold)
+			throws InterruptedException, ExecutionException {
+		int[] array = Arrays.copyOf(original, original.length);
+		ImmutableTimer timer = new ImmutableTimer(rightJustify("SampleSort.parallelSampleSort(" + distribution + ")"));
+		SampleSort.parallelSampleSort(array, threshold);
+		long dt = timer.mark();
+		checkAndPrintResults(timer, dt, array);
+	}
+
+	private static int[] createZipfData(int length, Random random, int distinctCount, double exponent) {
+		double[] cumulative = new double[distinctCount];
+		double sum = 0.0;
+		for (int rank = 0; rank < distinctCount; rank++) {
+			sum += 1.0 / Math.pow(rank + 1, exponent);
+			cumulative[rank] = sum;
+		}
+		int[] data = new int[length];
+		for (int i = 0; i < data.length; i++) {
+			int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+			int rank = index >= 0 ? index : -(index + 1);
+			data[i] = (rank + 1) * 0x9E3779B9;
+		}
+		return data;
+	}
+
+	public static void main(String[] args) {
+		int ARRAY_LENGTH = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		Random random = new Random();
+		int[] uniform = random.ints(ARRAY_LENGTH).toArray();
+		int[] ascending = new int[ARRAY_LENGTH];
+		for (int i = 0; i < ascending.length; i++) {
+			ascending[i] = i;
+		}
+		int[] zipf = createZipfData(ARRAY_LENGTH, random, 1_000_000, 1.1);
+
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		int threshold = ARRAY_LENGTH / (numProcessors * 10);
+		ExecutorService executor = ForkJoinPool.commonPool();
+		launchApp(() -> {
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				timeArraysParallelSort("uniform", uniform);
+				timeParallelQuicksort("uniform", executor, uniform, threshold);
+				timeParallelQuicksortThreeWay("uniform", executor, uniform, threshold);
+				timeParallelSampleSort("uniform", uniform, threshold);
+
+				timeArraysParallelSort("ascending", ascending);
+				timeParallelQuicksort("ascending", executor, ascending, threshold);
+				timeParallelSampleSort("ascending", ascending, threshold);
+
+				// SequentialPartitioner is quadratic on long runs of equal values, so
+				// only the three-way ParallelPartitioner runs on the zipf data.
+				timeArraysParallelSort("zipf", zipf);
+				timeParallelQuicksortThreeWay("zipf", executor, zipf, threshold);
+				timeParallelSampleSort("zipf", zipf, threshold);
+				System.out.println();
+			}
+		});
+	}
+}
@@ -33,6 +33,7 @@ import sort.core.SortUtils;
 import sort.core.merge.Combiner;
 import sort.core.merge.SequentialCombiner;
 import sort.fun.merge.ParallelCombiner;
+import sort.fun.merge.PingPongMergeSort;
 import sort.studio.merge.MergeSort;
 
 /**
@@ -102,6 +103,19 @@ public class SortTiming {
 		}
 	}
 
+	private static void timePingPongMergeSort(int[] original, int threshold, int combineThreshold)
+			throws InterruptedException, ExecutionException {
+		int[] array = Arrays.copyOf(original, original.length);
+		ImmutableTimer timer = new ImmutableTimer(rightJustify("PingPongMergeSort.parallelMergeSort"));
+		PingPongMergeSort.parallelMergeSort(array, threshold, combineThreshold);
+		long dt = timer.mark();
+		if (SortUtils.isInSortedOrder(array)) {
+			timer.printResults(dt);
+		} else {
+			throw new RuntimeException("result is not in sorted order");
+		}
+	}
+
 	public static void main(String[] args) {
 		int ARRAY_LENGTH = 1_000_000;
 		int[] original = new int[ARRAY_LENGTH];
@@ -125,6 +139,7 @@ public class SortTiming {
 				timeSequentialMergeSort(original, sequentialCombiner);
 				timeParallelMergeSort(original, threshold, sequentialCombiner);
 				timeParallelMergeSort(original, threshold, parallelCombiner);
+				timePingPongMergeSort(original, threshold, combineThreshold);
 
 				System.out.println();
 			}
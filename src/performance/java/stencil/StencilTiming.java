@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package stencil;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.concurrent.ExecutionException;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import stencil.core.Grid;
+import stencil.core.Stencil;
+import stencil.fun.StencilEngine;
+
+/**
+ * Times each {@link StencilEngine} strategy on heat diffusion from a hot
+ * boundary, reporting millions of cell updates per second.
+ *
+ * @author Yiheng Huang
+ */
+public class StencilTiming {
+	private static double[] createHotBoundary(Grid grid, Stencil stencil) {
+		double[] result = new double[grid.getCellCount()];
+		for (int z = 0; z < grid.getZCount(); z++) {
+			for (int y = 0; y < grid.getYCount(); y++) {
+				for (int x = 0; x < grid.getXCount(); x++) {
+					boolean isInterior = x >= stencil.getXRadius() && x < grid.getXCount() - stencil.getXRadius()
+							&& y >= stencil.getYRadius() && y < grid.getYCount() - stencil.getYRadius()
+							&& z >= stencil.getZRadius() && z < grid.getZCount() - stencil.getZRadius();
+					result[grid.index(x, y, z)] = isInterior ? 0.0 : 1.0;
+				}
+			}
+		}
+		return result;
+	}
+
+	private interface Strategy {
+		void iterate(StencilEngine engine, double[] a, double[] b) throws InterruptedException, ExecutionException;
+	}
+
+	private static void time(String name, StencilEngine engine, int iterationCount, Strategy strategy)
+			throws InterruptedException, ExecutionException {
+		double[] a = createHotBoundary(engine.getGrid(), engine.getStencil());
+		double[] b = a.clone();
+		ImmutableTimer timer = new ImmutableTimer(String.format("%48s", engine.getStencil() + " " + name));
+		strategy.iterate(engine, a, b);
+		long dt = timer.mark();
+		double updateCount = (double) engine.getGrid().getCellCount() * iterationCount;
+		timer.printResults(dt, String.format("%8.1f Mupdates/s", updateCount / dt * 1000.0));
+	}
+
+	private static void timeAll(StencilEngine engine, int iterationCount)
+			throws InterruptedException, ExecutionException {
+		time("for, forall", engine, iterationCount, (e, a, b) -> e.iterate(a, b, iterationCount));
+		time("forall, for phased", engine, iterationCount, (e, a, b) -> e.iteratePhased(a, b, iterationCount));
+		time("ghost zone (4)", engine, iterationCount,
+				(e, a, b) -> e.iterateGhostZone(a, b, iterationCount, 4));
+		time("ghost zone (16)", engine, iterationCount,
+				(e, a, b) -> e.iterateGhostZone(a, b, iterationCount, 16));
+		time("until converged", engine, iterationCount,
+				(e, a, b) -> e.iterateUntilConverged(a, b, 0.0, iterationCount));
+	}
+
+	public static void main(String[] args) {
+		int size2d = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+		int size3d = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+		int iterationCount = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		StencilEngine fivePoint = new StencilEngine(Grid.create2d(size2d, size2d), Stencil.fivePoint());
+		StencilEngine ninePoint = new StencilEngine(Grid.create2d(size2d, size2d), Stencil.ninePoint());
+		StencilEngine sevenPoint = new StencilEngine(Grid.create3d(size3d, size3d, size3d), Stencil.sevenPoint());
+		launchApp(() -> {
+			final int RUN_COUNT = 5;
+			for (int runIndex = 0; runIndex < RUN_COUNT; runIndex++) {
+				timeAll(fivePoint, iterationCount);
+				timeAll(ninePoint, iterationCount);
+				timeAll(sevenPoint, iterationCount);
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.wustl.cse231s.timing.ImmutableTimer;
+import sudoku.core.ImmutableSudokuPuzzle;
+import sudoku.fun.BitSetImmutableSudokuPuzzle;
+import sudoku.fun.DancingLinksSudoku;
+import sudoku.lab.DefaultImmutableSudokuPuzzle;
+import sudoku.lab.FewestOptionsFirstSquareSearchAlgorithm;
+import sudoku.lab.ParallelSudoku;
+import sudoku.lab.PeerRemovingConstraintPropagator;
+
+/**
+ * @author Yiheng Huang
+ */
+public class SudokuTiming {
+	private static final List<String> GIVENS_LIST = Arrays.asList(
+			"4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+			"52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+			"6.....8.3.4.7.................5.4.7.3..2.....1.6.......2.....5.....8.6......1....",
+			"8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+
+	private static void printResults(ImmutableTimer timer, long dt, ImmutableSudokuPuzzle solution) {
+		if (solution == null) {
+			throw new RuntimeException("no solution found");
+		}
+		timer.printResults(dt);
+	}
+
+	public static void main(String[] args) {
+		launchApp(() -> {
+			final int ITERATION_COUNT = 5;
+			for (int iteration = 0; iteration < ITERATION_COUNT; iteration++) {
+				for (int i = 0; i < GIVENS_LIST.size(); i++) {
+					String givens = GIVENS_LIST.get(i);
+					ImmutableTimer timer = new ImmutableTimer(
+							String.format("%48s", "ParallelSudoku(TreeSet, puzzle " + i + ")"));
+					ImmutableSudokuPuzzle solution = ParallelSudoku.solve(
+							new DefaultImmutableSudokuPuzzle(new PeerRemovingConstraintPropagator(), givens),
+							new FewestOptionsFirstSquareSearchAlgorithm());
+					printResults(timer, timer.mark(), solution);
+
+					timer = new ImmutableTimer(String.format("%48s", "ParallelSudoku(bit set, puzzle " + i + ")"));
+					solution = ParallelSudoku.solve(new BitSetImmutableSudokuPuzzle(givens),
+							new FewestOptionsFirstSquareSearchAlgorithm());
+					printResults(timer, timer.mark(), solution);
+
+					timer = new ImmutableTimer(String.format("%48s", "DancingLinksSudoku(puzzle " + i + ")"));
+					solution = DancingLinksSudoku.solve(new BitSetImmutableSudokuPuzzle(givens));
+					printResults(timer, timer.mark(), solution);
+				}
+				System.out.println();
+			}
+		});
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link MutableBitBoard#play(int)} {@link MutableBitBoard#undo()}
+ *         {@link BitBoard#getValidPlayColumns()}
+ *         {@link BitBoard#hasAlignment(long)}
+ */
+public class MutableBitBoardTest {
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	private static void assertSame(BitBoard expected, MutableBitBoard actual) {
+		Assert.assertEquals(expected.getCurrentPosition(), actual.getCurrentPosition());
+		Assert.assertEquals(expected.getMask(), actual.getMask());
+		Assert.assertEquals(expected.getKey(), actual.getKey());
+		Assert.assertEquals(expected.getTurnsPlayed(), actual.getTurnsPlayed());
+		Assert.assertEquals(expected.isFull(), actual.isFull());
+		Assert.assertEquals(expected.getWinner() != null, actual.hasOpponentWon());
+		Assert.assertEquals(expected.getValidPlayColumns(), actual.getValidPlayColumns());
+		Assert.assertEquals(expected, actual.toBitBoard());
+
+		Set<Integer> validPlays = new HashSet<>();
+		for (int column = 0; column < Board.WIDTH; column++) {
+			Assert.assertEquals(expected.canPlay(column), actual.canPlay(column));
+			if (expected.canPlay(column)) {
+				validPlays.add(column);
+				Assert.assertEquals(expected.createNextBoard(column).getWinner() != null,
+						actual.isWinningPlay(column));
+			}
+		}
+		Assert.assertEquals(validPlays, expected.getValidPlays());
+	}
+
+	@Test
+	public void testRandomPlayAndUndoMatchesBitBoard() {
+		Random random = new Random(231);
+		for (int game = 0; game < 200; game++) {
+			MutableBitBoard actual = new MutableBitBoard();
+			Deque<BitBoard> history = new ArrayDeque<>();
+			BitBoard expected = new BitBoard();
+			assertSame(expected, actual);
+			// play until the board fills up (ignoring wins), taking moves back now
+			// and then.
+			while (!expected.isFull()) {
+				if (!history.isEmpty() && random.nextInt(4) == 0) {
+					actual.undo();
+					expected = history.pop();
+				} else {
+					int column = random.nextInt(Board.WIDTH);
+					if (!expected.canPlay(column)) {
+						continue;
+					}
+					history.push(expected);
+					actual.play(column);
+					expected = (BitBoard) expected.createNextBoard(column);
+				}
+				assertSame(expected, actual);
+			}
+			while (!history.isEmpty()) {
+				actual.undo();
+				expected = history.pop();
+				assertSame(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testStartFromBitBoard() {
+		BitBoard board = new BitBoard("4455667");
+		MutableBitBoard actual = new MutableBitBoard(board);
+		assertSame(board, actual);
+		actual.play(2);
+		assertSame((BitBoard) board.createNextBoard(2), actual);
+		actual.undo();
+		assertSame(board, actual);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUndoPastStart() {
+		new MutableBitBoard(new BitBoard("44")).undo();
+	}
+
+	@Test
+	public void testValueOfRejectsFloatingPieces() {
+		try {
+			BitBoard.valueOf(0L, 2L);
+			Assert.fail();
+		} catch (IllegalArgumentException iae) {
+			// expected
+		}
+		BitBoard board = new BitBoard("1234");
+		Assert.assertEquals(board, BitBoard.valueOf(board.getCurrentPosition(), board.getMask()));
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link TranspositionTable#get(long)}
+ *         {@link TranspositionTable#put(long, long)}
+ *         {@link TranspositionTable#pack(float, int, int, int)}
+ */
+public class TranspositionTableTest {
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	@Test
+	public void testPackRoundTrip() {
+		for (float score : new float[] { 0.0f, -0.0f, 1.5f, -1_000_042.0f, Float.NEGATIVE_INFINITY }) {
+			for (int bound = TranspositionTable.EXACT; bound <= TranspositionTable.UPPER_BOUND; bound++) {
+				for (int depth : new int[] { 0, 1, 42, 63 }) {
+					for (int column = 0; column <= TranspositionTable.NO_COLUMN; column++) {
+						long entry = TranspositionTable.pack(score, depth, bound, column);
+						Assert.assertEquals(Float.floatToIntBits(score),
+								Float.floatToIntBits(TranspositionTable.getScore(entry)));
+						Assert.assertEquals(depth, TranspositionTable.getDepth(entry));
+						Assert.assertEquals(bound, TranspositionTable.getBound(entry));
+						Assert.assertEquals(column, TranspositionTable.getColumn(entry));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyTableMisses() {
+		TranspositionTable table = new TranspositionTable(4);
+		Assert.assertEquals(TranspositionTable.MISS, table.get(new BitBoard().getKey()));
+		Assert.assertEquals(TranspositionTable.MISS, table.get(new BitBoard("4453").getKey()));
+	}
+
+	@Test
+	public void testPutGetAndReplace() {
+		// a one entry table forces every key into the same slot
+		TranspositionTable table = new TranspositionTable(0);
+		long keyA = new BitBoard().getKey();
+		long keyB = new BitBoard("44").getKey();
+		long entryA = TranspositionTable.pack(3.0f, 5, TranspositionTable.EXACT, 3);
+		long entryB = TranspositionTable.pack(-2.0f, 7, TranspositionTable.LOWER_BOUND, 1);
+		table.put(keyA, entryA);
+		Assert.assertEquals(entryA, table.get(keyA));
+		Assert.assertEquals(TranspositionTable.MISS, table.get(keyB));
+		table.put(keyB, entryB);
+		Assert.assertEquals(entryB, table.get(keyB));
+		Assert.assertEquals(TranspositionTable.MISS, table.get(keyA));
+		table.clear();
+		Assert.assertEquals(TranspositionTable.MISS, table.get(keyB));
+	}
+
+	@Test
+	public void testConcurrentWritersNeverProduceTornEntries() throws InterruptedException {
+		TranspositionTable table = new TranspositionTable(2);
+		AtomicBoolean isTornEntryObserved = new AtomicBoolean();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final int threadIndex = t;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < 200_000; i++) {
+					long key = (i * 4L + threadIndex) & 0xFFF;
+					// each key always maps to the same entry, so any entry read back
+					// for a key must be that entry.
+					long expected = TranspositionTable.pack(key, (int) (key & 63), TranspositionTable.EXACT,
+							(int) (key % 7));
+					table.put(key, expected);
+					long probeKey = (key * 7) & 0xFFF;
+					long actual = table.get(probeKey);
+					if (actual != TranspositionTable.MISS && TranspositionTable.getScore(actual) != probeKey) {
+						isTornEntryObserved.set(true);
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertFalse(isTornEntryObserved.get());
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import connectfour.core.BitBoard;
+import connectfour.core.BitBoardHeuristic;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.Heuristic;
+import connectfour.core.TranspositionTable;
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link AlphaBetaConnectFour#negamax(Board, Config)}
+ */
+@RunWith(Parameterized.class)
+public class AlphaBetaConnectFourTest {
+	// an arbitrary but deterministic evaluation, so that pruning mistakes show
+	// up as score differences even far from the end of the game.
+	private static final Heuristic KEY_HASH_HEURISTIC = (board) -> {
+		long h = BitBoard.valueOf(board).getKey() * 0x9E3779B97F4A7C15L;
+		return ((h >>> 40) % 1000) - 500;
+	};
+
+	private static final BitBoardHeuristic RAW_KEY_HASH_HEURISTIC = (currentPosition, mask) -> {
+		long h = (currentPosition + mask) * 0x9E3779B97F4A7C15L;
+		return ((h >>> 40) % 1000) - 500;
+	};
+
+	private final Board board;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public AlphaBetaConnectFourTest(String moves) {
+		this.board = new BitBoard(moves);
+	}
+
+	private static Config createConfig(int maxDepth, boolean isPruning, boolean isCenterFirst,
+			TranspositionTable transpositionTable) {
+		return new Config.Builder().heuristic(KEY_HASH_HEURISTIC).maxDepth(maxDepth).alphaBetaPruning(isPruning)
+				.centerFirstOrdering(isCenterFirst).transpositionTable(transpositionTable).build();
+	}
+
+	private static int emptyCellCount(Board board) {
+		return Board.WIDTH * Board.HEIGHT - board.getTurnsPlayed();
+	}
+
+	private void assertColumnAchievesScore(ColumnEvaluationPair actual, Config config) {
+		Assert.assertTrue(board.canPlay(actual.getColumn()));
+		Board next = board.createNextBoard(actual.getColumn());
+		double score;
+		if (next.isDone()) {
+			score = -AlphaBetaConnectFour.decidedScore(BitBoard.valueOf(next));
+		} else {
+			Config childConfig = createConfig(config.getMaxDepth() - 1, true, true, null);
+			score = config.getMaxDepth() == 1 ? -KEY_HASH_HEURISTIC.evaluate(next)
+					: -AlphaBetaConnectFour.negamax(next, childConfig).getEvaluation();
+		}
+		Assert.assertEquals(actual.getEvaluation(), score, 0.0);
+	}
+
+	@Test
+	public void testPruningAndOrderingMatchPlainNegamax() {
+		int maxDepth = Math.min(6, emptyCellCount(board));
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board,
+				createConfig(maxDepth, false, false, null));
+		for (boolean isCenterFirst : new boolean[] { false, true }) {
+			Config config = createConfig(maxDepth, true, isCenterFirst, null);
+			ColumnEvaluationPair actual = AlphaBetaConnectFour.negamax(board, config);
+			Assert.assertEquals(expected.getEvaluation(), actual.getEvaluation(), 0.0);
+			assertColumnAchievesScore(actual, config);
+		}
+	}
+
+	@Test
+	public void testTranspositionTableWithoutPruningMatchesPlainNegamax() {
+		// without pruning every stored entry is exact, and at a fixed depth every
+		// transposition is reached with the same remaining depth.
+		int maxDepth = Math.min(6, emptyCellCount(board));
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board,
+				createConfig(maxDepth, false, false, null));
+		ColumnEvaluationPair actual = AlphaBetaConnectFour.negamax(board,
+				createConfig(maxDepth, false, true, new TranspositionTable(12)));
+		Assert.assertEquals(expected.getEvaluation(), actual.getEvaluation(), 0.0);
+	}
+
+	@Test
+	public void testBitBoardHeuristicMatchesBoardHeuristic() {
+		int maxDepth = Math.min(5, emptyCellCount(board));
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board, createConfig(maxDepth, true, true, null));
+		ColumnEvaluationPair actual = AlphaBetaConnectFour.negamax(board,
+				new Config.Builder().heuristic(RAW_KEY_HASH_HEURISTIC).maxDepth(maxDepth).build());
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(KEY_HASH_HEURISTIC.evaluate(board), RAW_KEY_HASH_HEURISTIC.evaluate(board), 0.0);
+	}
+
+	@Test
+	public void testSolvedWithTranspositionTable() {
+		if (emptyCellCount(board) > 16) {
+			return;
+		}
+		int maxDepth = emptyCellCount(board);
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board, createConfig(maxDepth, true, true, null));
+		TranspositionTable transpositionTable = new TranspositionTable(16);
+		for (int repetition = 0; repetition < 2; repetition++) {
+			Config config = createConfig(maxDepth, true, true, transpositionTable);
+			ColumnEvaluationPair actual = AlphaBetaConnectFour.negamax(board, config);
+			Assert.assertEquals(expected.getEvaluation(), actual.getEvaluation(), 0.0);
+			assertColumnAchievesScore(actual, config);
+		}
+	}
+
+	@Test
+	public void testMaxDepthBeyondTableDepthRange() {
+		if (emptyCellCount(board) > 16) {
+			return;
+		}
+		// the table stores depths below 64, but no search can outlast the empty cells
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board,
+				createConfig(emptyCellCount(board), true, true, null));
+		Config config = createConfig(100, true, true, new TranspositionTable(16));
+		ColumnEvaluationPair actual = AlphaBetaConnectFour.negamax(board, config);
+		Assert.assertEquals(expected.getEvaluation(), actual.getEvaluation(), 0.0);
+		assertColumnAchievesScore(actual, config);
+	}
+
+	private static String createRandomMoves(Random random, int moveCount) {
+		while (true) {
+			Board board = new BitBoard();
+			StringBuilder sb = new StringBuilder();
+			while (sb.length() < moveCount && !board.isDone()) {
+				int column = random.nextInt(Board.WIDTH);
+				if (board.canPlay(column)) {
+					board = board.createNextBoard(column);
+					sb.append((char) ('1' + column));
+				}
+			}
+			if (!board.isDone()) {
+				return sb.toString();
+			}
+		}
+	}
+
+	@Parameters(name = "moves={0}")
+	public static Collection<Object[]> getConstructorArguments() {
+		Random random = new Random(231);
+		List<Object[]> result = new ArrayList<>();
+		result.add(new Object[] { "" });
+		for (int moveCount : new int[] { 4, 10, 18, 26, 28, 30, 34, 38 }) {
+			for (int i = 0; i < 3; i++) {
+				result.add(new Object[] { createRandomMoves(random, moveCount) });
+			}
+		}
+		return result;
+	}
+}
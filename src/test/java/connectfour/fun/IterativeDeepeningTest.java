@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.Heuristic;
+import connectfour.core.Player;
+import connectfour.core.TranspositionTable;
+import connectfour.core.controllers.ComputerController;
+import connectfour.studio.chooseyourownadventure.Adventure;
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link IterativeDeepening#search(Board, Config, long, boolean)}
+ *         {@link ComputerController#selectColumn(Board)}
+ */
+public class IterativeDeepeningTest {
+	private static final Heuristic KEY_HASH_HEURISTIC = (board) -> {
+		long h = BitBoard.valueOf(board).getKey() * 0x9E3779B97F4A7C15L;
+		return ((h >>> 40) % 1000) - 500;
+	};
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	private static Config createConfig(int maxDepth, int maxParallelDepth, TranspositionTable transpositionTable) {
+		return new Config.Builder().heuristic(KEY_HASH_HEURISTIC).maxDepth(maxDepth)
+				.maxParallelDepth(maxParallelDepth).transpositionTable(transpositionTable).build();
+	}
+
+	@Test
+	public void testAmpleBudgetMatchesFixedDepth() {
+		for (String moves : new String[] { "", "4455", "3344521", "12345671234567" }) {
+			Board board = new BitBoard(moves);
+			ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board, createConfig(6, 0, null));
+			for (boolean isParallel : new boolean[] { false, true }) {
+				ColumnEvaluationPair actual = IterativeDeepening.search(board,
+						createConfig(6, 2, new TranspositionTable(16)), TimeUnit.MINUTES.toNanos(1), isParallel);
+				Assert.assertEquals(moves, expected.getEvaluation(), actual.getEvaluation(), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testStopsAtDecidedScore() {
+		// red has three in column 1 and wins by playing it again
+		Board board = new BitBoard("121212");
+		ColumnEvaluationPair actual = IterativeDeepening.search(board, createConfig(42, 0, new TranspositionTable(16)),
+				TimeUnit.MINUTES.toNanos(1), false);
+		Assert.assertEquals(0, actual.getColumn());
+		Assert.assertTrue(actual.getEvaluation() >= AlphaBetaConnectFour.WIN_SCORE);
+	}
+
+	@Test
+	public void testDeadlineIsMet() {
+		Board board = new BitBoard();
+		for (boolean isParallel : new boolean[] { false, true }) {
+			long t0 = System.nanoTime();
+			ColumnEvaluationPair actual = IterativeDeepening.search(board,
+					createConfig(42, 2, new TranspositionTable(16)), TimeUnit.MILLISECONDS.toNanos(50), isParallel);
+			long dt = System.nanoTime() - t0;
+			Assert.assertTrue(board.canPlay(actual.getColumn()));
+			Assert.assertTrue("took " + TimeUnit.NANOSECONDS.toMillis(dt) + "ms", dt < TimeUnit.SECONDS.toNanos(2));
+		}
+	}
+
+	@Test
+	public void testZeroBudgetStillReturnsLegalColumn() {
+		Board board = new BitBoard("4444443");
+		ColumnEvaluationPair actual = IterativeDeepening.search(board, createConfig(42, 0, null), 0, false);
+		Assert.assertTrue(board.canPlay(actual.getColumn()));
+	}
+
+	@Test
+	public void testComputerControllerWithTimeBudget() throws InterruptedException, ExecutionException {
+		ComputerController controller = new ComputerController(Player.RED, () -> KEY_HASH_HEURISTIC, () -> 2,
+				() -> 42, () -> Adventure.YOUNG_BROTHERS_WAIT, () -> 20L);
+		Board board = new BitBoard();
+		while (!board.isDone()) {
+			int column = controller.selectColumn(board);
+			Assert.assertTrue(board.canPlay(column));
+			board = board.createNextBoard(column);
+		}
+	}
+
+	@Test
+	public void testComputerControllerClearsTableWhenHeuristicChanges()
+			throws InterruptedException, ExecutionException {
+		Heuristic negatedHeuristic = (board) -> -KEY_HASH_HEURISTIC.evaluate(board);
+		Board board = new BitBoard("4453");
+		for (int maxDepth = 1; maxDepth <= 4; maxDepth++) {
+			final int depth = maxDepth;
+			MutableObject<Heuristic> heuristic = new MutableObject<>(KEY_HASH_HEURISTIC);
+			ComputerController controller = new ComputerController(Player.RED, heuristic::getValue, () -> 0,
+					() -> depth, () -> Adventure.ALPHA_BETA, () -> 60_000L);
+			controller.selectColumn(board);
+			heuristic.setValue(negatedHeuristic);
+			ComputerController freshController = new ComputerController(Player.RED, () -> negatedHeuristic,
+					() -> 0, () -> depth, () -> Adventure.ALPHA_BETA, () -> 60_000L);
+			Assert.assertEquals(freshController.selectColumn(board), controller.selectColumn(board));
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.fun.book.OpeningBook;
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link ThreatCountHeuristic#evaluate(long, long)}
+ */
+public class ThreatCountHeuristicTest {
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	@Test
+	public void testEmptyBoard() {
+		Assert.assertEquals(0.0, ThreatCountHeuristic.INSTANCE.evaluate(new BitBoard()), 0.0);
+	}
+
+	@Test
+	public void testKnownPosition() {
+		// red (to move) has two in the bottom row, columns 4 and 5, yellow one
+		// piece on top of each.
+		BitBoard board = new BitBoard("4455");
+		Assert.assertEquals(WinLineThreatCountHeuristic.INSTANCE.evaluate(board),
+				ThreatCountHeuristic.INSTANCE.evaluate(board), 0.0);
+		Assert.assertTrue(ThreatCountHeuristic.INSTANCE.evaluate(board) == 0.0);
+		// red's open three in the bottom row, with both ends playable
+		BitBoard threeInARow = new BitBoard("44556");
+		Assert.assertTrue(ThreatCountHeuristic.INSTANCE.evaluate(threeInARow) < 0.0);
+	}
+
+	@Test
+	public void testMatchesWinLineScanning() {
+		Random random = new Random(231);
+		for (int game = 0; game < 500; game++) {
+			Board board = new BitBoard();
+			while (!board.isFull()) {
+				int column = random.nextInt(Board.WIDTH);
+				if (!board.canPlay(column)) {
+					continue;
+				}
+				// keep playing past wins, so that boards with several fours are
+				// covered too
+				board = board.createNextBoard(column);
+				BitBoard bitBoard = (BitBoard) board;
+				double expected = WinLineThreatCountHeuristic.INSTANCE.evaluate(board);
+				Assert.assertEquals(board.toString(), expected,
+						ThreatCountHeuristic.INSTANCE.evaluate(bitBoard.getCurrentPosition(), bitBoard.getMask()),
+						0.0);
+				Assert.assertEquals(expected, ThreatCountHeuristic.INSTANCE.evaluate(board), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testMirrorSymmetric() {
+		Random random = new Random(42);
+		for (int game = 0; game < 100; game++) {
+			BitBoard board = new BitBoard();
+			for (int turn = 0; turn < 20; turn++) {
+				int column = random.nextInt(Board.WIDTH);
+				if (board.canPlay(column)) {
+					board = (BitBoard) board.createNextBoard(column);
+				}
+				long mirrorPosition = OpeningBook.mirrorKey(board.getCurrentPosition());
+				long mirrorMask = OpeningBook.mirrorKey(board.getMask());
+				Assert.assertEquals(ThreatCountHeuristic.INSTANCE.evaluate(board),
+						ThreatCountHeuristic.INSTANCE.evaluate(mirrorPosition, mirrorMask), 0.0);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import connectfour.core.BitBoard;
+import connectfour.core.Board;
+import connectfour.core.ColumnEvaluationPair;
+import connectfour.core.Config;
+import connectfour.core.Heuristic;
+import connectfour.core.TranspositionTable;
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link YoungBrothersWaitTask#compute()}
+ */
+@RunWith(Parameterized.class)
+public class YoungBrothersWaitTaskTest {
+	private static final Heuristic KEY_HASH_HEURISTIC = (board) -> {
+		long h = BitBoard.valueOf(board).getKey() * 0x9E3779B97F4A7C15L;
+		return ((h >>> 40) % 1000) - 500;
+	};
+
+	private final String moves;
+	private final int maxParallelDepth;
+	private final boolean isTranspositionTableDesired;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public YoungBrothersWaitTaskTest(String moves, int maxParallelDepth, boolean isTranspositionTableDesired) {
+		this.moves = moves;
+		this.maxParallelDepth = maxParallelDepth;
+		this.isTranspositionTableDesired = isTranspositionTableDesired;
+	}
+
+	private Config.Builder createConfigBuilder(int maxDepth) {
+		return new Config.Builder().heuristic(KEY_HASH_HEURISTIC).maxDepth(maxDepth)
+				.maxParallelDepth(Math.min(maxParallelDepth, maxDepth))
+				.transpositionTable(isTranspositionTableDesired ? new TranspositionTable(16) : null);
+	}
+
+	@Test
+	public void testMatchesSequentialAlphaBeta() {
+		Board board = new BitBoard(moves);
+		int maxDepth = Math.min(7, Board.WIDTH * Board.HEIGHT - board.getTurnsPlayed());
+		ColumnEvaluationPair expected = AlphaBetaConnectFour.negamax(board,
+				new Config.Builder().heuristic(KEY_HASH_HEURISTIC).maxDepth(maxDepth).build());
+		for (boolean isPruning : new boolean[] { true, false }) {
+			Config config = createConfigBuilder(maxDepth).alphaBetaPruning(isPruning).build();
+			ColumnEvaluationPair actual = ForkJoinPool.commonPool().invoke(new YoungBrothersWaitTask(board, config));
+			Assert.assertEquals(expected.getEvaluation(), actual.getEvaluation(), 0.0);
+			Assert.assertTrue(board.canPlay(actual.getColumn()));
+		}
+	}
+
+	@Test
+	public void testCancelledSearchThrowsAndStoresNothing() {
+		BitBoard board = new BitBoard(moves);
+		TranspositionTable transpositionTable = new TranspositionTable(8);
+		Config config = new Config.Builder().heuristic(KEY_HASH_HEURISTIC).maxDepth(6)
+				.transpositionTable(transpositionTable).build();
+		CancellationToken parent = new CancellationToken(null);
+		CancellationToken child = new CancellationToken(parent);
+		parent.cancel();
+		Assert.assertTrue(child.isCancelled());
+		try {
+			AlphaBetaConnectFour.search(board, config, 6, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, child);
+			Assert.fail();
+		} catch (SearchCancelledException sce) {
+			// expected
+		}
+		Assert.assertEquals(TranspositionTable.MISS, transpositionTable.get(board.getKey()));
+	}
+
+	@Parameters(name = "moves={0} maxParallelDepth={1} transpositionTable={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> result = new ArrayList<>();
+		for (String moves : new String[] { "", "4455", "3344521", "12345671234567", "44444433333355555" }) {
+			for (int maxParallelDepth : new int[] { 0, 1, 2, 4 }) {
+				for (boolean isTranspositionTableDesired : new boolean[] { false, true }) {
+					result.add(new Object[] { moves, maxParallelDepth, isTranspositionTableDesired });
+				}
+			}
+		}
+		return result;
+	}
+}
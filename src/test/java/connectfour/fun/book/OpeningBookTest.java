@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package connectfour.fun.book;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import connectfour.core.BitBoard;
+import connectfour.core.BitBoardHeuristic;
+import connectfour.core.Board;
+import connectfour.core.Config;
+import connectfour.core.Controller;
+import connectfour.core.Player;
+import connectfour.core.TranspositionTable;
+import connectfour.core.controllers.OpeningBookController;
+import connectfour.fun.AlphaBetaConnectFour;
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link OpeningBookGenerator#generate(Path, int, int, connectfour.core.Heuristic, TranspositionTable)}
+ *         {@link OpeningBook#getScore(Board)}
+ *         {@link OpeningBook#selectColumn(Board)}
+ *         {@link OpeningBookController#selectColumn(Board)}
+ */
+public class OpeningBookTest {
+	private static final int MAX_PLY = 4;
+	private static final int HORIZON_PLY = 8;
+
+	// hashing the canonical key makes the heuristic arbitrary but symmetric
+	private static final BitBoardHeuristic SYMMETRIC_HEURISTIC = (currentPosition, mask) -> {
+		long h = OpeningBook.canonicalKey(currentPosition + mask) * 0x9E3779B97F4A7C15L;
+		return ((h >>> 40) % 1000) - 500;
+	};
+
+	private static Path tempDirectory;
+	private static Path path;
+	private static OpeningBook openingBook;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	@BeforeClass
+	public static void generateBook() throws IOException {
+		tempDirectory = Files.createTempDirectory(OpeningBookTest.class.getSimpleName());
+		path = tempDirectory.resolve("test.book");
+		launchApp(() -> {
+			try {
+				OpeningBookGenerator.generate(path, MAX_PLY, HORIZON_PLY, SYMMETRIC_HEURISTIC,
+						new TranspositionTable(16));
+			} catch (IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		});
+		openingBook = OpeningBook.load(path);
+	}
+
+	@AfterClass
+	public static void deleteBook() throws IOException {
+		Files.deleteIfExists(path);
+		Files.deleteIfExists(tempDirectory);
+	}
+
+	private static float expectedScore(BitBoard board) {
+		Config config = new Config.Builder().heuristic(SYMMETRIC_HEURISTIC)
+				.maxDepth(HORIZON_PLY - board.getTurnsPlayed()).build();
+		return (float) AlphaBetaConnectFour.negamax(board, config).getEvaluation();
+	}
+
+	@Test
+	public void testHeader() {
+		Assert.assertEquals(MAX_PLY, openingBook.getMaxPly());
+		Assert.assertEquals(HORIZON_PLY, openingBook.getHorizonPly());
+		Assert.assertEquals(OpeningBookGenerator.enumeratePositions(MAX_PLY).size(), openingBook.size());
+	}
+
+	@Test
+	public void testMirrorKey() {
+		BitBoard board = new BitBoard("1123");
+		BitBoard mirror = new BitBoard("7765");
+		Assert.assertEquals(mirror.getKey(), OpeningBook.mirrorKey(board.getKey()));
+		Assert.assertEquals(board.getKey(), OpeningBook.mirrorKey(OpeningBook.mirrorKey(board.getKey())));
+		Assert.assertEquals(OpeningBook.canonicalKey(board.getKey()), OpeningBook.canonicalKey(mirror.getKey()));
+	}
+
+	@Test
+	public void testScoresMatchSearch() {
+		List<BitBoard> boards = OpeningBookGenerator.enumeratePositions(MAX_PLY);
+		for (BitBoard board : boards) {
+			float expected = expectedScore(board);
+			Assert.assertEquals(board.toString(), expected, openingBook.getScore(board), 0.0f);
+			BitBoard mirror = BitBoard.valueOf(OpeningBook.mirrorKey(board.getCurrentPosition()),
+					OpeningBook.mirrorKey(board.getMask()));
+			Assert.assertEquals(board.toString(), expected, openingBook.getScore(mirror), 0.0f);
+		}
+	}
+
+	@Test
+	public void testPositionsBeyondMaxPlyAreAbsent() {
+		Assert.assertTrue(Float.isNaN(openingBook.getScore(new BitBoard("44444"))));
+		Assert.assertEquals(-1, openingBook.selectColumn(new BitBoard("4444")));
+	}
+
+	@Test
+	public void testSelectColumn() {
+		BitBoard board = new BitBoard("435");
+		int column = openingBook.selectColumn(board);
+		Assert.assertTrue(board.canPlay(column));
+		float best = Float.NEGATIVE_INFINITY;
+		for (int c = 0; c < Board.WIDTH; c++) {
+			best = Math.max(best, -openingBook.getScore(board.createNextBoard(c)));
+		}
+		Assert.assertEquals(best, -openingBook.getScore(board.createNextBoard(column)), 0.0f);
+		Assert.assertEquals(best, expectedScore(board), 0.0f);
+	}
+
+	@Test
+	public void testControllerFallsBack() throws InterruptedException, ExecutionException {
+		final int FALLBACK_COLUMN = 6;
+		Controller fallback = new Controller() {
+			@Override
+			public Player getPlayer() {
+				return Player.RED;
+			}
+
+			@Override
+			public int selectColumn(Board board) {
+				return FALLBACK_COLUMN;
+			}
+		};
+		OpeningBookController controller = new OpeningBookController(openingBook, fallback);
+		Assert.assertEquals(Player.RED, controller.getPlayer());
+		Assert.assertEquals(openingBook.selectColumn(new BitBoard()), controller.selectColumn(new BitBoard()));
+		Assert.assertEquals(FALLBACK_COLUMN, controller.selectColumn(new BitBoard("1234")));
+	}
+}
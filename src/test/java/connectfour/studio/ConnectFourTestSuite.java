@@ -24,7 +24,18 @@ package connectfour.studio;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import connectfour.core.MutableBitBoardTest;
+import connectfour.core.TranspositionTableTest;
+import connectfour.fun.AlphaBetaConnectFourTest;
+import connectfour.fun.IterativeDeepeningTest;
+import connectfour.fun.ThreatCountHeuristicTest;
+import connectfour.fun.YoungBrothersWaitTaskTest;
+import connectfour.fun.book.OpeningBookTest;
+
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ParallelAdventureChosenTest.class, WinDrawLossTest.class, })
+@Suite.SuiteClasses({ ParallelAdventureChosenTest.class, WinDrawLossTest.class, TranspositionTableTest.class,
+		AlphaBetaConnectFourTest.class, YoungBrothersWaitTaskTest.class,
+		IterativeDeepeningTest.class, MutableBitBoardTest.class,
+		OpeningBookTest.class, ThreatCountHeuristicTest.class, })
 public class ConnectFourTestSuite {
 }
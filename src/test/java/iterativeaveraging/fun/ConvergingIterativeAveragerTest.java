@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package iterativeaveraging.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.v5.impl.V5Impl;
+import edu.wustl.cse231s.v5.impl.executor.ExecutorV5Impl;
+import iterativeaveraging.core.IterativeAveragingUtils;
+import iterativeaveraging.fun.ConvergingIterativeAverager.UpdateScheme;
+import slice.core.Slice;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link ConvergingIterativeAverager#iterativelyAverageUntilConverged(List, double[], double[], double, int)}
+ *         {@link ConvergingIterativeAverager#iterativelyAverage(List, double[], double[], int)}
+ */
+@RunWith(Parameterized.class)
+public class ConvergingIterativeAveragerTest {
+	private final UpdateScheme updateScheme;
+	private final int length;
+	private final int numSlices;
+	private final double epsilon;
+
+	public ConvergingIterativeAveragerTest(UpdateScheme updateScheme, int indicesPerSlice, int numSlices,
+			double epsilon) {
+		this.updateScheme = updateScheme;
+		this.length = (numSlices * indicesPerSlice) + 2;
+		this.numSlices = numSlices;
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * @return the number of iterations run
+	 */
+	private static int sequentiallyAverage(UpdateScheme updateScheme, double[] a, double[] b, double epsilon,
+			int maxIterationCount) {
+		for (int iteration = 0; iteration < maxIterationCount; iteration++) {
+			double maxDelta = 0.0;
+			if (updateScheme == UpdateScheme.RED_BLACK) {
+				for (int parity = 0; parity < 2; parity++) {
+					for (int index = 1; index < a.length - 1; index++) {
+						if ((index & 1) == parity) {
+							double value = (a[index - 1] + a[index + 1]) * 0.5;
+							maxDelta = Math.max(maxDelta, Math.abs(value - a[index]));
+							a[index] = value;
+						}
+					}
+				}
+			} else {
+				double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+				double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+				for (int index = 1; index < arrayPrev.length - 1; index++) {
+					double value = (arrayPrev[index - 1] + arrayPrev[index + 1]) * 0.5;
+					maxDelta = Math.max(maxDelta, Math.abs(value - arrayPrev[index]));
+					arrayNext[index] = value;
+				}
+			}
+			if (maxDelta < epsilon) {
+				return iteration + 1;
+			}
+		}
+		return maxIterationCount;
+	}
+
+	private int average(UpdateScheme updateScheme, double[] a, double[] b, int maxIterationCount) {
+		ExecutorService executorService = Executors.newFixedThreadPool(this.numSlices);
+		V5Impl impl = new ExecutorV5Impl(executorService);
+		List<Slice<double[]>> slices = IterativeAveragingUtils.createSlices(a, this.numSlices);
+		int[] iterationCount = new int[1];
+		launchApp(impl, () -> {
+			iterationCount[0] = new ConvergingIterativeAverager().iterativelyAverageUntilConverged(slices, a, b,
+					this.epsilon, maxIterationCount, updateScheme);
+		});
+		executorService.shutdown();
+		return iterationCount[0];
+	}
+
+	private double[] createOneInLastIndex() {
+		double[] original = new double[this.length];
+		original[original.length - 1] = 1.0;
+		return original;
+	}
+
+	@Test
+	public void testUntilConverged() {
+		final int MAX_ITERATION_COUNT = 100_000;
+		double[] original = createOneInLastIndex();
+		double[] aExpected = Arrays.copyOf(original, original.length);
+		double[] bExpected = Arrays.copyOf(original, original.length);
+		int expectedCount = sequentiallyAverage(this.updateScheme, aExpected, bExpected, this.epsilon,
+				MAX_ITERATION_COUNT);
+		if (this.updateScheme == UpdateScheme.RED_BLACK) {
+			System.arraycopy(aExpected, 0, bExpected, 0, aExpected.length);
+		}
+
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		assertEquals(expectedCount, average(this.updateScheme, a, b, MAX_ITERATION_COUNT));
+		assertArrayEquals(aExpected, a, 0.0);
+		assertArrayEquals(bExpected, b, 0.0);
+	}
+
+	@Test
+	public void testIterationLimit() {
+		final int MAX_ITERATION_COUNT = 3;
+		double[] original = createOneInLastIndex();
+		double[] aExpected = Arrays.copyOf(original, original.length);
+		double[] bExpected = Arrays.copyOf(original, original.length);
+		int expectedCount = sequentiallyAverage(this.updateScheme, aExpected, bExpected, this.epsilon,
+				MAX_ITERATION_COUNT);
+
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		assertEquals(expectedCount, average(this.updateScheme, a, b, MAX_ITERATION_COUNT));
+		assertArrayEquals(aExpected, a, 0.0);
+	}
+
+	@Test
+	public void testRedBlackConvergesFaster() {
+		final int MAX_ITERATION_COUNT = 1_000_000;
+		double[] original = createOneInLastIndex();
+		int jacobiCount = average(UpdateScheme.JACOBI, original.clone(), original.clone(), MAX_ITERATION_COUNT);
+		int redBlackCount = average(UpdateScheme.RED_BLACK, original.clone(), original.clone(),
+				MAX_ITERATION_COUNT);
+		assertTrue(redBlackCount <= jacobiCount);
+	}
+
+	@Test
+	public void testIterativelyAverageIsJacobi() {
+		final int ITERATION_COUNT = 5;
+		double[] original = createOneInLastIndex();
+		double[] aExpected = Arrays.copyOf(original, original.length);
+		double[] bExpected = Arrays.copyOf(original, original.length);
+		sequentiallyAverage(UpdateScheme.JACOBI, aExpected, bExpected, 0.0, ITERATION_COUNT);
+
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		List<Slice<double[]>> slices = IterativeAveragingUtils.createSlices(a, this.numSlices);
+		ExecutorService executorService = Executors.newFixedThreadPool(this.numSlices);
+		launchApp(new ExecutorV5Impl(executorService), () -> {
+			new ConvergingIterativeAverager().iterativelyAverage(slices, a, b, ITERATION_COUNT);
+		});
+		executorService.shutdown();
+		assertArrayEquals(aExpected, a, 0.0);
+		assertArrayEquals(bExpected, b, 0.0);
+	}
+
+	@Parameters(name = "{0}; indicesPerSlice={1}; numSlices={2}; epsilon={3}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> list = new LinkedList<>();
+		for (UpdateScheme updateScheme : UpdateScheme.values()) {
+			for (int indicesPerSlice : new int[] { 1, 2, 3, 10 }) {
+				for (int numSlices : new int[] { 1, 4 }) {
+					for (double epsilon : new double[] { 1e-2, 1e-4, 1e-8 }) {
+						list.add(new Object[] { updateScheme, indicesPerSlice, numSlices, epsilon });
+					}
+				}
+			}
+		}
+		return list;
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package iterativeaveraging.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.v5.impl.V5Impl;
+import edu.wustl.cse231s.v5.impl.executor.ExecutorV5Impl;
+import iterativeaveraging.core.IterativeAveragingUtils;
+import slice.core.Slice;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link GhostZoneIterativeAverager#iterativelyAverage(List, double[], double[], int)}
+ */
+@RunWith(Parameterized.class)
+public class GhostZoneIterativeAveragerTest {
+	private final int ghostWidth;
+	private final int length;
+	private final int numSlices;
+	private final int iterationCount;
+
+	public GhostZoneIterativeAveragerTest(int ghostWidth, int indicesPerSlice, int numSlices, int iterationCount) {
+		this.ghostWidth = ghostWidth;
+		this.length = (numSlices * indicesPerSlice) + 2;
+		this.numSlices = numSlices;
+		this.iterationCount = iterationCount;
+	}
+
+	private static void sequentiallyAverage(double[] a, double[] b, int iterationCount) {
+		for (int iteration = 0; iteration < iterationCount; iteration++) {
+			double[] arrayPrev = ((iteration & 1) == 0) ? a : b;
+			double[] arrayNext = ((iteration & 1) == 0) ? b : a;
+			for (int index = 1; index < arrayPrev.length - 1; index++) {
+				arrayNext[index] = (arrayPrev[index - 1] + arrayPrev[index + 1]) * 0.5;
+			}
+		}
+	}
+
+	private void check(double[] originalA, double[] originalB) {
+		double[] aExpected = Arrays.copyOf(originalA, originalA.length);
+		double[] bExpected = Arrays.copyOf(originalB, originalB.length);
+		sequentiallyAverage(aExpected, bExpected, this.iterationCount);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(this.numSlices);
+		V5Impl impl = new ExecutorV5Impl(executorService);
+		double[] a = Arrays.copyOf(originalA, originalA.length);
+		double[] b = Arrays.copyOf(originalB, originalB.length);
+		List<Slice<double[]>> slices = IterativeAveragingUtils.createSlices(a, this.numSlices);
+		launchApp(impl, () -> {
+			new GhostZoneIterativeAverager(this.ghostWidth).iterativelyAverage(slices, a, b, this.iterationCount);
+		});
+		executorService.shutdown();
+
+		assertArrayEquals(aExpected, a, 0.0);
+		assertArrayEquals(bExpected, b, 0.0);
+	}
+
+	@Test
+	public void testOneInLastIndex() {
+		double[] original = new double[this.length];
+		original[original.length - 1] = 1.0;
+		check(original, original);
+	}
+
+	@Test
+	public void testRandom() {
+		double[] original = new Random(this.length).doubles(this.length).toArray();
+		check(original, original);
+	}
+
+	@Test
+	public void testDifferentBoundaries() {
+		// a and b need not start out equal, including at the fixed end points
+		Random random = new Random(this.length);
+		check(random.doubles(this.length).toArray(), random.doubles(this.length).toArray());
+	}
+
+	@Parameters(name = "ghostWidth={0}; indicesPerSlice={1}; numSlices={2}; iterations={3}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> list = new LinkedList<>();
+		for (int ghostWidth : new int[] { 1, 2, 3, 8, 100 }) {
+			for (int indicesPerSlice : new int[] { 1, 2, 10, 71 }) {
+				for (int numSlices : new int[] { 1, 4 }) {
+					for (int iterationCount : new int[] { 0, 1, 2, 42, 1_000 }) {
+						list.add(new Object[] { ghostWidth, indicesPerSlice, numSlices, iterationCount });
+					}
+				}
+			}
+		}
+		return list;
+	}
+}
@@ -24,10 +24,14 @@ package iterativeaveraging.studio;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import iterativeaveraging.fun.ConvergingIterativeAveragerTest;
+import iterativeaveraging.fun.GhostZoneIterativeAveragerTest;
+
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ IterativeAveragerTest.class, IterativeAveragerParallelismTest.class, NoPrintingTest.class })
+@Suite.SuiteClasses({ IterativeAveragerTest.class, IterativeAveragerParallelismTest.class, NoPrintingTest.class,
+		GhostZoneIterativeAveragerTest.class, ConvergingIterativeAveragerTest.class })
 public class IterativeAveragingTestSuite {
 }
@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
 
 import mapreduce.apps.cards.assignment.CardMapReduceAllTest;
 import mapreduce.apps.friends.studio.MutualFriendsMapReduceAllTest;
+import mapreduce.apps.matrix.MapReduceMatrixMultiplyTest;
 import mapreduce.core.InstructorSolutionTest;
 
 /**
@@ -34,6 +35,6 @@ import mapreduce.core.InstructorSolutionTest;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ InstructorSolutionTest.class, IntSumStudioTestSuite.class, CollectorStudioTestSuite.class,
 		MutualFriendsStudioTestSuite.class, FrameworksLabTestSuite.class, MutualFriendsMapReduceAllTest.class,
-		CardMapReduceAllTest.class/* , CholeraMapReduceAllTest.class */ })
+		CardMapReduceAllTest.class, MapReduceMatrixMultiplyTest.class/* , CholeraMapReduceAllTest.class */ })
 public class MapReduceTestSuite {
 }
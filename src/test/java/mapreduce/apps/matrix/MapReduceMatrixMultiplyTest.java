@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package mapreduce.apps.matrix;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Collection;
+import java.util.Random;
+
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import mapreduce.apps.matrix.fun.BlockSumCollector;
+import mapreduce.apps.matrix.fun.MapReduceMatrixMultiplier;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link MapReduceMatrixMultiplier#multiply(double[][], double[][])}
+ *         {@link BlockSumCollector}
+ */
+@RunWith(Parameterized.class)
+public class MapReduceMatrixMultiplyTest {
+	private final int size;
+	private final int blockSize;
+	private final int taskCount;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public MapReduceMatrixMultiplyTest(int size, int blockSize, int taskCount) {
+		this.size = size;
+		this.blockSize = blockSize;
+		this.taskCount = taskCount;
+	}
+
+	private static double[][] createRandom(Random random, int rowCount, int colCount) {
+		double[][] result = new double[rowCount][colCount];
+		for (double[] row : result) {
+			for (int col = 0; col < row.length; col++) {
+				row[col] = random.nextDouble();
+			}
+		}
+		return result;
+	}
+
+	private static double[][] tripleLoop(double[][] a, double[][] b) {
+		int colCount = b.length > 0 ? b[0].length : 0;
+		double[][] result = new double[a.length][colCount];
+		for (int row = 0; row < a.length; row++) {
+			for (int col = 0; col < colCount; col++) {
+				for (int k = 0; k < b.length; k++) {
+					result[row][col] += a[row][k] * b[k][col];
+				}
+			}
+		}
+		return result;
+	}
+
+	private void check(int rowCount, int kCount, int colCount) {
+		Random random = new Random(rowCount * 31 + colCount);
+		double[][] a = createRandom(random, rowCount, kCount);
+		double[][] b = createRandom(random, kCount, colCount);
+		double[][] expected = tripleLoop(a, b);
+		MapReduceMatrixMultiplier multiplier = new MapReduceMatrixMultiplier(this.blockSize, this.taskCount,
+				this.taskCount);
+		launchApp(() -> {
+			double[][] actual = multiplier.multiply(a, b);
+			Assert.assertEquals(expected.length, actual.length);
+			for (int row = 0; row < expected.length; row++) {
+				Assert.assertArrayEquals(expected[row], actual[row], 1e-12 * Math.max(kCount, 1));
+			}
+		});
+	}
+
+	@Test
+	public void testSquare() {
+		check(this.size, this.size, this.size);
+	}
+
+	@Test
+	public void testRectangular() {
+		check(this.size, this.size + 5, this.size * 2 + 1);
+	}
+
+	@Test
+	public void testCollectorSumsPartialProducts() {
+		BlockSumCollector collector = new BlockSumCollector();
+		MutableObject<double[]> a = collector.supplier().get();
+		collector.accumulator().accept(a, new double[] { 1.0, 2.0 });
+		collector.accumulator().accept(a, new double[] { 10.0, 20.0 });
+		MutableObject<double[]> b = collector.supplier().get();
+		collector.accumulator().accept(b, new double[] { 100.0, 200.0 });
+		MutableObject<double[]> empty = collector.supplier().get();
+
+		MutableObject<double[]> combined = collector.combiner().apply(collector.combiner().apply(a, empty), b);
+		Assert.assertArrayEquals(new double[] { 111.0, 222.0 }, collector.finisher().apply(combined), 0.0);
+	}
+
+	@Parameters(name = "size={0} blockSize={1} tasks={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments3(new Integer[] { 0, 1, 7, 64, 100 }, new Integer[] { 1, 16, 128 },
+				new Integer[] { 1, 4 });
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link Matrix}
+ */
+public class MatrixTest {
+	private static double[][] createValues(int rowCount, int colCount) {
+		double[][] values = new double[rowCount][colCount];
+		for (int row = 0; row < rowCount; row++) {
+			for (int col = 0; col < colCount; col++) {
+				values[row][col] = row * 100 + col;
+			}
+		}
+		return values;
+	}
+
+	@Test
+	public void testFromArrayToArray() {
+		double[][] values = createValues(5, 7);
+		Matrix matrix = Matrix.fromArray(values);
+		Assert.assertEquals(5, matrix.getRowCount());
+		Assert.assertEquals(7, matrix.getColCount());
+		Assert.assertEquals(304.0, matrix.get(3, 4), 0.0);
+		Assert.assertArrayEquals(values, matrix.toArray());
+		Assert.assertFalse(matrix.isDirect());
+		Assert.assertTrue(matrix.hasArray());
+	}
+
+	@Test
+	public void testWrapSharesArray() {
+		double[] array = new double[6];
+		Matrix matrix = Matrix.wrap(array, 2, 3);
+		matrix.set(1, 2, 42.0);
+		Assert.assertEquals(42.0, array[5], 0.0);
+		array[0] = 7.0;
+		Assert.assertEquals(7.0, matrix.get(0, 0), 0.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrapWrongLength() {
+		Matrix.wrap(new double[5], 2, 3);
+	}
+
+	@Test
+	public void testSubMatrixIsAView() {
+		Matrix matrix = Matrix.fromArray(createValues(6, 8));
+		Matrix view = matrix.subMatrix(2, 3, 3, 4);
+		Assert.assertEquals(3, view.getRowCount());
+		Assert.assertEquals(4, view.getColCount());
+		Assert.assertEquals(8, view.getStride());
+		Assert.assertEquals(203.0, view.get(0, 0), 0.0);
+		Assert.assertEquals(406.0, view.get(2, 3), 0.0);
+
+		view.set(1, 1, -1.0);
+		Assert.assertEquals(-1.0, matrix.get(3, 4), 0.0);
+		view.add(1, 1, 3.0);
+		Assert.assertEquals(2.0, matrix.get(3, 4), 0.0);
+
+		Matrix nested = view.subMatrix(1, 1, 2, 2);
+		Assert.assertEquals(2.0, nested.get(0, 0), 0.0);
+		Assert.assertEquals(view.arrayIndex(1, 1), nested.arrayIndex(0, 0));
+		Assert.assertArrayEquals(new double[][] { { 2.0, 305.0 }, { 404.0, 405.0 } }, nested.toArray());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSubMatrixOutOfBounds() {
+		Matrix.create(4, 4).subMatrix(2, 2, 3, 1);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testViewGetOutOfBounds() {
+		Matrix.create(4, 4).subMatrix(1, 1, 2, 2).get(0, 2);
+	}
+
+	@Test
+	public void testDirect() {
+		Matrix matrix = Matrix.createDirect(3, 5);
+		Assert.assertTrue(matrix.isDirect());
+		Assert.assertFalse(matrix.hasArray());
+		Assert.assertEquals(0.0, matrix.get(2, 4), 0.0);
+		matrix.set(2, 4, 9.5);
+		Matrix view = matrix.subMatrix(1, 2, 2, 3);
+		Assert.assertEquals(9.5, view.get(1, 2), 0.0);
+		double[][] expected = new double[3][5];
+		expected[2][4] = 9.5;
+		Assert.assertArrayEquals(expected, matrix.toArray());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDirectTooLarge() {
+		// 2^28 elements fit in an int but 2^31 bytes do not
+		Matrix.createDirect(1 << 14, 1 << 14);
+	}
+}
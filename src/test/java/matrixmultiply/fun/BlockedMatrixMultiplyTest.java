@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import matrixmultiply.core.AbstractMatrixMultiplyTest;
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplier;
+import matrixmultiply.core.MatrixMultiplyTestUtils;
+import matrixmultiply.core.MatrixUtils;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link BlockedMatrixMultiplier#multiply(double[][], double[][])}
+ */
+@RunWith(Parameterized.class)
+public class BlockedMatrixMultiplyTest extends AbstractMatrixMultiplyTest {
+	private final MatrixMultiplier matrixMultiplier;
+	private final int size;
+
+	public BlockedMatrixMultiplyTest(MatrixMultiplier matrixMultiplier, int size) {
+		super(matrixMultiplier, size);
+		this.matrixMultiplier = matrixMultiplier;
+		this.size = size;
+	}
+
+	@Test
+	public void testRectangular() {
+		int aRowCount = this.size + 3;
+		int kCount = this.size + 1;
+		int bColCount = this.size + 2;
+		double[][] a = new double[aRowCount][kCount];
+		double[][] b = new double[kCount][bColCount];
+		MatrixUtils.setAllRandom(a);
+		MatrixUtils.setAllRandom(b);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(a, b);
+		launchApp(() -> {
+			double[][] actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertTrue("incorrect result", Arrays.deepEquals(expected, actual));
+		});
+	}
+
+	@Test
+	public void testNoColumns() {
+		double[][] a = new double[this.size][this.size];
+		double[][] b = new double[this.size][0];
+		MatrixUtils.setAllRandom(a);
+		launchApp(() -> {
+			double[][] actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertEquals(this.size, actual.length);
+			for (double[] row : actual) {
+				Assert.assertEquals(0, row.length);
+			}
+		});
+	}
+
+	@Test
+	public void testNoInnerDimension() {
+		double[][] a = new double[this.size][0];
+		double[][] b = new double[0][0];
+		launchApp(() -> {
+			double[][] actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertEquals(this.size, actual.length);
+			for (double[] row : actual) {
+				Assert.assertEquals(0, row.length);
+			}
+		});
+	}
+
+	@Test
+	public void testMatrixNoInnerDimension() {
+		Matrix a = Matrix.create(this.size, 0);
+		Matrix b = Matrix.create(0, this.size);
+		launchApp(() -> {
+			Matrix actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertEquals(this.size, actual.getRowCount());
+			Assert.assertEquals(this.size, actual.getColCount());
+			Assert.assertTrue("expected zeros", Arrays.deepEquals(new double[this.size][this.size], actual.toArray()));
+		});
+	}
+
+	@Parameters(name = "{0} size={1}")
+	public static Collection<Object[]> getConstructorArguments() {
+		MatrixMultiplier[] matrixMultipliers = { new BlockedMatrixMultiplier(),
+				new BlockedMatrixMultiplier(4, 4, 1), new BlockedMatrixMultiplier(8, 12, 5) };
+		Integer[] sizes = { 1, 3, 4, 16, 67, 130 };
+		return JUnitUtils.toParameterizedArguments2(matrixMultipliers, sizes);
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplier;
+import matrixmultiply.core.MatrixMultiplyTestUtils;
+import matrixmultiply.core.MatrixUtils;
+import matrixmultiply.studio.Forall2dChunkedMatrixMultiplier;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link MatrixMultiplier#multiply(Matrix, Matrix)}
+ */
+@RunWith(Parameterized.class)
+public class FlatMatrixMultiplyTest {
+	private final MatrixMultiplier matrixMultiplier;
+	private final int size;
+	private final boolean isDirect;
+
+	public FlatMatrixMultiplyTest(MatrixMultiplier matrixMultiplier, int size, boolean isDirect) {
+		this.matrixMultiplier = matrixMultiplier;
+		this.size = size;
+		this.isDirect = isDirect;
+	}
+
+	private Matrix toMatrix(double[][] values) {
+		Matrix result = this.isDirect ? Matrix.createDirect(values.length, values[0].length)
+				: Matrix.create(values.length, values[0].length);
+		for (int row = 0; row < values.length; row++) {
+			for (int col = 0; col < values[row].length; col++) {
+				result.set(row, col, values[row][col]);
+			}
+		}
+		return result;
+	}
+
+	private static double[][] createRandom(int rowCount, int colCount) {
+		double[][] values = new double[rowCount][colCount];
+		MatrixUtils.setAllRandom(values);
+		return values;
+	}
+
+	@Test
+	public void testRandomlyFilled() {
+		double[][] a = createRandom(this.size, this.size);
+		double[][] b = createRandom(this.size, this.size);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(a, b);
+		Matrix aMatrix = toMatrix(a);
+		Matrix bMatrix = toMatrix(b);
+		launchApp(() -> {
+			Matrix actual = this.matrixMultiplier.multiply(aMatrix, bMatrix);
+			Assert.assertTrue("do not mutate parameter a", Arrays.deepEquals(a, aMatrix.toArray()));
+			Assert.assertTrue("do not mutate parameter b", Arrays.deepEquals(b, bMatrix.toArray()));
+			Assert.assertTrue("incorrect result", Arrays.deepEquals(expected, actual.toArray()));
+		});
+	}
+
+	@Test
+	public void testViews() {
+		// the operands are interior blocks of larger matrices, so their rows are
+		// not adjacent in memory
+		double[][] aOuter = createRandom(this.size * 2, this.size * 2);
+		double[][] bOuter = createRandom(this.size * 2, this.size * 2);
+		Matrix aView = toMatrix(aOuter).subMatrix(this.size / 2, this.size, this.size, this.size);
+		Matrix bView = toMatrix(bOuter).subMatrix(this.size, this.size / 2, this.size, this.size);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(aView.toArray(), bView.toArray());
+		launchApp(() -> {
+			Matrix actual = this.matrixMultiplier.multiply(aView, bView);
+			Assert.assertTrue("incorrect result", Arrays.deepEquals(expected, actual.toArray()));
+		});
+	}
+
+	@Parameters(name = "{0} size={1} direct={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		MatrixMultiplier[] matrixMultipliers = { new SequentialDivideAndConquerMatrixMultiplier(),
+				new ParallelDivideAndConquerMatrixMultiplier(), new BlockedMatrixMultiplier(),
+				new Forall2dChunkedMatrixMultiplier() };
+		Integer[] sizes = { 4, 16, 128 };
+		return JUnitUtils.toParameterizedArguments3(matrixMultipliers, sizes, new Boolean[] { false, true });
+	}
+}
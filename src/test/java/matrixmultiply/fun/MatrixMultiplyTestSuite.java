@@ -25,7 +25,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ MatrixMultiplyTest.class })
+@Suite.SuiteClasses({ MatrixMultiplyTest.class, BlockedMatrixMultiplyTest.class, FlatMatrixMultiplyTest.class,
+		StrassenMatrixMultiplyTest.class })
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import matrixmultiply.core.Matrix;
+import matrixmultiply.core.MatrixMultiplyTestUtils;
+import matrixmultiply.core.MatrixUtils;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link StrassenMatrixMultiplier#multiply(double[][], double[][])}
+ *         {@link StrassenMatrixMultiplier#multiply(Matrix, Matrix)}
+ */
+@RunWith(Parameterized.class)
+public class StrassenMatrixMultiplyTest {
+	private final StrassenMatrixMultiplier matrixMultiplier;
+	private final int size;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public StrassenMatrixMultiplyTest(int cutoff, int parallelThreshold, int size) {
+		this.matrixMultiplier = new StrassenMatrixMultiplier(cutoff, parallelThreshold);
+		this.size = size;
+	}
+
+	private static void assertClose(double[][] expected, double[][] actual) {
+		Assert.assertEquals(expected.length, actual.length);
+		for (int row = 0; row < expected.length; row++) {
+			Assert.assertEquals(expected[row].length, actual[row].length);
+			for (int col = 0; col < expected[row].length; col++) {
+				// strassen's sums and differences of the operands cost a few bits
+				double tolerance = 1e-12 * expected[0].length * Math.max(1.0, Math.abs(expected[row][col]));
+				Assert.assertEquals(expected[row][col], actual[row][col], tolerance);
+			}
+		}
+	}
+
+	private static double[][] createRandom(int rowCount, int colCount) {
+		double[][] values = new double[rowCount][colCount];
+		MatrixUtils.setAllRandom(values);
+		return values;
+	}
+
+	@Test
+	public void testSquare() {
+		double[][] a = createRandom(this.size, this.size);
+		double[][] b = createRandom(this.size, this.size);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(a, b);
+		launchApp(() -> {
+			assertClose(expected, this.matrixMultiplier.multiply(a, b));
+		});
+	}
+
+	@Test
+	public void testRectangular() {
+		double[][] a = createRandom(this.size + 5, this.size);
+		double[][] b = createRandom(this.size, this.size / 2 + 1);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(a, b);
+		launchApp(() -> {
+			assertClose(expected, this.matrixMultiplier.multiply(a, b));
+		});
+	}
+
+	@Test
+	public void testIdentity() {
+		double[][] a = new double[this.size][this.size];
+		MatrixUtils.setIdentity(a);
+		double[][] b = createRandom(this.size, this.size);
+		launchApp(() -> {
+			assertClose(b, this.matrixMultiplier.multiply(a, b));
+		});
+	}
+
+	@Test
+	public void testView() {
+		Matrix a = Matrix.fromArray(createRandom(this.size * 2, this.size * 2)).subMatrix(1, this.size - 1,
+				this.size, this.size);
+		Matrix b = Matrix.fromArray(createRandom(this.size * 2, this.size * 2)).subMatrix(this.size, 0, this.size,
+				this.size);
+		double[][] expected = MatrixMultiplyTestUtils.multiply(a.toArray(), b.toArray());
+		launchApp(() -> {
+			Matrix actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertEquals(this.size, actual.getRowCount());
+			Assert.assertEquals(this.size, actual.getColCount());
+			assertClose(expected, actual.toArray());
+		});
+	}
+
+	@Test
+	public void testResultIsNotPadded() {
+		Matrix a = Matrix.fromArray(createRandom(this.size + 5, this.size));
+		Matrix b = Matrix.fromArray(createRandom(this.size, this.size / 2 + 1));
+		launchApp(() -> {
+			Matrix actual = this.matrixMultiplier.multiply(a, b);
+			Assert.assertEquals(this.size / 2 + 1, actual.getStride());
+			Assert.assertEquals(actual.getRowCount() * actual.getColCount(), actual.array().length);
+		});
+	}
+
+	@Test
+	public void testPaddedSize() {
+		int cutoff = 16;
+		int paddedSize = StrassenMatrixMultiplier.paddedSize(this.size, cutoff);
+		Assert.assertTrue(paddedSize >= this.size);
+		int leafSize = paddedSize;
+		while (leafSize > cutoff) {
+			Assert.assertEquals("must halve evenly", 0, leafSize % 2);
+			leafSize /= 2;
+		}
+		Assert.assertTrue("padding must be less than one row per leaf",
+				paddedSize - this.size < paddedSize / leafSize);
+	}
+
+	@Parameters(name = "cutoff={0} parallelThreshold={1} size={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		Collection<Object[]> result = new ArrayList<>();
+		for (Object[] args : JUnitUtils.toParameterizedArguments3(new Integer[] { 1, 8, 128 },
+				new Integer[] { 16, 512 }, new Integer[] { 1, 3, 16, 33, 100, 130 })) {
+			int cutoff = (Integer) args[0];
+			int size = (Integer) args[2];
+			// a cutoff of 1 recurses all the way down to 1x1 leaves, 7^8 of them
+			// at size 130, which cannot finish within the timeout
+			if (cutoff > 1 || size <= 33) {
+				result.add(args);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package matrixmultiply.sparse;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link CsrMatrix#fromDense(double[][])}
+ *         {@link CsrMatrix#fromCoordinates(int, int, int[], int[], double[])}
+ *         {@link CsrMatrix#toDense()}
+ *         {@link CsrMatrixMultiplier#multiply(CsrMatrix, double[], int)}
+ *         {@link CsrMatrixMultiplier#multiply(CsrMatrix, double[][], int)}
+ */
+@RunWith(Parameterized.class)
+public class CsrMatrixTest {
+	private final int rowCount;
+	private final int colCount;
+	private final double density;
+	private final int partitionCount;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public CsrMatrixTest(int size, double density, int partitionCount) {
+		this.rowCount = size;
+		this.colCount = size + 3;
+		this.density = density;
+		this.partitionCount = partitionCount;
+	}
+
+	private double[][] createSparse(Random random) {
+		double[][] dense = new double[this.rowCount][this.colCount];
+		for (double[] row : dense) {
+			for (int col = 0; col < row.length; col++) {
+				if (random.nextDouble() < this.density) {
+					row[col] = random.nextDouble() - 0.5;
+				}
+			}
+		}
+		return dense;
+	}
+
+	private static double[][] createDense(Random random, int rowCount, int colCount) {
+		double[][] dense = new double[rowCount][colCount];
+		for (double[] row : dense) {
+			for (int col = 0; col < row.length; col++) {
+				row[col] = random.nextDouble();
+			}
+		}
+		return dense;
+	}
+
+	private static int nonzeroCount(double[][] dense) {
+		int count = 0;
+		for (double[] row : dense) {
+			for (double value : row) {
+				if (value != 0.0) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testFromDense() {
+		double[][] dense = createSparse(new Random(this.rowCount));
+		launchApp(() -> {
+			CsrMatrix a = CsrMatrix.fromDense(dense);
+			Assert.assertEquals(this.rowCount, a.getRowCount());
+			Assert.assertEquals(this.rowCount > 0 ? this.colCount : 0, a.getColCount());
+			Assert.assertEquals(nonzeroCount(dense), a.getNonzeroCount());
+			for (int row = 0; row < a.getRowCount(); row++) {
+				for (int index = a.getRowStart(row) + 1; index < a.getRowEnd(row); index++) {
+					Assert.assertTrue(a.getColIndex(index - 1) < a.getColIndex(index));
+				}
+			}
+			Assert.assertArrayEquals(dense, a.toDense());
+		});
+	}
+
+	@Test
+	public void testFromCoordinates() {
+		double[][] dense = createSparse(new Random(this.rowCount));
+		List<int[]> coordinates = new ArrayList<>();
+		for (int row = 0; row < this.rowCount; row++) {
+			for (int col = 0; col < this.colCount; col++) {
+				if (dense[row][col] != 0.0) {
+					coordinates.add(new int[] { row, col });
+				}
+			}
+		}
+		Collections.shuffle(coordinates, new Random(this.colCount));
+		int[] rows = new int[coordinates.size()];
+		int[] cols = new int[coordinates.size()];
+		double[] values = new double[coordinates.size()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = coordinates.get(i)[0];
+			cols[i] = coordinates.get(i)[1];
+			values[i] = dense[rows[i]][cols[i]];
+		}
+		launchApp(() -> {
+			CsrMatrix a = CsrMatrix.fromCoordinates(this.rowCount, this.colCount, rows, cols, values);
+			Assert.assertEquals(rows.length, a.getNonzeroCount());
+			Assert.assertArrayEquals(dense, a.toDense());
+		});
+	}
+
+	@Test
+	public void testMultiplyVector() {
+		Random random = new Random(this.rowCount);
+		double[][] dense = createSparse(random);
+		double[] x = new double[this.colCount];
+		for (int i = 0; i < x.length; i++) {
+			x[i] = random.nextDouble();
+		}
+		double[] expected = new double[this.rowCount];
+		for (int row = 0; row < this.rowCount; row++) {
+			double sum = 0.0;
+			for (int col = 0; col < this.colCount; col++) {
+				if (dense[row][col] != 0.0) {
+					sum += dense[row][col] * x[col];
+				}
+			}
+			expected[row] = sum;
+		}
+		launchApp(() -> {
+			CsrMatrix a = CsrMatrix.fromCoordinates(this.rowCount, this.colCount, new int[0], new int[0],
+					new double[0]);
+			Assert.assertArrayEquals(new double[this.rowCount], CsrMatrixMultiplier.multiply(a, x), 0.0);
+
+			CsrMatrix b = CsrMatrix.fromDense(dense);
+			if (b.getColCount() == x.length) {
+				Assert.assertArrayEquals(expected, CsrMatrixMultiplier.multiply(b, x, this.partitionCount), 0.0);
+			}
+		});
+	}
+
+	@Test
+	public void testMultiplyMatrix() {
+		Random random = new Random(this.rowCount);
+		double[][] dense = createSparse(random);
+		int n = 5;
+		double[][] b = createDense(random, this.colCount, n);
+		double[][] expected = new double[this.rowCount][n];
+		for (int row = 0; row < this.rowCount; row++) {
+			for (int k = 0; k < this.colCount; k++) {
+				if (dense[row][k] != 0.0) {
+					for (int col = 0; col < n; col++) {
+						expected[row][col] += dense[row][k] * b[k][col];
+					}
+				}
+			}
+		}
+		launchApp(() -> {
+			CsrMatrix a = CsrMatrix.fromDense(dense);
+			if (a.getColCount() == b.length) {
+				double[][] actual = CsrMatrixMultiplier.multiply(a, b, this.partitionCount);
+				Assert.assertEquals(expected.length, actual.length);
+				for (int row = 0; row < expected.length; row++) {
+					Assert.assertArrayEquals(expected[row], actual[row], 0.0);
+				}
+			}
+		});
+	}
+
+	@Test
+	public void testPartitionsAreBalanced() {
+		// one dense row followed by many nearly empty rows
+		int skewedRowCount = Math.max(this.rowCount, 1) * 10;
+		int skewedColCount = skewedRowCount;
+		int[] rows = new int[skewedColCount + skewedRowCount - 1];
+		int[] cols = new int[rows.length];
+		double[] values = new double[rows.length];
+		for (int col = 0; col < skewedColCount; col++) {
+			cols[col] = col;
+			values[col] = 1.0;
+		}
+		for (int row = 1; row < skewedRowCount; row++) {
+			int index = skewedColCount + row - 1;
+			rows[index] = row;
+			cols[index] = row;
+			values[index] = 1.0;
+		}
+		launchApp(() -> {
+			CsrMatrix a = CsrMatrix.fromCoordinates(skewedRowCount, skewedColCount, rows, cols, values);
+			int[] boundaries = CsrMatrixMultiplier.partitionRows(a, this.partitionCount);
+			Assert.assertEquals(this.partitionCount + 1, boundaries.length);
+			Assert.assertEquals(0, boundaries[0]);
+			Assert.assertEquals(skewedRowCount, boundaries[this.partitionCount]);
+			long totalWeight = a.getNonzeroCount() + skewedRowCount;
+			long maxRowWeight = skewedColCount + 1;
+			for (int partition = 0; partition < this.partitionCount; partition++) {
+				Assert.assertTrue(boundaries[partition] <= boundaries[partition + 1]);
+				long weight = 0;
+				for (int row = boundaries[partition]; row < boundaries[partition + 1]; row++) {
+					weight += a.getRowEnd(row) - a.getRowStart(row) + 1;
+				}
+				// no partition exceeds its share by more than a single row
+				Assert.assertTrue(weight <= totalWeight / this.partitionCount + maxRowWeight);
+			}
+			if (this.partitionCount > 1) {
+				// the dense row is isolated rather than sharing a row-count based chunk
+				Assert.assertTrue(Arrays.binarySearch(boundaries, 1) >= 0);
+			}
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutOfBoundsCoordinates() throws Exception {
+		CsrMatrix.fromCoordinates(this.rowCount, this.colCount, new int[] { this.rowCount }, new int[] { 0 },
+				new double[] { 1.0 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateCoordinates() {
+		int row = this.rowCount > 0 ? this.rowCount - 1 : 0;
+		launchApp(() -> {
+			CsrMatrix.fromCoordinates(Math.max(this.rowCount, 1), this.colCount, new int[] { row, row },
+					new int[] { 1, 1 }, new double[] { 1.0, 2.0 });
+		});
+	}
+
+	@Parameters(name = "size={0} density={1} partitions={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments3(new Integer[] { 0, 1, 7, 100 }, new Double[] { 0.01, 0.3, 1.0 },
+				new Integer[] { 1, 3, 64 });
+	}
+}
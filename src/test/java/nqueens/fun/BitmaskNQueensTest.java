@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package nqueens.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchAppWithReturn;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import nqueens.lab.DefaultImmutableQueenLocations;
+import nqueens.lab.ParallelNQueens;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link BitmaskNQueens#countSolutions(int)}
+ *         {@link BitmaskNQueens#parallelCountSolutions(int)}
+ */
+@RunWith(Parameterized.class)
+public class BitmaskNQueensTest {
+	private static final Map<Integer, Long> EXPECTED_COUNTS = new HashMap<>();
+	static {
+		long[] counts = { 1, 0, 0, 2, 10, 4, 40, 92, 352, 724, 2680, 14200, 73712, 365596, 2279184, 14772512 };
+		for (int i = 0; i < counts.length; i++) {
+			EXPECTED_COUNTS.put(i + 1, counts[i]);
+		}
+	}
+
+	private final int boardSize;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule(16);
+
+	public BitmaskNQueensTest(int boardSize) {
+		this.boardSize = boardSize;
+	}
+
+	@Test
+	public void testSequential() {
+		Assert.assertEquals(EXPECTED_COUNTS.get(boardSize).longValue(), BitmaskNQueens.countSolutions(boardSize));
+	}
+
+	@Test
+	public void testParallel() {
+		long actual = launchAppWithReturn(() -> {
+			return BitmaskNQueens.parallelCountSolutions(boardSize);
+		});
+		Assert.assertEquals(EXPECTED_COUNTS.get(boardSize).longValue(), actual);
+	}
+
+	@Test
+	public void testMatchesParallelNQueens() {
+		if (boardSize > 10) {
+			return;
+		}
+		int expected = launchAppWithReturn(() -> {
+			return ParallelNQueens.countSolutions(new DefaultImmutableQueenLocations(boardSize));
+		});
+		Assert.assertEquals(expected, BitmaskNQueens.countSolutions(boardSize));
+	}
+
+	@Parameters(name = "boardSize={0}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments(EXPECTED_COUNTS.keySet());
+	}
+}
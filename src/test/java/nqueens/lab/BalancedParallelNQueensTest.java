@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package nqueens.lab;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import nqueens.core.ImmutableQueenLocations;
+import nqueens.core.NQueensCorrectnessUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link ParallelNQueens#countSolutionsBalanced(ImmutableQueenLocations, int)}
+ */
+@RunWith(Parameterized.class)
+public class BalancedParallelNQueensTest {
+	private final int boardSize;
+	private final int parallelism;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public BalancedParallelNQueensTest(int boardSize, int parallelism) {
+		this.boardSize = boardSize;
+		this.parallelism = parallelism;
+	}
+
+	@Test
+	public void testCountSolutionsBalanced() throws Exception {
+		long actual = ParallelNQueens.countSolutionsBalanced(new DefaultImmutableQueenLocations(boardSize),
+				parallelism);
+		Assert.assertEquals(NQueensCorrectnessUtils.getSolutionCountForBoardSize(boardSize), actual);
+	}
+
+	@Test
+	public void testPrefixesShareOneDepth() {
+		List<ImmutableQueenLocations> prefixes = ParallelNQueens
+				.createPrefixes(new DefaultImmutableQueenLocations(boardSize), parallelism);
+		for (ImmutableQueenLocations prefix : prefixes) {
+			Assert.assertEquals(prefixes.get(0).getRowCount(), prefix.getRowCount());
+			Assert.assertTrue(prefix.getRowCount() <= boardSize / 2);
+		}
+	}
+
+	@Parameters(name = "boardSize={0} parallelism={1}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments2(NQueensCorrectnessUtils.getBoardSizes().toArray(new Integer[0]),
+				new Integer[] { 1, 2, 4, 16 });
+	}
+}
@@ -24,9 +24,11 @@ package nqueens.lab;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import nqueens.fun.BitmaskNQueensTest;
+
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ SequentialNQueensCorrectnessTest.class, ImmutableQueenLocationsTest.class,
 		ParallelNQueensTaskAndFinishTest.class, ParallelNQueensCorrectnessTest.class,
-		ParallelNQueensParallelismTest.class })
+		ParallelNQueensParallelismTest.class, BalancedParallelNQueensTest.class, BitmaskNQueensTest.class })
 public class NQueensTestSuite {
 }
@@ -24,8 +24,11 @@ package scan.challenge;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import scan.core.BlockScanTest;
+import scan.core.ScanPrimitivesTest;
+
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ WorkEfficientScanTest.class })
+@Suite.SuiteClasses({ WorkEfficientScanTest.class, BlockScanTest.class, ScanPrimitivesTest.class })
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package scan.core;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link BlockScan#inclusiveScan(int[], int[], IntBinaryOperator, int)}
+ *         {@link BlockScan#exclusiveScan(int[], int[], IntBinaryOperator, int, int)}
+ *         {@link BlockScan#inclusiveScan(long[], long[], LongBinaryOperator, int)}
+ *         {@link BlockScan#exclusiveScan(long[], long[], LongBinaryOperator, long, int)}
+ *         {@link BlockScan#inclusiveScan(double[], double[], DoubleBinaryOperator, int)}
+ *         {@link BlockScan#exclusiveScan(double[], double[], DoubleBinaryOperator, double, int)}
+ */
+@RunWith(Parameterized.class)
+public class BlockScanTest {
+	private final int length;
+	private final int threshold;
+	private final boolean isInPlace;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public BlockScanTest(int length, int threshold, boolean isInPlace) {
+		this.length = length;
+		this.threshold = threshold;
+		this.isInPlace = isInPlace;
+	}
+
+	private static int[] expectedInclusive(int[] original, IntBinaryOperator operator) {
+		int[] expected = Arrays.copyOf(original, original.length);
+		for (int i = 1; i < expected.length; i++) {
+			expected[i] = operator.applyAsInt(expected[i - 1], expected[i]);
+		}
+		return expected;
+	}
+
+	private static int[] expectedExclusive(int[] original, IntBinaryOperator operator, int identity) {
+		int[] expected = new int[original.length];
+		int accumulator = identity;
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = accumulator;
+			accumulator = operator.applyAsInt(accumulator, original[i]);
+		}
+		return expected;
+	}
+
+	private void checkInt(IntBinaryOperator operator, int identity) {
+		int[] original = new Random(this.length).ints(this.length, -1000, 1000).toArray();
+
+		int[] inclusiveSrc = Arrays.copyOf(original, original.length);
+		int[] inclusiveDst = this.isInPlace ? inclusiveSrc : new int[original.length];
+		int[] exclusiveSrc = Arrays.copyOf(original, original.length);
+		int[] exclusiveDst = this.isInPlace ? exclusiveSrc : new int[original.length];
+		launchApp(() -> {
+			BlockScan.inclusiveScan(inclusiveSrc, inclusiveDst, operator, this.threshold);
+			BlockScan.exclusiveScan(exclusiveSrc, exclusiveDst, operator, identity, this.threshold);
+		});
+		Assert.assertArrayEquals(expectedInclusive(original, operator), inclusiveDst);
+		Assert.assertArrayEquals(expectedExclusive(original, operator, identity), exclusiveDst);
+		if (!this.isInPlace) {
+			Assert.assertArrayEquals(original, inclusiveSrc);
+			Assert.assertArrayEquals(original, exclusiveSrc);
+		}
+	}
+
+	@Test
+	public void testIntSum() {
+		checkInt(Integer::sum, 0);
+	}
+
+	@Test
+	public void testIntMax() {
+		checkInt(Math::max, Integer.MIN_VALUE);
+	}
+
+	@Test
+	public void testIntNonCommutative() {
+		// composition of the affine maps x -> sign*x + constant, packed with the
+		// sign in the low bit, is associative but not commutative.
+		checkInt((a, b) -> {
+			int signA = (a & 1) == 0 ? 1 : -1;
+			int signB = (b & 1) == 0 ? 1 : -1;
+			int constant = (b >> 1) * signA + (a >> 1);
+			return (constant << 1) | (signA == signB ? 0 : 1);
+		}, 0);
+	}
+
+	@Test
+	public void testLongSum() {
+		long[] original = new Random(this.length).longs(this.length, -1_000_000_000_000L, 1_000_000_000_000L)
+				.toArray();
+		long[] expectedInclusive = Arrays.copyOf(original, original.length);
+		Arrays.parallelPrefix(expectedInclusive, Long::sum);
+
+		long[] inclusiveSrc = Arrays.copyOf(original, original.length);
+		long[] inclusiveDst = this.isInPlace ? inclusiveSrc : new long[original.length];
+		long[] exclusiveSrc = Arrays.copyOf(original, original.length);
+		long[] exclusiveDst = this.isInPlace ? exclusiveSrc : new long[original.length];
+		launchApp(() -> {
+			BlockScan.inclusiveScan(inclusiveSrc, inclusiveDst, Long::sum, this.threshold);
+			BlockScan.exclusiveScan(exclusiveSrc, exclusiveDst, Long::sum, 0L, this.threshold);
+		});
+		Assert.assertArrayEquals(expectedInclusive, inclusiveDst);
+		for (int i = 0; i < original.length; i++) {
+			Assert.assertEquals(expectedInclusive[i] - original[i], exclusiveDst[i]);
+		}
+	}
+
+	@Test
+	public void testDoubleSum() {
+		// small integral values keep double addition exact regardless of grouping
+		double[] original = new Random(this.length).ints(this.length, -1000, 1000).asDoubleStream().toArray();
+		double[] expectedInclusive = Arrays.copyOf(original, original.length);
+		Arrays.parallelPrefix(expectedInclusive, Double::sum);
+
+		double[] inclusiveSrc = Arrays.copyOf(original, original.length);
+		double[] inclusiveDst = this.isInPlace ? inclusiveSrc : new double[original.length];
+		double[] exclusiveSrc = Arrays.copyOf(original, original.length);
+		double[] exclusiveDst = this.isInPlace ? exclusiveSrc : new double[original.length];
+		launchApp(() -> {
+			BlockScan.inclusiveScan(inclusiveSrc, inclusiveDst, Double::sum, this.threshold);
+			BlockScan.exclusiveScan(exclusiveSrc, exclusiveDst, Double::sum, 0.0, this.threshold);
+		});
+		Assert.assertArrayEquals(expectedInclusive, inclusiveDst, 0.0);
+		for (int i = 0; i < original.length; i++) {
+			Assert.assertEquals(expectedInclusive[i] - original[i], exclusiveDst[i], 0.0);
+		}
+	}
+
+	@Parameters(name = "length={0} threshold={1} inPlace={2}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments3(
+				new Integer[] { 0, 1, 2, 3, 4, 7, 8, 31, 32, 33, 64, 71, 231, 1000, 10_000, 100_000 },
+				new Integer[] { 1, 2, 3, 16, 1024 }, new Boolean[] { false, true });
+	}
+}
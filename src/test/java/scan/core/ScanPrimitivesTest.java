@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package scan.core;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import scan.challenge.WorkEfficientScan;
+import scan.studio.ParallelScan;
+import scan.studio.SequentialScan;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link ScanPrimitives#filter(int[], IntPredicate)}
+ *         {@link ScanPrimitives#filter(Object[], java.util.function.Predicate, java.util.function.IntFunction)}
+ *         {@link ScanPrimitives#split(int[], int[], IntPredicate)}
+ *         {@link ScanPrimitives#segmentedSumScan(int[], boolean[])}
+ */
+@RunWith(Parameterized.class)
+public class ScanPrimitivesTest {
+	private final ScanPrimitives primitives;
+	private final int[] original;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public ScanPrimitivesTest(Scan scan, int length) {
+		this.primitives = new ScanPrimitives(scan);
+		this.original = new Random(length).ints(length, -1000, 1000).toArray();
+	}
+
+	@Test
+	public void testFilter() {
+		IntPredicate isEven = (v) -> (v & 1) == 0;
+		int[] expected = IntStream.of(this.original).filter(isEven).toArray();
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		launchApp(() -> {
+			int[] actual = this.primitives.filter(data, isEven);
+			Assert.assertArrayEquals(expected, actual);
+		});
+		Assert.assertArrayEquals(this.original, data);
+	}
+
+	@Test
+	public void testFilterNoneAndAll() {
+		launchApp(() -> {
+			Assert.assertEquals(0, this.primitives.filter(this.original, (v) -> false).length);
+			Assert.assertArrayEquals(this.original, this.primitives.filter(this.original, (v) -> true));
+		});
+	}
+
+	@Test
+	public void testFilterObjects() {
+		Integer[] boxed = IntStream.of(this.original).boxed().toArray(Integer[]::new);
+		Integer[] expected = Arrays.stream(boxed).filter((v) -> v > 0).toArray(Integer[]::new);
+		launchApp(() -> {
+			Integer[] actual = this.primitives.filter(boxed, (v) -> v > 0, Integer[]::new);
+			Assert.assertArrayEquals(expected, actual);
+		});
+	}
+
+	@Test
+	public void testSplit() {
+		IntPredicate isNegative = (v) -> v < 0;
+		int[] expected = IntStream.concat(IntStream.of(this.original).filter(isNegative),
+				IntStream.of(this.original).filter(isNegative.negate())).toArray();
+		int expectedTrueCount = (int) IntStream.of(this.original).filter(isNegative).count();
+		int[] dst = new int[this.original.length];
+		launchApp(() -> {
+			int trueCount = this.primitives.split(this.original, dst, isNegative);
+			Assert.assertEquals(expectedTrueCount, trueCount);
+		});
+		Assert.assertArrayEquals(expected, dst);
+	}
+
+	@Test
+	public void testSegmentedSumScan() {
+		boolean[] segmentStarts = new boolean[this.original.length];
+		Random random = new Random(this.original.length);
+		for (int i = 0; i < segmentStarts.length; i++) {
+			segmentStarts[i] = random.nextInt(8) == 0;
+		}
+		int[] expected = new int[this.original.length];
+		int sum = 0;
+		for (int i = 0; i < expected.length; i++) {
+			if (segmentStarts[i]) {
+				sum = 0;
+			}
+			sum += this.original[i];
+			expected[i] = sum;
+		}
+		launchApp(() -> {
+			int[] actual = this.primitives.segmentedSumScan(this.original, segmentStarts);
+			Assert.assertArrayEquals(expected, actual);
+		});
+	}
+
+	@Test
+	public void testSegmentedSumScanEverySegmentOfLengthOne() {
+		boolean[] segmentStarts = new boolean[this.original.length];
+		Arrays.fill(segmentStarts, true);
+		launchApp(() -> {
+			int[] actual = this.primitives.segmentedSumScan(this.original, segmentStarts);
+			Assert.assertArrayEquals(this.original, actual);
+		});
+	}
+
+	@Parameters(name = "{0} length={1}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments2(
+				new Scan[] { new SequentialScan(), new ParallelScan(), new WorkEfficientScan() },
+				new Integer[] { 0, 1, 2, 7, 64, 1000 });
+	}
+}
@@ -22,6 +22,7 @@
 
 package sort.core;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -45,4 +46,27 @@ public class RandomDataUtils {
 		}
 		return data;
 	}
+
+	/**
+	 * Creates data drawn from a Zipf distribution over distinctCount values, the
+	 * most frequent value occurring roughly distinctCount^exponent times as often
+	 * as the least frequent.
+	 */
+	public static int[] createZipfData(int length, long seed, int distinctCount, double exponent) {
+		double[] cumulative = new double[distinctCount];
+		double sum = 0.0;
+		for (int rank = 0; rank < distinctCount; rank++) {
+			sum += 1.0 / Math.pow(rank + 1, exponent);
+			cumulative[rank] = sum;
+		}
+		Random random = new Random(seed);
+		int[] data = new int[length];
+		for (int i = 0; i < data.length; i++) {
+			int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+			int rank = index >= 0 ? index : -(index + 1);
+			// scatter ranks across the int range so frequent values are not all small
+			data[i] = (rank + 1) * 0x9E3779B9;
+		}
+		return data;
+	}
 }
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.external;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link ExternalMergeSort#sortIntFile(Path, Path, Path, int)}
+ *         {@link ExternalMergeSort#sortLongFile(Path, Path, Path, int)}
+ */
+@RunWith(Parameterized.class)
+public class ExternalMergeSortTest {
+	private final int length;
+	private final int runLength;
+	private Path tempDirectory;
+
+	public ExternalMergeSortTest(int length, int runLength) {
+		this.length = length;
+		this.runLength = runLength;
+	}
+
+	@Before
+	public void createTempDirectory() throws IOException {
+		this.tempDirectory = Files.createTempDirectory(this.getClass().getSimpleName());
+	}
+
+	@After
+	public void deleteTempDirectory() throws IOException {
+		try (Stream<Path> paths = Files.list(this.tempDirectory)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				Files.delete(path);
+			}
+		}
+		Files.delete(this.tempDirectory);
+	}
+
+	private void assertOnlyInputAndOutputRemain() throws IOException {
+		try (Stream<Path> paths = Files.list(this.tempDirectory)) {
+			Assert.assertEquals("temporary runs must be deleted", 2L, paths.count());
+		}
+	}
+
+	@Test
+	public void testInts() throws IOException {
+		int[] original = new Random(231L).ints(this.length).toArray();
+		Path input = this.tempDirectory.resolve("input.bin");
+		Path output = this.tempDirectory.resolve("output.bin");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(input)))) {
+			for (int value : original) {
+				out.writeInt(value);
+			}
+		}
+
+		launchApp(() -> {
+			try {
+				ExternalMergeSort.sortIntFile(input, output, this.tempDirectory, this.runLength);
+			} catch (IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		});
+
+		Assert.assertEquals(Files.size(input), Files.size(output));
+		int[] actual = new int[this.length];
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(output)))) {
+			for (int i = 0; i < actual.length; i++) {
+				actual[i] = in.readInt();
+			}
+		}
+		int[] expected = Arrays.copyOf(original, original.length);
+		Arrays.sort(expected);
+		Assert.assertArrayEquals(expected, actual);
+		this.assertOnlyInputAndOutputRemain();
+	}
+
+	@Test
+	public void testLongs() throws IOException {
+		long[] original = new Random(231L).longs(this.length).toArray();
+		Path input = this.tempDirectory.resolve("input.bin");
+		Path output = this.tempDirectory.resolve("output.bin");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(input)))) {
+			for (long value : original) {
+				out.writeLong(value);
+			}
+		}
+
+		launchApp(() -> {
+			try {
+				ExternalMergeSort.sortLongFile(input, output, this.tempDirectory, this.runLength);
+			} catch (IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		});
+
+		Assert.assertEquals(Files.size(input), Files.size(output));
+		long[] actual = new long[this.length];
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(output)))) {
+			for (int i = 0; i < actual.length; i++) {
+				actual[i] = in.readLong();
+			}
+		}
+		long[] expected = Arrays.copyOf(original, original.length);
+		Arrays.sort(expected);
+		Assert.assertArrayEquals(expected, actual);
+		this.assertOnlyInputAndOutputRemain();
+	}
+
+	@Parameters(name = "length={0}; runLength={1}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> result = new LinkedList<>();
+		result.add(new Object[] { 0, 1_000 });
+		result.add(new Object[] { 1, 1_000 });
+		result.add(new Object[] { 10_000, 100_000 });
+		result.add(new Object[] { 10_000, 1_000 });
+		result.add(new Object[] { 10_007, 1_000 });
+		result.add(new Object[] { 100_000, 777 });
+		return result;
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.radix;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sort.core.RandomDataUtils;
+import sort.core.SortUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link RadixSort#sequentialRadixSort(int[])}
+ *         {@link RadixSort#parallelRadixSort(int[], int)}
+ */
+@RunWith(Parameterized.class)
+public class RadixSortTest {
+	private final int[] original;
+	private final int[] expected;
+	private final int threshold;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public RadixSortTest(int length, int min, int max, int threshold) {
+		this.original = RandomDataUtils.createRandomData(length, 231L, min, max);
+		this.expected = Arrays.copyOf(this.original, this.original.length);
+		Arrays.sort(this.expected);
+		this.threshold = threshold;
+	}
+
+	@Test
+	public void testSequential() {
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		RadixSort.sequentialRadixSort(data);
+		Assert.assertTrue(SortUtils.isInSortedOrder(data));
+		Assert.assertArrayEquals(this.expected, data);
+	}
+
+	@Test
+	public void testParallel() {
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		launchApp(() -> {
+			RadixSort.parallelRadixSort(data, this.threshold);
+		});
+		Assert.assertTrue(SortUtils.isInSortedOrder(data));
+		Assert.assertArrayEquals(this.expected, data);
+	}
+
+	@Parameters(name = "length={0}; min={1}; max={2}; threshold={3}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> result = new LinkedList<>();
+		result.add(new Object[] { 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 });
+		result.add(new Object[] { 1, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 });
+		result.add(new Object[] { 17, Integer.MIN_VALUE, Integer.MAX_VALUE, 4 });
+		result.add(new Object[] { 10_000, Integer.MIN_VALUE, Integer.MAX_VALUE, 1_000 });
+		result.add(new Object[] { 100_000, Integer.MIN_VALUE, Integer.MAX_VALUE, 10_000 });
+		result.add(new Object[] { 100_000, -100, 100, 10_000 });
+		result.add(new Object[] { 100_000, 0, 1 << 20, 10_000 });
+		return result;
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.core.sample;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sort.core.RandomDataUtils;
+import sort.core.SortUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link SampleSort#parallelSampleSort(int[], int)}
+ */
+@RunWith(Parameterized.class)
+public class SampleSortTest {
+	private final int[] original;
+	private final int threshold;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public SampleSortTest(String description, int[] original, int threshold) {
+		this.original = original;
+		this.threshold = threshold;
+	}
+
+	@Test
+	public void test() {
+		int[] expected = Arrays.copyOf(this.original, this.original.length);
+		Arrays.sort(expected);
+
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		launchApp(() -> {
+			SampleSort.parallelSampleSort(data, this.threshold);
+		});
+		Assert.assertTrue(SortUtils.isInSortedOrder(data));
+		Assert.assertArrayEquals(expected, data);
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> getConstructorArguments() {
+		final int LENGTH = 100_000;
+		final int THRESHOLD = 1_000;
+
+		int[] ascending = new int[LENGTH];
+		int[] descending = new int[LENGTH];
+		for (int i = 0; i < LENGTH; i++) {
+			ascending[i] = i;
+			descending[i] = LENGTH - i;
+		}
+
+		List<Object[]> result = new LinkedList<>();
+		result.add(new Object[] { "empty", new int[0], THRESHOLD });
+		result.add(new Object[] { "below threshold", RandomDataUtils.createRandomData(THRESHOLD - 1, 231L), THRESHOLD });
+		result.add(new Object[] { "uniform", RandomDataUtils.createRandomData(LENGTH, 231L), THRESHOLD });
+		result.add(new Object[] { "ascending", ascending, THRESHOLD });
+		result.add(new Object[] { "descending", descending, THRESHOLD });
+		result.add(new Object[] { "all equal", new int[LENGTH], THRESHOLD });
+		result.add(new Object[] { "few distinct", RandomDataUtils.createRandomData(LENGTH, 231L, 0, 3), THRESHOLD });
+		result.add(new Object[] { "zipf", RandomDataUtils.createZipfData(LENGTH, 231L, 10_000, 1.2), THRESHOLD });
+		result.add(new Object[] { "many buckets", RandomDataUtils.createRandomData(LENGTH, 231L), 10 });
+		return result;
+	}
+}
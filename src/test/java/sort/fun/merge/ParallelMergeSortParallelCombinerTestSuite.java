@@ -25,7 +25,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ParallelMergeSortParallelCombinerTest.class })
+@Suite.SuiteClasses({ ParallelMergeSortParallelCombinerTest.class, PingPongMergeSortTest.class })
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
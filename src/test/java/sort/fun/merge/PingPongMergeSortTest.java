@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.fun.merge;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sort.core.merge.AbstractMergeSortTest;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link PingPongMergeSort}
+ */
+public class PingPongMergeSortTest extends AbstractMergeSortTest {
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	@Test
+	public void testSequential() throws InterruptedException, ExecutionException {
+		this.testMergeSorter((int[] array) -> {
+			PingPongMergeSort.sequentialMergeSort(array);
+		});
+	}
+
+	@Test
+	public void testParallel() {
+		launchApp(() -> {
+			this.testMergeSorter((int[] array) -> {
+				int numProcessors = Runtime.getRuntime().availableProcessors();
+				int threshold = Math.max(array.length / (numProcessors * 10), 1);
+				int combineThreshold = Math.max(array.length / 10, 4);
+				PingPongMergeSort.parallelMergeSort(array, threshold, combineThreshold);
+			});
+		});
+	}
+
+	@Test
+	public void testParallelCombiningEveryLevel() {
+		launchApp(() -> {
+			this.testMergeSorter((int[] array) -> {
+				PingPongMergeSort.parallelMergeSort(array, 100, 100);
+			});
+		});
+	}
+}
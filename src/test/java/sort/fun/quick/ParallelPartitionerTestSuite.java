@@ -28,6 +28,6 @@ import org.junit.runners.Suite;
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ParallelPartitionerTest.class })
+@Suite.SuiteClasses({ ParallelPartitionerTest.class, ThreeWayPartitionerTest.class })
 public class ParallelPartitionerTestSuite {
 }
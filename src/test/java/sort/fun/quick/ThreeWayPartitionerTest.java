@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.fun.quick;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sort.core.RandomDataUtils;
+import sort.core.quick.Partitioner;
+import sort.core.quick.PivotLocation;
+import sort.core.quick.SequentialThreeWayPartitioner;
+import tnx.lab.executor.XQuicksort;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link ParallelPartitioner#partitionRange(int[], int, int)}
+ *         {@link SequentialThreeWayPartitioner#partitionRange(int[], int, int)}
+ */
+@RunWith(Parameterized.class)
+public class ThreeWayPartitionerTest {
+	private static final int LENGTH = 100_000;
+	private final int[] original;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule(10);
+
+	public ThreeWayPartitionerTest(String description, int[] original) {
+		this.original = original;
+	}
+
+	private void assertPartitioned(int[] data, int min, int maxExclusive, PivotLocation location) {
+		int left = location.getLeftSidesUpperExclusive();
+		int right = location.getRightSidesLowerInclusive();
+		Assert.assertTrue(location.toString(), min <= left && left < right && right <= maxExclusive);
+		int pivotValue = data[left];
+		for (int i = min; i < left; i++) {
+			Assert.assertTrue(data[i] < pivotValue);
+		}
+		for (int i = left; i < right; i++) {
+			Assert.assertEquals(pivotValue, data[i]);
+		}
+		for (int i = right; i < maxExclusive; i++) {
+			Assert.assertTrue(data[i] > pivotValue);
+		}
+	}
+
+	private void testPartitioner(Partitioner partitioner) throws InterruptedException, ExecutionException {
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		int min = 7;
+		int maxExclusive = data.length - 11;
+		PivotLocation location = partitioner.partitionRange(data, min, maxExclusive);
+		assertPartitioned(data, min, maxExclusive, location);
+
+		Assert.assertArrayEquals("partitioning must not touch data outside the range",
+				Arrays.copyOfRange(this.original, 0, min), Arrays.copyOfRange(data, 0, min));
+		Assert.assertArrayEquals("partitioning must not touch data outside the range",
+				Arrays.copyOfRange(this.original, maxExclusive, this.original.length),
+				Arrays.copyOfRange(data, maxExclusive, data.length));
+
+		int[] expected = Arrays.copyOf(this.original, this.original.length);
+		Arrays.sort(expected);
+		Arrays.sort(data);
+		Assert.assertArrayEquals("partitioning must only permute the data", expected, data);
+	}
+
+	@Test
+	public void testSequentialPartition() throws InterruptedException, ExecutionException {
+		testPartitioner(new SequentialThreeWayPartitioner());
+	}
+
+	@Test
+	public void testParallelPartition() throws InterruptedException, ExecutionException {
+		testPartitioner(new ParallelPartitioner(ForkJoinPool.commonPool(), LENGTH / 11));
+	}
+
+	@Test
+	public void testParallelPartitionWithBuffer() throws InterruptedException, ExecutionException {
+		testPartitioner(new ParallelPartitioner(ForkJoinPool.commonPool(), LENGTH / 11, new int[LENGTH]));
+	}
+
+	private void testParallelQuicksort(ExecutorService executor, boolean isBufferSupplied)
+			throws InterruptedException, ExecutionException {
+		int[] data = Arrays.copyOf(this.original, this.original.length);
+		int[] expected = Arrays.copyOf(this.original, this.original.length);
+		Arrays.sort(expected);
+
+		int threshold = data.length / 11;
+		int[] buffer = isBufferSupplied ? new int[data.length] : null;
+		XQuicksort.parallelQuicksort(executor, data, threshold,
+				new ParallelPartitioner(executor, threshold * 2, buffer));
+		Assert.assertArrayEquals("Array must be sorted", expected, data);
+	}
+
+	@Test
+	public void testParallelQuicksort() throws InterruptedException, ExecutionException {
+		testParallelQuicksort(ForkJoinPool.commonPool(), false);
+		testParallelQuicksort(ForkJoinPool.commonPool(), true);
+	}
+
+	@Test
+	public void testParallelQuicksortOnSingleThreadPool() throws InterruptedException, ExecutionException {
+		// the recursive quicksort tasks occupy the only thread while partitioning
+		ExecutorService executor = Executors.newFixedThreadPool(1);
+		try {
+			testParallelQuicksort(executor, true);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> result = new LinkedList<>();
+		result.add(new Object[] { "random", RandomDataUtils.createRandomData(LENGTH, 231L) });
+		result.add(new Object[] { "few distinct", RandomDataUtils.createRandomData(LENGTH, 231L, 0, 4) });
+		result.add(new Object[] { "all equal", new int[LENGTH] });
+		return result;
+	}
+}
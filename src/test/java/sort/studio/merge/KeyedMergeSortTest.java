@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.studio.merge;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link KeyedMergeSort#sequentialMergeSortByKey(Object[], java.util.function.ToIntFunction)}
+ *         {@link KeyedMergeSort#parallelMergeSortByKey(Object[], java.util.function.ToIntFunction, int)}
+ *         {@link KeyedMergeSort#sequentialMergeSortByLongKey(Object[], java.util.function.ToLongFunction)}
+ *         {@link KeyedMergeSort#parallelMergeSortByLongKey(Object[], java.util.function.ToLongFunction, int)}
+ *         {@link KeyedMergeSort#sequentialMergeSortByDoubleKey(Object[], java.util.function.ToDoubleFunction)}
+ *         {@link KeyedMergeSort#parallelMergeSortByDoubleKey(Object[], java.util.function.ToDoubleFunction, int)}
+ */
+public class KeyedMergeSortTest {
+	private static final class Item {
+		private final int key;
+		private final int originalIndex;
+
+		public Item(int key, int originalIndex) {
+			this.key = key;
+			this.originalIndex = originalIndex;
+		}
+
+		public int getKey() {
+			return this.key;
+		}
+
+		// spread well beyond the int range, like a nanosecond timestamp
+		public long getTimestamp() {
+			return this.key * 1_000_000_000_000L + Integer.MAX_VALUE;
+		}
+
+		// includes negatives, both zeros and fractions
+		public double getWeight() {
+			return this.key == 0 && (this.originalIndex & 1) == 0 ? -0.0 : this.key / 8.0;
+		}
+
+		@Override
+		public String toString() {
+			return "Item[key=" + key + ", originalIndex=" + originalIndex + "]";
+		}
+	}
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	private static Item[] createItems() {
+		Random random = new Random(231L);
+		Item[] items = new Item[10_000];
+		for (int i = 0; i < items.length; i++) {
+			// a narrow key range forces many ties, which must keep their original order
+			items[i] = new Item(random.nextInt(200) - 100, i);
+		}
+		return items;
+	}
+
+	private static Item[] createExpected(Item[] items) {
+		Item[] expected = Arrays.copyOf(items, items.length);
+		// Arrays.sort on objects is a stable merge sort
+		Arrays.sort(expected, Comparator.comparingInt(Item::getKey));
+		return expected;
+	}
+
+	@Test
+	public void testSequential() throws InterruptedException, ExecutionException {
+		Item[] items = createItems();
+		Item[] expected = createExpected(items);
+		KeyedMergeSort.sequentialMergeSortByKey(items, Item::getKey);
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testParallel() {
+		Item[] items = createItems();
+		Item[] expected = createExpected(items);
+		launchApp(() -> {
+			KeyedMergeSort.parallelMergeSortByKey(items, Item::getKey, 100);
+		});
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testSequentialLongKey() throws InterruptedException, ExecutionException {
+		Item[] items = createItems();
+		Item[] expected = Arrays.copyOf(items, items.length);
+		Arrays.sort(expected, Comparator.comparingLong(Item::getTimestamp));
+		KeyedMergeSort.sequentialMergeSortByLongKey(items, Item::getTimestamp);
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testParallelLongKey() {
+		Item[] items = createItems();
+		Item[] expected = Arrays.copyOf(items, items.length);
+		Arrays.sort(expected, Comparator.comparingLong(Item::getTimestamp));
+		launchApp(() -> {
+			KeyedMergeSort.parallelMergeSortByLongKey(items, Item::getTimestamp, 100);
+		});
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testSequentialDoubleKey() throws InterruptedException, ExecutionException {
+		Item[] items = createItems();
+		Item[] expected = Arrays.copyOf(items, items.length);
+		Arrays.sort(expected, Comparator.comparingDouble(Item::getWeight));
+		KeyedMergeSort.sequentialMergeSortByDoubleKey(items, Item::getWeight);
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testParallelDoubleKey() {
+		Item[] items = createItems();
+		Item[] expected = Arrays.copyOf(items, items.length);
+		Arrays.sort(expected, Comparator.comparingDouble(Item::getWeight));
+		launchApp(() -> {
+			KeyedMergeSort.parallelMergeSortByDoubleKey(items, Item::getWeight, 100);
+		});
+		Assert.assertArrayEquals(expected, items);
+	}
+
+	@Test
+	public void testParallelEmptyLongAndDoubleKeys() {
+		Item[] items = new Item[0];
+		launchApp(() -> {
+			KeyedMergeSort.parallelMergeSortByLongKey(items, Item::getTimestamp, 100);
+			KeyedMergeSort.parallelMergeSortByDoubleKey(items, Item::getWeight, 100);
+		});
+		Assert.assertEquals(0, items.length);
+	}
+
+	@Test
+	public void testParallelEmpty() {
+		Item[] items = new Item[0];
+		launchApp(() -> {
+			KeyedMergeSort.parallelMergeSortByKey(items, Item::getKey, 100);
+		});
+		Assert.assertEquals(0, items.length);
+	}
+}
@@ -25,7 +25,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ SequentialMergeSortTest.class, ParallelMergeSortTest.class, NoPrintingTest.class })
+@Suite.SuiteClasses({ SequentialMergeSortTest.class, ParallelMergeSortTest.class, NoPrintingTest.class,
+		KeyedMergeSortTest.class, PrimitiveMergeSortTest.class })
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sort.studio.merge;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sort.core.merge.SequentialDoubleCombiner;
+import sort.core.merge.SequentialLongCombiner;
+import sort.fun.merge.ParallelDoubleCombiner;
+import sort.fun.merge.ParallelLongCombiner;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link MergeSort#sequentialMergeSort(long[], sort.core.merge.ArrayCombiner)}
+ *         {@link MergeSort#parallelMergeSort(long[], int, sort.core.merge.ArrayCombiner)}
+ *         {@link MergeSort#sequentialMergeSort(double[], sort.core.merge.ArrayCombiner)}
+ *         {@link MergeSort#parallelMergeSort(double[], int, sort.core.merge.ArrayCombiner)}
+ */
+public class PrimitiveMergeSortTest {
+	private static final int LENGTH = 10_000;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	private static long[] createLongData() {
+		return new Random(231L).longs(LENGTH).toArray();
+	}
+
+	private static double[] createDoubleData() {
+		return new Random(231L).doubles(LENGTH, -1_000.0, 1_000.0).toArray();
+	}
+
+	private static double[] createSpecialDoubleData() {
+		double[] specials = { -0.0, 0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1.0, -1.0 };
+		Random random = new Random(231L);
+		double[] result = new double[LENGTH];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = specials[random.nextInt(specials.length)];
+		}
+		return result;
+	}
+
+	private static void assertSameOrder(double[] expected, double[] actual) {
+		// compare bits since assertArrayEquals does not tell -0.0 from 0.0
+		Assert.assertArrayEquals(Arrays.stream(expected).mapToLong(Double::doubleToLongBits).toArray(),
+				Arrays.stream(actual).mapToLong(Double::doubleToLongBits).toArray());
+	}
+
+	private static int threshold() {
+		int numProcessors = Runtime.getRuntime().availableProcessors();
+		return Math.max(LENGTH / (numProcessors * 10), 1);
+	}
+
+	@Test
+	public void testSequentialLong() throws InterruptedException, ExecutionException {
+		long[] data = createLongData();
+		long[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		MergeSort.sequentialMergeSort(data, new SequentialLongCombiner(data.length));
+		Assert.assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void testParallelLong() {
+		long[] data = createLongData();
+		long[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		launchApp(() -> {
+			MergeSort.parallelMergeSort(data, threshold(), new ParallelLongCombiner(data.length, threshold()));
+		});
+		Assert.assertArrayEquals(expected, data);
+	}
+
+	@Test
+	public void testSequentialDouble() throws InterruptedException, ExecutionException {
+		double[] data = createDoubleData();
+		double[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		MergeSort.sequentialMergeSort(data, new SequentialDoubleCombiner(data.length));
+		Assert.assertArrayEquals(expected, data, 0.0);
+	}
+
+	@Test
+	public void testParallelDouble() {
+		double[] data = createDoubleData();
+		double[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		launchApp(() -> {
+			MergeSort.parallelMergeSort(data, threshold(), new ParallelDoubleCombiner(data.length, threshold()));
+		});
+		Assert.assertArrayEquals(expected, data, 0.0);
+	}
+
+	@Test
+	public void testSequentialDoubleSpecialValues() throws InterruptedException, ExecutionException {
+		double[] data = createSpecialDoubleData();
+		double[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		MergeSort.sequentialMergeSort(data, new SequentialDoubleCombiner(data.length));
+		assertSameOrder(expected, data);
+	}
+
+	@Test
+	public void testParallelDoubleSpecialValues() {
+		double[] data = createSpecialDoubleData();
+		double[] expected = Arrays.copyOf(data, data.length);
+		Arrays.sort(expected);
+		launchApp(() -> {
+			MergeSort.parallelMergeSort(data, threshold(), new ParallelDoubleCombiner(data.length, threshold()));
+		});
+		assertSameOrder(expected, data);
+	}
+}
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package stencil.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchApp;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import edu.wustl.cse231s.v5.impl.V5Impl;
+import edu.wustl.cse231s.v5.impl.executor.ExecutorV5Impl;
+import stencil.core.Grid;
+import stencil.core.Stencil;
+
+/**
+ * @author Yiheng Huang
+ * 
+ *         {@link StencilEngine#iterate(double[], double[], int)}
+ *         {@link StencilEngine#iteratePhased(double[], double[], int)}
+ *         {@link StencilEngine#iterateGhostZone(double[], double[], int, int)}
+ *         {@link StencilEngine#iterateUntilConverged(double[], double[], double, int)}
+ */
+@RunWith(Parameterized.class)
+public class StencilEngineTest {
+	private static final int[] GHOST_WIDTHS = { 1, 2, 5 };
+
+	private final Stencil stencil;
+	private final Grid grid;
+	private final int sliceCount;
+	private final int iterationCount;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public StencilEngineTest(Stencil stencil, Grid grid, int sliceCount, int iterationCount) {
+		this.stencil = stencil;
+		this.grid = grid;
+		this.sliceCount = sliceCount;
+		this.iterationCount = iterationCount;
+	}
+
+	/**
+	 * A straightforward sweep over the interior cells by coordinate, summing the
+	 * terms in order as the engine does.
+	 *
+	 * @return the largest absolute change
+	 */
+	private double sequentialSweep(double[] src, double[] dst) {
+		int[] indexOffsets = this.stencil.toIndexOffsets(this.grid);
+		int xRadius = this.stencil.getXRadius();
+		int yRadius = this.stencil.getYRadius();
+		int zRadius = this.stencil.getZRadius();
+		double maxDelta = 0.0;
+		for (int z = zRadius; z < this.grid.getZCount() - zRadius; z++) {
+			for (int y = yRadius; y < this.grid.getYCount() - yRadius; y++) {
+				for (int x = xRadius; x < this.grid.getXCount() - xRadius; x++) {
+					int index = this.grid.index(x, y, z);
+					double value = 0.0;
+					for (int k = 0; k < indexOffsets.length; k++) {
+						value += this.stencil.getWeight(k) * src[index + indexOffsets[k]];
+					}
+					dst[index] = value;
+					maxDelta = Math.max(maxDelta, Math.abs(value - src[index]));
+				}
+			}
+		}
+		return maxDelta;
+	}
+
+	private double[] createRandom(long seed) {
+		return new Random(seed).doubles(this.grid.getCellCount()).toArray();
+	}
+
+	private void runOnFixedThreadPool(Runnable body) {
+		ExecutorService executorService = Executors.newFixedThreadPool(this.sliceCount);
+		V5Impl impl = new ExecutorV5Impl(executorService);
+		launchApp(impl, body::run);
+		executorService.shutdown();
+	}
+
+	private interface Strategy {
+		void iterate(StencilEngine engine, double[] a, double[] b) throws Exception;
+	}
+
+	private void check(Strategy strategy) {
+		double[] originalA = createRandom(this.grid.getCellCount());
+		double[] originalB = createRandom(this.grid.getCellCount() + 1);
+		double[] aExpected = Arrays.copyOf(originalA, originalA.length);
+		double[] bExpected = Arrays.copyOf(originalB, originalB.length);
+		for (int iteration = 0; iteration < this.iterationCount; iteration++) {
+			double[] arrayPrev = ((iteration & 1) == 0) ? aExpected : bExpected;
+			double[] arrayNext = ((iteration & 1) == 0) ? bExpected : aExpected;
+			sequentialSweep(arrayPrev, arrayNext);
+		}
+
+		double[] a = Arrays.copyOf(originalA, originalA.length);
+		double[] b = Arrays.copyOf(originalB, originalB.length);
+		StencilEngine engine = new StencilEngine(this.grid, this.stencil, this.sliceCount);
+		runOnFixedThreadPool(() -> {
+			try {
+				strategy.iterate(engine, a, b);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertArrayEquals(aExpected, a, 0.0);
+		assertArrayEquals(bExpected, b, 0.0);
+	}
+
+	@Test
+	public void testIterate() {
+		check((engine, a, b) -> engine.iterate(a, b, this.iterationCount));
+	}
+
+	@Test
+	public void testIteratePhased() {
+		check((engine, a, b) -> engine.iteratePhased(a, b, this.iterationCount));
+	}
+
+	@Test
+	public void testIterateGhostZone() {
+		for (int ghostWidth : GHOST_WIDTHS) {
+			check((engine, a, b) -> engine.iterateGhostZone(a, b, this.iterationCount, ghostWidth));
+		}
+	}
+
+	@Test
+	public void testIterateUntilConverged() {
+		// a hot boundary diffusing into a cold interior
+		double[] original = new double[this.grid.getCellCount()];
+		Arrays.fill(original, 1.0);
+		double[] interior = new double[original.length];
+		sequentialSweep(original, interior);
+		for (int i = 0; i < original.length; i++) {
+			if (interior[i] != 0.0) {
+				original[i] = 0.0;
+			}
+		}
+		double epsilon = 1e-3;
+		int maxIterationCount = this.iterationCount;
+
+		double[] aExpected = Arrays.copyOf(original, original.length);
+		double[] bExpected = Arrays.copyOf(original, original.length);
+		int expectedCount = maxIterationCount;
+		for (int iteration = 0; iteration < maxIterationCount; iteration++) {
+			double[] arrayPrev = ((iteration & 1) == 0) ? aExpected : bExpected;
+			double[] arrayNext = ((iteration & 1) == 0) ? bExpected : aExpected;
+			if (sequentialSweep(arrayPrev, arrayNext) < epsilon) {
+				expectedCount = iteration + 1;
+				break;
+			}
+		}
+
+		double[] a = Arrays.copyOf(original, original.length);
+		double[] b = Arrays.copyOf(original, original.length);
+		StencilEngine engine = new StencilEngine(this.grid, this.stencil, this.sliceCount);
+		int[] actualCount = new int[1];
+		runOnFixedThreadPool(() -> {
+			try {
+				actualCount[0] = engine.iterateUntilConverged(a, b, epsilon, maxIterationCount);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertEquals(expectedCount, actualCount[0]);
+		assertArrayEquals(aExpected, a, 0.0);
+		assertArrayEquals(bExpected, b, 0.0);
+	}
+
+	@Parameters(name = "{0}; {1}; slices={2}; iterations={3}")
+	public static Collection<Object[]> getConstructorArguments() {
+		List<Object[]> list = new LinkedList<>();
+		Object[][] stencilGrids = { { Stencil.fivePoint(), Grid.create2d(1, 1) },
+				{ Stencil.fivePoint(), Grid.create2d(17, 3) }, { Stencil.fivePoint(), Grid.create2d(23, 41) },
+				{ Stencil.ninePoint(), Grid.create2d(16, 16) }, { Stencil.ninePoint(), Grid.create2d(5, 37) },
+				{ Stencil.sevenPoint(), Grid.create3d(3, 3, 3) }, { Stencil.sevenPoint(), Grid.create3d(9, 7, 13) },
+				{ Stencil.create(2, new int[][] { { 0, -2 }, { 0, 0 }, { 1, 2 } }, new double[] { 0.25, 0.5, 0.25 }),
+						Grid.create2d(11, 29) } };
+		for (Object[] stencilGrid : stencilGrids) {
+			for (int sliceCount : new int[] { 1, 3, 8 }) {
+				for (int iterationCount : new int[] { 0, 1, 2, 7, 100 }) {
+					list.add(new Object[] { stencilGrid[0], stencilGrid[1], sliceCount, iterationCount });
+				}
+			}
+		}
+		return list;
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (C) 2016-2018 Dennis Cosgrove
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package sudoku.fun;
+
+import static edu.wustl.cse231s.v5.V5.launchAppWithReturn;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import edu.wustl.cse231s.junit.JUnitUtils;
+import sudoku.core.ImmutableSudokuPuzzle;
+import sudoku.core.Square;
+import sudoku.lab.DefaultImmutableSudokuPuzzle;
+import sudoku.lab.FewestOptionsFirstSquareSearchAlgorithm;
+import sudoku.lab.ParallelSudoku;
+import sudoku.lab.PeerRemovingConstraintPropagator;
+import sudoku.util.SolutionUtils;
+
+/**
+ * @author Yiheng Huang
+ *
+ *         {@link DancingLinksSudoku#solve(sudoku.core.SudokuPuzzle)}
+ *         {@link BitSetImmutableSudokuPuzzle}
+ */
+@RunWith(Parameterized.class)
+public class DancingLinksSudokuTest {
+	// hard puzzles from Norvig's top95 and hardest lists, an easy one, and no givens
+	static final List<String> GIVENS_LIST = Arrays.asList(
+			"4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+			"52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+			"6.....8.3.4.7.................5.4.7.3..2.....1.6.......2.....5.....8.6......1....",
+			"8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+			".......39.....1..5..3.5.8....8.9...6.7...2..1..4.......9.8..5..2....6..4..7.....",
+			"..3.2.6..9..3.5..1..18.64....81.29..7.......8..67.82....26.95..8..2.3..9..5.1.3..",
+			String.join("", Collections.nCopies(81, ".")));
+
+	private final String givens;
+
+	@Rule
+	public TestRule timeout = JUnitUtils.createTimeoutRule();
+
+	public DancingLinksSudokuTest(String givens) {
+		this.givens = givens;
+	}
+
+	private void checkSolution(ImmutableSudokuPuzzle original, ImmutableSudokuPuzzle solution) {
+		Assert.assertNotNull(solution);
+		Assert.assertTrue(SolutionUtils.isCompletelyFilledInAndEachSquareIsValid(solution));
+		Assert.assertTrue(SolutionUtils.containsOriginal(original, solution));
+	}
+
+	@Test
+	public void testSolveBitSetPuzzle() {
+		ImmutableSudokuPuzzle original = new BitSetImmutableSudokuPuzzle(givens);
+		checkSolution(original, DancingLinksSudoku.solve(original));
+	}
+
+	@Test
+	public void testSolveDefaultPuzzle() {
+		ImmutableSudokuPuzzle original = new DefaultImmutableSudokuPuzzle(new PeerRemovingConstraintPropagator(),
+				givens);
+		checkSolution(original, DancingLinksSudoku.solve(original));
+	}
+
+	@Test
+	public void testParallelSudokuSolvesBitSetPuzzle() {
+		if (givens.chars().allMatch(c -> c == '.')) {
+			// FewestOptionsFirstSquareSearchAlgorithm only considers squares with
+			// fewer than 4 options, so it treats a board without givens as solved
+			return;
+		}
+		ImmutableSudokuPuzzle original = new BitSetImmutableSudokuPuzzle(givens);
+		ImmutableSudokuPuzzle solution = launchAppWithReturn(() -> {
+			return ParallelSudoku.solve(original, new FewestOptionsFirstSquareSearchAlgorithm());
+		});
+		checkSolution(original, solution);
+	}
+
+	@Test
+	public void testBitSetPuzzleMatchesDefaultPuzzle() {
+		ImmutableSudokuPuzzle expected = new DefaultImmutableSudokuPuzzle(new PeerRemovingConstraintPropagator(),
+				givens);
+		ImmutableSudokuPuzzle actual = new BitSetImmutableSudokuPuzzle(givens);
+		ImmutableSudokuPuzzle solution = DancingLinksSudoku.solve(actual);
+		for (Square square : Square.values()) {
+			Assert.assertEquals(expected.toString(), actual.toString());
+			for (Square each : Square.values()) {
+				Assert.assertEquals(expected.getOptions(each), actual.getOptions(each));
+				Assert.assertEquals(expected.getValue(each), actual.getValue(each));
+			}
+			if (!actual.isSquareValueDetermined(square)) {
+				expected = expected.createNext(square, solution.getValue(square));
+				actual = actual.createNext(square, solution.getValue(square));
+			}
+		}
+		Assert.assertEquals(solution.toString(), actual.toString());
+	}
+
+	@Test
+	public void testPropagatorMatchesPeerRemoving() {
+		ImmutableSudokuPuzzle expected = new DefaultImmutableSudokuPuzzle(new PeerRemovingConstraintPropagator(),
+				givens);
+		ImmutableSudokuPuzzle actual = new DefaultImmutableSudokuPuzzle(new BitSetConstraintPropagator(), givens);
+		ImmutableSudokuPuzzle solution = DancingLinksSudoku.solve(actual);
+		for (Square square : Square.values()) {
+			for (Square each : Square.values()) {
+				Assert.assertEquals(expected.getOptions(each), actual.getOptions(each));
+			}
+			if (!actual.isSquareValueDetermined(square)) {
+				expected = expected.createNext(square, solution.getValue(square));
+				actual = actual.createNext(square, solution.getValue(square));
+			}
+		}
+		Assert.assertEquals(solution.toString(), actual.toString());
+	}
+
+	@Test
+	public void testContradictionIsUnsolvable() {
+		// the first given is repeated as the last square of the first row
+		char[] contradiction = givens.toCharArray();
+		contradiction[0] = '1';
+		contradiction[8] = '1';
+		Assert.assertNull(DancingLinksSudoku.solve(new BitSetImmutableSudokuPuzzle(new String(contradiction))));
+	}
+
+	@Parameters(name = "givens={0}")
+	public static Collection<Object[]> getConstructorArguments() {
+		return JUnitUtils.toParameterizedArguments(GIVENS_LIST);
+	}
+}
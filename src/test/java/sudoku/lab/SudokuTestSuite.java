@@ -24,13 +24,16 @@ package sudoku.lab;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import sudoku.fun.DancingLinksSudokuTest;
+
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ ConstraintPropagationAdventureChosenTest.class, ConstraintPropagationEmptyGivensTest.class,
 		ConstraintPropagationDeepCopyTest.class, PeerEliminationContraintPropagationTest.class,
 		GetValuePointedTest.class, ImmutableSudokuPuzzleTest.class, RowMajorSearchSkipsFilledSquaresTest.class,
 		FewestOptionsFirstSkipsFilledSquaresTest.class, FewestOptionsFirstReturns2OptionSquareTest.class,
 		/* FewestOptionsFirstReturns0OptionSquareTest.class, */ FewestOptionsFirstReturnsNullForSolvedPuzzleTest.class,
-		TaskAndFinishTest.class, SolveReturningSomethingOtherThanGivensTest.class, SolveTest.class, })
+		TaskAndFinishTest.class, SolveReturningSomethingOtherThanGivensTest.class, SolveTest.class,
+		DancingLinksSudokuTest.class, })
 /**
  * @author Dennis Cosgrove (http://www.cse.wustl.edu/~cosgroved/)
  */
@@ -1,6 +1,10 @@
 package connectfour.viz;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -11,7 +15,10 @@ import connectfour.core.Board;
 import connectfour.core.Heuristic;
 import connectfour.core.Player;
 import connectfour.core.controllers.ComputerController;
+import connectfour.core.controllers.OpeningBookController;
 import connectfour.core.Controller;
+import connectfour.fun.ThreatCountHeuristic;
+import connectfour.fun.book.OpeningBook;
 import connectfour.studio.WinOrLoseHeuristic;
 import connectfour.studio.chooseyourownadventure.Adventure;
 import javafx.application.Application;
@@ -29,7 +36,8 @@ import javafx.stage.Stage;
 
 public final class ConnectFourViz extends Application {
 	private static enum HeuristicOption {
-		WIN_OR_LOSE(WinOrLoseHeuristic.INSTANCE), OPEN_ENDED(OpenEndedHeuristic.INSTANCE);
+		WIN_OR_LOSE(WinOrLoseHeuristic.INSTANCE), OPEN_ENDED(OpenEndedHeuristic.INSTANCE), THREAT_COUNT(
+				ThreatCountHeuristic.INSTANCE);
 
 		private final Heuristic heuristic;
 
@@ -47,6 +55,7 @@ public final class ConnectFourViz extends Application {
 	}
 
 	private Spinner<Integer> maxDepthSpinner;
+	private Spinner<Integer> timeBudgetSpinner;
 	private ComboBox<HeuristicOption> heuristicComboBox;
 	private ComboBox<Adventure> adventureComboBox;
 	private Label gameStateLabel;
@@ -64,6 +73,11 @@ public final class ConnectFourViz extends Application {
 		maxDepthSpinner = new Spinner<>();
 		maxDepthSpinner.setValueFactory(valueFactory);
 
+		// 0 searches to exactly the maximum depth, anything more iteratively
+		// deepens toward it within that many milliseconds per move
+		timeBudgetSpinner = new Spinner<>();
+		timeBudgetSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 10_000, 0, 250));
+
 		gameStateLabel = new Label();
 
 		ObservableList<Adventure> adventureOptions = FXCollections.observableArrayList(Adventure.values());
@@ -73,8 +87,13 @@ public final class ConnectFourViz extends Application {
 		FlowPane controls = new FlowPane();
 		controls.setHgap(2.0);
 		controls.getChildren().addAll(new Label("game state:"), gameStateLabel, new Label("heuristic:"),
-				heuristicComboBox, new Label("maximum depth:"), maxDepthSpinner, new Label("adventure:"),
-				adventureComboBox);
+				heuristicComboBox, new Label("maximum depth:"), maxDepthSpinner, new Label("time budget (ms):"),
+				timeBudgetSpinner, new Label("adventure:"), adventureComboBox);
+
+		// an opening book, as written by OpeningBookGenerator, is used if present
+		List<String> args = getParameters().getRaw();
+		Path openingBookPath = Paths.get(args.size() > 0 ? args.get(0) : "connectfour.book");
+		OpeningBook openingBook = Files.exists(openingBookPath) ? OpeningBook.load(openingBookPath) : null;
 
 		BorderPane borderPane = new BorderPane();
 		borderPane.setCenter(pane);
@@ -96,9 +115,12 @@ public final class ConnectFourViz extends Application {
 
 					Map<Player, Controller> controllers = new EnumMap<>(Player.class);
 					controllers.put(Player.RED, new UIController(Player.RED, pane));
-					controllers.put(Player.YELLOW,
-							new ComputerController(Player.YELLOW, () -> heuristicComboBox.getValue().getHeuristic(),
-									() -> 2, () -> maxDepthSpinner.getValue(), () -> adventureComboBox.getValue()));
+					Controller computerController = new ComputerController(Player.YELLOW,
+							() -> heuristicComboBox.getValue().getHeuristic(), () -> 2,
+							() -> maxDepthSpinner.getValue(), () -> adventureComboBox.getValue(),
+							() -> (long) timeBudgetSpinner.getValue());
+					controllers.put(Player.YELLOW, openingBook != null
+							? new OpeningBookController(openingBook, computerController) : computerController);
 
 					for (Player current = Player.RED; !board.isDone(); current = current.getOpponent()) {
 						GameState gameState = current == Player.RED ? GameState.RED_TURN : GameState.YELLOW_TURN;
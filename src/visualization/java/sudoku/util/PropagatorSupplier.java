@@ -24,6 +24,7 @@ package sudoku.util;
 import java.util.function.Supplier;
 
 import sudoku.core.ConstraintPropagator;
+import sudoku.fun.BitSetConstraintPropagator;
 import sudoku.instructor.InstructorSudokuTestUtils;
 import sudoku.lab.ConstraintPropagatorSupplier;
 
@@ -37,6 +38,12 @@ public enum PropagatorSupplier implements Supplier<ConstraintPropagator> {
 			return new ConstraintPropagatorSupplier().get();
 		}
 	},
+	BIT_SET("bit set Propagator") {
+		@Override
+		public ConstraintPropagator get() {
+			return new BitSetConstraintPropagator();
+		}
+	},
 	INSTRUCTOR_UNPROPAGATED("instructor's UNPROPAGATED") {
 		@Override
 		public ConstraintPropagator get() {
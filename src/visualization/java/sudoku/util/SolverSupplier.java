@@ -25,6 +25,7 @@ import java.util.concurrent.ExecutionException;
 
 import sudoku.core.ImmutableSudokuPuzzle;
 import sudoku.core.SquareSearchAlgorithm;
+import sudoku.fun.DancingLinksSudoku;
 import sudoku.instructor.InstructorSudokuTestUtils;
 import sudoku.lab.ParallelSudoku;
 
@@ -46,6 +47,13 @@ public enum SolverSupplier {
 				throws InterruptedException, ExecutionException {
 			return InstructorSudokuTestUtils.solve(puzzle, squareSearchAlgorithm);
 		}
+	},
+	DANCING_LINKS("dancing links Solver") {
+		@Override
+		public ImmutableSudokuPuzzle solve(ImmutableSudokuPuzzle puzzle, SquareSearchAlgorithm squareSearchAlgorithm) {
+			// exact cover search picks its own columns, so the square search is unused
+			return DancingLinksSudoku.solve(puzzle);
+		}
 	};
 
 	private final String repr;